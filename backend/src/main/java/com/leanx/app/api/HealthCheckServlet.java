@@ -1,8 +1,23 @@
 package com.leanx.app.api;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 
+import com.leanx.app.repository.UserEmployeeLinkIndex;
+import com.leanx.app.repository.base.EntityCache;
+import com.leanx.app.repository.base.ViewResultCache;
+import com.leanx.app.service.modules.employee.analytics.EmployeeColumnStore;
+import com.leanx.app.service.modules.employee.self.EmployeeProfileCache;
+import com.leanx.app.service.modules.search.GlobalSearchIndex;
 import com.leanx.app.utils.ApiUtils;
+import com.leanx.app.utils.DatabaseUtils;
+import com.leanx.app.utils.database.PooledDataSource;
+import com.leanx.app.utils.database.ReplicaRouter;
+import com.leanx.app.utils.database.StatementCacheConfig;
+import com.leanx.app.utils.database.StatementCacheStats;
 
 import jakarta.servlet.ServletException;
 import jakarta.servlet.annotation.WebServlet;
@@ -13,11 +28,16 @@ import jakarta.servlet.http.HttpServletResponse;
 /**
  * Servlet responsible for providing a health check endpoint for the application.
  * This endpoint can be used by monitoring systems to verify if the application
- * is running and responsive.
+ * is running and responsive. The {@code /metrics} sub-path reports connection
+ * pool utilisation, prepared statement cache statistics, the state of the
+ * read replicas and the view result cache.
  */
-@WebServlet(name = "HealthCheck", value = "/api/health")
+@WebServlet(name = "HealthCheck", value = {"/api/health", "/api/health/*"})
 public class HealthCheckServlet extends HttpServlet {
 
+    /** Number of statements listed individually in the statement cache metrics. */
+    private static final int TOP_STATEMENTS = 20;
+
     /**
      * Handles GET requests to the health check endpoint.
      *
@@ -32,8 +52,83 @@ public class HealthCheckServlet extends HttpServlet {
         if (pathInfo == null || pathInfo.equals("/")) {
             // TODO: include checks for database connectivity, external service availability, etc.
             ApiUtils.sendJsonResponse(response, "UP");
+        } else if (pathInfo.equals("/metrics")) {
+            ApiUtils.sendJsonResponse(response, collectMetrics());
         } else {
             ApiUtils.sendErrorResponse(response, HttpServletResponse.SC_NOT_FOUND, "Unknown endpoint!");
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Collects the connection pool and prepared statement cache metrics.
+     *
+     * @return A map with a {@code pool}, a {@code statementCache}, a {@code replicas}, a {@code viewCache}, a {@code profileCache}, an {@code entityCache}, a {@code linkIndex}, a {@code searchIndex} and an {@code analyticsStore} section.
+     */
+    private Map<String, Object> collectMetrics() {
+        PooledDataSource pool = DatabaseUtils.getConnectionPool();
+
+        Map<String, Object> poolMetrics = poolMetrics(pool);
+
+        Map<String, Object> cacheMetrics = new LinkedHashMap<>();
+        StatementCacheConfig cacheConfig = pool.getStatementCacheConfig();
+        if (cacheConfig != null) {
+            StatementCacheStats stats = pool.getStatementCacheStats();
+            cacheMetrics.put("serverPrepared", cacheConfig.isServerPrepared());
+            cacheMetrics.put("enabled", cacheConfig.isEnabled());
+            cacheMetrics.put("cacheSize", cacheConfig.getCacheSize());
+            cacheMetrics.put("sqlLimit", cacheConfig.getSqlLimit());
+            cacheMetrics.put("estimatedHits", stats.getEstimatedHits());
+            cacheMetrics.put("estimatedMisses", stats.getEstimatedMisses());
+            cacheMetrics.put("uncacheable", stats.getUncacheable());
+            cacheMetrics.put("estimatedHitRate", stats.getEstimatedHitRate());
+            cacheMetrics.put("statements", stats.topStatements(TOP_STATEMENTS));
+        }
+
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("pool", poolMetrics);
+        metrics.put("statementCache", cacheMetrics);
+        metrics.put("replicas", replicaMetrics(DatabaseUtils.getReplicaRouter()));
+        metrics.put("viewCache", ViewResultCache.getStats());
+        metrics.put("profileCache", EmployeeProfileCache.getStats());
+        metrics.put("entityCache", EntityCache.getAllStats());
+        metrics.put("linkIndex", UserEmployeeLinkIndex.getInstance().getStats());
+        metrics.put("searchIndex", GlobalSearchIndex.getInstance().getStats());
+        metrics.put("analyticsStore", EmployeeColumnStore.getInstance().getStats());
+        return metrics;
+    }
+
+    /**
+     * Collects the utilisation of a connection pool.
+     *
+     * @param pool The pool to inspect.
+     * @return A map with the pool's connection counts.
+     */
+    private Map<String, Object> poolMetrics(PooledDataSource pool) {
+        Map<String, Object> poolMetrics = new LinkedHashMap<>();
+        poolMetrics.put("name", pool.getName());
+        poolMetrics.put("total", pool.getTotalConnections());
+        poolMetrics.put("idle", pool.getIdleConnections());
+        poolMetrics.put("active", pool.getActiveConnections());
+        poolMetrics.put("waiting", pool.getWaitingThreads());
+        poolMetrics.put("maxSize", pool.getConfig().getMaxSize());
+        return poolMetrics;
+    }
+
+    /**
+     * Collects the health, replication lag and pool utilisation of the read replicas.
+     *
+     * @param router The router of the read replicas.
+     * @return A list with one map per replica.
+     */
+    private List<Map<String, Object>> replicaMetrics(ReplicaRouter router) {
+        List<Map<String, Object>> replicas = new ArrayList<>();
+        List<PooledDataSource> pools = router.getReplicas();
+        for (int i = 0; i < pools.size(); i++) {
+            Map<String, Object> replica = poolMetrics(pools.get(i));
+            replica.put("healthy", router.isHealthy(i));
+            replica.put("lagSeconds", router.getLagSeconds(i));
+            replicas.add(replica);
+        }
+        return replicas;
+    }
+}
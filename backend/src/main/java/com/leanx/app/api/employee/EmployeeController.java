@@ -1,12 +1,30 @@
 package com.leanx.app.api.employee;
 
+import java.io.BufferedReader;
 import java.io.IOException;
 import java.sql.SQLException;
 import java.util.List;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.leanx.app.model.dto.BulkImportReport;
+import com.leanx.app.model.dto.HeadcountReport;
+import com.leanx.app.model.dto.Page;
+import com.leanx.app.model.dto.Suggestion;
 import com.leanx.app.model.entity.Employee;
 import com.leanx.app.service.modules.employee.EmployeeService;
+import com.leanx.app.service.modules.employee.analytics.EmployeeAnalyticsService;
+import com.leanx.app.service.modules.employee.bulk.CsvImportRowReader;
+import com.leanx.app.service.modules.employee.bulk.EmployeeImportService;
+import com.leanx.app.service.modules.employee.bulk.ImportRowReader;
+import com.leanx.app.service.modules.employee.bulk.JsonImportRowReader;
+import com.leanx.app.service.modules.employee.export.EmployeeExportService;
+import com.leanx.app.service.modules.employee.export.ExportFormat;
+import com.leanx.app.service.modules.employee.hierarchy.TeamService;
+import com.leanx.app.service.modules.employee.hierarchy.TeamService.TeamPage;
+import com.leanx.app.service.modules.employee.search.EmployeeSearchIndex;
+import com.leanx.app.service.modules.employee.search.SuggestionIndex;
 import com.leanx.app.utils.ApiUtils;
 
 import jakarta.servlet.ServletException;
@@ -24,11 +42,20 @@ import jakarta.servlet.http.HttpSession;
 @WebServlet(name = "EmployeeController", urlPatterns = "/api/employee/*")
 public class EmployeeController extends HttpServlet {
 
+    private static final Logger logger = Logger.getLogger(EmployeeController.class.getName());
+
+    private static final int DEFAULT_PAGE_SIZE = 100;
+
     private final EmployeeService employeeService = new EmployeeService();
+    private final EmployeeExportService employeeExportService = new EmployeeExportService();
+    private final EmployeeImportService employeeImportService = new EmployeeImportService();
+    private final TeamService teamService = new TeamService();
+    private final EmployeeAnalyticsService employeeAnalyticsService = new EmployeeAnalyticsService();
     private final ObjectMapper objectMapper = new ObjectMapper();
 
     /**
-     * Handles POST requests for the `/api/employee` endpoint to create a new employee.
+     * Handles POST requests for the `/api/employee` endpoint to create a new employee
+     * and for the `/api/employee/bulk` endpoint to import many employees at once.
      * Requires a valid user session and potentially specific roles.
      * Expects the employee data in JSON format in the request body.
      *
@@ -53,6 +80,8 @@ public class EmployeeController extends HttpServlet {
 
         if (pathInfo == null || pathInfo.equals("/")) {
             handleCreateEmployee(currUser, request, response);
+        } else if (pathInfo.equals("/bulk")) {
+            handleBulkImport(currUser, request, response);
         } else {
             ApiUtils.sendErrorResponse(response, HttpServletResponse.SC_NOT_FOUND, "Unknown endpoint!");
         }
@@ -90,6 +119,44 @@ public class EmployeeController extends HttpServlet {
         }
     }
 
+    /**
+     * Handles the bulk import of employee records. The request body is either a
+     * JSON array of employee objects or, if the content type is `text/csv`, CSV
+     * with a header row. The optional `chunkSize` query parameter controls how
+     * many rows are validated and inserted per transaction. Responds with a
+     * per-row report.
+     *
+     * @param currentUserId The ID of the user performing the import.
+     * @param request       The {@code HttpServletRequest} object.
+     * @param response      The {@code HttpServletResponse} object.
+     * @throws IOException If an I/O error occurs during request processing.
+     */
+    private void handleBulkImport(Integer currentUserId, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        int chunkSize;
+        try {
+            String chunkSizeParam = request.getParameter("chunkSize");
+            chunkSize = chunkSizeParam == null || chunkSizeParam.isBlank() ? EmployeeImportService.DEFAULT_CHUNK_SIZE : Integer.parseInt(chunkSizeParam.trim());
+        } catch (NumberFormatException e) {
+            ApiUtils.sendErrorResponse(response, HttpServletResponse.SC_BAD_REQUEST, "Invalid chunk size.");
+            return;
+        }
+
+        String contentType = request.getContentType();
+        boolean csv = contentType != null && contentType.toLowerCase().startsWith("text/csv");
+        if (csv && request.getCharacterEncoding() == null) {
+            request.setCharacterEncoding("UTF-8");
+        }
+
+        try (ImportRowReader reader = csv
+                ? new CsvImportRowReader(new BufferedReader(request.getReader()))
+                : new JsonImportRowReader(objectMapper, request.getInputStream())) {
+            BulkImportReport report = employeeImportService.importEmployees(reader, chunkSize, currentUserId);
+            ApiUtils.sendJsonResponse(response, report);
+        } catch (IllegalArgumentException e) {
+            ApiUtils.sendErrorResponse(response, HttpServletResponse.SC_BAD_REQUEST, e.getMessage());
+        }
+    }
+
     /**
      * Handles PUT requests for the `/api/employee/{id}` endpoint to update an
      * existing employee. Requires a valid user session. Expects the updated
@@ -144,6 +211,8 @@ public class EmployeeController extends HttpServlet {
             ApiUtils.sendJsonResponse(response, updatedEmployee);
         } catch (NumberFormatException e) {
             ApiUtils.sendErrorResponse(response, HttpServletResponse.SC_BAD_REQUEST, "Invalid employee ID.");
+        } catch (IllegalArgumentException e) {
+            ApiUtils.sendErrorResponse(response, HttpServletResponse.SC_BAD_REQUEST, e.getMessage());
         } catch (SQLException e) {
             ApiUtils.sendExceptionResponse(response, null, e);
         }
@@ -151,9 +220,13 @@ public class EmployeeController extends HttpServlet {
 
     /**
      * Handles GET requests for various employee retrieval endpoints:
-     * - `/api/employee`: Gets all employees.
-     * - `/api/employee/search?name=...`: Searches employees by name.
+     * - `/api/employee?cursor=...&limit=...&sort=...`: Gets one page of employees.
+     * - `/api/employee/export?format=ndjson|csv`: Streams all employees as a file.
+     * - `/api/employee/search?name=...&limit=...`: Searches employees by name or email.
+     * - `/api/employee/suggest?q=...&limit=...`: Suggests employees, users and departments by prefix.
      * - `/api/employee/{id}`: Gets a specific employee by ID.
+     * - `/api/employee/{id}/team?depth=...&cursor=...&limit=...`: Gets one page of a manager's team.
+     * - `/api/employee/analytics/headcount?groupBy=...&...`: Counts employees per department, status, etc.
      *
      * @param request  The {@code HttpServletRequest} object containing the client's request.
      * @param response The {@code HttpServletResponse} object for sending the response to the client.
@@ -165,36 +238,92 @@ public class EmployeeController extends HttpServlet {
         String pathInfo = request.getPathInfo();
 
         if (pathInfo == null || pathInfo.equals("/")) {
-            handleGetAllEmployees(response);
+            handleGetAllEmployees(request, response);
+        } else if (pathInfo.equals("/export")) {
+            handleExportEmployees(request, response);
+        } else if (pathInfo.equals("/suggest")) {
+            handleSuggest(request, response);
+        } else if (pathInfo.equals("/analytics/headcount")) {
+            handleHeadcount(request, response);
         } else if (pathInfo.startsWith("/search")) {
             handleSearchEmployees(request, response);
         } else if (pathInfo.matches("^/\\d+$")) {
             handleGetEmployeeById(pathInfo, response);
+        } else if (pathInfo.matches("^/\\d+/team$")) {
+            handleGetTeam(pathInfo, request, response);
         }  else {
             ApiUtils.sendErrorResponse(response, HttpServletResponse.SC_NOT_FOUND, "Unknown endpoint!");
         }
     }
 
     /**
-     * Handles the retrieval of all employee records. Delegates the call to the
-     * {@link EmployeeService} and sends the list of employees as a JSON response.
+     * Handles the retrieval of employee records, one page at a time. Reads the
+     * optional `cursor`, `limit` and `sort` query parameters, delegates the call
+     * to the {@link EmployeeService} and sends the page as a JSON response.
      *
+     * @param request  The {@code HttpServletRequest} object.
      * @param response The {@code HttpServletResponse} object.
      * @throws IOException If an I/O error occurs during response processing.
      */
-    private void handleGetAllEmployees(HttpServletResponse response) throws IOException {
+    private void handleGetAllEmployees(HttpServletRequest request, HttpServletResponse response) throws IOException {
         try {
-            List<Employee> employees = employeeService.getAllEmployees();
-            ApiUtils.sendJsonResponse(response, employees);
+            String limitParam = request.getParameter("limit");
+            int limit = limitParam == null || limitParam.isBlank() ? DEFAULT_PAGE_SIZE : Integer.parseInt(limitParam.trim());
+
+            Page<Employee> page = employeeService.getEmployeesPage(request.getParameter("cursor"), limit, request.getParameter("sort"));
+            ApiUtils.sendJsonResponse(response, page);
+        } catch (NumberFormatException e) {
+            ApiUtils.sendErrorResponse(response, HttpServletResponse.SC_BAD_REQUEST, "Invalid page size.");
+        } catch (IllegalArgumentException e) {
+            ApiUtils.sendErrorResponse(response, HttpServletResponse.SC_BAD_REQUEST, e.getMessage());
         } catch (SQLException e) {
             ApiUtils.sendExceptionResponse(response, "Failed to fetch employees.", e);
         }
     }
 
     /**
-     * Handles the search for employees by name. Extracts the `name` query parameter
-     * from the request, delegates the search to the {@link EmployeeService}, and
-     * sends the list of matching employees as a JSON response.
+     * Handles the export of all employee records. Reads the `format` query
+     * parameter (`ndjson` by default, or `csv`) and streams the employees
+     * directly to the response output stream. If an error occurs after the
+     * first bytes have been sent, the export is aborted and the error is logged,
+     * since a JSON error response can no longer be sent.
+     *
+     * @param request  The {@code HttpServletRequest} object.
+     * @param response The {@code HttpServletResponse} object.
+     * @throws IOException If an I/O error occurs during response processing.
+     */
+    private void handleExportEmployees(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        ExportFormat format;
+        try {
+            String formatParam = request.getParameter("format");
+            format = formatParam == null || formatParam.isBlank() ? ExportFormat.NDJSON : ExportFormat.fromString(formatParam);
+        } catch (IllegalArgumentException e) {
+            ApiUtils.sendErrorResponse(response, HttpServletResponse.SC_BAD_REQUEST, e.getMessage());
+            return;
+        }
+
+        response.setStatus(HttpServletResponse.SC_OK);
+        response.setContentType(format.getContentType());
+        response.setCharacterEncoding("UTF-8");
+        response.setHeader("Content-Disposition", "attachment; filename=\"employees." + format.getFileExtension() + "\"");
+
+        try {
+            employeeExportService.exportEmployees(format, response.getOutputStream());
+        } catch (SQLException e) {
+            if (response.isCommitted()) {
+                logger.log(Level.SEVERE, "Employee export aborted after the response was committed", e);
+                throw new IOException("Employee export aborted", e);
+            }
+            response.reset();
+            ApiUtils.sendExceptionResponse(response, "Failed to export employees.", e);
+        }
+    }
+
+    /**
+     * Handles the search for employees by name. Extracts the `name` and optional
+     * `limit` query parameters from the request, delegates the search to the
+     * {@link EmployeeService}, and sends the ranked list of matching employees
+     * as a JSON response.
      *
      * @param request  The {@code HttpServletRequest} object.
      * @param response The {@code HttpServletResponse} object.
@@ -209,14 +338,79 @@ public class EmployeeController extends HttpServlet {
                 return;
             }
 
+            String limitParam = request.getParameter("limit");
+            int limit = limitParam == null || limitParam.isBlank() ? EmployeeSearchIndex.DEFAULT_LIMIT : Integer.parseInt(limitParam.trim());
 
-            List<Employee> employees = employeeService.searchEmployeesByName(nameQuery);
+            List<Employee> employees = employeeService.searchEmployeesByName(nameQuery, limit);
             ApiUtils.sendJsonResponse(response, employees);
+        } catch (NumberFormatException e) {
+            ApiUtils.sendErrorResponse(response, HttpServletResponse.SC_BAD_REQUEST, "Invalid limit.");
+        } catch (IllegalArgumentException e) {
+            ApiUtils.sendErrorResponse(response, HttpServletResponse.SC_BAD_REQUEST, e.getMessage());
         } catch (SQLException e) {
             ApiUtils.sendExceptionResponse(response, "Database error while searching employees.", e);
         }
     }
 
+    /**
+     * Handles the type-ahead suggestions of the employee and manager pickers.
+     * Extracts the `q` and optional `limit` query parameters from the request,
+     * delegates the lookup to the {@link EmployeeService}, and sends the most
+     * popular employees, users and departments starting with the typed text as
+     * a JSON response.
+     *
+     * @param request  The {@code HttpServletRequest} object.
+     * @param response The {@code HttpServletResponse} object.
+     * @throws IOException If an I/O error occurs during request or response processing.
+     */
+    private void handleSuggest(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        try {
+            String query = request.getParameter("q");
+
+            if (query == null || query.trim().isEmpty()) {
+                ApiUtils.sendErrorResponse(response, HttpServletResponse.SC_BAD_REQUEST, "Missing search query.");
+                return;
+            }
+
+            String limitParam = request.getParameter("limit");
+            int limit = limitParam == null || limitParam.isBlank() ? SuggestionIndex.DEFAULT_LIMIT : Integer.parseInt(limitParam.trim());
+
+            List<Suggestion> suggestions = employeeService.suggest(query, limit);
+            ApiUtils.sendJsonResponse(response, suggestions);
+        } catch (NumberFormatException e) {
+            ApiUtils.sendErrorResponse(response, HttpServletResponse.SC_BAD_REQUEST, "Invalid limit.");
+        } catch (IllegalArgumentException e) {
+            ApiUtils.sendErrorResponse(response, HttpServletResponse.SC_BAD_REQUEST, e.getMessage());
+        } catch (SQLException e) {
+            ApiUtils.sendExceptionResponse(response, "Database error while loading suggestions.", e);
+        }
+    }
+
+    /**
+     * Handles the headcount analytics of the HR dashboard. Extracts the
+     * `groupBy` dimensions and the filter parameters from the request,
+     * delegates the counting to the {@link EmployeeAnalyticsService}, and sends
+     * the total and the per-group headcounts as a JSON response.
+     *
+     * @param request  The {@code HttpServletRequest} object.
+     * @param response The {@code HttpServletResponse} object.
+     * @throws IOException If an I/O error occurs during response processing.
+     */
+    private void handleHeadcount(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        try {
+            HeadcountReport report = employeeAnalyticsService.headcount(request.getParameter("groupBy"),
+                request.getParameterValues("department"), request.getParameterValues("jobTitle"),
+                request.getParameter("employmentType"), request.getParameter("employmentStatus"),
+                request.getParameter("managerId"), request.getParameter("hiredFrom"), request.getParameter("hiredTo"),
+                request.getParameter("activeOn"));
+            ApiUtils.sendJsonResponse(response, report);
+        } catch (IllegalArgumentException e) {
+            ApiUtils.sendErrorResponse(response, HttpServletResponse.SC_BAD_REQUEST, e.getMessage());
+        } catch (SQLException e) {
+            ApiUtils.sendExceptionResponse(response, "Database error while counting employees.", e);
+        }
+    }
+
     /**
      * Handles the retrieval of a specific employee record by their ID. Extracts the
      * employee ID from the path, delegates the retrieval to the
@@ -244,4 +438,56 @@ public class EmployeeController extends HttpServlet {
             ApiUtils.sendExceptionResponse(response, "Database error while fetching employee.", e);
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Handles the retrieval of a manager's team. Extracts the manager ID from
+     * the path and the optional `depth`, `cursor` and `limit` query parameters,
+     * selects the page through the {@link TeamService} and streams it to the
+     * response. Returns a 404 error if the manager is not found.
+     *
+     * @param pathInfo The path information containing the manager ID.
+     * @param request  The {@code HttpServletRequest} object.
+     * @param response The {@code HttpServletResponse} object.
+     * @throws IOException If an I/O error occurs during response processing.
+     */
+    private void handleGetTeam(String pathInfo, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        TeamPage page;
+        try {
+            int managerId = Integer.parseInt(pathInfo.substring(1, pathInfo.indexOf("/team")));
+            String depthParam = request.getParameter("depth");
+            Integer depth = depthParam == null || depthParam.isBlank() ? null : Integer.parseInt(depthParam.trim());
+            String limitParam = request.getParameter("limit");
+            int limit = limitParam == null || limitParam.isBlank() ? DEFAULT_PAGE_SIZE : Integer.parseInt(limitParam.trim());
+
+            page = teamService.findTeam(managerId, depth, request.getParameter("cursor"), limit);
+            if (page == null) {
+                ApiUtils.sendErrorResponse(response, HttpServletResponse.SC_NOT_FOUND, "Employee not found.");
+                return;
+            }
+        } catch (NumberFormatException e) {
+            ApiUtils.sendErrorResponse(response, HttpServletResponse.SC_BAD_REQUEST, "Invalid employee ID, depth or page size.");
+            return;
+        } catch (IllegalArgumentException e) {
+            ApiUtils.sendErrorResponse(response, HttpServletResponse.SC_BAD_REQUEST, e.getMessage());
+            return;
+        } catch (SQLException e) {
+            ApiUtils.sendExceptionResponse(response, "Database error while fetching the team.", e);
+            return;
+        }
+
+        response.setStatus(HttpServletResponse.SC_OK);
+        response.setContentType("application/json");
+        response.setCharacterEncoding("UTF-8");
+
+        try {
+            teamService.writeTeamPage(page, response.getOutputStream());
+        } catch (SQLException e) {
+            if (response.isCommitted()) {
+                logger.log(Level.SEVERE, "Team response aborted after the response was committed", e);
+                throw new IOException("Team response aborted", e);
+            }
+            response.reset();
+            ApiUtils.sendExceptionResponse(response, "Database error while fetching the team.", e);
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.leanx.app.api.search;
+
+import java.io.IOException;
+import java.sql.SQLException;
+
+import com.leanx.app.model.dto.SearchResults;
+import com.leanx.app.service.modules.search.GlobalSearchIndex;
+import com.leanx.app.service.modules.search.GlobalSearchService;
+import com.leanx.app.utils.ApiUtils;
+
+import jakarta.servlet.ServletException;
+import jakarta.servlet.annotation.WebServlet;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Servlet controller for the global search, which finds employees, user
+ * accounts and roles with one request.
+ */
+@WebServlet(name = "SearchController", urlPatterns = "/api/search/*")
+public class SearchController extends HttpServlet {
+
+    private final GlobalSearchService globalSearchService = new GlobalSearchService();
+
+    /**
+     * Handles GET requests to the `/api/search?q=...&type=...&department=...&status=...&limit=...`
+     * endpoint. Extracts the query parameters, delegates the search to the
+     * {@link GlobalSearchService} and sends the typed hits and the facet
+     * counts as a JSON response.
+     *
+     * @param request  The {@code HttpServletRequest} object containing the client's request.
+     * @param response The {@code HttpServletResponse} object for sending the response to the client.
+     * @throws ServletException If a servlet-specific error occurs.
+     * @throws IOException      If an I/O error occurs while handling the request.
+     */
+    @Override
+    protected void doGet(HttpServletRequest request, HttpServletResponse response) throws ServletException, IOException {
+        String pathInfo = request.getPathInfo();
+        if (pathInfo != null && !pathInfo.equals("/")) {
+            ApiUtils.sendErrorResponse(response, HttpServletResponse.SC_NOT_FOUND, "Unknown endpoint!");
+            return;
+        }
+
+        try {
+            String query = request.getParameter("q");
+
+            if (query == null || query.trim().isEmpty()) {
+                ApiUtils.sendErrorResponse(response, HttpServletResponse.SC_BAD_REQUEST, "Missing search query.");
+                return;
+            }
+
+            String limitParam = request.getParameter("limit");
+            int limit = limitParam == null || limitParam.isBlank() ? GlobalSearchIndex.DEFAULT_LIMIT : Integer.parseInt(limitParam.trim());
+
+            SearchResults results = globalSearchService.search(query, request.getParameter("type"),
+                request.getParameter("department"), request.getParameter("status"), limit);
+            ApiUtils.sendJsonResponse(response, results);
+        } catch (NumberFormatException e) {
+            ApiUtils.sendErrorResponse(response, HttpServletResponse.SC_BAD_REQUEST, "Invalid limit.");
+        } catch (IllegalArgumentException e) {
+            ApiUtils.sendErrorResponse(response, HttpServletResponse.SC_BAD_REQUEST, e.getMessage());
+        } catch (SQLException e) {
+            ApiUtils.sendExceptionResponse(response, "Database error while searching.", e);
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package com.leanx.app.model.dto;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Data Transfer Object (DTO) summarising the outcome of a bulk import. It
+ * contains one {@link RowResult} per submitted row, the number of created,
+ * invalid and failed rows, and an error message if the input could not be
+ * read to the end.
+ */
+public class BulkImportReport implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Outcome of a single row.
+     */
+    public enum RowStatus {
+        /** The row was valid and has been inserted. */
+        CREATED,
+        /** The row failed validation and was skipped. */
+        INVALID,
+        /** The row was valid, but inserting its chunk failed. */
+        FAILED
+    }
+
+    private final List<RowResult> rows = new ArrayList<>();
+    private int created;
+    private int invalid;
+    private int failed;
+    private String error;
+
+    /**
+     * Adds the result of a row and updates the counters.
+     *
+     * @param result The result to add.
+     */
+    public void addRow(RowResult result) {
+        rows.add(result);
+        switch (result.getStatus()) {
+            case CREATED -> created++;
+            case INVALID -> invalid++;
+            case FAILED -> failed++;
+        }
+    }
+
+    /**
+     * Gets the results of all processed rows, in input order.
+     *
+     * @return The list of row results.
+     */
+    public List<RowResult> getRows() { return rows; }
+
+    /**
+     * Gets the number of rows that have been created.
+     *
+     * @return The number of created rows.
+     */
+    public int getCreated() { return created; }
+
+    /**
+     * Gets the number of rows that failed validation.
+     *
+     * @return The number of invalid rows.
+     */
+    public int getInvalid() { return invalid; }
+
+    /**
+     * Gets the number of valid rows that could not be inserted.
+     *
+     * @return The number of failed rows.
+     */
+    public int getFailed() { return failed; }
+
+    /**
+     * Gets the error that stopped the import before the end of the input.
+     *
+     * @return The error message, or {@code null} if the whole input was processed.
+     */
+    public String getError() { return error; }
+
+    /**
+     * Sets the error that stopped the import before the end of the input.
+     *
+     * @param error The error message.
+     */
+    public void setError(String error) { this.error = error; }
+
+    /**
+     * Result of a single imported row.
+     */
+    public static class RowResult implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        private final int row;
+        private final RowStatus status;
+        private final Integer employeeId;
+        private final List<String> errors;
+
+        /**
+         * Constructs a {@code RowResult} object with the specified details.
+         *
+         * @param row        The 1-based number of the row in the input.
+         * @param status     The outcome of the row.
+         * @param employeeId The ID of the created employee, or {@code null}.
+         * @param errors     The validation or database errors of the row.
+         */
+        public RowResult(int row, RowStatus status, Integer employeeId, List<String> errors) {
+            this.row = row;
+            this.status = status;
+            this.employeeId = employeeId;
+            this.errors = errors;
+        }
+
+        /**
+         * Gets the 1-based number of the row in the input.
+         *
+         * @return The row number.
+         */
+        public int getRow() { return row; }
+
+        /**
+         * Gets the outcome of the row.
+         *
+         * @return The {@link RowStatus}.
+         */
+        public RowStatus getStatus() { return status; }
+
+        /**
+         * Gets the ID of the created employee.
+         *
+         * @return The employee ID, or {@code null} if the row was not created.
+         */
+        public Integer getEmployeeId() { return employeeId; }
+
+        /**
+         * Gets the validation or database errors of the row.
+         *
+         * @return The list of error messages, empty if the row was created.
+         */
+        public List<String> getErrors() { return errors; }
+    }
+}
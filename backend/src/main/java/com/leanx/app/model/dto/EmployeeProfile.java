@@ -3,6 +3,7 @@ package com.leanx.app.model.dto;
 import java.io.Serializable;
 import java.util.Date;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.leanx.app.model.entity.Employee.EmploymentStatus;
 import com.leanx.app.model.entity.Employee.EmploymentType;
 
@@ -22,6 +23,7 @@ public class EmployeeProfile implements Serializable {
     private String email;
     private String managerFirstName;
     private String managerLastName;
+    private Integer managerId;
     private String jobTitle;
     private String department;
     private EmploymentType employmentType;
@@ -255,4 +257,24 @@ public class EmployeeProfile implements Serializable {
     public void setStartDate(Date startDate) {
         this.startDate = startDate;
     }
-}
\ No newline at end of file
+
+    /**
+     * Returns the ID of the employee's manager. It is used to invalidate
+     * cached profiles when the manager changes and is not part of the JSON representation.
+     *
+     * @return The manager ID.
+     */
+    @JsonIgnore
+    public Integer getManagerId() {
+        return managerId;
+    }
+
+    /**
+     * Sets the ID of the employee's manager.
+     *
+     * @param managerId The manager ID.
+     */
+    public void setManagerId(Integer managerId) {
+        this.managerId = managerId;
+    }
+}
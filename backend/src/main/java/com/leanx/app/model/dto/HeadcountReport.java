@@ -0,0 +1,100 @@
+package com.leanx.app.model.dto;
+
+import java.io.Serializable;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Data Transfer Object (DTO) representing the result of a headcount query:
+ * the number of matching employees in total and per combination of the
+ * requested dimensions, e.g. per department and employment status.
+ */
+public class HeadcountReport implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final List<String> groupBy;
+    private final List<Group> groups;
+    private final int total;
+    private final long asOf;
+
+    /**
+     * Constructs a {@code HeadcountReport} object with the specified details.
+     *
+     * @param groupBy The names of the dimensions the employees were grouped by, in order.
+     * @param groups  The non-empty groups, largest first.
+     * @param total   The number of employees that match the filters.
+     * @param asOf    The time up to which changes were read from the database, in milliseconds.
+     */
+    public HeadcountReport(List<String> groupBy, List<Group> groups, int total, long asOf) {
+        this.groupBy = groupBy;
+        this.groups = groups;
+        this.total = total;
+        this.asOf = asOf;
+    }
+
+    /**
+     * Gets the names of the dimensions the employees were grouped by.
+     *
+     * @return The dimension names, in order; empty if the employees were not grouped.
+     */
+    public List<String> getGroupBy() { return groupBy; }
+
+    /**
+     * Gets the groups.
+     *
+     * @return The non-empty groups, largest first.
+     */
+    public List<Group> getGroups() { return groups; }
+
+    /**
+     * Gets the number of employees that match the filters.
+     *
+     * @return The total headcount.
+     */
+    public int getTotal() { return total; }
+
+    /**
+     * Gets the time up to which changes were read from the database.
+     *
+     * @return The time in milliseconds since the epoch.
+     */
+    public long getAsOf() { return asOf; }
+
+    /**
+     * One combination of dimension values and the number of employees that have it.
+     */
+    public static class Group implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        private final Map<String, String> key;
+        private final int count;
+
+        /**
+         * Constructs a {@code Group} object with the specified details.
+         *
+         * @param key   The value of every dimension, by dimension name; a value is
+         *              {@code null} if the employees have none (e.g. no department).
+         * @param count The number of employees in the group.
+         */
+        public Group(Map<String, String> key, int count) {
+            this.key = key;
+            this.count = count;
+        }
+
+        /**
+         * Gets the dimension values of the group.
+         *
+         * @return The value of every dimension, by dimension name.
+         */
+        public Map<String, String> getKey() { return key; }
+
+        /**
+         * Gets the number of employees in the group.
+         *
+         * @return The headcount of the group.
+         */
+        public int getCount() { return count; }
+    }
+}
@@ -0,0 +1,54 @@
+package com.leanx.app.model.dto;
+
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * Data Transfer Object (DTO) representing one page of a keyset-paginated listing.
+ * Besides the items of the page, it carries the opaque cursor that has to be
+ * passed back to fetch the following page and the page size that was applied.
+ *
+ * @param <T> The type of the items on the page.
+ */
+public class Page<T> implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final List<T> items;
+    private final String next;
+    private final int limit;
+
+    /**
+     * Constructs a {@code Page} object with the specified details.
+     *
+     * @param items The items on this page.
+     * @param next  The cursor of the following page, or {@code null} if this is the last page.
+     * @param limit The maximum number of items per page that was applied.
+     */
+    public Page(List<T> items, String next, int limit) {
+        this.items = items;
+        this.next = next;
+        this.limit = limit;
+    }
+
+    /**
+     * Gets the items on this page.
+     *
+     * @return The list of items.
+     */
+    public List<T> getItems() { return items; }
+
+    /**
+     * Gets the opaque cursor of the following page.
+     *
+     * @return The cursor, or {@code null} if this is the last page.
+     */
+    public String getNext() { return next; }
+
+    /**
+     * Gets the maximum number of items per page that was applied.
+     *
+     * @return The page size limit.
+     */
+    public int getLimit() { return limit; }
+}
@@ -0,0 +1,90 @@
+package com.leanx.app.model.dto;
+
+import java.io.Serializable;
+
+/**
+ * Data Transfer Object (DTO) representing one result of the global search:
+ * an employee, a user account or a role. Hits are shared between requests
+ * and therefore immutable.
+ */
+public class SearchHit implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Enumeration of the kinds of records the global search finds.
+     */
+    public enum HitType {
+        EMPLOYEE, USER, ROLE
+    }
+
+    private final HitType type;
+    private final int id;
+    private final String title;
+    private final String subtitle;
+    private final String department;
+    private final String status;
+
+    /**
+     * Constructs a {@code SearchHit} object with the specified details.
+     *
+     * @param type       The kind of the record.
+     * @param id         The ID of the employee, user or role.
+     * @param title      The main text: the employee's full name, the username or the role name.
+     * @param subtitle   The secondary text: the employee's job title and email,
+     * the user type or the role description; may be {@code null}.
+     * @param department The employee's department, or {@code null} for users and roles.
+     * @param status     The employment status or user status, or {@code null} for roles.
+     */
+    public SearchHit(HitType type, int id, String title, String subtitle, String department, String status) {
+        this.type = type;
+        this.id = id;
+        this.title = title;
+        this.subtitle = subtitle;
+        this.department = department;
+        this.status = status;
+    }
+
+    /**
+     * Gets the kind of the record.
+     *
+     * @return The hit type.
+     */
+    public HitType getType() { return type; }
+
+    /**
+     * Gets the ID of the employee, user or role.
+     *
+     * @return The ID, unique within the hit type.
+     */
+    public int getId() { return id; }
+
+    /**
+     * Gets the main text of the hit.
+     *
+     * @return The employee's full name, the username or the role name.
+     */
+    public String getTitle() { return title; }
+
+    /**
+     * Gets the secondary text of the hit.
+     *
+     * @return The employee's job title and email, the user type or the role
+     * description, or {@code null} if there is none.
+     */
+    public String getSubtitle() { return subtitle; }
+
+    /**
+     * Gets the department of an employee.
+     *
+     * @return The department, or {@code null} for users, roles and employees without one.
+     */
+    public String getDepartment() { return department; }
+
+    /**
+     * Gets the status of an employee or user.
+     *
+     * @return The employment status or user status, or {@code null} for roles.
+     */
+    public String getStatus() { return status; }
+}
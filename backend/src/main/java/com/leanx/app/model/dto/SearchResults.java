@@ -0,0 +1,54 @@
+package com.leanx.app.model.dto;
+
+import java.io.Serializable;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Data Transfer Object (DTO) representing the response of the global search:
+ * the best hits, the total number of matches and the facet counts, which
+ * tell the client how many matches each filter value would yield.
+ */
+public class SearchResults implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final List<SearchHit> hits;
+    private final int total;
+    private final Map<String, Map<String, Integer>> facets;
+
+    /**
+     * Constructs a {@code SearchResults} object with the specified details.
+     *
+     * @param hits   The best hits, best first.
+     * @param total  The number of matches that pass all filters.
+     * @param facets The number of matches per value of each facet ({@code type},
+     * {@code department}, {@code status}), by facet name.
+     */
+    public SearchResults(List<SearchHit> hits, int total, Map<String, Map<String, Integer>> facets) {
+        this.hits = hits;
+        this.total = total;
+        this.facets = facets;
+    }
+
+    /**
+     * Gets the best hits.
+     *
+     * @return The hits, best first.
+     */
+    public List<SearchHit> getHits() { return hits; }
+
+    /**
+     * Gets the number of matches that pass all filters, which may exceed the number of hits.
+     *
+     * @return The total number of matches.
+     */
+    public int getTotal() { return total; }
+
+    /**
+     * Gets the facet counts.
+     *
+     * @return The number of matches per facet value, by facet name.
+     */
+    public Map<String, Map<String, Integer>> getFacets() { return facets; }
+}
@@ -0,0 +1,94 @@
+package com.leanx.app.model.dto;
+
+import java.io.Serializable;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+/**
+ * Data Transfer Object (DTO) representing one entry of the type-ahead
+ * suggestions of the employee and manager pickers: an employee, a user
+ * account or a department. Suggestions are shared between requests and
+ * therefore immutable.
+ */
+public class Suggestion implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Enumeration of the kinds of suggested records.
+     */
+    public enum SuggestionType {
+        EMPLOYEE, USER, DEPARTMENT
+    }
+
+    private final SuggestionType type;
+    private final Integer id;
+    private final String label;
+    private final Integer employeeId;
+    private final int popularity;
+
+    /**
+     * Constructs a {@code Suggestion} object with the specified details.
+     *
+     * @param type       The kind of the suggested record.
+     * @param id         The ID of the employee or user, or {@code null} for a department.
+     * @param label      The text shown in the picker.
+     * @param employeeId The ID of the employee to select: the employee itself,
+     * the employee linked to the user, or {@code null}.
+     * @param popularity The rank of the suggestion among those matching the same prefix; higher is better.
+     */
+    public Suggestion(SuggestionType type, Integer id, String label, Integer employeeId, int popularity) {
+        this.type = type;
+        this.id = id;
+        this.label = label;
+        this.employeeId = employeeId;
+        this.popularity = popularity;
+    }
+
+    /**
+     * Returns the kind of the suggested record.
+     *
+     * @return The suggestion type.
+     */
+    public SuggestionType getType() {
+        return type;
+    }
+
+    /**
+     * Returns the ID of the suggested employee or user.
+     *
+     * @return The ID, or {@code null} for a department.
+     */
+    public Integer getId() {
+        return id;
+    }
+
+    /**
+     * Returns the text shown in the picker: the employee's full name, the
+     * username or the department name.
+     *
+     * @return The label.
+     */
+    public String getLabel() {
+        return label;
+    }
+
+    /**
+     * Returns the ID of the employee to select when the suggestion is chosen.
+     *
+     * @return The employee ID, or {@code null} for departments and unlinked users.
+     */
+    public Integer getEmployeeId() {
+        return employeeId;
+    }
+
+    /**
+     * Returns the popularity used to rank the suggestion.
+     *
+     * @return The popularity; higher is better.
+     */
+    @JsonIgnore
+    public int getPopularity() {
+        return popularity;
+    }
+}
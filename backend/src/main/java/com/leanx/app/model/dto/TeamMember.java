@@ -0,0 +1,194 @@
+package com.leanx.app.model.dto;
+
+import java.io.Serializable;
+
+import com.leanx.app.model.entity.Employee.EmploymentStatus;
+
+/**
+ * Data Transfer Object (DTO) representing one member of a manager's team in
+ * the org-chart view. It is a projection of the {@code employees} table with
+ * only the columns needed to render the team, plus the member's reporting
+ * level below the manager.
+ */
+public class TeamMember implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private Integer id;
+    private String firstName;
+    private String lastName;
+    private String email;
+    private String jobTitle;
+    private String department;
+    private Integer managerId;
+    private EmploymentStatus employmentStatus;
+    private int level;
+
+    /**
+     * Constructs an empty {@code TeamMember} object.
+     */
+    public TeamMember() {
+    }
+
+    /**
+     * Returns the unique identifier of the employee.
+     *
+     * @return The employee ID.
+     */
+    public Integer getId() {
+        return id;
+    }
+
+    /**
+     * Sets the unique identifier of the employee.
+     *
+     * @param id The employee ID.
+     */
+    public void setId(Integer id) {
+        this.id = id;
+    }
+
+    /**
+     * Returns the first name of the employee.
+     *
+     * @return The first name.
+     */
+    public String getFirstName() {
+        return firstName;
+    }
+
+    /**
+     * Sets the first name of the employee.
+     *
+     * @param firstName The first name.
+     */
+    public void setFirstName(String firstName) {
+        this.firstName = firstName;
+    }
+
+    /**
+     * Returns the last name of the employee.
+     *
+     * @return The last name.
+     */
+    public String getLastName() {
+        return lastName;
+    }
+
+    /**
+     * Sets the last name of the employee.
+     *
+     * @param lastName The last name.
+     */
+    public void setLastName(String lastName) {
+        this.lastName = lastName;
+    }
+
+    /**
+     * Returns the email address of the employee.
+     *
+     * @return The email address.
+     */
+    public String getEmail() {
+        return email;
+    }
+
+    /**
+     * Sets the email address of the employee.
+     *
+     * @param email The email address.
+     */
+    public void setEmail(String email) {
+        this.email = email;
+    }
+
+    /**
+     * Returns the job title of the employee.
+     *
+     * @return The job title.
+     */
+    public String getJobTitle() {
+        return jobTitle;
+    }
+
+    /**
+     * Sets the job title of the employee.
+     *
+     * @param jobTitle The job title.
+     */
+    public void setJobTitle(String jobTitle) {
+        this.jobTitle = jobTitle;
+    }
+
+    /**
+     * Returns the department the employee belongs to.
+     *
+     * @return The department.
+     */
+    public String getDepartment() {
+        return department;
+    }
+
+    /**
+     * Sets the department the employee belongs to.
+     *
+     * @param department The department.
+     */
+    public void setDepartment(String department) {
+        this.department = department;
+    }
+
+    /**
+     * Returns the ID of the employee's direct manager.
+     *
+     * @return The manager ID.
+     */
+    public Integer getManagerId() {
+        return managerId;
+    }
+
+    /**
+     * Sets the ID of the employee's direct manager.
+     *
+     * @param managerId The manager ID.
+     */
+    public void setManagerId(Integer managerId) {
+        this.managerId = managerId;
+    }
+
+    /**
+     * Returns the current employment status of the employee.
+     *
+     * @return The employment status.
+     */
+    public EmploymentStatus getEmploymentStatus() {
+        return employmentStatus;
+    }
+
+    /**
+     * Sets the current employment status of the employee.
+     *
+     * @param employmentStatus The employment status.
+     */
+    public void setEmploymentStatus(EmploymentStatus employmentStatus) {
+        this.employmentStatus = employmentStatus;
+    }
+
+    /**
+     * Returns the reporting level of the employee below the manager whose team is listed ({@code 1} for direct reports).
+     *
+     * @return The reporting level.
+     */
+    public int getLevel() {
+        return level;
+    }
+
+    /**
+     * Sets the reporting level of the employee below the manager whose team is listed ({@code 1} for direct reports).
+     *
+     * @param level The reporting level.
+     */
+    public void setLevel(int level) {
+        this.level = level;
+    }
+}
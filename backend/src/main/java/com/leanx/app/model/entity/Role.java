@@ -0,0 +1,94 @@
+package com.leanx.app.model.entity;
+
+import java.io.Serializable;
+import java.sql.Timestamp;
+
+/**
+ * Entity representing a role that can be assigned to user accounts, such as
+ * "HR Ops". Roles group the permissions granted to their users.
+ */
+public class Role implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private Integer id;
+    private String name;
+    private String description;
+    private Timestamp createdAt;
+    private Timestamp lastUpdatedAt;
+
+    /**
+     * Default constructor for the Role class.
+     */
+    public Role() {}
+
+    /**
+     * Gets the unique identifier of the role.
+     *
+     * @return The role ID.
+     */
+    public Integer getId() { return id; }
+
+    /**
+     * Gets the unique name of the role.
+     *
+     * @return The role name.
+     */
+    public String getName() { return name; }
+
+    /**
+     * Gets the description of the role.
+     *
+     * @return The description, or {@code null} if there is none.
+     */
+    public String getDescription() { return description; }
+
+    /**
+     * Gets the timestamp when the role was created.
+     *
+     * @return The creation timestamp.
+     */
+    public Timestamp getCreatedAt() { return createdAt; }
+
+    /**
+     * Gets the timestamp when the role was last updated.
+     *
+     * @return The last update timestamp.
+     */
+    public Timestamp getLastUpdatedAt() { return lastUpdatedAt; }
+
+    /**
+     * Sets the unique identifier of the role.
+     *
+     * @param id The role ID to set.
+     */
+    public void setId(Integer id) { this.id = id; }
+
+    /**
+     * Sets the unique name of the role.
+     *
+     * @param name The role name to set.
+     */
+    public void setName(String name) { this.name = name; }
+
+    /**
+     * Sets the description of the role.
+     *
+     * @param description The description to set.
+     */
+    public void setDescription(String description) { this.description = description; }
+
+    /**
+     * Sets the timestamp when the role was created.
+     *
+     * @param createdAt The creation timestamp to set.
+     */
+    public void setCreatedAt(Timestamp createdAt) { this.createdAt = createdAt; }
+
+    /**
+     * Sets the timestamp when the role was last updated.
+     *
+     * @param lastUpdatedAt The last update timestamp to set.
+     */
+    public void setLastUpdatedAt(Timestamp lastUpdatedAt) { this.lastUpdatedAt = lastUpdatedAt; }
+}
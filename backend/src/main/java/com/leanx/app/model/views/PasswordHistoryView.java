@@ -5,6 +5,9 @@ import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Timestamp;
 
+import com.leanx.app.repository.base.CompiledRowMapper;
+import com.leanx.app.repository.base.RowMapper;
+
 /**
  * Represents a read-only view of password history entries.
  * This class encapsulates the user ID, the hashed password, and the timestamp
@@ -19,6 +22,28 @@ public class PasswordHistoryView implements Serializable {
     private final String passwordHash;
     private final Timestamp createdAt;
 
+    /**
+     * Maps a row of the {@code password_history_view} by column index; the
+     * indexes are resolved once per result set.
+     */
+    public static final RowMapper<PasswordHistoryView> ROW_MAPPER = CompiledRowMapper.of(
+        new String[]{"user_id", "password_hash", "created_at"},
+        (rs, c) -> new PasswordHistoryView(rs.getInt(c[0]), rs.getString(c[1]), rs.getTimestamp(c[2]))
+    );
+
+    /**
+     * Constructs an instance of {@code PasswordHistoryView} from its values.
+     *
+     * @param userId       The ID of the user the entry belongs to.
+     * @param passwordHash The hashed password.
+     * @param createdAt    The time the password was set.
+     */
+    public PasswordHistoryView(Integer userId, String passwordHash, Timestamp createdAt) {
+        this.userId = userId;
+        this.passwordHash = passwordHash;
+        this.createdAt = createdAt;
+    }
+
     /**
      * Constructs an instance of {@code PasswordHistoryView} by extracting data
      * from a {@code ResultSet}.
@@ -5,6 +5,9 @@ import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Timestamp;
 
+import com.leanx.app.repository.base.CompiledRowMapper;
+import com.leanx.app.repository.base.RowMapper;
+
 /**
  * Represents a read-only view of password configuration settings.
  * This class encapsulates the ID, configuration key, configuration value,
@@ -24,6 +27,38 @@ public class PasswordSettingsView implements Serializable {
     private final Timestamp lastUpdated;
     private final Integer lastUpdatedBy;
 
+    /**
+     * Maps a row of the {@code password_settings_view} by column index; the
+     * indexes are resolved once per result set.
+     */
+    public static final RowMapper<PasswordSettingsView> ROW_MAPPER = CompiledRowMapper.of(
+        new String[]{"id", "config_key", "config_value", "config_category", "description", "last_updated", "last_updated_by"},
+        (rs, c) -> new PasswordSettingsView(rs.getInt(c[0]), rs.getString(c[1]), rs.getString(c[2]), rs.getString(c[3]),
+                rs.getString(c[4]), rs.getTimestamp(c[5]), rs.getInt(c[6]))
+    );
+
+    /**
+     * Constructs an instance of {@code PasswordSettingsView} from its values.
+     *
+     * @param id             The ID of the setting.
+     * @param configKey      The configuration key.
+     * @param configValue    The configuration value.
+     * @param configCategory The configuration category.
+     * @param description    The description of the setting.
+     * @param lastUpdated    The time the setting was last updated.
+     * @param lastUpdatedBy  The ID of the user who last updated the setting.
+     */
+    public PasswordSettingsView(Integer id, String configKey, String configValue, String configCategory,
+                                String description, Timestamp lastUpdated, Integer lastUpdatedBy) {
+        this.id = id;
+        this.configKey = configKey;
+        this.configValue = configValue;
+        this.configCategory = configCategory;
+        this.description = description;
+        this.lastUpdated = lastUpdated;
+        this.lastUpdatedBy = lastUpdatedBy;
+    }
+
     /**
      * Constructs an instance of {@code PasswordSettingsView} by extracting data
      * from a {@code ResultSet}.
@@ -0,0 +1,378 @@
+package com.leanx.app.repository;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import com.leanx.app.utils.DatabaseUtils;
+import com.leanx.app.utils.database.TransactionTemplate;
+
+/**
+ * Repository for the {@code employee_hierarchy} closure table, which stores
+ * one row for every pair of an employee and one of their direct or indirect
+ * managers, together with the number of levels between them. Every employee
+ * also has a row with themselves at depth {@code 0}.
+ * <p>
+ * The table lets "all subordinates of X" and "is X below Y" be answered with
+ * indexed lookups, independent of the depth of the organisation, and is shared
+ * by all backend nodes. It is maintained by {@link EmployeeRepository} in the
+ * same transaction as the change to {@code employees.manager_id}, and rebuilt
+ * from {@code employees} by {@link #rebuild()}.
+ * <p>
+ * Databases created before the table existed get it from the migration
+ * {@code scripts/database/migrations/001_employee_hierarchy.sql}. Until the
+ * table has been filled, by that migration or by the first rebuild, lookups
+ * that must be correct use {@link #isDescendantByManagerChain(int, int)},
+ * which follows {@code employees.manager_id} instead.
+ */
+public class EmployeeHierarchyRepository {
+
+    private static final Logger logger = Logger.getLogger(EmployeeHierarchyRepository.class.getName());
+
+    /** Name of the MySQL user lock that keeps several nodes from rebuilding at the same time. */
+    private static final String REBUILD_LOCK = "leanx.employee_hierarchy.rebuild";
+
+    /** Minimum time between two checks whether the table has been filled, while it has not. */
+    private static final long COMPLETENESS_CHECK_INTERVAL_MILLIS = 30 * 1000L;
+
+    /** Number of management levels after which {@link #isDescendantByManagerChain(int, int)} stops, which also ends reporting cycles. */
+    private static final int MAX_REPORTING_LEVELS = 500;
+
+    static final String INSERT_NODE_SQL = "INSERT INTO employee_hierarchy (ancestor_id, descendant_id, depth) " +
+        "SELECT ancestor_id, ?, depth + 1 FROM employee_hierarchy WHERE descendant_id = ? " +
+        "UNION ALL SELECT ?, ?, 0";
+
+    static final String DETACH_SUBTREE_SQL = "DELETE h FROM employee_hierarchy h " +
+        "JOIN employee_hierarchy subtree ON subtree.descendant_id = h.descendant_id " +
+        "LEFT JOIN employee_hierarchy inside ON inside.ancestor_id = subtree.ancestor_id AND inside.descendant_id = h.ancestor_id " +
+        "WHERE subtree.ancestor_id = ? AND inside.ancestor_id IS NULL";
+
+    static final String ATTACH_SUBTREE_SQL = "INSERT INTO employee_hierarchy (ancestor_id, descendant_id, depth) " +
+        "SELECT above.ancestor_id, below.descendant_id, above.depth + below.depth + 1 " +
+        "FROM employee_hierarchy above JOIN employee_hierarchy below " +
+        "ON above.descendant_id = ? AND below.ancestor_id = ?";
+
+    private static final String REBUILD_SQL = "INSERT INTO employee_hierarchy (ancestor_id, descendant_id, depth) " +
+        "WITH RECURSIVE closure (ancestor_id, descendant_id, depth) AS (" +
+        "    SELECT id, id, 0 FROM employees" +
+        "    UNION ALL" +
+        "    SELECT c.ancestor_id, e.id, c.depth + 1 FROM closure c " +
+        "    INNER JOIN employees e ON e.manager_id = c.descendant_id AND e.id <> e.manager_id" +
+        ") " +
+        "SELECT ancestor_id, descendant_id, depth FROM closure";
+
+    static final String IS_DESCENDANT_SQL = "SELECT 1 FROM employee_hierarchy WHERE ancestor_id = ? AND descendant_id = ? AND depth > 0";
+
+    static final String COMPLETENESS_SQL = "SELECT NOT EXISTS (SELECT 1 FROM employees e WHERE NOT EXISTS (" +
+        "SELECT 1 FROM employee_hierarchy h WHERE h.ancestor_id = e.id AND h.descendant_id = e.id))";
+
+    private static final String MANAGER_CHAIN_SQL = "WITH RECURSIVE chain (id, manager_id, depth) AS (" +
+        "    SELECT id, manager_id, 0 FROM employees WHERE id = ?" +
+        "    UNION ALL" +
+        "    SELECT e.id, e.manager_id, c.depth + 1 FROM chain c " +
+        "    INNER JOIN employees e ON e.id = c.manager_id AND c.manager_id <> c.id" +
+        "    WHERE c.depth < ?" +
+        ") " +
+        "SELECT 1 FROM chain WHERE id = ? AND depth > 0 LIMIT 1";
+
+    /** Whether the table is known to contain every employee; it stays filled once it was. */
+    private static volatile boolean complete;
+    private static volatile long completenessCheckedAt;
+
+    /**
+     * Adds the rows of a new employee: the row with themselves and one row for
+     * every direct or indirect manager. The manager's rows must already exist.
+     *
+     * @param employeeId The ID of the new employee.
+     * @param managerId  The ID of the employee's manager; the employee's own ID makes them a root.
+     * @return The number of inserted rows.
+     * @throws SQLException If a database access error occurs.
+     */
+    public int addEmployee(int employeeId, int managerId) throws SQLException {
+        try (Connection c = DatabaseUtils.getMySQLConnection()) {
+            return addEmployee(c, employeeId, managerId);
+        }
+    }
+
+    /**
+     * Adds the rows of a new employee on the given connection.
+     *
+     * @param c          The connection to use.
+     * @param employeeId The ID of the new employee.
+     * @param managerId  The ID of the employee's manager; the employee's own ID makes them a root.
+     * @return The number of inserted rows.
+     * @throws SQLException If a database access error occurs.
+     */
+    int addEmployee(Connection c, int employeeId, int managerId) throws SQLException {
+        try (PreparedStatement stmt = c.prepareStatement(INSERT_NODE_SQL)) {
+            stmt.setInt(1, employeeId);
+            stmt.setInt(2, managerId);
+            stmt.setInt(3, employeeId);
+            stmt.setInt(4, employeeId);
+            return stmt.executeUpdate();
+        }
+    }
+
+    /**
+     * Moves an employee, together with everyone reporting to them, under a new
+     * manager. The links between the moved subtree and its previous managers
+     * are removed and links to the new manager and their managers are added,
+     * in one transaction (or in the caller's transaction, if one is active).
+     *
+     * @param employeeId   The ID of the employee whose manager changed.
+     * @param newManagerId The ID of the new manager; the employee's own ID makes them a root.
+     * @throws IllegalArgumentException If the new manager reports to the employee.
+     * @throws SQLException             If a database access error occurs.
+     */
+    public void moveEmployee(int employeeId, int newManagerId) throws IllegalArgumentException, SQLException {
+        TransactionTemplate.inTransaction(c -> {
+            moveEmployee(c, employeeId, newManagerId);
+            return null;
+        });
+    }
+
+    /**
+     * Moves an employee and their team under a new manager on the given
+     * connection, which must be in a transaction.
+     *
+     * @param c            The connection of the transaction.
+     * @param employeeId   The ID of the employee whose manager changed.
+     * @param newManagerId The ID of the new manager; the employee's own ID makes them a root.
+     * @throws IllegalArgumentException If the new manager reports to the employee.
+     * @throws SQLException             If a database access error occurs.
+     */
+    void moveEmployee(Connection c, int employeeId, int newManagerId) throws IllegalArgumentException, SQLException {
+        boolean cycle = employeeId != newManagerId && (isComplete(c)
+            ? isDescendant(c, newManagerId, employeeId)
+            : isDescendantByManagerChain(c, newManagerId, employeeId));
+        if (cycle) {
+            throw new IllegalArgumentException("Employee " + newManagerId + " reports to employee " + employeeId + " and cannot become their manager.");
+        }
+
+        try (PreparedStatement stmt = c.prepareStatement(DETACH_SUBTREE_SQL)) {
+            stmt.setInt(1, employeeId);
+            stmt.executeUpdate();
+        }
+
+        if (employeeId != newManagerId) {
+            try (PreparedStatement stmt = c.prepareStatement(ATTACH_SUBTREE_SQL)) {
+                stmt.setInt(1, newManagerId);
+                stmt.setInt(2, employeeId);
+                stmt.executeUpdate();
+            }
+        }
+    }
+
+    /**
+     * Rebuilds the whole table from {@code employees.manager_id} in one
+     * transaction, so that readers see either the old or the new hierarchy.
+     * If another node is already rebuilding, the rebuild is skipped. The
+     * rebuild lock is only released once the transaction has completed, so a
+     * node that starts rebuilding right afterwards sees the committed table.
+     *
+     * @return The number of rows in the rebuilt table, or {@code -1} if the rebuild was skipped.
+     * @throws SQLException If a database access error occurs; the previous table content is kept.
+     */
+    public int rebuild() throws SQLException {
+        int rows = TransactionTemplate.inTransaction(c -> {
+            if (!acquireRebuildLock(c)) {
+                logger.log(Level.INFO, "Skipping hierarchy rebuild, another node holds the rebuild lock");
+                return -1;
+            }
+
+            TransactionTemplate.afterCompletion(() -> releaseRebuildLock(c));
+
+            try (Statement stmt = c.createStatement()) {
+                stmt.executeUpdate("DELETE FROM employee_hierarchy");
+                return stmt.executeUpdate(REBUILD_SQL);
+            }
+        });
+
+        if (rows >= 0 && !TransactionTemplate.isTransactionActive()) {
+            complete = true;
+        }
+        return rows;
+    }
+
+    /**
+     * Checks whether the table has been filled, i.e. whether every employee
+     * has their row at depth {@code 0}. The table is filled in one
+     * transaction, so this also means that all links between employees are
+     * present. While the table is not filled, the check is repeated at most
+     * every 30 seconds; once it is, the result is kept.
+     *
+     * @return {@code true} if the table can be used for lookups.
+     * @throws SQLException If a database access error occurs.
+     */
+    public boolean isComplete() throws SQLException {
+        if (complete) {
+            return true;
+        }
+        try (Connection c = DatabaseUtils.getMySQLConnection()) {
+            return isComplete(c);
+        }
+    }
+
+    /**
+     * Checks whether the table has been filled, using the given connection.
+     *
+     * @param c The connection to use.
+     * @return {@code true} if the table can be used for lookups.
+     * @throws SQLException If a database access error occurs.
+     */
+    private boolean isComplete(Connection c) throws SQLException {
+        if (complete) {
+            return true;
+        }
+        long now = System.currentTimeMillis();
+        if (now - completenessCheckedAt < COMPLETENESS_CHECK_INTERVAL_MILLIS) {
+            return false;
+        }
+        completenessCheckedAt = now;
+
+        try (PreparedStatement stmt = c.prepareStatement(COMPLETENESS_SQL);
+             ResultSet rs = stmt.executeQuery()) {
+            complete = rs.next() && rs.getBoolean(1);
+        }
+        if (!complete) {
+            logger.log(Level.WARNING, "The employee_hierarchy table has not been filled yet; following employees.manager_id instead");
+        }
+        return complete;
+    }
+
+    /**
+     * Retrieves the IDs of all direct and indirect subordinates of a manager.
+     * The table is read on the primary, because a replica may not have
+     * received a recent manager change yet.
+     *
+     * @param managerId The ID of the manager.
+     * @return The IDs of the manager's subordinates, ordered by depth and ID.
+     * Returns an empty list if the manager has no subordinates or does not exist.
+     * @throws SQLException If a database access error occurs during the retrieval.
+     */
+    public List<Integer> findDescendantIds(int managerId) throws SQLException {
+        List<Integer> descendants = new ArrayList<>();
+        String sql = "SELECT descendant_id FROM employee_hierarchy WHERE ancestor_id = ? AND depth > 0 ORDER BY depth, descendant_id";
+
+        try (Connection c = DatabaseUtils.getMySQLConnection();
+             PreparedStatement stmt = c.prepareStatement(sql)) {
+            stmt.setInt(1, managerId);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    descendants.add(rs.getInt(1));
+                }
+            }
+        }
+        return descendants;
+    }
+
+    /**
+     * Checks if an employee is a direct or indirect subordinate of a manager
+     * with a single primary key lookup. The check is used for authorization,
+     * so it reads on the primary instead of a possibly lagging replica.
+     *
+     * @param employeeId The ID of the employee.
+     * @param managerId  The ID of the manager.
+     * @return {@code true} if the employee reports to the manager, {@code false} otherwise.
+     * @throws SQLException If a database access error occurs.
+     */
+    public boolean isDescendant(int employeeId, int managerId) throws SQLException {
+        try (Connection c = DatabaseUtils.getMySQLConnection()) {
+            return isDescendant(c, employeeId, managerId);
+        }
+    }
+
+    /**
+     * Checks if an employee is a direct or indirect subordinate of a manager
+     * by following {@code employees.manager_id} upwards from the employee,
+     * without using the closure table. Used until the table has been
+     * {@link #isComplete() filled}. Reads on the primary.
+     *
+     * @param employeeId The ID of the employee.
+     * @param managerId  The ID of the manager.
+     * @return {@code true} if the employee reports to the manager, {@code false} otherwise.
+     * @throws SQLException If a database access error occurs.
+     */
+    public boolean isDescendantByManagerChain(int employeeId, int managerId) throws SQLException {
+        try (Connection c = DatabaseUtils.getMySQLConnection()) {
+            return isDescendantByManagerChain(c, employeeId, managerId);
+        }
+    }
+
+    /**
+     * Checks if an employee is a direct or indirect subordinate of a manager
+     * by following {@code employees.manager_id}.
+     *
+     * @param c          The connection to use.
+     * @param employeeId The ID of the employee.
+     * @param managerId  The ID of the manager.
+     * @return {@code true} if the employee reports to the manager, {@code false} otherwise.
+     * @throws SQLException If a database access error occurs.
+     */
+    private boolean isDescendantByManagerChain(Connection c, int employeeId, int managerId) throws SQLException {
+        try (PreparedStatement stmt = c.prepareStatement(MANAGER_CHAIN_SQL)) {
+            stmt.setInt(1, employeeId);
+            stmt.setInt(2, MAX_REPORTING_LEVELS);
+            stmt.setInt(3, managerId);
+            try (ResultSet rs = stmt.executeQuery()) {
+                return rs.next();
+            }
+        }
+    }
+
+    /**
+     * Checks if an employee is a direct or indirect subordinate of a manager.
+     *
+     * @param c          The connection to use.
+     * @param employeeId The ID of the employee.
+     * @param managerId  The ID of the manager.
+     * @return {@code true} if the employee reports to the manager, {@code false} otherwise.
+     * @throws SQLException If a database access error occurs.
+     */
+    private boolean isDescendant(Connection c, int employeeId, int managerId) throws SQLException {
+        try (PreparedStatement stmt = c.prepareStatement(IS_DESCENDANT_SQL)) {
+            stmt.setInt(1, managerId);
+            stmt.setInt(2, employeeId);
+            try (ResultSet rs = stmt.executeQuery()) {
+                return rs.next();
+            }
+        }
+    }
+
+    /**
+     * Tries to acquire the rebuild lock without waiting.
+     *
+     * @param c The connection of the rebuild transaction.
+     * @return {@code true} if the lock was acquired.
+     * @throws SQLException If a database access error occurs.
+     */
+    private boolean acquireRebuildLock(Connection c) throws SQLException {
+        try (PreparedStatement stmt = c.prepareStatement("SELECT GET_LOCK(?, 0)")) {
+            stmt.setString(1, REBUILD_LOCK);
+            try (ResultSet rs = stmt.executeQuery()) {
+                return rs.next() && rs.getInt(1) == 1;
+            }
+        }
+    }
+
+    /**
+     * Releases the rebuild lock. Runs after the rebuild transaction has
+     * completed, so a failure is logged instead of failing the rebuild.
+     *
+     * @param c The connection that holds the lock.
+     */
+    private void releaseRebuildLock(Connection c) {
+        try (PreparedStatement stmt = c.prepareStatement("SELECT RELEASE_LOCK(?)")) {
+            stmt.setString(1, REBUILD_LOCK);
+            stmt.executeQuery().close();
+        } catch (SQLException e) {
+            logger.log(Level.WARNING, "Failed to release the hierarchy rebuild lock", e);
+        }
+    }
+}
@@ -1,31 +1,199 @@
 package com.leanx.app.repository;
 
 import java.sql.Connection;
+import java.sql.Date;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.logging.Level;
+import java.util.Set;
+import java.util.function.Consumer;
 import java.util.logging.Logger;
 
+import com.leanx.app.model.dto.EmployeeProfile;
+import com.leanx.app.model.dto.Page;
+import com.leanx.app.model.dto.TeamMember;
 import com.leanx.app.model.entity.Employee;
 import com.leanx.app.model.entity.Employee.EmploymentStatus;
 import com.leanx.app.model.entity.Employee.EmploymentType;
+import com.leanx.app.repository.base.BatchSupport;
+import com.leanx.app.repository.base.ColumnType;
+import com.leanx.app.repository.base.CompiledRowMapper;
 import com.leanx.app.repository.base.CrudRepository;
+import com.leanx.app.repository.base.EntityCache;
+import com.leanx.app.repository.base.KeysetPaginator;
+import com.leanx.app.repository.base.RowMapper;
+import com.leanx.app.repository.base.UpdateTemplates;
 import com.leanx.app.utils.DatabaseUtils;
+import com.leanx.app.utils.database.TransactionTemplate;
 
 /**
  * Repository class for performing CRUD (Create, Read, Update, Delete) operations
  * and other queries on {@link Employee} entities in the database.
+ * Listing and search queries are read-only and use
+ * {@link DatabaseUtils#getReadOnlyConnection()}, so they may be served by a read replica.
+ * Single-record reads, which load the entity cache, use the primary.
  */
 public class EmployeeRepository implements CrudRepository<Employee> {
 
     private static final Logger logger = Logger.getLogger(EmployeeRepository.class.getName());
 
     /**
-     * Creates a new employee record in the database.
+     * Statement used to insert a single employee, shared by single and batched inserts.
+     */
+    private static final String INSERT_SQL = "INSERT INTO employees (first_name, last_name, email, job_title, department, " +
+            "employment_type, employment_status, hire_date, start_date, created_by, manager_id) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    /**
+     * Columns that {@link #update(Integer, Map)} and {@link #updateAll(Map)} may
+     * write, with the types used to bind their values.
+     */
+    private static final UpdateTemplates UPDATE_TEMPLATES = new UpdateTemplates("employees", Map.ofEntries(
+        Map.entry("first_name", ColumnType.STRING),
+        Map.entry("last_name", ColumnType.STRING),
+        Map.entry("email", ColumnType.STRING),
+        Map.entry("job_title", ColumnType.STRING),
+        Map.entry("department", ColumnType.STRING),
+        Map.entry("manager_id", ColumnType.INTEGER),
+        Map.entry("employment_type", ColumnType.STRING),
+        Map.entry("employment_status", ColumnType.STRING),
+        Map.entry("hire_date", ColumnType.DATE),
+        Map.entry("start_date", ColumnType.DATE),
+        Map.entry("termination_date", ColumnType.DATE),
+        Map.entry("termination_reason", ColumnType.STRING),
+        Map.entry("retention_end_date", ColumnType.DATE),
+        Map.entry("last_updated_by", ColumnType.INTEGER)
+    ));
+
+    /**
+     * Columns (besides the ID) that listings may be sorted by.
+     */
+    private static final Set<String> SORT_COLUMNS = Set.of("last_name", "department");
+
+    /**
+     * Read-through cache of employees by ID, see {@link #readCached(Integer)}.
+     */
+    private static final EntityCache<Employee> CACHE = new EntityCache<>("employees", Employee::getId);
+
+    /**
+     * Maps a full row of the 'employees' table to an {@link Employee} entity.
+     * Columns are read by index, resolved once per result set.
+     */
+    public static final RowMapper<Employee> ROW_MAPPER = CompiledRowMapper.builder(Employee::new)
+        .intColumn("id", Employee::setId)
+        .stringColumn("first_name", Employee::setFirstName)
+        .stringColumn("last_name", Employee::setLastName)
+        .stringColumn("email", Employee::setEmail)
+        .intColumn("manager_id", Employee::setManagerId)
+        .stringColumn("job_title", Employee::setJobTitle)
+        .stringColumn("department", Employee::setDepartment)
+        .enumColumn("employment_type", EmploymentType.class, Employee::setEmploymentType)
+        .enumColumn("employment_status", EmploymentStatus.class, Employee::setEmploymentStatus)
+        .dateColumn("hire_date", Employee::setHireDate)
+        .dateColumn("start_date", Employee::setStartDate)
+        .dateColumn("termination_date", Employee::setTerminationDate)
+        .stringColumn("termination_reason", Employee::setTerminationReason)
+        .dateColumn("retention_end_date", Employee::setRetentionEndDate)
+        .timestampColumn("created_at", Employee::setCreatedAt)
+        .intColumn("created_by", Employee::setCreatedBy)
+        .intColumn("last_updated_by", Employee::setLastUpdatedBy)
+        .timestampColumn("last_updated_at", Employee::setLastUpdatedAt)
+        .build();
+
+    /**
+     * Maps the basic columns (ID, first name, last name, email) to an {@link Employee}.
+     */
+    private static final RowMapper<Employee> BASIC_ROW_MAPPER = CompiledRowMapper.builder(Employee::new)
+        .intColumn("id", Employee::setId)
+        .stringColumn("first_name", Employee::setFirstName)
+        .stringColumn("last_name", Employee::setLastName)
+        .stringColumn("email", Employee::setEmail)
+        .build();
+
+    /**
+     * Maps the directory columns (ID, names, department, manager, employment
+     * status) to an {@link Employee}.
+     */
+    private static final RowMapper<Employee> DIRECTORY_ROW_MAPPER = CompiledRowMapper.builder(Employee::new)
+        .intColumn("id", Employee::setId)
+        .stringColumn("first_name", Employee::setFirstName)
+        .stringColumn("last_name", Employee::setLastName)
+        .stringColumn("department", Employee::setDepartment)
+        .intColumn("manager_id", Employee::setManagerId)
+        .enumColumn("employment_status", EmploymentStatus.class, Employee::setEmploymentStatus)
+        .build();
+
+    /**
+     * Maps the searchable columns (ID, names, email, job title, department,
+     * employment status) and the change timestamps to an {@link Employee}.
+     */
+    private static final RowMapper<Employee> SEARCH_ROW_MAPPER = CompiledRowMapper.builder(Employee::new)
+        .intColumn("id", Employee::setId)
+        .stringColumn("first_name", Employee::setFirstName)
+        .stringColumn("last_name", Employee::setLastName)
+        .stringColumn("email", Employee::setEmail)
+        .stringColumn("job_title", Employee::setJobTitle)
+        .stringColumn("department", Employee::setDepartment)
+        .enumColumn("employment_status", EmploymentStatus.class, Employee::setEmploymentStatus)
+        .timestampColumn("created_at", Employee::setCreatedAt)
+        .timestampColumn("last_updated_at", Employee::setLastUpdatedAt)
+        .build();
+
+    /**
+     * Maps the columns of a team member projection to a {@link TeamMember}.
+     */
+    private static final RowMapper<TeamMember> TEAM_MEMBER_ROW_MAPPER = CompiledRowMapper.builder(TeamMember::new)
+        .intColumn("id", TeamMember::setId)
+        .stringColumn("first_name", TeamMember::setFirstName)
+        .stringColumn("last_name", TeamMember::setLastName)
+        .stringColumn("email", TeamMember::setEmail)
+        .stringColumn("job_title", TeamMember::setJobTitle)
+        .stringColumn("department", TeamMember::setDepartment)
+        .intColumn("manager_id", TeamMember::setManagerId)
+        .enumColumn("employment_status", EmploymentStatus.class, TeamMember::setEmploymentStatus)
+        .build();
+
+    /**
+     * Maps the result of the profile query to an {@link EmployeeProfile}.
+     */
+    private static final RowMapper<EmployeeProfile> PROFILE_ROW_MAPPER = CompiledRowMapper.of(
+        new String[] {"id", "first_name", "last_name", "email", "manager_first_name", "manager_last_name", "job_title",
+                      "department", "employment_type", "employment_status", "start_date", "manager_id"},
+        (rs, columns) -> {
+            String employmentType = rs.getString(columns[8]);
+            String employmentStatus = rs.getString(columns[9]);
+            EmployeeProfile profile = new EmployeeProfile(
+                rs.getInt(columns[0]),
+                rs.getString(columns[1]),
+                rs.getString(columns[2]),
+                rs.getString(columns[3]),
+                rs.getString(columns[4]),
+                rs.getString(columns[5]),
+                rs.getString(columns[6]),
+                rs.getString(columns[7]),
+                employmentType == null ? null : EmploymentType.valueOf(employmentType),
+                employmentStatus == null ? null : EmploymentStatus.valueOf(employmentStatus),
+                rs.getDate(columns[10])
+            );
+            profile.setManagerId(rs.getInt(columns[11]));
+            return profile;
+        });
+
+    private final EmployeeHierarchyRepository hierarchyRepository = new EmployeeHierarchyRepository();
+
+    /**
+     * Creates a new employee record in the database and adds it to the
+     * {@code employee_hierarchy} closure table in the same transaction. The
+     * generated ID is set on the given {@link Employee} object.
      *
      * @param employee The {@link Employee} object containing the data for the new record.
      * @return The number of rows affected by the insert operation (should be 1 on success).
@@ -38,30 +206,139 @@ public class EmployeeRepository implements CrudRepository<Employee> {
             throw new IllegalArgumentException("Invalid employee object.");
         }
 
-        String sql = "INSERT INTO employees (first_name, last_name, email, job_title, department, " +
-                "employment_type, employment_status, hire_date, start_date, created_by, manager_id) " +
-                "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+        try {
+            return TransactionTemplate.inTransaction(c -> {
+                int created;
+                try (PreparedStatement SQLStatement = c.prepareStatement(INSERT_SQL, Statement.RETURN_GENERATED_KEYS)) {
+                    bindInsert(SQLStatement, employee);
+                    created = SQLStatement.executeUpdate();
 
-        try (Connection c = DatabaseUtils.getMySQLConnection();
-             PreparedStatement SQLStatement = c.prepareStatement(sql)) {
-            SQLStatement.setString(1, employee.getFirstName());
-            SQLStatement.setString(2, employee.getLastName());
-            SQLStatement.setString(3, employee.getEmail());
-            SQLStatement.setString(4, employee.getJobTitle());
-            SQLStatement.setString(5, employee.getDepartment());
-            SQLStatement.setString(6, String.valueOf(employee.getEmploymentType()));
-            SQLStatement.setString(7, String.valueOf(employee.getEmploymentStatus()));
-            SQLStatement.setDate(8, employee.getHireDate());
-            SQLStatement.setDate(9, employee.getStartDate());
-            SQLStatement.setInt(10, employee.getCreatedBy());
-            SQLStatement.setInt(11, employee.getManagerId());
-
-            return SQLStatement.executeUpdate();
+                    try (ResultSet keys = SQLStatement.getGeneratedKeys()) {
+                        if (keys.next()) {
+                            employee.setId(keys.getInt(1));
+                        }
+                    }
+                }
+
+                hierarchyRepository.addEmployee(employee.getId(), employee.getManagerId());
+                return created;
+            });
         } catch (SQLException e) {
             throw new SQLException("Error creating new employee", e);
         }
     }
 
+    /**
+     * Creates several employee records using JDBC batching. The rows are sent in
+     * batches of {@code chunkSize} statements and all of them are inserted in one
+     * transaction (or in the caller's transaction, if one is active), so either
+     * all employees are created or none. The generated IDs are set on the given
+     * {@link Employee} objects.
+     *
+     * @param employees The employees to create.
+     * @param chunkSize The maximum number of rows per batch.
+     * @return The number of created employee records.
+     * @throws IllegalArgumentException If the list is null, contains null elements,
+     * or {@code chunkSize} is not positive.
+     * @throws SQLException             If a database access error occurs during the creation.
+     */
+    public int createAll(List<Employee> employees, int chunkSize) throws IllegalArgumentException, SQLException {
+        if (employees == null || employees.contains(null) || chunkSize <= 0) {
+            throw new IllegalArgumentException("Invalid input parameters");
+        }
+        if (employees.isEmpty()) {
+            return 0;
+        }
+
+        try {
+            return TransactionTemplate.inTransaction(c -> {
+                int created = 0;
+
+                try (PreparedStatement stmt = c.prepareStatement(INSERT_SQL, Statement.RETURN_GENERATED_KEYS)) {
+                    for (int start = 0; start < employees.size(); start += chunkSize) {
+                        List<Employee> chunk = employees.subList(start, Math.min(start + chunkSize, employees.size()));
+
+                        for (Employee employee : chunk) {
+                            bindInsert(stmt, employee);
+                            stmt.addBatch();
+                        }
+
+                        created += BatchSupport.sum(stmt.executeBatch());
+
+                        try (ResultSet keys = stmt.getGeneratedKeys()) {
+                            for (Employee employee : chunk) {
+                                if (!keys.next()) {
+                                    break;
+                                }
+                                employee.setId(keys.getInt(1));
+                            }
+                        }
+                    }
+                }
+
+                addToHierarchy(employees);
+                return created;
+            });
+        } catch (SQLException e) {
+            throw new SQLException("Error creating " + employees.size() + " employees", e);
+        }
+    }
+
+    /**
+     * Adds newly created employees to the hierarchy. Employees whose manager
+     * is created in the same call are added after their manager, so that the
+     * manager's rows exist when the employee's rows are derived from them.
+     *
+     * @param employees The created employees, with their generated IDs.
+     * @throws SQLException If a database access error occurs.
+     */
+    private void addToHierarchy(List<Employee> employees) throws SQLException {
+        Set<Integer> pending = new HashSet<>();
+        for (Employee employee : employees) {
+            pending.add(employee.getId());
+        }
+
+        List<Employee> remaining = new ArrayList<>(employees);
+        while (!remaining.isEmpty()) {
+            List<Employee> deferred = new ArrayList<>();
+            for (Employee employee : remaining) {
+                boolean managerPending = !employee.getManagerId().equals(employee.getId()) && pending.contains(employee.getManagerId());
+                if (managerPending) {
+                    deferred.add(employee);
+                } else {
+                    hierarchyRepository.addEmployee(employee.getId(), employee.getManagerId());
+                    pending.remove(employee.getId());
+                }
+            }
+
+            if (deferred.size() == remaining.size()) {
+                throw new SQLException("The created employees contain a reporting cycle.");
+            }
+            remaining = deferred;
+        }
+    }
+
+    /**
+     * Binds the values of an employee to the parameters of {@link #INSERT_SQL}.
+     *
+     * @param stmt     The statement to bind to.
+     * @param employee The employee to insert.
+     * @throws SQLException If a parameter cannot be set.
+     */
+    private static void bindInsert(PreparedStatement stmt, Employee employee) throws SQLException {
+        stmt.setString(1, employee.getFirstName());
+        stmt.setString(2, employee.getLastName());
+        stmt.setString(3, employee.getEmail());
+        stmt.setString(4, employee.getJobTitle());
+        stmt.setString(5, employee.getDepartment());
+        stmt.setString(6, String.valueOf(employee.getEmploymentType()));
+        stmt.setString(7, String.valueOf(employee.getEmploymentStatus()));
+        stmt.setDate(8, employee.getHireDate());
+        stmt.setDate(9, employee.getStartDate());
+        stmt.setInt(10, employee.getCreatedBy());
+        stmt.setInt(11, employee.getManagerId());
+    }
+
     /**
      * Retrieves an employee record from the database based on its unique ID.
      *
@@ -80,33 +357,7 @@ public class EmployeeRepository implements CrudRepository<Employee> {
             SQLStatement.setInt(1, id);
             try (ResultSet rs = SQLStatement.executeQuery()) {
                 if (rs.next()) {
-                    Employee employee = new Employee();
-                    employee.setId(rs.getInt("id"));
-                    employee.setFirstName(rs.getString("first_name"));
-                    employee.setLastName(rs.getString("last_name"));
-                    employee.setEmail(rs.getString("email"));
-                    employee.setManagerId(rs.getInt("manager_id"));
-                    employee.setJobTitle(rs.getString("job_title"));
-                    employee.setDepartment(rs.getString("department"));
-
-                    try {
-                        employee.setEmploymentType(EmploymentType.valueOf(rs.getString("employment_type")));
-                        employee.setEmploymentStatus(EmploymentStatus.valueOf(rs.getString("employment_status")));
-                    } catch (IllegalArgumentException e) {
-                        logger.log(Level.WARNING, "IllegalArgumentException: " + e.getMessage(), e);
-                    }
-
-                    employee.setHireDate(rs.getDate("hire_date"));
-                    employee.setStartDate(rs.getDate("start_date"));
-                    employee.setTerminationDate(rs.getDate("termination_date"));
-                    employee.setTerminationReason(rs.getString("termination_reason"));
-                    employee.setRetentionEndDate(rs.getDate("retention_end_date"));
-                    employee.setCreatedAt(rs.getTimestamp("created_at"));
-                    employee.setCreatedBy(rs.getInt("created_by"));
-                    employee.setLastUpdatedBy(rs.getInt("last_updated_by"));
-                    employee.setLastUpdatedAt(rs.getTimestamp("last_updated_at"));
-
-                    return employee;
+                    return ROW_MAPPER.mapRow(rs);
                 }
             }
             return null;
@@ -115,14 +366,46 @@ public class EmployeeRepository implements CrudRepository<Employee> {
         }
     }
 
+    /**
+     * Retrieves an employee by ID through the shared read-through cache, so
+     * that frequently requested employees, such as managers, rarely cost a
+     * query. The returned object is shared and must not be modified. Missing
+     * employees are loaded with {@link #read(Integer)} from the primary, so the
+     * cache never keeps a copy from a lagging replica.
+     *
+     * @param id The ID of the employee to retrieve.
+     * @return The {@link Employee}, or {@code null} if no employee with the given ID exists.
+     * @throws SQLException If the employee is not cached and a database access error occurs.
+     */
+    public Employee readCached(Integer id) throws SQLException {
+        return CACHE.get(id, () -> read(id));
+    }
+
+    /**
+     * Drops an employee from the read-through cache. Called after every change
+     * of the employee's row, including changes made by stored procedures. Inside
+     * a transaction, the employee is dropped once the transaction completes.
+     *
+     * @param id The ID of the changed employee; {@code null} is ignored.
+     */
+    public static void invalidateCache(Integer id) {
+        if (id != null) {
+            CACHE.invalidate(id);
+        }
+    }
+
     /**
      * Updates specific fields of an existing employee record in the database.
+     * If {@code manager_id} changes, the employee's team is moved in the
+     * {@code employee_hierarchy} closure table in the same transaction.
      *
      * @param id      The ID of the employee record to update.
      * @param updates A {@code Map} where the keys are the column names to update
      * and the values are the new values for those columns.
      * @return The number of rows affected by the update operation (should be 1 on success).
-     * @throws IllegalArgumentException If the provided {@code updates} map is null or empty.
+     * @throws IllegalArgumentException If the provided {@code updates} map is null or empty, contains a column
+     * that may not be updated or a value that does not fit its column type, or if the new manager
+     * reports to the employee.
      * @throws SQLException             If a database access error occurs during the update.
      */
     @Override
@@ -131,24 +414,33 @@ public class EmployeeRepository implements CrudRepository<Employee> {
             throw new IllegalArgumentException("Invalid input parameters");
         }
 
-        StringBuilder sql = new StringBuilder("UPDATE employees SET ");
-        for (String field : updates.keySet()) {
-            sql.append(field).append(" = ?, ");
-        }
-
-        sql.setLength(sql.length() - 2);
-        sql.append(" WHERE id = ?");
-
-        try (Connection c = DatabaseUtils.getMySQLConnection();
-             PreparedStatement SQLStatement = c.prepareStatement(sql.toString())) {
-            int index = 1;
+        UpdateTemplates.Template template = UPDATE_TEMPLATES.forColumns(updates.keySet());
 
-            for (Object value : updates.values()) {
-                SQLStatement.setObject(index++, value);
+        if (!updates.containsKey("manager_id")) {
+            try (Connection c = DatabaseUtils.getMySQLConnection();
+                 PreparedStatement SQLStatement = c.prepareStatement(template.getSql())) {
+                template.bind(SQLStatement, updates, id);
+                int affected = SQLStatement.executeUpdate();
+                invalidateCache(id);
+                return affected;
+            } catch (SQLException e) {
+                throw new SQLException("Error updating employee with ID " + id, e);
             }
+        }
 
-            SQLStatement.setInt(index, id);
-            return SQLStatement.executeUpdate();
+        try {
+            return TransactionTemplate.inTransaction(c -> {
+                int affected;
+                try (PreparedStatement SQLStatement = c.prepareStatement(template.getSql())) {
+                    template.bind(SQLStatement, updates, id);
+                    affected = SQLStatement.executeUpdate();
+                }
+                if (affected > 0) {
+                    hierarchyRepository.moveEmployee(id, ((Number) updates.get("manager_id")).intValue());
+                }
+                invalidateCache(id);
+                return affected;
+            });
         } catch (SQLException e) {
             throw new SQLException("Error updating employee with ID " + id, e);
         }
@@ -173,12 +465,87 @@ public class EmployeeRepository implements CrudRepository<Employee> {
              PreparedStatement SQLStatement = c.prepareStatement(sql)) {
 
             SQLStatement.setInt(1, id);
-            return SQLStatement.executeUpdate();
+            int affected = SQLStatement.executeUpdate();
+            invalidateCache(id);
+            return affected;
         } catch (SQLException e) {
             throw new SQLException("Error deleting employee with ID " + id, e);
         }
     }
 
+    /**
+     * Creates several employee records using JDBC batching in one transaction,
+     * with the default batch size. The generated IDs are set on the given objects.
+     *
+     * @param employees The {@link Employee} objects to create.
+     * @return The number of created employee records.
+     * @throws IllegalArgumentException If the collection is null or contains null elements.
+     * @throws SQLException             If a database access error occurs during the creation.
+     */
+    @Override
+    public int createAll(Collection<Employee> employees) throws IllegalArgumentException, SQLException {
+        if (employees == null) {
+            throw new IllegalArgumentException("Invalid input parameters");
+        }
+        return createAll(new ArrayList<>(employees), BatchSupport.DEFAULT_BATCH_SIZE);
+    }
+
+    /**
+     * Retrieves the employee records with the given IDs.
+     *
+     * @param ids The IDs of the employees to retrieve.
+     * @return The {@link Employee} objects found, in the order of the given IDs.
+     * @throws SQLException If a database access error occurs during the retrieval.
+     */
+    @Override
+    public List<Employee> readAll(Collection<Integer> ids) throws SQLException {
+        return BatchSupport.readByIds("employees", ids, ROW_MAPPER);
+    }
+
+    /**
+     * Updates several employee records in one transaction. Changes to
+     * {@code manager_id} are applied to the hierarchy in the same transaction.
+     *
+     * @param updates A map from employee ID to the column names to update and their new values.
+     * @return The number of rows affected by the update operations.
+     * @throws IllegalArgumentException If the map, an ID or a set of updates is null or empty.
+     * @throws SQLException             If a database access error occurs during the update.
+     */
+    @Override
+    public int updateAll(Map<Integer, Map<String, Object>> updates) throws IllegalArgumentException, SQLException {
+        if (updates == null || updates.values().stream().noneMatch(u -> u != null && u.containsKey("manager_id"))) {
+            int affected = BatchSupport.updateByIds(UPDATE_TEMPLATES, updates);
+            updates.keySet().forEach(EmployeeRepository::invalidateCache);
+            return affected;
+        }
+
+        return TransactionTemplate.inTransaction(c -> {
+            int affected = BatchSupport.updateByIds(UPDATE_TEMPLATES, updates);
+            for (Map.Entry<Integer, Map<String, Object>> entry : updates.entrySet()) {
+                if (entry.getValue().containsKey("manager_id")) {
+                    hierarchyRepository.moveEmployee(entry.getKey(), ((Number) entry.getValue().get("manager_id")).intValue());
+                }
+            }
+            updates.keySet().forEach(EmployeeRepository::invalidateCache);
+            return affected;
+        });
+    }
+
+    /**
+     * Deletes the employee records with the given IDs in one transaction.
+     *
+     * @param ids The IDs of the employees to delete.
+     * @return The number of deleted employee records.
+     * @throws IllegalArgumentException If the collection is null or contains non-positive IDs.
+     * @throws SQLException             If a database access error occurs during the deletion.
+     */
+    @Override
+    public int deleteAll(Collection<Integer> ids) throws IllegalArgumentException, SQLException {
+        int deleted = BatchSupport.deleteByIds("employees", ids);
+        ids.forEach(EmployeeRepository::invalidateCache);
+        return deleted;
+    }
+
     /**
      * Retrieves all employee records from the database.
      *
@@ -189,21 +556,77 @@ public class EmployeeRepository implements CrudRepository<Employee> {
     @Override
     public List<Employee> findAll() throws SQLException {
         List<Employee> employees = new ArrayList<>();
-        String sql = "SELECT id FROM employees"; // Only fetch IDs for efficiency
+        String sql = "SELECT * FROM employees";
 
-        try (Connection connection = DatabaseUtils.getMySQLConnection();
-             PreparedStatement pstmt = connection.prepareStatement(sql);
-             ResultSet rs = pstmt.executeQuery()) {
-            while (rs.next()) {
-                Employee employee = read(rs.getInt("id"));
-                if (employee != null) {
-                    employees.add(employee);
+        try (Connection c = DatabaseUtils.getReadOnlyConnection();
+             PreparedStatement pstmt = c.prepareStatement(sql)) {
+            pstmt.setFetchSize(DatabaseUtils.getFetchSize());
+
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    employees.add(ROW_MAPPER.mapRow(rs));
                 }
             }
+        } catch (SQLException e) {
+            throw new SQLException("Error retrieving all employees", e);
         }
         return employees;
     }
 
+    /**
+     * Streams all employee records to the given consumer, one row at a time.
+     * The rows are read through a forward-only, read-only cursor with the
+     * configured fetch size, so memory use does not depend on the number of rows.
+     * The connection stays open until the consumer has processed the last row.
+     *
+     * @param consumer The consumer invoked for every employee, in ID order. It may
+     * throw an {@link java.io.UncheckedIOException} to abort the stream.
+     * @return The number of employees passed to the consumer.
+     * @throws IllegalArgumentException If {@code consumer} is null.
+     * @throws SQLException             If a database access error occurs during the retrieval.
+     */
+    public int streamAll(Consumer<Employee> consumer) throws IllegalArgumentException, SQLException {
+        if (consumer == null) {
+            throw new IllegalArgumentException("Invalid consumer.");
+        }
+
+        String sql = "SELECT * FROM employees ORDER BY id";
+        int count = 0;
+
+        try (Connection c = DatabaseUtils.getReadOnlyConnection();
+             PreparedStatement stmt = c.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+            stmt.setFetchSize(DatabaseUtils.getFetchSize());
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    consumer.accept(ROW_MAPPER.mapRow(rs));
+                    count++;
+                }
+            }
+        } catch (SQLException e) {
+            throw new SQLException("Error streaming employees", e);
+        }
+
+        return count;
+    }
+
+    /**
+     * Retrieves one page of employee records using keyset pagination. The records are
+     * ordered by the sort column and then by ID, and each page continues right
+     * after the last record of the previous one.
+     *
+     * @param cursor The cursor returned with the previous page, or {@code null} for the first page.
+     * @param limit  The maximum number of records on the page.
+     * @param sort   The column to sort by: {@code id}, {@code last_name} or {@code department}. Defaults to {@code id}.
+     * @return A {@link Page} with the records and the cursor of the following page.
+     * @throws IllegalArgumentException If the cursor, limit or sort column is invalid.
+     * @throws SQLException             If a database access error occurs during the retrieval.
+     */
+    @Override
+    public Page<Employee> findPage(String cursor, int limit, String sort) throws IllegalArgumentException, SQLException {
+        return KeysetPaginator.findPage("employees", SORT_COLUMNS, cursor, limit, sort, ROW_MAPPER);
+    }
+
     /**
      * Retrieves a list of employees whose start date is the current date.
      *
@@ -215,17 +638,12 @@ public class EmployeeRepository implements CrudRepository<Employee> {
         List<Employee> employees = new ArrayList<>();
         String sql = "SELECT id, first_name, last_name, email FROM employees WHERE start_date = CURDATE()";
 
-        try (Connection c = DatabaseUtils.getMySQLConnection();
+        try (Connection c = DatabaseUtils.getReadOnlyConnection();
              PreparedStatement stmt = c.prepareStatement(sql);
              ResultSet rs = stmt.executeQuery()) {
 
             while (rs.next()) {
-                Employee employee = new Employee();
-                employee.setId(rs.getInt("id"));
-                employee.setFirstName(rs.getString("first_name"));
-                employee.setLastName(rs.getString("last_name"));
-                employee.setEmail(rs.getString("email"));
-                employees.add(employee);
+                employees.add(BASIC_ROW_MAPPER.mapRow(rs));
             }
         }
 
@@ -233,36 +651,194 @@ public class EmployeeRepository implements CrudRepository<Employee> {
     }
 
     /**
-     * Searches for employees whose first or last name contains the given name.
-     * The search is case-insensitive and uses a "LIKE %value%" pattern.
+     * Streams the ID, first name, last name and email of all employees to the
+     * given consumer, one row at a time, in ID order. Used to build the
+     * in-memory employee search index.
      *
-     * @param name The name (or part of a name) to search for.
-     * @return A {@code List} of {@link Employee} objects whose first or last name
-     * contains the search term. Returns an empty list if no matches are found.
-     * @throws SQLException If a database access error occurs during the search.
+     * @param consumer The consumer invoked with a basic {@link Employee} for every row.
+     * @return The number of employees passed to the consumer.
+     * @throws IllegalArgumentException If {@code consumer} is null.
+     * @throws SQLException             If a database access error occurs during the retrieval.
      */
-    public List<Employee> findByName(String name) throws SQLException {
-        List<Employee> employees = new ArrayList<>();
-        String sql = "SELECT id, first_name, last_name, email FROM employees WHERE LOWER(first_name) LIKE LOWER(?) OR LOWER(last_name) LIKE LOWER(?)";
+    public int streamBasic(Consumer<Employee> consumer) throws IllegalArgumentException, SQLException {
+        if (consumer == null) {
+            throw new IllegalArgumentException("Invalid consumer.");
+        }
 
-        try (Connection c = DatabaseUtils.getMySQLConnection();
-             PreparedStatement stmt = c.prepareStatement(sql)) {
+        String sql = "SELECT id, first_name, last_name, email FROM employees ORDER BY id";
+        int count = 0;
 
-            stmt.setString(1, "%" + name + "%");
-            stmt.setString(2, "%" + name + "%");
+        try (Connection c = DatabaseUtils.getReadOnlyConnection();
+             PreparedStatement stmt = c.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+            stmt.setFetchSize(DatabaseUtils.getFetchSize());
 
             try (ResultSet rs = stmt.executeQuery()) {
                 while (rs.next()) {
-                    Employee employee = new Employee();
-                    employee.setId(rs.getInt("id"));
-                    employee.setFirstName(rs.getString("first_name"));
-                    employee.setLastName(rs.getString("last_name"));
-                    employee.setEmail(rs.getString("email"));
-                    employees.add(employee);
+                    consumer.accept(BASIC_ROW_MAPPER.mapRow(rs));
+                    count++;
                 }
             }
         }
-        return employees;
+        return count;
+    }
+
+    /**
+     * Streams the ID, names, department, manager and employment status of all
+     * current employees (those not terminated, resigned or retired) to the
+     * given consumer, one row at a time, in ID order. Used to build the
+     * in-memory type-ahead suggestion index.
+     *
+     * @param consumer The consumer invoked with a directory {@link Employee} for every row.
+     * @return The number of employees passed to the consumer.
+     * @throws IllegalArgumentException If {@code consumer} is null.
+     * @throws SQLException             If a database access error occurs during the retrieval.
+     */
+    public int streamDirectory(Consumer<Employee> consumer) throws IllegalArgumentException, SQLException {
+        if (consumer == null) {
+            throw new IllegalArgumentException("Invalid consumer.");
+        }
+
+        String sql = "SELECT id, first_name, last_name, department, manager_id, employment_status FROM employees " +
+                "WHERE employment_status NOT IN ('TERMINATED', 'RESIGNED', 'RETIRED') ORDER BY id";
+        int count = 0;
+
+        try (Connection c = DatabaseUtils.getReadOnlyConnection();
+             PreparedStatement stmt = c.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+            stmt.setFetchSize(DatabaseUtils.getFetchSize());
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    consumer.accept(DIRECTORY_ROW_MAPPER.mapRow(rs));
+                    count++;
+                }
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Streams the searchable columns of all employees, or only of those changed
+     * since a point in time, to the given consumer, one row at a time. Used to
+     * build and refresh the global search index. A full read may be served by
+     * a read replica; a read of the changes goes to the primary, so that
+     * changes that are not yet replicated are not skipped.
+     *
+     * @param since    Only employees whose {@code last_updated_at} is at or after
+     *                 this time are read, or {@code null} to read all employees.
+     * @param consumer The consumer invoked with an {@link Employee} for every row.
+     * @return The number of employees passed to the consumer.
+     * @throws IllegalArgumentException If {@code consumer} is null.
+     * @throws SQLException             If a database access error occurs during the retrieval.
+     */
+    public int streamChangedSince(Timestamp since, Consumer<Employee> consumer) throws IllegalArgumentException, SQLException {
+        if (consumer == null) {
+            throw new IllegalArgumentException("Invalid consumer.");
+        }
+
+        String sql = "SELECT id, first_name, last_name, email, job_title, department, employment_status, created_at, " +
+                "last_updated_at FROM employees" + (since != null ? " WHERE last_updated_at >= ?" : "");
+        int count = 0;
+
+        try (Connection c = since != null ? DatabaseUtils.getMySQLConnection() : DatabaseUtils.getReadOnlyConnection();
+             PreparedStatement stmt = c.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+            stmt.setFetchSize(DatabaseUtils.getFetchSize());
+            if (since != null) {
+                stmt.setTimestamp(1, since);
+            }
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    consumer.accept(SEARCH_ROW_MAPPER.mapRow(rs));
+                    count++;
+                }
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Receives the analytics columns of one employee row, see
+     * {@link EmployeeRepository#streamAnalyticsColumns(Timestamp, AnalyticsRowConsumer)}.
+     * Dates are passed as days since 1970-01-01 and timestamps as milliseconds,
+     * so a row is handed over without creating an object for it.
+     */
+    @FunctionalInterface
+    public interface AnalyticsRowConsumer {
+
+        /** Day number passed for a {@code NULL} date. */
+        int NO_DATE = Integer.MIN_VALUE;
+
+        /**
+         * Receives one row.
+         *
+         * @param id               The employee ID.
+         * @param managerId        The ID of the employee's manager.
+         * @param jobTitle         The job title, or {@code null}.
+         * @param department       The department, or {@code null}.
+         * @param employmentType   The employment type.
+         * @param employmentStatus The employment status.
+         * @param hireDay          The hire date as epoch day.
+         * @param terminationDay   The termination date as epoch day, or {@link #NO_DATE}.
+         * @param lastUpdatedAt    The time of the last change in milliseconds, or 0 if unknown.
+         */
+        void accept(int id, int managerId, String jobTitle, String department, EmploymentType employmentType,
+                    EmploymentStatus employmentStatus, int hireDay, int terminationDay, long lastUpdatedAt);
+    }
+
+    /**
+     * Streams the columns used by analytics queries of all employees, or only
+     * of those changed since a point in time, to the given consumer, one row at
+     * a time. Used to build and refresh the in-memory column store. The columns
+     * are read by index into primitives instead of being mapped to
+     * {@link Employee} objects. A full read may be served by a read replica; a
+     * read of the changes goes to the primary, so that changes that are not yet
+     * replicated are not skipped.
+     *
+     * @param since    Only employees whose {@code last_updated_at} is at or after
+     *                 this time are read, or {@code null} to read all employees.
+     * @param consumer The consumer invoked for every row.
+     * @return The number of rows passed to the consumer.
+     * @throws IllegalArgumentException If {@code consumer} is null.
+     * @throws SQLException             If a database access error occurs during the retrieval.
+     */
+    public int streamAnalyticsColumns(Timestamp since, AnalyticsRowConsumer consumer) throws IllegalArgumentException, SQLException {
+        if (consumer == null) {
+            throw new IllegalArgumentException("Invalid consumer.");
+        }
+
+        String sql = "SELECT id, manager_id, job_title, department, employment_type, employment_status, hire_date, " +
+                "termination_date, last_updated_at FROM employees" + (since != null ? " WHERE last_updated_at >= ?" : "");
+        int count = 0;
+
+        try (Connection c = since != null ? DatabaseUtils.getMySQLConnection() : DatabaseUtils.getReadOnlyConnection();
+             PreparedStatement stmt = c.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+            stmt.setFetchSize(DatabaseUtils.getFetchSize());
+            if (since != null) {
+                stmt.setTimestamp(1, since);
+            }
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    Timestamp lastUpdatedAt = rs.getTimestamp(9);
+                    consumer.accept(rs.getInt(1), rs.getInt(2), rs.getString(3), rs.getString(4),
+                        EmploymentType.valueOf(rs.getString(5)), EmploymentStatus.valueOf(rs.getString(6)),
+                        epochDay(rs.getDate(7)), epochDay(rs.getDate(8)),
+                        lastUpdatedAt != null ? lastUpdatedAt.getTime() : 0L);
+                    count++;
+                }
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Converts a date to a day number.
+     *
+     * @param date The date, or {@code null}.
+     * @return The days since 1970-01-01, or {@link AnalyticsRowConsumer#NO_DATE} if {@code date} is null.
+     */
+    private static int epochDay(Date date) {
+        return date == null ? AnalyticsRowConsumer.NO_DATE : (int) date.toLocalDate().toEpochDay();
     }
 
     /**
@@ -284,12 +860,7 @@ public class EmployeeRepository implements CrudRepository<Employee> {
 
             try (ResultSet rs = stmt.executeQuery()) {
                 if (rs.next()) {
-                    Employee employee = new Employee();
-                    employee.setId(rs.getInt("id"));
-                    employee.setFirstName(rs.getString("first_name"));
-                    employee.setLastName(rs.getString("last_name"));
-                    employee.setEmail(rs.getString("email"));
-                    return employee;
+                    return BASIC_ROW_MAPPER.mapRow(rs);
                 }
             }
         }
@@ -322,6 +893,71 @@ public class EmployeeRepository implements CrudRepository<Employee> {
         return name;
     }
 
+    /**
+     * Retrieves the profile of the employee linked to a user account, including
+     * the name of the employee's manager, with one query that joins
+     * {@code user_employee_link}, the employee and the manager. The profile is
+     * cached, so it is read on the primary: a copy read from a lagging replica
+     * would be served until the cache entry expires.
+     *
+     * @param userId The ID of the user.
+     * @return The {@link EmployeeProfile} of the linked employee, or {@code null}
+     * if the user is not linked to an employee.
+     * @throws SQLException If a database access error occurs during the retrieval.
+     */
+    public EmployeeProfile findProfileByUserId(Integer userId) throws SQLException {
+        String sql = "SELECT e.id, e.first_name, e.last_name, e.email, m.first_name AS manager_first_name, " +
+                     "m.last_name AS manager_last_name, e.job_title, e.department, e.employment_type, " +
+                     "e.employment_status, e.start_date, e.manager_id " +
+                     "FROM user_employee_link uel " +
+                     "JOIN employees e ON e.id = uel.employee_id " +
+                     "LEFT JOIN employees m ON m.id = e.manager_id " +
+                     "WHERE uel.user_id = ?";
+
+        try (Connection c = DatabaseUtils.getMySQLConnection();
+             PreparedStatement stmt = c.prepareStatement(sql)) {
+            stmt.setInt(1, userId);
+            try (ResultSet rs = stmt.executeQuery()) {
+                return rs.next() ? PROFILE_ROW_MAPPER.mapRow(rs) : null;
+            }
+        }
+    }
+
+    /**
+     * Determines which of the given IDs belong to existing employee records. The
+     * IDs are checked with as few {@code IN} queries as possible instead of one
+     * query per ID.
+     *
+     * @param ids The employee IDs to check.
+     * @return The subset of {@code ids} that exist in the database.
+     * @throws SQLException If a database access error occurs during the retrieval.
+     */
+    public Set<Integer> findExistingIds(Collection<Integer> ids) throws SQLException {
+        Set<Integer> existing = new HashSet<>();
+        List<List<Integer>> chunks = BatchSupport.chunkIds(ids);
+        if (chunks.isEmpty()) {
+            return existing;
+        }
+
+        try (Connection c = DatabaseUtils.getMySQLConnection()) {
+            for (List<Integer> chunk : chunks) {
+                String sql = "SELECT id FROM employees WHERE id IN (" + BatchSupport.placeholders(chunk.size()) + ")";
+
+                try (PreparedStatement stmt = c.prepareStatement(sql)) {
+                    BatchSupport.bindIds(stmt, chunk);
+
+                    try (ResultSet rs = stmt.executeQuery()) {
+                        while (rs.next()) {
+                            existing.add(rs.getInt("id"));
+                        }
+                    }
+                }
+            }
+        }
+
+        return existing;
+    }
+
     /**
      * Retrieves a list of IDs of employees who directly report to the given manager.
      *
@@ -335,7 +971,7 @@ public class EmployeeRepository implements CrudRepository<Employee> {
         List<Integer> subordinates = new ArrayList<>();
         String sql = "SELECT id FROM employees WHERE manager_id = ?";
 
-        try (Connection c = DatabaseUtils.getMySQLConnection();
+        try (Connection c = DatabaseUtils.getReadOnlyConnection();
             PreparedStatement stmt = c.prepareStatement(sql)) {
             stmt.setInt(1, managerId);
             try (ResultSet rs = stmt.executeQuery()) {
@@ -349,7 +985,8 @@ public class EmployeeRepository implements CrudRepository<Employee> {
 
     /**
      * Retrieves a list of IDs of all employees who are direct or indirect
-     * subordinates of the given manager using a recursive common table expression (CTE).
+     * subordinates of the given manager from the {@code employee_hierarchy}
+     * closure table, with one indexed lookup regardless of the depth of the organisation.
      *
      * @param managerId The ID of the top-level manager.
      * @return A {@code List} of employee IDs who are subordinates (direct or indirect)
@@ -358,24 +995,81 @@ public class EmployeeRepository implements CrudRepository<Employee> {
      * @throws SQLException If a database access error occurs during the retrieval.
      */
     public List<Integer> findAllSubordinates(Integer managerId) throws SQLException {
-        List<Integer> subordinates = new ArrayList<>();
-        // Recursive CTE to get all indirect subordinates
-        String sql = "WITH RECURSIVE Subordinates AS (" +
-                    "    SELECT id FROM employees WHERE manager_id = ?" +
-                    "    UNION ALL" +
-                    "    SELECT e.id FROM employees e INNER JOIN Subordinates s ON s.id = e.manager_id" +
-                    ")" +
-                    "SELECT id FROM Subordinates";
+        return hierarchyRepository.findDescendantIds(managerId);
+    }
 
-        try (Connection c = DatabaseUtils.getMySQLConnection();
-            PreparedStatement stmt = c.prepareStatement(sql)) {
-            stmt.setInt(1, managerId);
+    /**
+     * Retrieves the reporting line of every employee, i.e. each employee's ID
+     * together with the ID of their manager. The rows are read through a
+     * forward-only cursor into primitive arrays, so the whole organisation can
+     * be loaded without creating an object per employee.
+     *
+     * @return An array of two equally long arrays: the employee IDs at index 0
+     * and the corresponding manager IDs at index 1, ordered by employee ID.
+     * @throws SQLException If a database access error occurs during the retrieval.
+     */
+    public int[][] findManagerLinks() throws SQLException {
+        String sql = "SELECT id, manager_id FROM employees ORDER BY id";
+        int[] ids = new int[256];
+        int[] managerIds = new int[256];
+        int count = 0;
+
+        try (Connection c = DatabaseUtils.getReadOnlyConnection();
+             PreparedStatement stmt = c.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+            stmt.setFetchSize(DatabaseUtils.getFetchSize());
             try (ResultSet rs = stmt.executeQuery()) {
                 while (rs.next()) {
-                    subordinates.add(rs.getInt("id"));
+                    if (count == ids.length) {
+                        ids = Arrays.copyOf(ids, count * 2);
+                        managerIds = Arrays.copyOf(managerIds, count * 2);
+                    }
+                    ids[count] = rs.getInt(1);
+                    managerIds[count] = rs.getInt(2);
+                    count++;
                 }
             }
         }
-        return subordinates;
+        return new int[][] { Arrays.copyOf(ids, count), Arrays.copyOf(managerIds, count) };
+    }
+
+    /**
+     * Reads the team member projections of the given employees with one query
+     * and hands them to a consumer in the order of the given IDs. Only the
+     * columns of {@link TeamMember} are read, not the full employee rows.
+     *
+     * @param ids      The IDs of the employees to read, at most {@link KeysetPaginator#MAX_LIMIT}.
+     * @param consumer Receives the projections; IDs without an employee are skipped.
+     * @return The number of projections passed to the consumer.
+     * @throws IllegalArgumentException If an argument is null or too many IDs are given.
+     * @throws SQLException             If a database access error occurs during the retrieval.
+     */
+    public int streamTeamMembers(int[] ids, Consumer<TeamMember> consumer) throws IllegalArgumentException, SQLException {
+        if (ids == null || consumer == null || ids.length > KeysetPaginator.MAX_LIMIT) {
+            throw new IllegalArgumentException("Invalid input parameters");
+        }
+        if (ids.length == 0) {
+            return 0;
+        }
+
+        String placeholders = String.join(", ", Collections.nCopies(ids.length, "?"));
+        String sql = "SELECT id, first_name, last_name, email, job_title, department, manager_id, employment_status " +
+                     "FROM employees WHERE id IN (" + placeholders + ") ORDER BY FIELD(id, " + placeholders + ")";
+
+        try (Connection c = DatabaseUtils.getReadOnlyConnection();
+             PreparedStatement stmt = c.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+            for (int i = 0; i < ids.length; i++) {
+                stmt.setInt(i + 1, ids[i]);
+                stmt.setInt(ids.length + i + 1, ids[i]);
+            }
+
+            int count = 0;
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    consumer.accept(TEAM_MEMBER_ROW_MAPPER.mapRow(rs));
+                    count++;
+                }
+            }
+            return count;
+        }
     }
-}
\ No newline at end of file
+}
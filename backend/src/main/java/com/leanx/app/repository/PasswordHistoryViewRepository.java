@@ -6,8 +6,10 @@ import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Consumer;
 
 import com.leanx.app.model.views.PasswordHistoryView;
+import com.leanx.app.repository.base.ViewQuery;
 import com.leanx.app.repository.base.ViewRepository;
 import com.leanx.app.utils.DatabaseUtils;
 
@@ -34,13 +36,24 @@ public class PasswordHistoryViewRepository extends ViewRepository<PasswordHistor
      * @throws SQLException If a database access error occurs during the retrieval.
      */
     public List<PasswordHistoryView> findAllPasswordHistory() throws SQLException {
-        return findAll("password_history_view", rs -> {
-            try {
-                return new PasswordHistoryView(rs);
-            } catch (SQLException e) {
-                throw new RuntimeException("Mapping failed!", e);
-            }
-        });
+        return find(ViewQuery.from("password_history_view"), PasswordHistoryView.ROW_MAPPER);
+    }
+
+    /**
+     * Streams the {@code password_history_view} entries of a user, newest first,
+     * without loading the whole view into memory.
+     *
+     * @param userId   The ID of the user whose entries are streamed, or {@code null} for all users.
+     * @param consumer Receives the entries one at a time.
+     * @return The number of entries passed to the consumer.
+     * @throws SQLException If a database access error occurs during the retrieval.
+     */
+    public int streamPasswordHistory(Integer userId, Consumer<PasswordHistoryView> consumer) throws SQLException {
+        ViewQuery query = ViewQuery.from("password_history_view").orderBy("created_at", false);
+        if (userId != null) {
+            query.where("user_id", ViewQuery.Operator.EQ, userId);
+        }
+        return stream(query, PasswordHistoryView.ROW_MAPPER, consumer);
     }
 
     /**
@@ -6,7 +6,9 @@ import java.util.List;
 import java.util.Map;
 
 import com.leanx.app.model.views.PasswordSettingsView;
+import com.leanx.app.repository.base.ViewQuery;
 import com.leanx.app.repository.base.ViewRepository;
+import com.leanx.app.repository.base.ViewResultCache;
 
 /**
  * Repository class for accessing the {@code password_settings_view}.
@@ -15,6 +17,14 @@ import com.leanx.app.repository.base.ViewRepository;
  */
 public class PasswordSettingsViewRepository extends ViewRepository<PasswordSettingsView> {
 
+    /**
+     * Settings are changed through the configuration change log, so a new log
+     * entry invalidates the cached settings.
+     */
+    static {
+        ViewResultCache.watch("SELECT MAX(log_id) FROM configuration_change_log", "password_settings_view");
+    }
+
     /**
      * Constructs a new {@code PasswordSettingsViewRepository}.
      */
@@ -25,18 +35,13 @@ public class PasswordSettingsViewRepository extends ViewRepository<PasswordSetti
     /**
      * Retrieves all entries from the {@code password_settings_view}.
      * Each row in the view is mapped to a {@link PasswordSettingsView} object.
+     * The result is served from the {@link ViewResultCache}.
      *
      * @return A {@code List} of {@link PasswordSettingsView} objects representing all password settings.
      * @throws SQLException If a database access error occurs during the retrieval.
      */
     public List<PasswordSettingsView> findAllPasswordSettings() throws SQLException {
-        return findAll("password_settings_view", rs -> {
-            try {
-                return new PasswordSettingsView(rs);
-            } catch (SQLException e) {
-                throw new RuntimeException("Mapping failed!", e);
-            }
-        });
+        return findCached(ViewQuery.from("password_settings_view"), PasswordSettingsView.ROW_MAPPER);
     }
 
     /**
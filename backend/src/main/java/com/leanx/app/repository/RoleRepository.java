@@ -0,0 +1,69 @@
+package com.leanx.app.repository;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.function.Consumer;
+
+import com.leanx.app.model.entity.Role;
+import com.leanx.app.repository.base.CompiledRowMapper;
+import com.leanx.app.repository.base.RowMapper;
+import com.leanx.app.utils.DatabaseUtils;
+
+/**
+ * Repository class for reading {@link Role} entities from the 'roles' table.
+ * Roles are maintained by database scripts, so the repository only reads them.
+ */
+public class RoleRepository {
+
+    /**
+     * Maps a full row of the 'roles' table to a {@link Role} entity.
+     */
+    public static final RowMapper<Role> ROW_MAPPER = CompiledRowMapper.builder(Role::new)
+        .intColumn("id", Role::setId)
+        .stringColumn("name", Role::setName)
+        .stringColumn("description", Role::setDescription)
+        .timestampColumn("created_at", Role::setCreatedAt)
+        .timestampColumn("last_updated_at", Role::setLastUpdatedAt)
+        .build();
+
+    /**
+     * Streams all roles, or only those changed since a point in time, to the
+     * given consumer, one row at a time. A full read may be served by a read
+     * replica; a read of the changes goes to the primary, so that changes that
+     * are not yet replicated are not skipped.
+     *
+     * @param since    Only roles whose {@code last_updated_at} is at or after this
+     *                 time are read, or {@code null} to read all roles.
+     * @param consumer The consumer invoked with a {@link Role} for every row.
+     * @return The number of roles passed to the consumer.
+     * @throws IllegalArgumentException If {@code consumer} is null.
+     * @throws SQLException             If a database access error occurs during the retrieval.
+     */
+    public int streamChangedSince(Timestamp since, Consumer<Role> consumer) throws IllegalArgumentException, SQLException {
+        if (consumer == null) {
+            throw new IllegalArgumentException("Invalid consumer.");
+        }
+
+        String sql = "SELECT * FROM roles" + (since != null ? " WHERE last_updated_at >= ?" : "");
+        int count = 0;
+
+        try (Connection c = since != null ? DatabaseUtils.getMySQLConnection() : DatabaseUtils.getReadOnlyConnection();
+             PreparedStatement stmt = c.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+            stmt.setFetchSize(DatabaseUtils.getFetchSize());
+            if (since != null) {
+                stmt.setTimestamp(1, since);
+            }
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    consumer.accept(ROW_MAPPER.mapRow(rs));
+                    count++;
+                }
+            }
+        }
+        return count;
+    }
+}
@@ -0,0 +1,390 @@
+package com.leanx.app.repository;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import com.leanx.app.utils.EnvironmentUtils;
+import com.leanx.app.utils.collections.IntIntHashMap;
+
+/**
+ * In-memory, bidirectional index of the {@code user_employee_link} table,
+ * used by {@link UserEmployeeLinkRepository} to resolve users to employees and
+ * back without a query. The links are kept in two primitive {@link IntIntHashMap}s
+ * (user to employee and employee to user), so even large tenants need only a
+ * few bytes per link.
+ * <p>
+ * The index is loaded at startup and kept current by the repository's save
+ * and delete methods. It is only a cache: a lookup that misses the index is
+ * answered from the database and the result is added, so links created
+ * elsewhere (e.g. by the {@code CreateNewUserAccount} procedure or on another
+ * backend node) are picked up on first use. Links removed on other nodes are
+ * dropped when the index is reloaded, which happens when it is older than
+ * {@code LINK_INDEX_MAX_AGE_MS} (default 60 seconds). Until then such a link
+ * is still served, also to the self-service lookups, so the default matches
+ * the staleness allowed for the entity cache ({@code ENTITY_CACHE_TTL_MS}).
+ * <p>
+ * At most {@code LINK_INDEX_MAX_ENTRIES} (default 1000000) users and employees
+ * are indexed; further links are answered from the database. Users or
+ * employees with more than one link are not indexed either.
+ */
+public final class UserEmployeeLinkIndex {
+
+    private static final Logger logger = Logger.getLogger(UserEmployeeLinkIndex.class.getName());
+
+    private static final int MAX_ENTRIES = Math.max(1, EnvironmentUtils.getInt("LINK_INDEX_MAX_ENTRIES", 1_000_000));
+    private static final long MAX_AGE_MILLIS = EnvironmentUtils.getLong("LINK_INDEX_MAX_AGE_MS", 60 * 1000L);
+    private static final long RELOAD_BACKOFF_MILLIS = EnvironmentUtils.getLong("LINK_INDEX_RELOAD_BACKOFF_MS", 30 * 1000L);
+
+    /**
+     * Returned by the lookups if the link is not in the index and has to be read from the database.
+     */
+    public static final int NOT_INDEXED = -1;
+
+    /** Stored for a user or employee with several links, whose lookups go to the database. */
+    private static final int AMBIGUOUS = -2;
+
+    private static final int ADD = 0;
+    private static final int REMOVE = 1;
+
+    private static final UserEmployeeLinkIndex INSTANCE = new UserEmployeeLinkIndex(new UserEmployeeLinkRepository());
+
+    private final UserEmployeeLinkRepository repository;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final ReentrantLock reloadLock = new ReentrantLock();
+    private final AtomicLong removals = new AtomicLong();
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    private IntIntHashMap employeeByUser = new IntIntHashMap(0, NOT_INDEXED);
+    private IntIntHashMap userByEmployee = new IntIntHashMap(0, NOT_INDEXED);
+    private boolean full;
+    private List<int[]> pendingChanges;
+    private volatile long loadedAt;
+    private volatile long lastReloadAt;
+
+    private UserEmployeeLinkIndex(UserEmployeeLinkRepository repository) {
+        this.repository = repository;
+    }
+
+    /**
+     * Gets the shared index.
+     *
+     * @return The application-wide link index.
+     */
+    public static UserEmployeeLinkIndex getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Loads all links from the database, replacing the current content.
+     * Called at startup; later reloads happen on their own.
+     *
+     * @throws SQLException If a database access error occurs; the current content is kept.
+     */
+    public void load() throws SQLException {
+        reloadLock.lock();
+        try {
+            reload();
+        } finally {
+            reloadLock.unlock();
+        }
+    }
+
+    /**
+     * Looks up the employee a user is linked to.
+     *
+     * @param userId The ID of the user.
+     * @return The ID of the employee, or {@link #NOT_INDEXED} if the link must be read from the database.
+     */
+    public int findEmployeeId(int userId) {
+        refreshIfStale();
+        int employeeId;
+        lock.readLock().lock();
+        try {
+            employeeId = employeeByUser.get(userId);
+        } finally {
+            lock.readLock().unlock();
+        }
+        return count(employeeId);
+    }
+
+    /**
+     * Looks up the user linked to an employee.
+     *
+     * @param employeeId The ID of the employee.
+     * @return The ID of the user, or {@link #NOT_INDEXED} if the link must be read from the database.
+     */
+    public int findUserId(int employeeId) {
+        refreshIfStale();
+        int userId;
+        lock.readLock().lock();
+        try {
+            userId = userByEmployee.get(employeeId);
+        } finally {
+            lock.readLock().unlock();
+        }
+        return count(userId);
+    }
+
+    /**
+     * Gets the version of the index, which changes whenever a link is removed.
+     * Taken before a link is read from the database and passed to
+     * {@link #addLoaded(int, int, long)}.
+     *
+     * @return The current version.
+     */
+    public long getVersion() {
+        return removals.get();
+    }
+
+    /**
+     * Adds a link that was created in the database.
+     *
+     * @param userId     The ID of the user.
+     * @param employeeId The ID of the employee.
+     */
+    public void add(int userId, int employeeId) {
+        apply(ADD, userId, employeeId);
+    }
+
+    /**
+     * Adds a link that was read from the database, unless a link was removed
+     * since the read started, in which case the read may be outdated.
+     *
+     * @param userId     The ID of the user.
+     * @param employeeId The ID of the employee.
+     * @param version    The {@link #getVersion() version} taken before the read.
+     */
+    public void addLoaded(int userId, int employeeId, long version) {
+        lock.writeLock().lock();
+        try {
+            if (removals.get() == version) {
+                apply(ADD, userId, employeeId);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes a link that was deleted from the database. Removing a link is
+     * always safe, the next lookup reads it from the database again.
+     *
+     * @param userId     The ID of the user.
+     * @param employeeId The ID of the employee.
+     */
+    public void remove(int userId, int employeeId) {
+        apply(REMOVE, userId, employeeId);
+    }
+
+    /**
+     * Returns index statistics.
+     *
+     * @return A map with the keys {@code users}, {@code employees}, {@code maxEntries},
+     * {@code full}, {@code hits} and {@code misses}.
+     */
+    public Map<String, Object> getStats() {
+        lock.readLock().lock();
+        try {
+            return Map.of(
+                "users", employeeByUser.size(),
+                "employees", userByEmployee.size(),
+                "maxEntries", MAX_ENTRIES,
+                "full", full,
+                "hits", hits.get(),
+                "misses", misses.get()
+            );
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Counts a lookup as hit or miss.
+     *
+     * @param value The value found in the index.
+     * @return The value, or {@link #NOT_INDEXED} if the lookup missed.
+     */
+    private int count(int value) {
+        if (value > 0) {
+            hits.incrementAndGet();
+            return value;
+        }
+        misses.incrementAndGet();
+        return NOT_INDEXED;
+    }
+
+    /**
+     * Applies a change to the index, and records it if a reload is running so
+     * that it can be replayed on the reloaded maps.
+     *
+     * @param change     The kind of change: {@link #ADD} or {@link #REMOVE}.
+     * @param userId     The ID of the user.
+     * @param employeeId The ID of the employee.
+     */
+    private void apply(int change, int userId, int employeeId) {
+        lock.writeLock().lock();
+        try {
+            if (change != ADD) {
+                removals.incrementAndGet();
+            }
+            if (!applyTo(employeeByUser, userByEmployee, change, userId, employeeId)) {
+                full = true;
+            }
+            if (pendingChanges != null) {
+                pendingChanges.add(new int[] { change, userId, employeeId });
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Applies a change to a pair of maps.
+     *
+     * @param byUser     The map from user to employee.
+     * @param byEmployee The map from employee to user.
+     * @param change     The kind of change.
+     * @param userId     The ID of the user.
+     * @param employeeId The ID of the employee.
+     * @return {@code false} if a link was not added because the maps are full.
+     */
+    private boolean applyTo(IntIntHashMap byUser, IntIntHashMap byEmployee, int change, int userId, int employeeId) {
+        if (change == ADD) {
+            return link(byUser, byEmployee, userId, employeeId);
+        }
+        unlink(byUser, byEmployee, userId, employeeId);
+        return true;
+    }
+
+    /**
+     * Reloads the index if it is older than the maximum age and no other
+     * thread is reloading it. If loading fails, lookups keep using the
+     * current content and fall back to the database for everything else.
+     */
+    private void refreshIfStale() {
+        long now = System.currentTimeMillis();
+        if (now - loadedAt < MAX_AGE_MILLIS || now - lastReloadAt < RELOAD_BACKOFF_MILLIS || !reloadLock.tryLock()) {
+            return;
+        }
+
+        try {
+            if (System.currentTimeMillis() - loadedAt >= MAX_AGE_MILLIS) {
+                reload();
+            }
+        } catch (SQLException e) {
+            // Already logged, the lookups fall back to the database until the next attempt
+        } finally {
+            reloadLock.unlock();
+        }
+    }
+
+    /**
+     * Loads all links into new maps and swaps them in. Changes made while
+     * loading are replayed on the new maps. Must be called while holding the
+     * reload lock.
+     *
+     * @throws SQLException If a database access error occurs while loading the links.
+     */
+    private void reload() throws SQLException {
+        lastReloadAt = System.currentTimeMillis();
+        lock.writeLock().lock();
+        try {
+            pendingChanges = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        int[][] links;
+        try {
+            links = repository.findAllLinks(MAX_ENTRIES + 1);
+        } catch (SQLException e) {
+            lock.writeLock().lock();
+            try {
+                pendingChanges = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            logger.log(Level.SEVERE, "Failed to load the user-employee link index", e);
+            throw e;
+        }
+
+        int[] userIds = links[0];
+        int[] employeeIds = links[1];
+        IntIntHashMap byUser = new IntIntHashMap(Math.min(userIds.length, MAX_ENTRIES), NOT_INDEXED);
+        IntIntHashMap byEmployee = new IntIntHashMap(Math.min(userIds.length, MAX_ENTRIES), NOT_INDEXED);
+        boolean loadedFull = userIds.length > MAX_ENTRIES;
+        for (int i = 0; i < userIds.length && !loadedFull; i++) {
+            loadedFull = !link(byUser, byEmployee, userIds[i], employeeIds[i]);
+        }
+
+        lock.writeLock().lock();
+        try {
+            loadedAt = System.currentTimeMillis();
+            for (int[] change : pendingChanges) {
+                loadedFull |= !applyTo(byUser, byEmployee, change[0], change[1], change[2]);
+            }
+            pendingChanges = null;
+            employeeByUser = byUser;
+            userByEmployee = byEmployee;
+            full = loadedFull;
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        if (loadedFull) {
+            logger.log(Level.WARNING, "User-employee link index is full, links beyond {0} entries are read from the database", MAX_ENTRIES);
+        }
+        logger.log(Level.INFO, "Loaded user-employee link index with {0} users", byUser.size());
+    }
+
+    /**
+     * Adds a link to a pair of maps. A user or employee that is already linked
+     * to someone else is marked as ambiguous.
+     *
+     * @param byUser     The map from user to employee.
+     * @param byEmployee The map from employee to user.
+     * @param userId     The ID of the user.
+     * @param employeeId The ID of the employee.
+     * @return {@code false} if the link was not added because the maps are full.
+     */
+    private static boolean link(IntIntHashMap byUser, IntIntHashMap byEmployee, int userId, int employeeId) {
+        int currentEmployee = byUser.get(userId);
+        int currentUser = byEmployee.get(employeeId);
+        if ((currentEmployee == NOT_INDEXED && byUser.size() >= MAX_ENTRIES)
+                || (currentUser == NOT_INDEXED && byEmployee.size() >= MAX_ENTRIES)) {
+            return false;
+        }
+
+        byUser.put(userId, currentEmployee == NOT_INDEXED || currentEmployee == employeeId ? employeeId : AMBIGUOUS);
+        byEmployee.put(employeeId, currentUser == NOT_INDEXED || currentUser == userId ? userId : AMBIGUOUS);
+        return true;
+    }
+
+    /**
+     * Removes a link from a pair of maps. Ambiguous entries are removed as
+     * well, since it is unknown which links remain.
+     *
+     * @param byUser     The map from user to employee.
+     * @param byEmployee The map from employee to user.
+     * @param userId     The ID of the user.
+     * @param employeeId The ID of the employee.
+     */
+    private static void unlink(IntIntHashMap byUser, IntIntHashMap byEmployee, int userId, int employeeId) {
+        int currentEmployee = byUser.get(userId);
+        if (currentEmployee == employeeId || currentEmployee == AMBIGUOUS) {
+            byUser.remove(userId);
+        }
+        int currentUser = byEmployee.get(employeeId);
+        if (currentUser == userId || currentUser == AMBIGUOUS) {
+            byEmployee.remove(employeeId);
+        }
+    }
+}
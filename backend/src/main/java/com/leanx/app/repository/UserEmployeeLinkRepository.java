@@ -5,14 +5,17 @@ import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 import com.leanx.app.utils.DatabaseUtils;
+import com.leanx.app.utils.database.TransactionTemplate;
 
 /**
  * Repository class for managing the links between user accounts and employee records
  * in the {@code user_employee_link} table. Provides methods to create, delete,
- * and query these links.
+ * and query these links. Lookups are answered from the {@link UserEmployeeLinkIndex}
+ * where possible, and links read from the database are added to it.
  */
 public class UserEmployeeLinkRepository {
 
@@ -32,7 +35,12 @@ public class UserEmployeeLinkRepository {
 
             stmt.setInt(1, userId);
             stmt.setInt(2, employeeId);
-            return stmt.executeUpdate();
+            int affectedRows = stmt.executeUpdate();
+            if (affectedRows > 0 && !TransactionTemplate.isTransactionActive()) {
+                // Inside a transaction the link may still be rolled back; it is indexed on first lookup instead
+                UserEmployeeLinkIndex.getInstance().add(userId, employeeId);
+            }
+            return affectedRows;
         }
     }
 
@@ -52,7 +60,9 @@ public class UserEmployeeLinkRepository {
 
             stmt.setInt(1, userId);
             stmt.setInt(2, employeeId);
-            return stmt.executeUpdate();
+            int affectedRows = stmt.executeUpdate();
+            UserEmployeeLinkIndex.getInstance().remove(userId, employeeId);
+            return affectedRows;
         }
     }
 
@@ -66,6 +76,13 @@ public class UserEmployeeLinkRepository {
      * @throws SQLException If a database access error occurs during the query.
      */
     public List<Integer> findUserIdByEmployeeId(Integer employeeId) throws SQLException {
+        UserEmployeeLinkIndex index = UserEmployeeLinkIndex.getInstance();
+        int indexedUserId = index.findUserId(employeeId);
+        if (indexedUserId != UserEmployeeLinkIndex.NOT_INDEXED) {
+            return List.of(indexedUserId);
+        }
+
+        long version = index.getVersion();
         List<Integer> userIds = new ArrayList<>();
         String sql = "SELECT user_id FROM user_employee_link WHERE employee_id = ?";
 
@@ -80,6 +97,9 @@ public class UserEmployeeLinkRepository {
             }
         }
 
+        if (userIds.size() == 1) {
+            index.addLoaded(userIds.get(0), employeeId, version);
+        }
         return userIds;
     }
 
@@ -92,19 +112,62 @@ public class UserEmployeeLinkRepository {
      * @throws SQLException If a database access error occurs during the query.
      */
     public Integer findEmployeeIdByUserId(Integer userId) throws SQLException {
-        String sql = "SELECT employee_id FROM user_employee_link WHERE user_id = ?";
+        UserEmployeeLinkIndex index = UserEmployeeLinkIndex.getInstance();
+        int indexedEmployeeId = index.findEmployeeId(userId);
+        if (indexedEmployeeId != UserEmployeeLinkIndex.NOT_INDEXED) {
+            return indexedEmployeeId;
+        }
+
+        long version = index.getVersion();
+        String sql = "SELECT employee_id FROM user_employee_link WHERE user_id = ? LIMIT 2";
 
         try (Connection c = DatabaseUtils.getMySQLConnection();
              PreparedStatement stmt = c.prepareStatement(sql)) {
 
             stmt.setInt(1, userId);
             try (ResultSet rs = stmt.executeQuery()) {
-                if (rs.next()) {
-                    return rs.getInt("employee_id");
-                } else {
+                if (!rs.next()) {
                     return null;
                 }
+                int employeeId = rs.getInt("employee_id");
+                if (!rs.next()) {
+                    index.addLoaded(userId, employeeId, version);
+                }
+                return employeeId;
+            }
+        }
+    }
+
+    /**
+     * Reads the links of the {@link UserEmployeeLinkIndex} from the primary
+     * database, so that links that are not yet replicated are included.
+     *
+     * @param limit The maximum number of links to read.
+     * @return Two arrays of the same length: the user IDs and the linked employee IDs.
+     * @throws SQLException If a database access error occurs during the query.
+     */
+    int[][] findAllLinks(int limit) throws SQLException {
+        String sql = "SELECT user_id, employee_id FROM user_employee_link LIMIT ?";
+        int[] userIds = new int[256];
+        int[] employeeIds = new int[256];
+        int count = 0;
+
+        try (Connection c = DatabaseUtils.getMySQLConnection();
+             PreparedStatement stmt = c.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+            stmt.setFetchSize(DatabaseUtils.getFetchSize());
+            stmt.setInt(1, limit);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    if (count == userIds.length) {
+                        userIds = Arrays.copyOf(userIds, count * 2);
+                        employeeIds = Arrays.copyOf(employeeIds, count * 2);
+                    }
+                    userIds[count] = rs.getInt(1);
+                    employeeIds[count] = rs.getInt(2);
+                    count++;
+                }
             }
         }
+        return new int[][] { Arrays.copyOf(userIds, count), Arrays.copyOf(employeeIds, count) };
     }
 }
\ No newline at end of file
@@ -4,26 +4,115 @@ import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
+import com.leanx.app.model.dto.Page;
 import com.leanx.app.model.entity.User;
 import com.leanx.app.model.entity.User.UserStatus;
 import com.leanx.app.model.entity.User.UserType;
+import com.leanx.app.repository.base.BatchSupport;
+import com.leanx.app.repository.base.ColumnType;
+import com.leanx.app.repository.base.CompiledRowMapper;
 import com.leanx.app.repository.base.CrudRepository;
+import com.leanx.app.repository.base.KeysetPaginator;
+import com.leanx.app.repository.base.RowMapper;
+import com.leanx.app.repository.base.UpdateTemplates;
 import com.leanx.app.utils.DatabaseUtils;
+import com.leanx.app.utils.database.TransactionTemplate;
 
 /**
  * Repository class for performing CRUD (Create, Read, Update, Delete) operations
  * and other queries on {@link User} entities in the database.
+ * Listing and search queries are read-only and use
+ * {@link DatabaseUtils#getReadOnlyConnection()}, so they may be served by a read replica.
+ * Single-record reads decide on logins and password changes and use the primary.
  */
 public class UserRepository implements CrudRepository<User> {
 
     private static final Logger logger = Logger.getLogger(UserRepository.class.getName());
 
+    /**
+     * Statement used to insert a single user, shared by single and batched inserts.
+     */
+    private static final String INSERT_SQL = "INSERT INTO users (name, status, type, password_hash, password_expiry_date, " +
+        "valid_until, created_by) VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+    /**
+     * Columns that {@link #update(Integer, Map)} and {@link #updateAll(Map)} may
+     * write, with the types used to bind their values.
+     */
+    private static final UpdateTemplates UPDATE_TEMPLATES = new UpdateTemplates("users", Map.ofEntries(
+        Map.entry("name", ColumnType.STRING),
+        Map.entry("status", ColumnType.STRING),
+        Map.entry("type", ColumnType.STRING),
+        Map.entry("password_hash", ColumnType.STRING),
+        Map.entry("password_expiry_date", ColumnType.DATE),
+        Map.entry("valid_until", ColumnType.DATE),
+        Map.entry("num_failed_login_attempts", ColumnType.INTEGER),
+        Map.entry("lock_until", ColumnType.TIMESTAMP),
+        Map.entry("last_login_at", ColumnType.TIMESTAMP),
+        Map.entry("is_first_login", ColumnType.BOOLEAN),
+        Map.entry("last_updated_by", ColumnType.INTEGER)
+    ));
+
+    /**
+     * Columns (besides the ID) that listings may be sorted by.
+     */
+    private static final Set<String> SORT_COLUMNS = Set.of("name");
+
+    /**
+     * Maps a full row of the 'users' table to a {@link User} entity. Columns are
+     * read by index, resolved once per result set.
+     */
+    public static final RowMapper<User> ROW_MAPPER = CompiledRowMapper.builder(User::new)
+        .intColumn("id", User::setId)
+        .stringColumn("name", User::setName)
+        .enumColumn("type", UserType.class, User::setType)
+        .enumColumn("status", UserStatus.class, User::setStatus)
+        .stringColumn("password_hash", User::setPasswordHash)
+        .dateColumn("password_expiry_date", User::setPasswordExpiryDate)
+        .intColumn("num_failed_login_attempts", User::setNumFailedLoginAttempts)
+        .timestampColumn("lock_until", User::setLockUntil)
+        .booleanColumn("is_first_login", User::setIsFirstLogin)
+        .timestampColumn("last_login_at", User::setLastLoginAt)
+        .dateColumn("valid_until", User::setValidUntil)
+        .intColumn("created_by", User::setCreatedBy)
+        .timestampColumn("created_at", User::setCreatedAt)
+        .intColumn("last_updated_by", User::setLastUpdatedBy)
+        .timestampColumn("last_updated_at", User::setLastUpdatedAt)
+        .build();
+
+    /**
+     * Maps the directory columns (ID, username, status) to a {@link User}.
+     */
+    private static final RowMapper<User> DIRECTORY_ROW_MAPPER = CompiledRowMapper.builder(User::new)
+        .intColumn("id", User::setId)
+        .stringColumn("name", User::setName)
+        .enumColumn("status", UserStatus.class, User::setStatus)
+        .build();
+
+    /**
+     * Maps the searchable columns (ID, username, type, status) and the change
+     * timestamps to a {@link User}.
+     */
+    private static final RowMapper<User> SEARCH_ROW_MAPPER = CompiledRowMapper.builder(User::new)
+        .intColumn("id", User::setId)
+        .stringColumn("name", User::setName)
+        .enumColumn("type", UserType.class, User::setType)
+        .enumColumn("status", UserStatus.class, User::setStatus)
+        .timestampColumn("created_at", User::setCreatedAt)
+        .timestampColumn("last_updated_at", User::setLastUpdatedAt)
+        .build();
+
     /**
      * Creates a new user record in the database.
      *
@@ -38,18 +127,9 @@ public class UserRepository implements CrudRepository<User> {
             throw new IllegalArgumentException("Invalid user object.");
         }
 
-        String sql = "INSERT INTO users (name, status, type, password_hash, password_expiry_date, " +
-            "valid_until, created_by) VALUES (?, ?, ?, ?, ?, ?, ?)";
-
         try (Connection c = DatabaseUtils.getMySQLConnection();
-            PreparedStatement SQLStatement = c.prepareStatement(sql)) {
-            SQLStatement.setString(1, user.getName());
-            SQLStatement.setString(2, String.valueOf(user.getStatus()));
-            SQLStatement.setString(3, String.valueOf(user.getType()));
-            SQLStatement.setString(4, user.getPasswordHash());
-            SQLStatement.setDate(5, user.getPasswordExpiryDate());
-            SQLStatement.setDate(6, user.getValidUntil());
-            SQLStatement.setInt(7, user.getCreatedBy());
+            PreparedStatement SQLStatement = c.prepareStatement(INSERT_SQL)) {
+            bindInsert(SQLStatement, user);
 
             return SQLStatement.executeUpdate();
         } catch (SQLException e) {
@@ -57,6 +137,75 @@ public class UserRepository implements CrudRepository<User> {
         }
     }
 
+    /**
+     * Creates several user records using JDBC batching in one transaction (or in
+     * the caller's transaction, if one is active). The generated IDs are set on
+     * the given {@link User} objects.
+     *
+     * @param users The {@link User} objects containing the data for the new records.
+     * @return The number of created user records.
+     * @throws IllegalArgumentException If the collection is null or contains null elements.
+     * @throws SQLException             If a database access error occurs during the creation.
+     */
+    @Override
+    public int createAll(Collection<User> users) throws IllegalArgumentException, SQLException {
+        if (users == null || users.contains(null)) {
+            throw new IllegalArgumentException("Invalid user objects.");
+        }
+        if (users.isEmpty()) {
+            return 0;
+        }
+
+        List<User> pending = new ArrayList<>(users);
+        try {
+            return TransactionTemplate.inTransaction(c -> {
+                int created = 0;
+
+                try (PreparedStatement stmt = c.prepareStatement(INSERT_SQL, Statement.RETURN_GENERATED_KEYS)) {
+                    for (int start = 0; start < pending.size(); start += BatchSupport.DEFAULT_BATCH_SIZE) {
+                        List<User> chunk = pending.subList(start, Math.min(start + BatchSupport.DEFAULT_BATCH_SIZE, pending.size()));
+
+                        for (User user : chunk) {
+                            bindInsert(stmt, user);
+                            stmt.addBatch();
+                        }
+                        created += BatchSupport.sum(stmt.executeBatch());
+
+                        try (ResultSet keys = stmt.getGeneratedKeys()) {
+                            for (User user : chunk) {
+                                if (!keys.next()) {
+                                    break;
+                                }
+                                user.setId(keys.getInt(1));
+                            }
+                        }
+                    }
+                }
+
+                return created;
+            });
+        } catch (SQLException e) {
+            throw new SQLException("Error creating " + users.size() + " users", e);
+        }
+    }
+
+    /**
+     * Binds the values of a user to the parameters of {@link #INSERT_SQL}.
+     *
+     * @param stmt The statement to bind to.
+     * @param user The user to insert.
+     * @throws SQLException If a parameter cannot be set.
+     */
+    private static void bindInsert(PreparedStatement stmt, User user) throws SQLException {
+        stmt.setString(1, user.getName());
+        stmt.setString(2, String.valueOf(user.getStatus()));
+        stmt.setString(3, String.valueOf(user.getType()));
+        stmt.setString(4, user.getPasswordHash());
+        stmt.setDate(5, user.getPasswordExpiryDate());
+        stmt.setDate(6, user.getValidUntil());
+        stmt.setInt(7, user.getCreatedBy());
+    }
+
     /**
      * Retrieves a user record from the database based on its unique ID.
      *
@@ -75,30 +224,7 @@ public class UserRepository implements CrudRepository<User> {
             SQLStatement.setInt(1, id);
             try (ResultSet rs = SQLStatement.executeQuery()) {
                 if (rs.next()) {
-                    User user = new User();
-                    user.setId(rs.getInt("id"));
-                    user.setName(rs.getString("name"));
-
-                    try {
-                        user.setType(UserType.valueOf(rs.getString("type")));
-                        user.setStatus(UserStatus.valueOf(rs.getString("status")));
-                    } catch (IllegalArgumentException e) {
-                        logger.log(Level.WARNING, "IllegalArgumentException: " + e.getMessage(), e);
-                    }
-
-                    user.setPasswordHash(rs.getString("password_hash"));
-                    user.setPasswordExpiryDate(rs.getDate("password_expiry_date"));
-                    user.setNumFailedLoginAttempts(rs.getInt("num_failed_login_attempts"));
-                    user.setLockUntil(rs.getTimestamp("lock_until"));
-                    user.setIsFirstLogin(rs.getBoolean("is_first_login"));
-                    user.setLastLoginAt(rs.getTimestamp("last_login_at"));
-                    user.setValidUntil(rs.getDate("valid_until"));
-                    user.setCreatedBy(rs.getInt("created_by"));
-                    user.setCreatedAt(rs.getTimestamp("created_at"));
-                    user.setLastUpdatedBy(rs.getInt("last_updated_by"));
-                    user.setLastUpdatedAt(rs.getTimestamp("last_updated_at"));
-
-                    return user;
+                    return ROW_MAPPER.mapRow(rs);
                 }
             }
 
@@ -115,7 +241,8 @@ public class UserRepository implements CrudRepository<User> {
      * @param updates A {@code Map} where the keys are the column names to update
      * and the values are the new values for those columns.
      * @return The number of rows affected by the update operation (should be 1 on success).
-     * @throws IllegalArgumentException If the provided {@code updates} map is null or empty.
+     * @throws IllegalArgumentException If the provided {@code updates} map is null or empty, contains a column
+     * that may not be updated or a value that does not fit its column type.
      * @throws SQLException             If a database access error occurs during the update.
      */
     @Override
@@ -124,23 +251,11 @@ public class UserRepository implements CrudRepository<User> {
             throw new IllegalArgumentException("Invalid input parameters");
         }
 
-        StringBuilder sql = new StringBuilder("UPDATE users SET ");
-        for (String field : updates.keySet()) {
-            sql.append(field).append(" = ?, ");
-        }
-
-        sql.setLength(sql.length() - 2);
-        sql.append(" WHERE id = ?");
+        UpdateTemplates.Template template = UPDATE_TEMPLATES.forColumns(updates.keySet());
 
         try (Connection c = DatabaseUtils.getMySQLConnection();
-            PreparedStatement SQLStatement = c.prepareStatement(sql.toString())) {
-            int index = 1;
-
-            for (Object value : updates.values()) {
-                SQLStatement.setObject(index++, value);
-            }
-
-            SQLStatement.setInt(index, id);
+             PreparedStatement SQLStatement = c.prepareStatement(template.getSql())) {
+            template.bind(SQLStatement, updates, id);
             return SQLStatement.executeUpdate();
         } catch (SQLException e) {
             throw new SQLException("Error updating user with ID " + id, e);
@@ -170,7 +285,44 @@ public class UserRepository implements CrudRepository<User> {
         } catch (SQLException e) {
             throw new SQLException("Error deleting user with ID " + id, e);
         }
+    }
 
+    /**
+     * Retrieves the user records with the given IDs.
+     *
+     * @param ids The IDs of the users to retrieve.
+     * @return The {@link User} objects found, in the order of the given IDs.
+     * @throws SQLException If a database access error occurs during the retrieval.
+     */
+    @Override
+    public List<User> readAll(Collection<Integer> ids) throws SQLException {
+        return BatchSupport.readByIds("users", ids, ROW_MAPPER);
+    }
+
+    /**
+     * Updates several user records in one transaction.
+     *
+     * @param updates A map from user ID to the column names to update and their new values.
+     * @return The number of rows affected by the update operations.
+     * @throws IllegalArgumentException If the map, an ID or a set of updates is null or empty.
+     * @throws SQLException             If a database access error occurs during the update.
+     */
+    @Override
+    public int updateAll(Map<Integer, Map<String, Object>> updates) throws IllegalArgumentException, SQLException {
+        return BatchSupport.updateByIds(UPDATE_TEMPLATES, updates);
+    }
+
+    /**
+     * Deletes the user records with the given IDs in one transaction.
+     *
+     * @param ids The IDs of the users to delete.
+     * @return The number of deleted user records.
+     * @throws IllegalArgumentException If the collection is null or contains non-positive IDs.
+     * @throws SQLException             If a database access error occurs during the deletion.
+     */
+    @Override
+    public int deleteAll(Collection<Integer> ids) throws IllegalArgumentException, SQLException {
+        return BatchSupport.deleteByIds("users", ids);
     }
 
     /**
@@ -183,24 +335,119 @@ public class UserRepository implements CrudRepository<User> {
     @Override
     public List<User> findAll() throws SQLException {
         List<User> users = new ArrayList<>();
-        String sql = "SELECT id FROM users"; // Fetch only IDs for efficiency
-
-        try (java.sql.Connection connection = DatabaseUtils.getMySQLConnection();
-             java.sql.PreparedStatement pstmt = connection.prepareStatement(sql);
-             ResultSet rs = pstmt.executeQuery()) {
-            while (rs.next()) {
-                User user = read(rs.getInt("id"));
-                if (user != null) {
-                    users.add(user);
+        String sql = "SELECT * FROM users";
+
+        try (Connection c = DatabaseUtils.getReadOnlyConnection();
+             PreparedStatement pstmt = c.prepareStatement(sql)) {
+            pstmt.setFetchSize(DatabaseUtils.getFetchSize());
+
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    users.add(ROW_MAPPER.mapRow(rs));
                 }
             }
+        } catch (SQLException e) {
+            throw new SQLException("Error retrieving all users", e);
         }
 
         return users;
     }
 
+    /**
+     * Retrieves one page of user records using keyset pagination. The records are
+     * ordered by the sort column and then by ID, and each page continues right
+     * after the last record of the previous one.
+     *
+     * @param cursor The cursor returned with the previous page, or {@code null} for the first page.
+     * @param limit  The maximum number of records on the page.
+     * @param sort   The column to sort by: {@code id} or {@code name}. Defaults to {@code id}.
+     * @return A {@link Page} with the records and the cursor of the following page.
+     * @throws IllegalArgumentException If the cursor, limit or sort column is invalid.
+     * @throws SQLException             If a database access error occurs during the retrieval.
+     */
+    @Override
+    public Page<User> findPage(String cursor, int limit, String sort) throws IllegalArgumentException, SQLException {
+        return KeysetPaginator.findPage("users", SORT_COLUMNS, cursor, limit, sort, ROW_MAPPER);
+    }
+
+    /**
+     * Streams the ID, username and status of all user accounts that are not
+     * deactivated and not system accounts to the given consumer, one row at a
+     * time, in ID order. Used to build the in-memory type-ahead suggestion index.
+     *
+     * @param consumer The consumer invoked with a directory {@link User} for every row.
+     * @return The number of users passed to the consumer.
+     * @throws IllegalArgumentException If {@code consumer} is null.
+     * @throws SQLException             If a database access error occurs during the retrieval.
+     */
+    public int streamDirectory(Consumer<User> consumer) throws IllegalArgumentException, SQLException {
+        if (consumer == null) {
+            throw new IllegalArgumentException("Invalid consumer.");
+        }
+
+        String sql = "SELECT id, name, status FROM users WHERE status <> 'DEACTIVATED' AND type <> 'SYSTEM' ORDER BY id";
+        int count = 0;
+
+        try (Connection c = DatabaseUtils.getReadOnlyConnection();
+             PreparedStatement stmt = c.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+            stmt.setFetchSize(DatabaseUtils.getFetchSize());
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    consumer.accept(DIRECTORY_ROW_MAPPER.mapRow(rs));
+                    count++;
+                }
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Streams the searchable columns of all users, or only of those created or
+     * changed since a point in time, to the given consumer, one row at a time.
+     * Used to build and refresh the global search index. A full read may be
+     * served by a read replica; a read of the changes goes to the primary, so
+     * that changes that are not yet replicated are not skipped.
+     *
+     * @param since    Only users whose {@code created_at} or {@code last_updated_at}
+     *                 is at or after this time are read, or {@code null} to read all users.
+     * @param consumer The consumer invoked with a {@link User} for every row.
+     * @return The number of users passed to the consumer.
+     * @throws IllegalArgumentException If {@code consumer} is null.
+     * @throws SQLException             If a database access error occurs during the retrieval.
+     */
+    public int streamChangedSince(Timestamp since, Consumer<User> consumer) throws IllegalArgumentException, SQLException {
+        if (consumer == null) {
+            throw new IllegalArgumentException("Invalid consumer.");
+        }
+
+        // last_updated_at stays NULL until the first update, so new users are found by created_at
+        String sql = "SELECT id, name, type, status, created_at, last_updated_at FROM users" +
+            (since != null ? " WHERE created_at >= ? OR last_updated_at >= ?" : "");
+        int count = 0;
+
+        try (Connection c = since != null ? DatabaseUtils.getMySQLConnection() : DatabaseUtils.getReadOnlyConnection();
+             PreparedStatement stmt = c.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+            stmt.setFetchSize(DatabaseUtils.getFetchSize());
+            if (since != null) {
+                stmt.setTimestamp(1, since);
+                stmt.setTimestamp(2, since);
+            }
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    consumer.accept(SEARCH_ROW_MAPPER.mapRow(rs));
+                    count++;
+                }
+            }
+        }
+        return count;
+    }
+
     /**
      * Retrieves a user record from the database based on their unique username.
+     * The record is read on the primary, because it is used for authentication
+     * and must not come from a lagging replica.
      *
      * @param name The username of the user to retrieve.
      * @return A {@link User} object representing the retrieved record, or {@code null}
@@ -217,30 +464,7 @@ public class UserRepository implements CrudRepository<User> {
             logger.log(Level.INFO, "Executing SQL Query: {0}", sql);
             try (ResultSet rs = SQLStatement.executeQuery()) {
                 if (rs.next()) {
-                    User user = new User();
-                    user.setId(rs.getInt("id"));
-                    user.setName(rs.getString("name"));
-
-                    try {
-                        user.setType(UserType.valueOf(rs.getString("type")));
-                        user.setStatus(UserStatus.valueOf(rs.getString("status")));
-                    } catch (IllegalArgumentException e) {
-                        logger.log(Level.WARNING, "IllegalArgumentException: " + e.getMessage(), e);
-                    }
-
-                    user.setPasswordHash(rs.getString("password_hash"));
-                    user.setPasswordExpiryDate(rs.getDate("password_expiry_date"));
-                    user.setNumFailedLoginAttempts(rs.getInt("num_failed_login_attempts"));
-                    user.setLockUntil(rs.getTimestamp("lock_until"));
-                    user.setIsFirstLogin(rs.getBoolean("is_first_login"));
-                    user.setLastLoginAt(rs.getTimestamp("last_login_at"));
-                    user.setValidUntil(rs.getDate("valid_until"));
-                    user.setCreatedBy(rs.getInt("created_by"));
-                    user.setCreatedAt(rs.getTimestamp("created_at"));
-                    user.setLastUpdatedBy(rs.getInt("last_updated_by"));
-                    user.setLastUpdatedAt(rs.getTimestamp("last_updated_at"));
-
-                    return user;
+                    return ROW_MAPPER.mapRow(rs);
                 }
             }
 
@@ -249,4 +473,97 @@ public class UserRepository implements CrudRepository<User> {
             throw new SQLException("Error retrieving user with name " + name + ": " + e.getMessage(), e);
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Records a failed login attempt in a single, atomic statement. The counter of
+     * failed attempts is incremented and the account is locked once it reaches
+     * {@code maxAttempts}. If the account is locked and its lockout period has
+     * already expired, the lock is lifted and the counter restarts before the
+     * attempt is counted. Deactivated and permanently locked accounts are not touched.
+     *
+     * @param userId                 The ID of the user who failed to log in.
+     * @param maxAttempts            The number of failed attempts after which the account is locked.
+     * @param lockoutDurationMinutes The configured lockout duration in minutes.
+     * @param updatedBy              The ID of the user recorded as having made the change.
+     * @return The number of failed login attempts after the update, or {@code 0}
+     * if the user does not exist or was not eligible for the update.
+     * @throws IllegalArgumentException If {@code userId} is null or not positive.
+     * @throws SQLException             If a database access error occurs during the update.
+     */
+    public int recordFailedLogin(Integer userId, int maxAttempts, int lockoutDurationMinutes, Integer updatedBy) throws IllegalArgumentException, SQLException {
+        if (userId == null || userId <= 0) {
+            throw new IllegalArgumentException("Invalid user ID.");
+        }
+
+        // MySQL evaluates single-table SET assignments from left to right, so the
+        // status and lock_until expressions see the already incremented counter.
+        // LAST_INSERT_ID(expr) hands the new counter back without another query.
+        String sql = "UPDATE users SET " +
+            "num_failed_login_attempts = LAST_INSERT_ID(IF(status = 'LOCKED' AND lock_until <= CURRENT_TIMESTAMP - INTERVAL ? MINUTE, " +
+                "0, num_failed_login_attempts) + 1), " +
+            "status = IF(num_failed_login_attempts >= ?, 'LOCKED', " +
+                "IF(status = 'LOCKED' AND lock_until <= CURRENT_TIMESTAMP - INTERVAL ? MINUTE, 'ACTIVE', status)), " +
+            "lock_until = IF(status = 'LOCKED', " +
+                "IF(lock_until IS NULL OR lock_until <= CURRENT_TIMESTAMP - INTERVAL ? MINUTE, CURRENT_TIMESTAMP + INTERVAL ? MINUTE, lock_until), " +
+                "NULL), " +
+            "last_updated_by = ? " +
+            "WHERE id = ? AND status <> 'DEACTIVATED' AND NOT (status = 'LOCKED' AND lock_until IS NULL)";
+
+        try (Connection c = DatabaseUtils.getMySQLConnection();
+            PreparedStatement SQLStatement = c.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+            SQLStatement.setInt(1, lockoutDurationMinutes);
+            SQLStatement.setInt(2, maxAttempts);
+            SQLStatement.setInt(3, lockoutDurationMinutes);
+            SQLStatement.setInt(4, lockoutDurationMinutes);
+            SQLStatement.setInt(5, lockoutDurationMinutes);
+            SQLStatement.setInt(6, updatedBy);
+            SQLStatement.setInt(7, userId);
+
+            if (SQLStatement.executeUpdate() == 0) {
+                return 0;
+            }
+
+            try (ResultSet rs = SQLStatement.getGeneratedKeys()) {
+                return rs.next() ? rs.getInt(1) : 0;
+            }
+        } catch (SQLException e) {
+            throw new SQLException("Error recording failed login for user with ID " + userId, e);
+        }
+    }
+
+    /**
+     * Records a successful login in a single, atomic statement. The counter of
+     * failed attempts is reset and an expired lock is lifted. The update only
+     * applies if the account is active or its lockout period has expired, so a
+     * lock set by a concurrent failed attempt is never overwritten.
+     *
+     * @param userId                 The ID of the user who logged in.
+     * @param lockoutDurationMinutes The configured lockout duration in minutes.
+     * @param stampLastLogin         Whether 'last_login_at' should be set to the current time.
+     * @param updatedBy              The ID of the user recorded as having made the change.
+     * @return {@code true} if the user was eligible and has been updated, {@code false} otherwise.
+     * @throws IllegalArgumentException If {@code userId} is null or not positive.
+     * @throws SQLException             If a database access error occurs during the update.
+     */
+    public boolean recordSuccessfulLogin(Integer userId, int lockoutDurationMinutes, boolean stampLastLogin, Integer updatedBy) throws IllegalArgumentException, SQLException {
+        if (userId == null || userId <= 0) {
+            throw new IllegalArgumentException("Invalid user ID.");
+        }
+
+        String sql = "UPDATE users SET num_failed_login_attempts = 0, status = 'ACTIVE', lock_until = NULL, " +
+            "last_login_at = IF(?, CURRENT_TIMESTAMP, last_login_at), last_updated_by = ? " +
+            "WHERE id = ? AND (status = 'ACTIVE' OR (status = 'LOCKED' AND lock_until <= CURRENT_TIMESTAMP - INTERVAL ? MINUTE))";
+
+        try (Connection c = DatabaseUtils.getMySQLConnection();
+            PreparedStatement SQLStatement = c.prepareStatement(sql)) {
+            SQLStatement.setBoolean(1, stampLastLogin);
+            SQLStatement.setInt(2, updatedBy);
+            SQLStatement.setInt(3, userId);
+            SQLStatement.setInt(4, lockoutDurationMinutes);
+
+            return SQLStatement.executeUpdate() > 0;
+        } catch (SQLException e) {
+            throw new SQLException("Error recording successful login for user with ID " + userId, e);
+        }
+    }
+}
@@ -0,0 +1,243 @@
+package com.leanx.app.repository.base;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+
+import com.leanx.app.utils.DatabaseUtils;
+import com.leanx.app.utils.database.TransactionTemplate;
+
+/**
+ * Shared implementation of the set-based operations of {@link CrudRepository}
+ * for tables with an integer primary key named {@code id}. Reads and deletes
+ * use chunked {@code IN (...)} lists, updates are grouped by their column set
+ * and sent as JDBC batches. All writes of one call run in a single transaction
+ * (or join the caller's transaction).
+ */
+public final class BatchSupport {
+
+    /**
+     * Maximum number of values in a single {@code IN (...)} list.
+     */
+    public static final int MAX_IN_LIST_SIZE = 1000;
+
+    /**
+     * Default number of statements per JDBC batch.
+     */
+    public static final int DEFAULT_BATCH_SIZE = 500;
+
+    private BatchSupport() {
+    }
+
+    /**
+     * Splits IDs into chunks that fit into one {@code IN (...)} list. Duplicates
+     * and {@code null} values are removed; the order of first occurrence is kept.
+     *
+     * @param ids The IDs to split.
+     * @return The chunks, empty if there are no IDs.
+     */
+    public static List<List<Integer>> chunkIds(Collection<Integer> ids) {
+        if (ids == null || ids.isEmpty()) {
+            return List.of();
+        }
+
+        List<Integer> distinct = new ArrayList<>(new LinkedHashSet<>(ids));
+        distinct.removeIf(id -> id == null);
+
+        List<List<Integer>> chunks = new ArrayList<>();
+        for (int start = 0; start < distinct.size(); start += MAX_IN_LIST_SIZE) {
+            chunks.add(distinct.subList(start, Math.min(start + MAX_IN_LIST_SIZE, distinct.size())));
+        }
+        return chunks;
+    }
+
+    /**
+     * Builds a comma-separated list of {@code count} parameter placeholders.
+     *
+     * @param count The number of placeholders.
+     * @return A string like {@code "?, ?, ?"}.
+     */
+    public static String placeholders(int count) {
+        return String.join(", ", Collections.nCopies(count, "?"));
+    }
+
+    /**
+     * Binds a chunk of IDs to consecutive parameters starting at index 1.
+     *
+     * @param stmt The statement to bind to.
+     * @param ids  The IDs to bind.
+     * @throws SQLException If a parameter cannot be set.
+     */
+    public static void bindIds(PreparedStatement stmt, List<Integer> ids) throws SQLException {
+        int index = 1;
+        for (Integer id : ids) {
+            stmt.setInt(index++, id);
+        }
+    }
+
+    /**
+     * Reads the rows with the given IDs.
+     *
+     * @param <T>    The type of the entities.
+     * @param table  The table to read from. Must not come from user input.
+     * @param ids    The IDs of the rows to read.
+     * @param mapper The mapper used to turn each row into an entity.
+     * @return The entities in the order of the given IDs; IDs without a row are skipped.
+     * @throws SQLException If a database access error occurs.
+     */
+    public static <T> List<T> readByIds(String table, Collection<Integer> ids, RowMapper<T> mapper) throws SQLException {
+        List<List<Integer>> chunks = chunkIds(ids);
+        if (chunks.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        Map<Integer, T> found = new HashMap<>();
+        try (Connection c = DatabaseUtils.getReadOnlyConnection()) {
+            for (List<Integer> chunk : chunks) {
+                String sql = "SELECT * FROM " + table + " WHERE id IN (" + placeholders(chunk.size()) + ")";
+
+                try (PreparedStatement stmt = c.prepareStatement(sql)) {
+                    bindIds(stmt, chunk);
+                    try (ResultSet rs = stmt.executeQuery()) {
+                        while (rs.next()) {
+                            found.put(rs.getInt("id"), mapper.mapRow(rs));
+                        }
+                    }
+                }
+            }
+        } catch (SQLException e) {
+            throw new SQLException("Error retrieving " + ids.size() + " rows from " + table, e);
+        }
+
+        List<T> entities = new ArrayList<>(found.size());
+        for (List<Integer> chunk : chunks) {
+            for (Integer id : chunk) {
+                T entity = found.get(id);
+                if (entity != null) {
+                    entities.add(entity);
+                }
+            }
+        }
+        return entities;
+    }
+
+    /**
+     * Applies individual column updates to many rows. Updates that touch the same
+     * set of columns share one cached statement template and are sent as JDBC batches.
+     *
+     * @param templates The update templates (and column whitelist) of the table to update.
+     * @param updates   A map from row ID to the columns and values to set for that row.
+     * @return The total number of affected rows.
+     * @throws IllegalArgumentException If the map is null, an ID or column map is null or empty,
+     * a column is not whitelisted or a value does not fit its column type.
+     * @throws SQLException             If a database access error occurs; no update is applied in that case.
+     */
+    public static int updateByIds(UpdateTemplates templates, Map<Integer, Map<String, Object>> updates) throws IllegalArgumentException, SQLException {
+        if (updates == null) {
+            throw new IllegalArgumentException("Invalid input parameters");
+        }
+
+        // Group the rows by their column set so each group needs one statement.
+        Map<UpdateTemplates.Template, Map<Integer, Map<String, Object>>> groups = new LinkedHashMap<>();
+        for (Map.Entry<Integer, Map<String, Object>> entry : updates.entrySet()) {
+            if (entry.getKey() == null || entry.getValue() == null || entry.getValue().isEmpty()) {
+                throw new IllegalArgumentException("Invalid input parameters");
+            }
+            UpdateTemplates.Template template = templates.forColumns(entry.getValue().keySet());
+            groups.computeIfAbsent(template, k -> new LinkedHashMap<>()).put(entry.getKey(), entry.getValue());
+        }
+        if (groups.isEmpty()) {
+            return 0;
+        }
+
+        try {
+            return TransactionTemplate.inTransaction(c -> {
+                int affected = 0;
+
+                for (Map.Entry<UpdateTemplates.Template, Map<Integer, Map<String, Object>>> group : groups.entrySet()) {
+                    UpdateTemplates.Template template = group.getKey();
+
+                    try (PreparedStatement stmt = c.prepareStatement(template.getSql())) {
+                        int pending = 0;
+                        for (Map.Entry<Integer, Map<String, Object>> row : group.getValue().entrySet()) {
+                            template.bind(stmt, row.getValue(), row.getKey());
+                            stmt.addBatch();
+
+                            if (++pending == DEFAULT_BATCH_SIZE) {
+                                affected += sum(stmt.executeBatch());
+                                pending = 0;
+                            }
+                        }
+                        if (pending > 0) {
+                            affected += sum(stmt.executeBatch());
+                        }
+                    }
+                }
+
+                return affected;
+            });
+        } catch (SQLException e) {
+            throw new SQLException("Error updating " + updates.size() + " rows in " + templates.getTable(), e);
+        }
+    }
+
+    /**
+     * Deletes the rows with the given IDs using chunked {@code IN (...)} lists.
+     *
+     * @param table The table to delete from. Must not come from user input.
+     * @param ids   The IDs of the rows to delete.
+     * @return The number of deleted rows.
+     * @throws IllegalArgumentException If {@code ids} is null or contains non-positive IDs.
+     * @throws SQLException             If a database access error occurs; no row is deleted in that case.
+     */
+    public static int deleteByIds(String table, Collection<Integer> ids) throws IllegalArgumentException, SQLException {
+        if (ids == null || ids.stream().anyMatch(id -> id == null || id <= 0)) {
+            throw new IllegalArgumentException("Invalid ID.");
+        }
+
+        List<List<Integer>> chunks = chunkIds(ids);
+        if (chunks.isEmpty()) {
+            return 0;
+        }
+
+        try {
+            return TransactionTemplate.inTransaction(c -> {
+                int deleted = 0;
+                for (List<Integer> chunk : chunks) {
+                    String sql = "DELETE FROM " + table + " WHERE id IN (" + placeholders(chunk.size()) + ")";
+                    try (PreparedStatement stmt = c.prepareStatement(sql)) {
+                        bindIds(stmt, chunk);
+                        deleted += stmt.executeUpdate();
+                    }
+                }
+                return deleted;
+            });
+        } catch (SQLException e) {
+            throw new SQLException("Error deleting " + ids.size() + " rows from " + table, e);
+        }
+    }
+
+    /**
+     * Sums the update counts of an executed batch.
+     *
+     * @param counts The update counts returned by {@link PreparedStatement#executeBatch()}.
+     * @return The total number of affected rows; statements without a count are counted as one.
+     */
+    public static int sum(int[] counts) {
+        int total = 0;
+        for (int count : counts) {
+            total += count == Statement.SUCCESS_NO_INFO ? 1 : Math.max(count, 0);
+        }
+        return total;
+    }
+}
@@ -0,0 +1,125 @@
+package com.leanx.app.repository.base;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+
+/**
+ * SQL types of the columns that may be written through
+ * {@link UpdateTemplates}. Each type binds values with the matching typed
+ * {@link PreparedStatement} setter instead of {@code setObject}, and binds
+ * {@code null} with {@code setNull} and the proper SQL type.
+ */
+public enum ColumnType {
+
+    /** Character columns ({@code VARCHAR}, {@code ENUM}); enum constants are bound by name. */
+    STRING(Types.VARCHAR) {
+        @Override
+        void bindValue(PreparedStatement stmt, int index, Object value) throws SQLException {
+            if (value instanceof CharSequence text) {
+                stmt.setString(index, text.toString());
+            } else if (value instanceof Enum<?> constant) {
+                stmt.setString(index, constant.name());
+            } else {
+                throw mismatch(value);
+            }
+        }
+    },
+
+    /** {@code INT} columns. */
+    INTEGER(Types.INTEGER) {
+        @Override
+        void bindValue(PreparedStatement stmt, int index, Object value) throws SQLException {
+            if (value instanceof Integer || value instanceof Short || value instanceof Byte) {
+                stmt.setInt(index, ((Number) value).intValue());
+            } else {
+                throw mismatch(value);
+            }
+        }
+    },
+
+    /** {@code BOOLEAN} ({@code TINYINT(1)}) columns. */
+    BOOLEAN(Types.BOOLEAN) {
+        @Override
+        void bindValue(PreparedStatement stmt, int index, Object value) throws SQLException {
+            if (value instanceof Boolean flag) {
+                stmt.setBoolean(index, flag);
+            } else {
+                throw mismatch(value);
+            }
+        }
+    },
+
+    /** {@code DATE} columns. */
+    DATE(Types.DATE) {
+        @Override
+        void bindValue(PreparedStatement stmt, int index, Object value) throws SQLException {
+            if (value instanceof java.sql.Date date) {
+                stmt.setDate(index, date);
+            } else if (value instanceof java.util.Date date) {
+                stmt.setDate(index, new java.sql.Date(date.getTime()));
+            } else {
+                throw mismatch(value);
+            }
+        }
+    },
+
+    /** {@code TIMESTAMP} columns. */
+    TIMESTAMP(Types.TIMESTAMP) {
+        @Override
+        void bindValue(PreparedStatement stmt, int index, Object value) throws SQLException {
+            if (value instanceof Timestamp timestamp) {
+                stmt.setTimestamp(index, timestamp);
+            } else if (value instanceof java.util.Date date) {
+                stmt.setTimestamp(index, new Timestamp(date.getTime()));
+            } else {
+                throw mismatch(value);
+            }
+        }
+    };
+
+    private final int sqlType;
+
+    ColumnType(int sqlType) {
+        this.sqlType = sqlType;
+    }
+
+    /**
+     * Binds a value to a statement parameter.
+     *
+     * @param stmt  The statement to bind to.
+     * @param index The 1-based parameter index.
+     * @param value The value to bind, may be {@code null}.
+     * @throws IllegalArgumentException If the value does not fit the column type.
+     * @throws SQLException             If the parameter cannot be set.
+     */
+    public void bind(PreparedStatement stmt, int index, Object value) throws IllegalArgumentException, SQLException {
+        if (value == null) {
+            stmt.setNull(index, sqlType);
+        } else {
+            bindValue(stmt, index, value);
+        }
+    }
+
+    /**
+     * Binds a non-null value with the typed setter of this column type.
+     *
+     * @param stmt  The statement to bind to.
+     * @param index The 1-based parameter index.
+     * @param value The value to bind, never {@code null}.
+     * @throws IllegalArgumentException If the value does not fit the column type.
+     * @throws SQLException             If the parameter cannot be set.
+     */
+    abstract void bindValue(PreparedStatement stmt, int index, Object value) throws IllegalArgumentException, SQLException;
+
+    /**
+     * Creates the exception thrown for a value of the wrong Java type.
+     *
+     * @param value The offending value.
+     * @return The exception to throw.
+     */
+    IllegalArgumentException mismatch(Object value) {
+        return new IllegalArgumentException("Value of type " + value.getClass().getSimpleName() + " cannot be written to a " + name() + " column.");
+    }
+}
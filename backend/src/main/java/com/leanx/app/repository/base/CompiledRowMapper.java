@@ -0,0 +1,303 @@
+package com.leanx.app.repository.base;
+
+import java.lang.ref.WeakReference;
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+import java.util.function.Supplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * {@link RowMapper} that looks up its columns by index instead of by label.
+ * <p>
+ * Reading a column by label makes the driver search the column list on every
+ * call, for every row. This mapper resolves its column labels against the
+ * {@link ResultSetMetaData} once per result set and reuses the resulting
+ * indexes for all rows. Resolved index arrays are also cached per query shape
+ * (the sequence of column labels), so repeated queries skip the resolution.
+ * <p>
+ * Mappers are created either with {@link #of(String[], IndexedMapper)} for
+ * immutable types that are built through a constructor, or with
+ * {@link #builder(Supplier)} for entities with setters.
+ *
+ * @param <T> The type of the object produced for each row.
+ */
+public final class CompiledRowMapper<T> implements RowMapper<T> {
+
+    private static final Logger logger = Logger.getLogger(CompiledRowMapper.class.getName());
+
+    /** Upper bound for the number of cached query shapes per mapper. */
+    private static final int MAX_SHAPES = 64;
+
+    /**
+     * Maps the current row using pre-resolved column indexes.
+     *
+     * @param <T> The type of the object produced for each row.
+     */
+    @FunctionalInterface
+    public interface IndexedMapper<T> {
+
+        /**
+         * Maps the current row of the given result set.
+         *
+         * @param rs      The result set, positioned on the row to map.
+         * @param columns The indexes of the mapper's columns, in the order they were declared.
+         * @return The mapped object.
+         * @throws SQLException If a column cannot be read.
+         */
+        T map(ResultSet rs, int[] columns) throws SQLException;
+    }
+
+    /**
+     * Reads one column by index into an object under construction.
+     *
+     * @param <T> The type of the object being populated.
+     */
+    @FunctionalInterface
+    private interface ColumnReader<T> {
+        void read(ResultSet rs, int index, T target) throws SQLException;
+    }
+
+    private final String[] labels;
+    private final IndexedMapper<T> mapper;
+    private final Map<String, int[]> shapes = new ConcurrentHashMap<>();
+    private final ThreadLocal<Resolved> lastResolved = new ThreadLocal<>();
+
+    private CompiledRowMapper(String[] labels, IndexedMapper<T> mapper) {
+        this.labels = labels.clone();
+        this.mapper = mapper;
+    }
+
+    /**
+     * Creates a mapper from a list of column labels and a function that maps a
+     * row given the resolved indexes of those columns.
+     *
+     * @param <T>    The type of the object produced for each row.
+     * @param labels The labels of the columns the mapper reads.
+     * @param mapper Maps a row; {@code columns[i]} is the index of {@code labels[i]}.
+     * @return The compiled mapper.
+     */
+    public static <T> CompiledRowMapper<T> of(String[] labels, IndexedMapper<T> mapper) {
+        return new CompiledRowMapper<>(labels, mapper);
+    }
+
+    /**
+     * Starts a mapper for an entity that is populated through setters.
+     *
+     * @param <T>     The type of the entity.
+     * @param factory Creates an empty entity for each row.
+     * @return A builder to declare the mapped columns with.
+     */
+    public static <T> Builder<T> builder(Supplier<T> factory) {
+        return new Builder<>(factory);
+    }
+
+    /**
+     * Maps the current row, resolving the column indexes first if the result set is new.
+     *
+     * @param rs The result set, positioned on the row to map.
+     * @return The mapped object.
+     * @throws SQLException If a column is missing or cannot be read.
+     */
+    @Override
+    public T mapRow(ResultSet rs) throws SQLException {
+        return mapper.map(rs, indexesFor(rs));
+    }
+
+    /**
+     * Returns the column indexes for a result set. The indexes of the result set
+     * that was mapped last on the current thread are reused without touching
+     * its metadata.
+     *
+     * @param rs The result set to map.
+     * @return The indexes of the mapper's columns in the result set.
+     * @throws SQLException If a column is missing from the result set.
+     */
+    private int[] indexesFor(ResultSet rs) throws SQLException {
+        Resolved resolved = lastResolved.get();
+        if (resolved != null && resolved.resultSet.get() == rs) {
+            return resolved.columns;
+        }
+
+        ResultSetMetaData meta = rs.getMetaData();
+        int count = meta.getColumnCount();
+        String[] resultLabels = new String[count];
+        StringBuilder shape = new StringBuilder();
+        for (int i = 1; i <= count; i++) {
+            resultLabels[i - 1] = meta.getColumnLabel(i).toLowerCase();
+            shape.append(resultLabels[i - 1]).append('\u001F');
+        }
+
+        int[] columns = shapes.get(shape.toString());
+        if (columns == null) {
+            columns = resolve(resultLabels);
+            if (shapes.size() < MAX_SHAPES) {
+                shapes.put(shape.toString(), columns);
+            }
+        }
+
+        lastResolved.set(new Resolved(new WeakReference<>(rs), columns));
+        return columns;
+    }
+
+    /**
+     * Resolves the mapper's column labels against the labels of a result set.
+     *
+     * @param resultLabels The lowercase column labels of the result set, in column order.
+     * @return The 1-based index of each of the mapper's columns.
+     * @throws SQLException If a column is missing from the result set.
+     */
+    private int[] resolve(String[] resultLabels) throws SQLException {
+        int[] columns = new int[labels.length];
+        for (int i = 0; i < labels.length; i++) {
+            columns[i] = -1;
+            for (int j = 0; j < resultLabels.length; j++) {
+                if (resultLabels[j].equalsIgnoreCase(labels[i])) {
+                    columns[i] = j + 1;
+                    break;
+                }
+            }
+            if (columns[i] < 0) {
+                throw new SQLException("Column '" + labels[i] + "' not found.", "S0022");
+            }
+        }
+        return columns;
+    }
+
+    /**
+     * The indexes resolved for one result set.
+     */
+    private record Resolved(WeakReference<ResultSet> resultSet, int[] columns) {}
+
+    /**
+     * Declares the columns of a {@link CompiledRowMapper} for an entity with setters.
+     *
+     * @param <T> The type of the entity.
+     */
+    public static final class Builder<T> {
+
+        private final Supplier<T> factory;
+        private final List<String> labels = new ArrayList<>();
+        private final List<ColumnReader<T>> readers = new ArrayList<>();
+
+        private Builder(Supplier<T> factory) {
+            this.factory = factory;
+        }
+
+        /**
+         * Maps an {@code INT} column; {@code NULL} is read as {@code 0}.
+         *
+         * @param label  The column label.
+         * @param setter Receives the value.
+         * @return This builder.
+         */
+        public Builder<T> intColumn(String label, BiConsumer<T, Integer> setter) {
+            return column(label, (rs, index, target) -> setter.accept(target, rs.getInt(index)));
+        }
+
+        /**
+         * Maps a character column.
+         *
+         * @param label  The column label.
+         * @param setter Receives the value.
+         * @return This builder.
+         */
+        public Builder<T> stringColumn(String label, BiConsumer<T, String> setter) {
+            return column(label, (rs, index, target) -> setter.accept(target, rs.getString(index)));
+        }
+
+        /**
+         * Maps a {@code BOOLEAN} column; {@code NULL} is read as {@code false}.
+         *
+         * @param label  The column label.
+         * @param setter Receives the value.
+         * @return This builder.
+         */
+        public Builder<T> booleanColumn(String label, BiConsumer<T, Boolean> setter) {
+            return column(label, (rs, index, target) -> setter.accept(target, rs.getBoolean(index)));
+        }
+
+        /**
+         * Maps a {@code DATE} column.
+         *
+         * @param label  The column label.
+         * @param setter Receives the value.
+         * @return This builder.
+         */
+        public Builder<T> dateColumn(String label, BiConsumer<T, Date> setter) {
+            return column(label, (rs, index, target) -> setter.accept(target, rs.getDate(index)));
+        }
+
+        /**
+         * Maps a {@code TIMESTAMP} column.
+         *
+         * @param label  The column label.
+         * @param setter Receives the value.
+         * @return This builder.
+         */
+        public Builder<T> timestampColumn(String label, BiConsumer<T, Timestamp> setter) {
+            return column(label, (rs, index, target) -> setter.accept(target, rs.getTimestamp(index)));
+        }
+
+        /**
+         * Maps an {@code ENUM} column to a Java enum by constant name. Unknown
+         * values are logged and leave the property unset.
+         *
+         * @param <E>       The enum type.
+         * @param label     The column label.
+         * @param enumClass The enum class.
+         * @param setter    Receives the value.
+         * @return This builder.
+         */
+        public <E extends Enum<E>> Builder<T> enumColumn(String label, Class<E> enumClass, BiConsumer<T, E> setter) {
+            return column(label, (rs, index, target) -> {
+                String value = rs.getString(index);
+                if (value == null) {
+                    return;
+                }
+                try {
+                    setter.accept(target, Enum.valueOf(enumClass, value));
+                } catch (IllegalArgumentException e) {
+                    logger.log(Level.WARNING, "IllegalArgumentException: " + e.getMessage(), e);
+                }
+            });
+        }
+
+        /**
+         * Adds a column reader.
+         *
+         * @param label  The column label.
+         * @param reader Reads the column into the entity.
+         * @return This builder.
+         */
+        private Builder<T> column(String label, ColumnReader<T> reader) {
+            labels.add(label);
+            readers.add(reader);
+            return this;
+        }
+
+        /**
+         * Builds the mapper.
+         *
+         * @return The compiled mapper.
+         */
+        public CompiledRowMapper<T> build() {
+            List<ColumnReader<T>> columnReaders = List.copyOf(readers);
+            return new CompiledRowMapper<>(labels.toArray(new String[0]), (rs, columns) -> {
+                T target = factory.get();
+                for (int i = 0; i < columns.length; i++) {
+                    columnReaders.get(i).read(rs, columns[i], target);
+                }
+                return target;
+            });
+        }
+    }
+}
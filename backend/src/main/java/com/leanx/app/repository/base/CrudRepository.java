@@ -1,9 +1,12 @@
 package com.leanx.app.repository.base;
 
 import java.sql.SQLException;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 
+import com.leanx.app.model.dto.Page;
+
 // Generic CRUD Repository Interface
 public interface CrudRepository<T> {
 
@@ -50,4 +53,53 @@ public interface CrudRepository<T> {
      */
     List<T> findAll() throws SQLException;
 
+    /**
+     * Creates several entities using JDBC batching in a single transaction.
+     * The generated IDs are set on the given entities.
+     * @param entities The entities to persist.
+     * @return The number of created rows.
+     * @throws IllegalArgumentException if the collection is null or contains null elements.
+     * @throws SQLException if there is an issue accessing the database; no entity is created in that case.
+     */
+    int createAll(Collection<T> entities) throws IllegalArgumentException, SQLException;
+
+    /**
+     * Retrieves the entities with the given IDs using chunked {@code IN (...)} queries.
+     * @param ids The unique identifiers of the entities to retrieve.
+     * @return The entities found, in the order of the given IDs. Missing IDs are skipped.
+     * @throws SQLException if there is an issue accessing the database.
+     */
+    List<T> readAll(Collection<Integer> ids) throws SQLException;
+
+    /**
+     * Updates several entities in a single transaction. Updates with the same set of
+     * fields are sent as one JDBC batch.
+     * @param updates A map from entity ID to the field names to update and their new values.
+     * @return The number of rows affected by the update operations.
+     * @throws IllegalArgumentException if the map, an ID or a set of updates is null or empty.
+     * @throws SQLException if there is an issue accessing the database; no update is applied in that case.
+     */
+    int updateAll(Map<Integer, Map<String, Object>> updates) throws IllegalArgumentException, SQLException;
+
+    /**
+     * Deletes the entities with the given IDs using chunked {@code IN (...)} statements
+     * in a single transaction.
+     * @param ids The IDs of the entities to delete.
+     * @return The number of rows affected by the delete operations.
+     * @throws IllegalArgumentException if the collection is null or contains invalid IDs.
+     * @throws SQLException if there is an issue accessing the database; no entity is deleted in that case.
+     */
+    int deleteAll(Collection<Integer> ids) throws IllegalArgumentException, SQLException;
+
+    /**
+     * Retrieves one page of entities using keyset pagination.
+     * @param cursor The opaque cursor returned with the previous page, or null for the first page.
+     * @param limit The maximum number of entities on the page.
+     * @param sort The column to sort by, or null to sort by ID.
+     * @return The requested page and the cursor of the following page.
+     * @throws IllegalArgumentException if the cursor, limit or sort column is invalid.
+     * @throws SQLException if there is an issue accessing the database.
+     */
+    Page<T> findPage(String cursor, int limit, String sort) throws IllegalArgumentException, SQLException;
+
 }
@@ -0,0 +1,536 @@
+package com.leanx.app.repository.base;
+
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import com.leanx.app.utils.EnvironmentUtils;
+import com.leanx.app.utils.database.TransactionTemplate;
+
+/**
+ * Size-bounded read-through cache of entities, keyed by their ID.
+ * <p>
+ * Eviction follows W-TinyLFU: new entries enter a small LRU window
+ * (1 % of the capacity); entries pushed out of the window compete for a
+ * place in the main area, which is a segmented LRU with a probation and a
+ * protected segment (80 % of the main area). A candidate from the window
+ * only replaces the least recently used probation entry if it was requested
+ * more often, as estimated by a count-min sketch of 4-bit counters that are
+ * halved periodically so that old popularity fades. Frequently requested
+ * records, such as managers, therefore stay cached even while long scans
+ * pass through the window.
+ * <p>
+ * Entries expire after {@code ENTITY_CACHE_TTL_MS} (default 60 seconds),
+ * which bounds how long changes made on other backend nodes stay invisible;
+ * at most {@code ENTITY_CACHE_MAX_ENTRIES} (default 10000) entries are kept
+ * per entity type. Repositories must {@link #invalidate(int) invalidate} an
+ * entry whenever they change the row. Cached entities are shared between
+ * requests and must not be modified.
+ * <p>
+ * Inside a transaction the cache is bypassed: entities are loaded through the
+ * transaction's connection and not cached, because they may include changes
+ * that are not committed yet, and invalidations take effect once the
+ * transaction completes.
+ *
+ * @param <T> The type of the cached entities.
+ */
+public final class EntityCache<T> {
+
+    private static final Logger logger = Logger.getLogger(EntityCache.class.getName());
+
+    private static final long DEFAULT_TTL_MILLIS = EnvironmentUtils.getLong("ENTITY_CACHE_TTL_MS", 60 * 1000L);
+    private static final int DEFAULT_MAX_ENTRIES = Math.max(2, EnvironmentUtils.getInt("ENTITY_CACHE_MAX_ENTRIES", 10000));
+
+    private static final Map<String, EntityCache<?>> CACHES = new ConcurrentHashMap<>();
+
+    private final String name;
+    private final Function<T, Integer> idOf;
+    private final long ttlMillis;
+    private final int maxEntries;
+    private final int windowMaxEntries;
+    private final int protectedMaxEntries;
+
+    private final Map<Integer, Node<T>> nodes = new HashMap<>();
+    private final FrequencySketch sketch;
+    private final AccessOrder<T> window = new AccessOrder<>();
+    private final AccessOrder<T> probation = new AccessOrder<>();
+    private final AccessOrder<T> protectedSegment = new AccessOrder<>();
+
+    private long generation;
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    /**
+     * Loads an entity from the database.
+     *
+     * @param <T> The type of the entity.
+     */
+    @FunctionalInterface
+    public interface Loader<T> {
+
+        /**
+         * Loads the entity.
+         *
+         * @return The entity, or {@code null} if it does not exist.
+         * @throws SQLException If the query fails.
+         */
+        T load() throws SQLException;
+    }
+
+    /**
+     * Creates a cache with the configured TTL and capacity and registers it
+     * for {@link #getAllStats()}.
+     *
+     * @param name       The name of the cache, reported in the statistics.
+     * @param idOf       Extracts the ID of an entity.
+     */
+    public EntityCache(String name, Function<T, Integer> idOf) {
+        this(name, idOf, DEFAULT_TTL_MILLIS, DEFAULT_MAX_ENTRIES);
+    }
+
+    /**
+     * Creates a cache and registers it for {@link #getAllStats()}.
+     *
+     * @param name       The name of the cache, reported in the statistics.
+     * @param idOf       Extracts the ID of an entity.
+     * @param ttlMillis  The time after which an entry expires; {@code 0} or less disables caching.
+     * @param maxEntries The maximum number of cached entities (at least 2).
+     * @throws IllegalArgumentException If {@code name} or {@code idOf} is null or {@code maxEntries} is less than 2.
+     */
+    public EntityCache(String name, Function<T, Integer> idOf, long ttlMillis, int maxEntries) throws IllegalArgumentException {
+        if (name == null || idOf == null || maxEntries < 2) {
+            throw new IllegalArgumentException("Illegal argument: name and idOf cannot be null and maxEntries must be at least 2!");
+        }
+
+        this.name = name;
+        this.idOf = idOf;
+        this.ttlMillis = ttlMillis;
+        this.maxEntries = maxEntries;
+        this.windowMaxEntries = Math.max(1, maxEntries / 100);
+        this.protectedMaxEntries = (maxEntries - windowMaxEntries) * 8 / 10;
+        this.sketch = new FrequencySketch(maxEntries);
+        CACHES.put(name, this);
+    }
+
+    /**
+     * Returns the cached entity with an ID, loading it if it is missing or expired.
+     * A missing entity ({@code null}) is not cached.
+     *
+     * @param id     The ID of the entity.
+     * @param loader Loads the entity if it is not cached.
+     * @return The entity, or {@code null} if it does not exist.
+     * @throws SQLException If the entity had to be loaded and loading failed.
+     */
+    public T get(int id, Loader<T> loader) throws SQLException {
+        if (TransactionTemplate.isTransactionActive()) {
+            return loader.load();
+        }
+        long loadGeneration;
+        synchronized (this) {
+            T cached = lookup(id);
+            if (cached != null) {
+                return cached;
+            }
+            loadGeneration = generation;
+        }
+        return loadAndCache(loader, loadGeneration);
+    }
+
+    /**
+     * Drops the cached entity with an ID once the change is final. Must be
+     * called after the change was executed. If a transaction is active, the
+     * entity is dropped when it commits or rolls back, so that no other request
+     * caches the old row again in between; otherwise it is dropped right away.
+     *
+     * @param id The ID of the changed entity.
+     */
+    public void invalidate(int id) {
+        TransactionTemplate.afterCompletion(() -> remove(id));
+    }
+
+    /**
+     * Drops all cached entities, after a change that may affect any of them.
+     * Like {@link #invalidate(int)}, this waits for an active transaction to complete.
+     */
+    public void invalidateAll() {
+        TransactionTemplate.afterCompletion(this::clear);
+    }
+
+    /**
+     * Returns the statistics of this cache.
+     *
+     * @return A map with the keys {@code entries}, {@code maxEntries}, {@code hits}, {@code misses} and {@code evictions}.
+     */
+    public synchronized Map<String, Long> getStats() {
+        Map<String, Long> stats = new LinkedHashMap<>();
+        stats.put("entries", (long) nodes.size());
+        stats.put("maxEntries", (long) maxEntries);
+        stats.put("hits", hits);
+        stats.put("misses", misses);
+        stats.put("evictions", evictions);
+        return stats;
+    }
+
+    /**
+     * Returns the statistics of all entity caches.
+     *
+     * @return A map from cache name to its {@link #getStats() statistics}.
+     */
+    public static Map<String, Map<String, Long>> getAllStats() {
+        Map<String, Map<String, Long>> stats = new LinkedHashMap<>();
+        CACHES.forEach((name, cache) -> stats.put(name, cache.getStats()));
+        return stats;
+    }
+
+    /**
+     * Looks up a cached entity and records the access. Must be called while
+     * holding the lock of this cache.
+     *
+     * @param id The ID of the entity.
+     * @return The entity, or {@code null} if it is not cached or expired.
+     */
+    private T lookup(int id) {
+        sketch.increment(id);
+        Node<T> node = nodes.get(id);
+        if (node == null) {
+            misses++;
+            return null;
+        }
+        if (node.expiresAt <= System.currentTimeMillis()) {
+            unlink(node);
+            misses++;
+            return null;
+        }
+
+        hits++;
+        onHit(node);
+        return node.value;
+    }
+
+    /**
+     * Loads an entity outside the lock and caches it, unless the cache was
+     * invalidated while it was loaded, in which case it may already be outdated.
+     *
+     * @param loader         Loads the entity.
+     * @param loadGeneration The generation of the cache when the load started.
+     * @return The loaded entity, or {@code null} if it does not exist.
+     * @throws SQLException If loading fails.
+     */
+    private T loadAndCache(Loader<T> loader, long loadGeneration) throws SQLException {
+        T value = loader.load();
+        if (value == null || ttlMillis <= 0) {
+            return value;
+        }
+
+        Integer id = idOf.apply(value);
+        if (id == null) {
+            logger.log(Level.FINE, "Entity without ID is not cached in {0}", name);
+            return value;
+        }
+
+        synchronized (this) {
+            if (generation == loadGeneration) {
+                put(id, value);
+            }
+        }
+        return value;
+    }
+
+    /**
+     * Adds or replaces an entry and evicts entries if the cache is full.
+     * Must be called while holding the lock of this cache.
+     *
+     * @param id    The ID of the entity.
+     * @param value The entity.
+     */
+    private void put(int id, T value) {
+        Node<T> existing = nodes.get(id);
+        if (existing != null) {
+            unlink(existing);
+        }
+
+        Node<T> node = new Node<>(id, value, System.currentTimeMillis() + ttlMillis);
+        nodes.put(id, node);
+        window.addLast(node);
+        node.segment = window;
+
+        evict();
+    }
+
+    /**
+     * Moves an entry after a hit: within its segment, or from probation to
+     * the protected segment, whose least recently used entry is demoted to
+     * probation if the segment overflows.
+     *
+     * @param node The requested entry.
+     */
+    private void onHit(Node<T> node) {
+        if (node.segment != probation) {
+            node.segment.moveToEnd(node);
+            return;
+        }
+
+        probation.remove(node);
+        protectedSegment.addLast(node);
+        node.segment = protectedSegment;
+        if (protectedSegment.size > protectedMaxEntries) {
+            Node<T> demoted = protectedSegment.first();
+            protectedSegment.remove(demoted);
+            probation.addLast(demoted);
+            demoted.segment = probation;
+        }
+    }
+
+    /**
+     * Moves the entries that no longer fit into the window to probation and,
+     * while the cache is over capacity, lets each of them compete with the
+     * least recently used probation entry: the one requested less often is evicted.
+     */
+    private void evict() {
+        while (window.size > windowMaxEntries) {
+            Node<T> candidate = window.first();
+            window.remove(candidate);
+            probation.addLast(candidate);
+            candidate.segment = probation;
+
+            if (nodes.size() <= maxEntries) {
+                continue;
+            }
+
+            Node<T> victim = probation.first();
+            if (victim != candidate && sketch.frequency(candidate.id) <= sketch.frequency(victim.id)) {
+                victim = candidate;
+            }
+            unlink(victim);
+            evictions++;
+        }
+
+        // Only reached if the window cannot make room, e.g. when everything else is protected
+        while (nodes.size() > maxEntries) {
+            AccessOrder<T> segment = probation.size > 0 ? probation : protectedSegment.size > 0 ? protectedSegment : window;
+            unlink(segment.first());
+            evictions++;
+        }
+    }
+
+    /**
+     * Removes an entry, if cached, and starts a new generation.
+     *
+     * @param id The ID of the entity.
+     */
+    private synchronized void remove(int id) {
+        generation++;
+        Node<T> node = nodes.get(id);
+        if (node != null) {
+            unlink(node);
+        }
+    }
+
+    /**
+     * Removes all entries and starts a new generation.
+     */
+    private synchronized void clear() {
+        generation++;
+        nodes.clear();
+        window.clear();
+        probation.clear();
+        protectedSegment.clear();
+    }
+
+    /**
+     * Removes an entry from the maps and its segment. Must be called while
+     * holding the lock of this cache.
+     *
+     * @param node The entry to remove.
+     */
+    private void unlink(Node<T> node) {
+        nodes.remove(node.id);
+        node.segment.remove(node);
+    }
+
+    /**
+     * A cached entity, linked into the segment it currently belongs to.
+     *
+     * @param <T> The type of the entity.
+     */
+    private static final class Node<T> {
+        private final int id;
+        private final T value;
+        private final long expiresAt;
+        private AccessOrder<T> segment;
+        private Node<T> previous;
+        private Node<T> next;
+
+        private Node(int id, T value, long expiresAt) {
+            this.id = id;
+            this.value = value;
+            this.expiresAt = expiresAt;
+        }
+    }
+
+    /**
+     * Doubly linked list of entries from least to most recently used.
+     *
+     * @param <T> The type of the entities.
+     */
+    private static final class AccessOrder<T> {
+        private Node<T> head;
+        private Node<T> tail;
+        private int size;
+
+        /**
+         * Gets the least recently used entry.
+         *
+         * @return The first entry, or {@code null} if the list is empty.
+         */
+        private Node<T> first() {
+            return head;
+        }
+
+        /**
+         * Appends an entry as the most recently used one.
+         *
+         * @param node An entry that is not linked into any list.
+         */
+        private void addLast(Node<T> node) {
+            node.previous = tail;
+            node.next = null;
+            if (tail == null) {
+                head = node;
+            } else {
+                tail.next = node;
+            }
+            tail = node;
+            size++;
+        }
+
+        /**
+         * Unlinks an entry from this list.
+         *
+         * @param node An entry of this list.
+         */
+        private void remove(Node<T> node) {
+            if (node.previous == null) {
+                head = node.next;
+            } else {
+                node.previous.next = node.next;
+            }
+            if (node.next == null) {
+                tail = node.previous;
+            } else {
+                node.next.previous = node.previous;
+            }
+            node.previous = null;
+            node.next = null;
+            size--;
+        }
+
+        /**
+         * Marks an entry as the most recently used one.
+         *
+         * @param node An entry of this list.
+         */
+        private void moveToEnd(Node<T> node) {
+            if (node != tail) {
+                remove(node);
+                addLast(node);
+            }
+        }
+
+        /**
+         * Removes all entries.
+         */
+        private void clear() {
+            head = null;
+            tail = null;
+            size = 0;
+        }
+    }
+
+    /**
+     * Count-min sketch that estimates how often each ID was requested, with
+     * four 4-bit counters per ID packed sixteen to a {@code long}. After ten
+     * times as many increments as the cache has entries, all counters are
+     * halved, so the estimates follow recent popularity.
+     */
+    private static final class FrequencySketch {
+        private static final long[] SEEDS = { 0x9E3779B97F4A7C15L, 0xC2B2AE3D27D4EB4FL, 0x165667B19E3779F9L, 0xD6E8FEB86659FD93L };
+        private static final long RESET_MASK = 0x7777777777777777L;
+
+        private final long[] table;
+        private final int counterMask;
+        private final int sampleSize;
+        private int additions;
+
+        private FrequencySketch(int maxEntries) {
+            int counters = Math.max(64, Integer.highestOneBit(Math.max(1, maxEntries) - 1) << 3);
+            this.table = new long[counters / 16];
+            this.counterMask = counters - 1;
+            this.sampleSize = maxEntries * 10;
+        }
+
+        /**
+         * Counts a request of an ID.
+         *
+         * @param id The requested ID.
+         */
+        private void increment(int id) {
+            boolean added = false;
+            for (long seed : SEEDS) {
+                int counter = counterOf(id, seed);
+                int index = counter >>> 4;
+                int shift = (counter & 15) << 2;
+                if (((table[index] >>> shift) & 15) < 15) {
+                    table[index] += 1L << shift;
+                    added = true;
+                }
+            }
+            if (added && ++additions >= sampleSize) {
+                reset();
+            }
+        }
+
+        /**
+         * Estimates how often an ID was requested.
+         *
+         * @param id The ID.
+         * @return The smallest of its counters, at most 15.
+         */
+        private int frequency(int id) {
+            int frequency = 15;
+            for (long seed : SEEDS) {
+                int counter = counterOf(id, seed);
+                frequency = Math.min(frequency, (int) ((table[counter >>> 4] >>> ((counter & 15) << 2)) & 15));
+            }
+            return frequency;
+        }
+
+        /**
+         * Halves all counters.
+         */
+        private void reset() {
+            for (int i = 0; i < table.length; i++) {
+                table[i] = (table[i] >>> 1) & RESET_MASK;
+            }
+            additions /= 2;
+        }
+
+        /**
+         * Selects the counter of an ID in one of the four rows.
+         *
+         * @param id   The ID.
+         * @param seed The multiplier of the row.
+         * @return The index of the counter.
+         */
+        private int counterOf(int id, long seed) {
+            long hash = (id + seed) * seed;
+            return (int) (hash >>> 32) & counterMask;
+        }
+    }
+}
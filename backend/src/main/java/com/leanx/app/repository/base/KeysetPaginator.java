@@ -0,0 +1,176 @@
+package com.leanx.app.repository.base;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Set;
+
+import com.leanx.app.model.dto.Page;
+import com.leanx.app.utils.DatabaseUtils;
+
+/**
+ * Helper for keyset ("seek") pagination over a table with an integer primary key
+ * named {@code id}. Instead of skipping rows with {@code OFFSET}, every page
+ * continues directly after the sort key and ID of the last row of the previous
+ * page, so the cost of a page does not grow with its position.
+ * <p>
+ * The position is handed to clients as an opaque, URL-safe cursor string that
+ * also records the sort order it belongs to.
+ */
+public final class KeysetPaginator {
+
+    /**
+     * The largest page size that may be requested.
+     */
+    public static final int MAX_LIMIT = 1000;
+
+    private static final String ID_COLUMN = "id";
+    private static final String CURSOR_VERSION = "1";
+    private static final char SEPARATOR = '\u001F';
+    private static final String NULL_MARKER = "\u0000";
+
+    private KeysetPaginator() {
+    }
+
+    /**
+     * Reads one page of rows from the given table, ordered by the requested sort
+     * column and the ID as tie-breaker.
+     *
+     * @param <T>         The type of the entities on the page.
+     * @param table       The name of the table to read from. Must not come from user input.
+     * @param sortColumns The columns (besides {@code id}) the table may be sorted by.
+     * @param cursor      The cursor returned with the previous page, or {@code null} for the first page.
+     * @param limit       The maximum number of rows on the page (1 to {@link #MAX_LIMIT}).
+     * @param sort        The column to sort by, or {@code null} to sort by ID.
+     * @param mapper      The mapper used to turn each row into an entity.
+     * @return The requested {@link Page}.
+     * @throws IllegalArgumentException If the limit, sort column or cursor is invalid.
+     * @throws SQLException             If a database access error occurs.
+     */
+    public static <T> Page<T> findPage(String table, Set<String> sortColumns, String cursor, int limit, String sort, RowMapper<T> mapper)
+            throws IllegalArgumentException, SQLException {
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new IllegalArgumentException("Invalid page size: limit must be between 1 and " + MAX_LIMIT + ".");
+        }
+
+        String sortColumn = sort == null || sort.isBlank() ? ID_COLUMN : sort.trim();
+        if (!sortColumn.equals(ID_COLUMN) && !sortColumns.contains(sortColumn)) {
+            throw new IllegalArgumentException("Invalid sort column: " + sortColumn);
+        }
+
+        boolean byId = sortColumn.equals(ID_COLUMN);
+        Position after = cursor == null || cursor.isBlank() ? null : decode(cursor, sortColumn);
+
+        StringBuilder sql = new StringBuilder("SELECT * FROM ").append(table);
+        if (after != null) {
+            if (byId) {
+                sql.append(" WHERE id > ?");
+            } else if (after.value() == null) {
+                // NULLs sort first in ascending order, so all non-NULL values follow.
+                sql.append(" WHERE ((").append(sortColumn).append(" IS NULL AND id > ?) OR ").append(sortColumn).append(" IS NOT NULL)");
+            } else {
+                sql.append(" WHERE (").append(sortColumn).append(" > ? OR (").append(sortColumn).append(" = ? AND id > ?))");
+            }
+        }
+        sql.append(" ORDER BY ");
+        if (!byId) {
+            sql.append(sortColumn).append(", ");
+        }
+        sql.append("id LIMIT ?");
+
+        List<T> items = new ArrayList<>(Math.min(limit, 128));
+        String next = null;
+
+        try (Connection c = DatabaseUtils.getReadOnlyConnection();
+             PreparedStatement stmt = c.prepareStatement(sql.toString())) {
+            int index = 1;
+            if (after != null) {
+                if (!byId && after.value() != null) {
+                    stmt.setString(index++, after.value());
+                    stmt.setString(index++, after.value());
+                }
+                stmt.setInt(index++, after.id());
+            }
+            // One extra row tells whether another page follows.
+            stmt.setInt(index, limit + 1);
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                String lastValue = null;
+                int lastId = 0;
+
+                while (rs.next()) {
+                    if (items.size() == limit) {
+                        next = encode(sortColumn, lastValue, lastId);
+                        break;
+                    }
+
+                    items.add(mapper.mapRow(rs));
+                    lastId = rs.getInt(ID_COLUMN);
+                    lastValue = byId ? null : rs.getString(sortColumn);
+                }
+            }
+        } catch (SQLException e) {
+            throw new SQLException("Error retrieving page from " + table, e);
+        }
+
+        return new Page<>(items, next, limit);
+    }
+
+    /**
+     * Encodes a position into an opaque cursor string.
+     *
+     * @param sortColumn The sort column the position belongs to.
+     * @param value      The sort key of the last row, may be {@code null}.
+     * @param id         The ID of the last row.
+     * @return The URL-safe cursor.
+     */
+    static String encode(String sortColumn, String value, int id) {
+        String raw = CURSOR_VERSION + SEPARATOR + sortColumn + SEPARATOR + id + SEPARATOR + (value == null ? NULL_MARKER : value);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes a cursor string and checks that it belongs to the requested sort order.
+     *
+     * @param cursor     The cursor to decode.
+     * @param sortColumn The sort column of the current request.
+     * @return The decoded {@link Position}.
+     * @throws IllegalArgumentException If the cursor is malformed or was issued for another sort order.
+     */
+    static Position decode(String cursor, String sortColumn) throws IllegalArgumentException {
+        String[] parts;
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor.trim()), StandardCharsets.UTF_8);
+            parts = raw.split(String.valueOf(SEPARATOR), 4);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor.", e);
+        }
+
+        if (parts.length != 4 || !parts[0].equals(CURSOR_VERSION)) {
+            throw new IllegalArgumentException("Invalid cursor.");
+        }
+        if (!parts[1].equals(sortColumn)) {
+            throw new IllegalArgumentException("Cursor does not match the requested sort order.");
+        }
+
+        try {
+            return new Position(Integer.parseInt(parts[2]), parts[3].equals(NULL_MARKER) ? null : parts[3]);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid cursor.", e);
+        }
+    }
+
+    /**
+     * Position of the last row of a page.
+     *
+     * @param id    The ID of the row.
+     * @param value The sort key of the row, or {@code null}.
+     */
+    record Position(int id, String value) {
+    }
+}
@@ -0,0 +1,23 @@
+package com.leanx.app.repository.base;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Maps the current row of a {@link ResultSet} to an object. Implementations
+ * must not move the cursor.
+ *
+ * @param <T> The type of the object produced for each row.
+ */
+@FunctionalInterface
+public interface RowMapper<T> {
+
+    /**
+     * Maps the current row of the given result set.
+     *
+     * @param rs The result set, positioned on the row to map.
+     * @return The mapped object.
+     * @throws SQLException If a column cannot be read.
+     */
+    T mapRow(ResultSet rs) throws SQLException;
+}
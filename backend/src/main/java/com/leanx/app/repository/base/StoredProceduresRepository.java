@@ -4,10 +4,13 @@ import java.sql.CallableStatement;
 import java.sql.Connection;
 import java.sql.SQLException;
 
+import com.leanx.app.repository.EmployeeRepository;
 import com.leanx.app.utils.DatabaseUtils;
 
 /**
  * Repository class responsible for calling stored procedures in the database.
+ * The procedures change rows behind the other repositories' backs, so the
+ * cached copies of the affected employees are dropped after a successful call.
  */
 public class StoredProceduresRepository {
 
@@ -44,6 +47,8 @@ public class StoredProceduresRepository {
 
     /**
      * Calls the 'DeactivateUserAccount' stored procedure to deactivate a user account.
+     * The procedure sets the user's status to 'DEACTIVATED' and deletes their
+     * roles and password history; the link to their employee is kept.
      *
      * @param userId        The ID of the user account to deactivate.
      * @param currentUserId The ID of the user who is performing the deactivation.
@@ -73,6 +78,9 @@ public class StoredProceduresRepository {
 
     /**
      * Calls the 'TerminateEmployee' stored procedure to mark an employee as terminated.
+     * The procedure sets the employment status from the termination reason and
+     * deactivates the user accounts linked to the employee (see
+     * {@link #callDeactivateUserAccount(Integer, Integer)}); the links are kept.
      *
      * @param employeeId The ID of the employee to terminate.
      * @return {@code true} if the stored procedure executed successfully, {@code false} otherwise.
@@ -91,6 +99,7 @@ public class StoredProceduresRepository {
             stmt.setInt(1, employeeId);
 
             stmt.execute();
+            EmployeeRepository.invalidateCache(employeeId);
             return true;
         } catch (SQLException e) {
             System.err.println("An error occurred while calling the stored procedure 'TerminateEmployee': " + e.getMessage());
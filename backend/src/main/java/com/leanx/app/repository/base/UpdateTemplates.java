@@ -0,0 +1,133 @@
+package com.leanx.app.repository.base;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Cache of {@code UPDATE ... SET ... WHERE id = ?} statement templates for one
+ * table. Templates are keyed by the sorted set of updated columns, so every
+ * update shape builds its SQL once and always produces the same SQL text,
+ * which lets the driver reuse its prepared statement.
+ * <p>
+ * Only whitelisted columns may be updated. Each column has a {@link ColumnType}
+ * that binds values with the matching typed setter.
+ */
+public final class UpdateTemplates {
+
+    /**
+     * Upper bound for the number of cached templates per table. Shapes beyond
+     * it are still served, just not cached.
+     */
+    private static final int MAX_TEMPLATES = 256;
+
+    private final String table;
+    private final Map<String, ColumnType> columns;
+    private final Map<Set<String>, Template> cache = new ConcurrentHashMap<>();
+
+    /**
+     * Constructs an {@code UpdateTemplates} cache.
+     *
+     * @param table   The table to update. Must not come from user input.
+     * @param columns The whitelisted columns and their types.
+     */
+    public UpdateTemplates(String table, Map<String, ColumnType> columns) {
+        this.table = table;
+        this.columns = Collections.unmodifiableMap(new LinkedHashMap<>(columns));
+    }
+
+    /**
+     * Gets the name of the table the templates update.
+     *
+     * @return The table name.
+     */
+    public String getTable() { return table; }
+
+    /**
+     * Returns the template for the given set of columns.
+     *
+     * @param updatedColumns The columns to update.
+     * @return The cached or newly built {@link Template}.
+     * @throws IllegalArgumentException If the set is empty or contains a column that is not whitelisted.
+     */
+    public Template forColumns(Set<String> updatedColumns) throws IllegalArgumentException {
+        if (updatedColumns == null || updatedColumns.isEmpty()) {
+            throw new IllegalArgumentException("Invalid input parameters");
+        }
+
+        Template template = cache.get(updatedColumns);
+        if (template != null) {
+            return template;
+        }
+
+        for (String column : updatedColumns) {
+            if (!columns.containsKey(column)) {
+                throw new IllegalArgumentException("Column cannot be updated: " + column);
+            }
+        }
+
+        Set<String> key = Collections.unmodifiableSet(new TreeSet<>(updatedColumns));
+        template = new Template(key);
+        if (cache.size() < MAX_TEMPLATES) {
+            Template existing = cache.putIfAbsent(key, template);
+            if (existing != null) {
+                return existing;
+            }
+        }
+        return template;
+    }
+
+    /**
+     * A prepared {@code UPDATE} statement for one set of columns.
+     */
+    public final class Template {
+
+        private final String sql;
+        private final String[] columnNames;
+        private final ColumnType[] columnTypes;
+
+        private Template(Set<String> sortedColumns) {
+            this.columnNames = sortedColumns.toArray(new String[0]);
+            this.columnTypes = new ColumnType[columnNames.length];
+
+            StringBuilder sql = new StringBuilder("UPDATE ").append(table).append(" SET ");
+            for (int i = 0; i < columnNames.length; i++) {
+                columnTypes[i] = columns.get(columnNames[i]);
+                sql.append(i == 0 ? "" : ", ").append(columnNames[i]).append(" = ?");
+            }
+            this.sql = sql.append(" WHERE id = ?").toString();
+        }
+
+        /**
+         * Gets the SQL text of the template.
+         *
+         * @return The {@code UPDATE} statement.
+         */
+        public String getSql() { return sql; }
+
+        /**
+         * Binds the new values and the row ID to a statement prepared from {@link #getSql()}.
+         *
+         * @param stmt   The statement to bind to.
+         * @param values The new values keyed by column name; must contain exactly the template's columns.
+         * @param id     The ID of the row to update.
+         * @throws IllegalArgumentException If a value does not fit its column type.
+         * @throws SQLException             If a parameter cannot be set.
+         */
+        public void bind(PreparedStatement stmt, Map<String, Object> values, int id) throws IllegalArgumentException, SQLException {
+            for (int i = 0; i < columnNames.length; i++) {
+                try {
+                    columnTypes[i].bind(stmt, i + 1, values.get(columnNames[i]));
+                } catch (IllegalArgumentException e) {
+                    throw new IllegalArgumentException("Invalid value for column " + columnNames[i] + ": " + e.getMessage(), e);
+                }
+            }
+            stmt.setInt(columnNames.length + 1, id);
+        }
+    }
+}
@@ -0,0 +1,212 @@
+package com.leanx.app.repository.base;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Describes a query against a database view: optional filter conditions,
+ * ordering and a row limit. Conditions are combined with {@code AND}.
+ * Column names are validated against the view's metadata by
+ * {@link ViewRepository} before the SQL is built, and all values are bound as
+ * statement parameters.
+ */
+public final class ViewQuery {
+
+    /**
+     * Comparison operators supported in filter conditions.
+     */
+    public enum Operator {
+        EQ("= ?"),
+        NE("<> ?"),
+        LT("< ?"),
+        LE("<= ?"),
+        GT("> ?"),
+        GE(">= ?"),
+        LIKE("LIKE ?"),
+        IS_NULL("IS NULL"),
+        IS_NOT_NULL("IS NOT NULL");
+
+        private final String sql;
+
+        Operator(String sql) {
+            this.sql = sql;
+        }
+
+        /**
+         * Checks whether the operator compares against a value.
+         *
+         * @return {@code true} if the operator needs a bound value.
+         */
+        boolean takesValue() {
+            return sql.endsWith("?");
+        }
+    }
+
+    private record Condition(String column, Operator operator, Object value) {}
+
+    private record Order(String column, boolean ascending) {}
+
+    private final String viewName;
+    private final List<Condition> conditions = new ArrayList<>();
+    private final List<Order> orders = new ArrayList<>();
+    private int limit = 0;
+
+    private ViewQuery(String viewName) {
+        this.viewName = viewName;
+    }
+
+    /**
+     * Starts a query that selects all rows of a view.
+     *
+     * @param viewName The name of the view.
+     * @return A new {@code ViewQuery}.
+     * @throws IllegalArgumentException If the view name is null or blank.
+     */
+    public static ViewQuery from(String viewName) throws IllegalArgumentException {
+        if (viewName == null || viewName.isBlank()) {
+            throw new IllegalArgumentException("View name must not be empty.");
+        }
+        return new ViewQuery(viewName);
+    }
+
+    /**
+     * Adds a condition that compares a column with a value.
+     *
+     * @param column   The column to filter on.
+     * @param operator The comparison operator.
+     * @param value    The value to compare with; ignored for {@link Operator#IS_NULL} and {@link Operator#IS_NOT_NULL}.
+     * @return This query.
+     * @throws IllegalArgumentException If the column or operator is null, or the operator needs a value and none is given.
+     */
+    public ViewQuery where(String column, Operator operator, Object value) throws IllegalArgumentException {
+        if (column == null || operator == null) {
+            throw new IllegalArgumentException("Invalid filter condition");
+        }
+        if (operator.takesValue() && value == null) {
+            throw new IllegalArgumentException("Operator " + operator + " requires a value; use IS_NULL to match NULL.");
+        }
+        conditions.add(new Condition(column, operator, operator.takesValue() ? value : null));
+        return this;
+    }
+
+    /**
+     * Adds a sort column. Columns are applied in the order they are added.
+     *
+     * @param column    The column to sort by.
+     * @param ascending {@code true} for ascending, {@code false} for descending order.
+     * @return This query.
+     * @throws IllegalArgumentException If the column is null.
+     */
+    public ViewQuery orderBy(String column, boolean ascending) throws IllegalArgumentException {
+        if (column == null) {
+            throw new IllegalArgumentException("Invalid sort column");
+        }
+        orders.add(new Order(column, ascending));
+        return this;
+    }
+
+    /**
+     * Limits the number of returned rows.
+     *
+     * @param limit The maximum number of rows; {@code 0} for no limit.
+     * @return This query.
+     * @throws IllegalArgumentException If the limit is negative.
+     */
+    public ViewQuery limit(int limit) throws IllegalArgumentException {
+        if (limit < 0) {
+            throw new IllegalArgumentException("Limit must not be negative.");
+        }
+        this.limit = limit;
+        return this;
+    }
+
+    /**
+     * Gets the name of the queried view.
+     *
+     * @return The view name.
+     */
+    public String getViewName() { return viewName; }
+
+    /**
+     * Builds the SQL of the query after checking every referenced column
+     * against the columns of the view.
+     *
+     * @param columns The lowercase column names of the view.
+     * @return The {@code SELECT} statement with {@code ?} placeholders for all values.
+     * @throws IllegalArgumentException If a referenced column does not exist in the view.
+     */
+    String toSql(Set<String> columns) throws IllegalArgumentException {
+        StringBuilder sql = new StringBuilder("SELECT * FROM ").append(viewName);
+
+        for (int i = 0; i < conditions.size(); i++) {
+            Condition condition = conditions.get(i);
+            sql.append(i == 0 ? " WHERE " : " AND ")
+               .append(checkColumn(condition.column(), columns)).append(' ')
+               .append(condition.operator().sql);
+        }
+
+        for (int i = 0; i < orders.size(); i++) {
+            Order order = orders.get(i);
+            sql.append(i == 0 ? " ORDER BY " : ", ")
+               .append(checkColumn(order.column(), columns))
+               .append(order.ascending() ? " ASC" : " DESC");
+        }
+
+        if (limit > 0) {
+            sql.append(" LIMIT ").append(limit);
+        }
+        return sql.toString();
+    }
+
+    /**
+     * Binds the values of the filter conditions to a statement prepared from {@link #toSql(Set)}.
+     *
+     * @param stmt The statement to bind to.
+     * @throws SQLException If a parameter cannot be set.
+     */
+    void bind(PreparedStatement stmt) throws SQLException {
+        int index = 1;
+        for (Condition condition : conditions) {
+            if (condition.operator().takesValue()) {
+                stmt.setObject(index++, condition.value());
+            }
+        }
+    }
+
+    /**
+     * Builds a key that identifies the query and its values, for use with {@link ViewResultCache}.
+     *
+     * @param columns The lowercase column names of the view.
+     * @return The SQL of the query followed by its bound values.
+     * @throws IllegalArgumentException If a referenced column does not exist in the view.
+     */
+    String cacheKey(Set<String> columns) throws IllegalArgumentException {
+        StringBuilder key = new StringBuilder(toSql(columns));
+        for (Condition condition : conditions) {
+            if (condition.operator().takesValue()) {
+                Object value = condition.value();
+                key.append('\u001F').append(value.getClass().getSimpleName()).append(':').append(value);
+            }
+        }
+        return key.toString();
+    }
+
+    /**
+     * Checks that a column exists in the view.
+     *
+     * @param column  The column name to check.
+     * @param columns The lowercase column names of the view.
+     * @return The column name in lowercase.
+     * @throws IllegalArgumentException If the column does not exist in the view.
+     */
+    private String checkColumn(String column, Set<String> columns) throws IllegalArgumentException {
+        String normalized = column.toLowerCase();
+        if (!columns.contains(normalized)) {
+            throw new IllegalArgumentException("Error: Column '" + column + "' does not exist in view '" + viewName + "'!");
+        }
+        return normalized;
+    }
+}
@@ -4,10 +4,13 @@ import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
-import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -16,27 +19,37 @@ import com.leanx.app.utils.DatabaseUtils;
 
 /**
  * Abstract base class for repositories that interact with database views.
- * Provides functionality to lazily load available views and execute queries
- * against a specified view, mapping the results to a given entity type.
+ * Provides functionality to lazily load available views and their columns and
+ * to execute queries against a specified view, mapping the results to a given
+ * entity type.
+ * <p>
+ * Large views should be read with {@link #stream(ViewQuery, RowMapper, Consumer)},
+ * which hands rows to a consumer one at a time while the driver fetches them
+ * in chunks through a server-side cursor, instead of collecting the whole view
+ * in memory. Small, rarely changing views can be read through
+ * {@link #findCached(ViewQuery, RowMapper)}.
  *
  * @param <T> The type of the entity that the view data will be mapped to.
  */
 public abstract class ViewRepository<T> {
-    
+
     private static final Logger logger = Logger.getLogger(ViewRepository.class.getName());
 
     private Set<String> views = new HashSet<>();
+    private Map<String, Set<String>> viewColumns = new HashMap<>();
 
     /**
-     * Lazily loads the names of all available views from the database schema.
-     * This method is synchronized to ensure thread-safe initialization of the
-     * view set. The loading process occurs only once, when the view set is empty.
+     * Lazily loads the names of all available views and their columns from the
+     * database schema. This method is synchronized to ensure thread-safe
+     * initialization of the view set. The loading process occurs only once,
+     * when the view set is empty.
      *
      * @throws SQLException If a database access error occurs during the view loading process.
      */
     protected synchronized void lazyLoadViews() throws SQLException {
         if (this.views.isEmpty()) {
             logger.log(Level.INFO, "Loading views from database...");
+            this.viewColumns = loadViewColumns();
             this.views = loadViews();
             logger.log(Level.INFO, "Loaded {0} views.", this.views.size());
         }
@@ -52,7 +65,7 @@ public abstract class ViewRepository<T> {
         Set<String> dbViews = new HashSet<>();
         String sql = "SELECT TABLE_NAME FROM INFORMATION_SCHEMA.VIEWS WHERE TABLE_SCHEMA = ?";
 
-        try (Connection c = DatabaseUtils.getMySQLConnection();
+        try (Connection c = DatabaseUtils.getReadOnlyConnection();
              PreparedStatement pstmt = c.prepareStatement(sql)) {
             pstmt.setString(1, DatabaseUtils.DB_NAME);
             logger.log(Level.INFO, "Executing query: {0}", sql);
@@ -67,6 +80,110 @@ public abstract class ViewRepository<T> {
         return dbViews;
     }
 
+    /**
+     * Loads the column names of all views present in the application's database schema.
+     *
+     * @return A {@code Map} from the lowercase view name to the lowercase names of its columns.
+     * @throws SQLException If a database access error occurs while querying the view metadata.
+     */
+    protected Map<String, Set<String>> loadViewColumns() throws SQLException {
+        Map<String, Set<String>> columns = new HashMap<>();
+        String sql = "SELECT c.TABLE_NAME, c.COLUMN_NAME FROM INFORMATION_SCHEMA.COLUMNS c " +
+            "JOIN INFORMATION_SCHEMA.VIEWS v ON v.TABLE_SCHEMA = c.TABLE_SCHEMA AND v.TABLE_NAME = c.TABLE_NAME " +
+            "WHERE c.TABLE_SCHEMA = ?";
+
+        try (Connection c = DatabaseUtils.getReadOnlyConnection();
+             PreparedStatement pstmt = c.prepareStatement(sql)) {
+            pstmt.setString(1, DatabaseUtils.DB_NAME);
+
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    columns.computeIfAbsent(rs.getString("TABLE_NAME").toLowerCase(), k -> new HashSet<>())
+                           .add(rs.getString("COLUMN_NAME").toLowerCase());
+                }
+            }
+        }
+
+        return columns;
+    }
+
+    /**
+     * Runs a query against a view and hands every mapped row to a consumer.
+     * Rows are read through a forward-only cursor with the configured fetch
+     * size (see {@link DatabaseUtils#getFetchSize()}), so memory use does not
+     * depend on the size of the view.
+     *
+     * @param query    The view, filter conditions, ordering and limit to apply.
+     * @param mapper   Maps the current row to an entity of type {@code T}.
+     * @param consumer Receives the mapped rows in result order.
+     * @return The number of rows passed to the consumer.
+     * @throws SQLException             If a database access error occurs or the mapper fails.
+     * @throws IllegalArgumentException If an argument is null, or the view or a
+     * referenced column does not exist.
+     */
+    public int stream(ViewQuery query, RowMapper<T> mapper, Consumer<? super T> consumer) throws SQLException, IllegalArgumentException {
+        if (query == null || mapper == null || consumer == null) {
+            throw new IllegalArgumentException("Invalid input parameters");
+        }
+
+        String sql = query.toSql(columnsOf(query.getViewName()));
+        logger.log(Level.INFO, "Executing query: {0}", sql);
+
+        try (Connection c = DatabaseUtils.getReadOnlyConnection();
+             PreparedStatement stmt = c.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+            stmt.setFetchSize(DatabaseUtils.getFetchSize());
+            query.bind(stmt);
+
+            int count = 0;
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    consumer.accept(mapper.mapRow(rs));
+                    count++;
+                }
+            }
+            return count;
+        }
+    }
+
+    /**
+     * Runs a query against a view and collects the mapped rows. Intended for
+     * queries whose result is bounded, e.g. by a filter or {@link ViewQuery#limit(int)};
+     * use {@link #stream(ViewQuery, RowMapper, Consumer)} otherwise.
+     *
+     * @param query  The view, filter conditions, ordering and limit to apply.
+     * @param mapper Maps the current row to an entity of type {@code T}.
+     * @return A {@code List} with the mapped rows in result order.
+     * @throws SQLException             If a database access error occurs or the mapper fails.
+     * @throws IllegalArgumentException If an argument is null, or the view or a
+     * referenced column does not exist.
+     */
+    public List<T> find(ViewQuery query, RowMapper<T> mapper) throws SQLException, IllegalArgumentException {
+        List<T> resultList = new ArrayList<>();
+        stream(query, mapper, resultList::add);
+        return resultList;
+    }
+
+    /**
+     * Runs a query against a view through the shared {@link ViewResultCache}.
+     * Intended for small, rarely changing views; the result is reused until it
+     * expires or the view is invalidated.
+     *
+     * @param query  The view, filter conditions, ordering and limit to apply.
+     * @param mapper Maps the current row to an entity of type {@code T}.
+     * @return An unmodifiable {@code List} with the mapped rows in result order.
+     * @throws SQLException             If the result had to be loaded and a database access error occurred.
+     * @throws IllegalArgumentException If an argument is null, or the view or a
+     * referenced column does not exist.
+     */
+    public List<T> findCached(ViewQuery query, RowMapper<T> mapper) throws SQLException, IllegalArgumentException {
+        if (query == null || mapper == null) {
+            throw new IllegalArgumentException("Invalid input parameters");
+        }
+
+        String key = query.cacheKey(columnsOf(query.getViewName()));
+        return ViewResultCache.get(query.getViewName(), key, () -> find(query, mapper));
+    }
+
     /**
      * Retrieves all records from the specified database view and maps each row
      * to an entity of type {@code T} using the provided mapper function.
@@ -81,25 +198,24 @@ public abstract class ViewRepository<T> {
      * in the database schema.
      */
     public List<T> findAll(String viewName, Function<ResultSet, T> mapper) throws SQLException {
+        return find(ViewQuery.from(viewName), mapper::apply);
+    }
+
+    /**
+     * Gets the columns of a view, loading the view metadata on first use.
+     *
+     * @param viewName The name of the view.
+     * @return The lowercase column names of the view.
+     * @throws SQLException             If the view metadata cannot be loaded.
+     * @throws IllegalArgumentException If the view does not exist in the database schema.
+     */
+    private Set<String> columnsOf(String viewName) throws SQLException, IllegalArgumentException {
         lazyLoadViews();
 
-        if (!views.contains(viewName.toLowerCase())) {
+        String normalized = viewName.toLowerCase();
+        if (!views.contains(normalized)) {
             throw new IllegalArgumentException("Error: View '" + viewName + "' does not exist!");
         }
-
-        String sql = "SELECT * FROM " + viewName;
-        logger.log(Level.INFO, "Executing query: {0}", sql);
-
-        try (Connection c = DatabaseUtils.getMySQLConnection();
-             Statement stmt = c.createStatement();
-             ResultSet rs = stmt.executeQuery(sql)) {
-
-            List<T> resultList = new java.util.ArrayList<>();
-            while (rs.next()) {
-                resultList.add(mapper.apply(rs));
-            }
-
-            return resultList;
-        }
+        return viewColumns.getOrDefault(normalized, Set.of());
     }
-}
\ No newline at end of file
+}
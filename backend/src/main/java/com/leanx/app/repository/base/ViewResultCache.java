@@ -0,0 +1,350 @@
+package com.leanx.app.repository.base;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import com.leanx.app.utils.DatabaseUtils;
+import com.leanx.app.utils.EnvironmentUtils;
+
+/**
+ * Shared, per-view cache for the results of view queries. Views such as
+ * {@code password_settings_view} change rarely but are read on every login,
+ * so their results are kept for a configurable time to live.
+ * <p>
+ * Loading is single-flight: if several threads ask for the same result while
+ * it is not cached, only one of them runs the query and the others wait for
+ * its result. Cached results are dropped when their TTL expires, when the
+ * per-view entry limit is exceeded (oldest first), when
+ * {@link #invalidate(String)} is called, or when a watched table changes (see
+ * {@link #watch(String, String...)}).
+ * <p>
+ * The defaults are configured with {@code VIEW_CACHE_TTL_MS} (default 5
+ * minutes), {@code VIEW_CACHE_MAX_ENTRIES} (entries per view, default 64) and
+ * {@code VIEW_CACHE_POLL_INTERVAL_MS} (default 10 seconds).
+ */
+public final class ViewResultCache {
+
+    private static final Logger logger = Logger.getLogger(ViewResultCache.class.getName());
+
+    private static final long DEFAULT_TTL_MILLIS = EnvironmentUtils.getLong("VIEW_CACHE_TTL_MS", 5 * 60 * 1000L);
+    private static final int DEFAULT_MAX_ENTRIES = Math.max(1, EnvironmentUtils.getInt("VIEW_CACHE_MAX_ENTRIES", 64));
+    private static final long POLL_INTERVAL_MILLIS = EnvironmentUtils.getLong("VIEW_CACHE_POLL_INTERVAL_MS", 10 * 1000L);
+
+    private static final Map<String, ViewCache> CACHES = new ConcurrentHashMap<>();
+    private static final List<Watch> WATCHES = new CopyOnWriteArrayList<>();
+    private static ScheduledExecutorService poller;
+
+    private ViewResultCache() {
+    }
+
+    /**
+     * Loads the rows of a view query.
+     *
+     * @param <R> The type of the loaded rows.
+     */
+    @FunctionalInterface
+    public interface Loader<R> {
+
+        /**
+         * Runs the query.
+         *
+         * @return The loaded rows.
+         * @throws SQLException If the query fails.
+         */
+        List<R> load() throws SQLException;
+    }
+
+    /**
+     * Returns the cached result for a query, loading it if it is missing or expired.
+     *
+     * @param <R>      The type of the rows.
+     * @param viewName The view the query reads.
+     * @param key      Identifies the query within the view, e.g. its SQL and parameters.
+     * @param loader   Loads the result if it is not cached.
+     * @return The unmodifiable cached result.
+     * @throws SQLException If the result had to be loaded and loading failed.
+     */
+    @SuppressWarnings("unchecked")
+    public static <R> List<R> get(String viewName, String key, Loader<R> loader) throws SQLException {
+        ViewCache cache = cacheFor(viewName);
+        long now = System.currentTimeMillis();
+
+        Entry entry = cache.entries.get(key);
+        if (entry != null && (entry.expiresAt <= now || entry.generation != cache.generation.get())) {
+            cache.entries.remove(key, entry);
+            entry = null;
+        }
+        if (entry != null) {
+            cache.hits.incrementAndGet();
+            return (List<R>) await(entry);
+        }
+
+        Entry created = new Entry(cache.generation.get(), now + cache.ttlMillis);
+        entry = cache.entries.putIfAbsent(key, created);
+        if (entry != null) {
+            cache.hits.incrementAndGet();
+            return (List<R>) await(entry);
+        }
+
+        cache.misses.incrementAndGet();
+        try {
+            List<R> rows = Collections.unmodifiableList(loader.load());
+            created.result.complete(rows);
+            cache.evictOverflow();
+            return rows;
+        } catch (SQLException | RuntimeException e) {
+            cache.entries.remove(key, created);
+            created.result.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    /**
+     * Waits for the result of an entry that is being or has been loaded.
+     *
+     * @param entry The cache entry.
+     * @return The loaded rows.
+     * @throws SQLException If loading the entry failed.
+     */
+    private static List<?> await(Entry entry) throws SQLException {
+        try {
+            return entry.result.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for a cached view result.", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof SQLException sqlException) {
+                throw sqlException;
+            }
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new SQLException("Loading a cached view result failed.", cause);
+        }
+    }
+
+    /**
+     * Overrides the TTL and entry limit of a view.
+     *
+     * @param viewName   The view to configure.
+     * @param ttlMillis  The time to live of cached results; {@code 0} disables caching for the view.
+     * @param maxEntries The maximum number of cached queries for the view.
+     * @throws IllegalArgumentException If the TTL is negative or the entry limit is not positive.
+     */
+    public static void configure(String viewName, long ttlMillis, int maxEntries) throws IllegalArgumentException {
+        if (ttlMillis < 0 || maxEntries <= 0) {
+            throw new IllegalArgumentException("Invalid cache settings for view " + viewName);
+        }
+        CACHES.put(normalize(viewName), new ViewCache(ttlMillis, maxEntries));
+    }
+
+    /**
+     * Drops all cached results of a view. Loads that are in flight are not
+     * cached for longer than their own request.
+     *
+     * @param viewName The view whose results are dropped.
+     */
+    public static void invalidate(String viewName) {
+        ViewCache cache = CACHES.get(normalize(viewName));
+        if (cache != null) {
+            cache.generation.incrementAndGet();
+            cache.entries.clear();
+            logger.log(Level.FINE, "Invalidated cached results of view {0}", viewName);
+        }
+    }
+
+    /**
+     * Drops the cached results of all views.
+     */
+    public static void invalidateAll() {
+        for (String viewName : CACHES.keySet()) {
+            invalidate(viewName);
+        }
+    }
+
+    /**
+     * Invalidates views whenever the result of a watermark query changes. The
+     * query must return a single row, e.g. {@code SELECT MAX(log_id) FROM configuration_change_log};
+     * it is polled in the background. The first poll only records the
+     * current watermark.
+     *
+     * @param watermarkSql The watermark query. Must not come from user input.
+     * @param viewNames    The views to invalidate when the watermark changes.
+     */
+    public static synchronized void watch(String watermarkSql, String... viewNames) {
+        WATCHES.add(new Watch(watermarkSql, List.of(viewNames)));
+
+        if (poller == null) {
+            poller = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "leanx-view-cache-poller");
+                thread.setDaemon(true);
+                return thread;
+            });
+            poller.scheduleWithFixedDelay(ViewResultCache::pollWatermarks, 0, POLL_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Stops polling watermarks, removes all watches and drops all cached results.
+     */
+    public static synchronized void shutdown() {
+        if (poller != null) {
+            poller.shutdownNow();
+            poller = null;
+        }
+        WATCHES.clear();
+        CACHES.clear();
+    }
+
+    /**
+     * Polls all watermark queries and invalidates the views of those that changed.
+     */
+    private static void pollWatermarks() {
+        for (Watch watch : WATCHES) {
+            try {
+                String watermark = queryWatermark(watch.sql);
+                if (watch.lastWatermark != null && !Objects.equals(watch.lastWatermark, watermark)) {
+                    logger.log(Level.INFO, "Watermark changed for {0}, invalidating {1}", new Object[]{watch.sql, watch.viewNames});
+                    watch.viewNames.forEach(ViewResultCache::invalidate);
+                }
+                watch.lastWatermark = watermark;
+            } catch (SQLException e) {
+                logger.log(Level.WARNING, "Polling watermark failed: {0}", e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Runs a watermark query on the primary, so that a lagging replica does not hide changes.
+     *
+     * @param sql The watermark query.
+     * @return The values of the first row, joined into one string.
+     * @throws SQLException If the query fails.
+     */
+    private static String queryWatermark(String sql) throws SQLException {
+        try (Connection c = DatabaseUtils.getMySQLConnection();
+             Statement stmt = c.createStatement();
+             ResultSet rs = stmt.executeQuery(sql)) {
+            if (!rs.next()) {
+                return "";
+            }
+
+            ResultSetMetaData meta = rs.getMetaData();
+            StringBuilder watermark = new StringBuilder();
+            for (int i = 1; i <= meta.getColumnCount(); i++) {
+                watermark.append(rs.getString(i)).append('|');
+            }
+            return watermark.toString();
+        }
+    }
+
+    /**
+     * Returns cache statistics for all views.
+     *
+     * @return A map from view name to a map with the keys {@code entries}, {@code hits} and {@code misses}.
+     */
+    public static Map<String, Map<String, Long>> getStats() {
+        Map<String, Map<String, Long>> stats = new TreeMap<>();
+        CACHES.forEach((viewName, cache) -> stats.put(viewName, Map.of(
+            "entries", (long) cache.entries.size(),
+            "hits", cache.hits.get(),
+            "misses", cache.misses.get()
+        )));
+        return stats;
+    }
+
+    /**
+     * Gets the cache of a view, creating it with the default settings.
+     *
+     * @param viewName The view name.
+     * @return The view's cache.
+     */
+    private static ViewCache cacheFor(String viewName) {
+        return CACHES.computeIfAbsent(normalize(viewName), k -> new ViewCache(DEFAULT_TTL_MILLIS, DEFAULT_MAX_ENTRIES));
+    }
+
+    /**
+     * Normalizes a view name for use as a cache key.
+     *
+     * @param viewName The view name.
+     * @return The lowercase view name.
+     */
+    private static String normalize(String viewName) {
+        return viewName.toLowerCase();
+    }
+
+    /**
+     * Cached results and counters of one view.
+     */
+    private static final class ViewCache {
+        private final long ttlMillis;
+        private final int maxEntries;
+        private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+        private final AtomicLong generation = new AtomicLong();
+        private final AtomicLong hits = new AtomicLong();
+        private final AtomicLong misses = new AtomicLong();
+
+        private ViewCache(long ttlMillis, int maxEntries) {
+            this.ttlMillis = ttlMillis;
+            this.maxEntries = maxEntries;
+        }
+
+        /**
+         * Removes the entries that expire first until the entry limit is met.
+         */
+        private void evictOverflow() {
+            while (entries.size() > maxEntries) {
+                entries.entrySet().stream()
+                       .min((a, b) -> Long.compare(a.getValue().expiresAt, b.getValue().expiresAt))
+                       .ifPresent(oldest -> entries.remove(oldest.getKey(), oldest.getValue()));
+            }
+        }
+    }
+
+    /**
+     * A cached (or loading) query result.
+     */
+    private static final class Entry {
+        private final long generation;
+        private final long expiresAt;
+        private final CompletableFuture<List<?>> result = new CompletableFuture<>();
+
+        private Entry(long generation, long expiresAt) {
+            this.generation = generation;
+            this.expiresAt = expiresAt;
+        }
+    }
+
+    /**
+     * A watermark query and the views it guards.
+     */
+    private static final class Watch {
+        private final String sql;
+        private final List<String> viewNames;
+        private volatile String lastWatermark;
+
+        private Watch(String sql, List<String> viewNames) {
+            this.sql = sql;
+            this.viewNames = viewNames;
+        }
+    }
+}
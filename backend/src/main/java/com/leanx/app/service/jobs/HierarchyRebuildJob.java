@@ -0,0 +1,46 @@
+package com.leanx.app.service.jobs;
+
+import java.sql.SQLException;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.quartz.DisallowConcurrentExecution;
+import org.quartz.Job;
+import org.quartz.JobExecutionContext;
+import org.quartz.JobExecutionException;
+
+import com.leanx.app.repository.EmployeeHierarchyRepository;
+import com.leanx.app.service.modules.employee.hierarchy.OrgHierarchyIndex;
+
+/**
+ * Quartz job that rebuilds the {@code employee_hierarchy} closure table from
+ * {@code employees.manager_id}. The table is maintained incrementally whenever
+ * a manager changes through the application; the rebuild repairs it after
+ * changes made directly in the database and fills it on first start. When
+ * several backend nodes run the job at the same time, only one of them rebuilds.
+ */
+@DisallowConcurrentExecution
+public class HierarchyRebuildJob implements Job {
+
+    private static final Logger logger = Logger.getLogger(HierarchyRebuildJob.class.getName());
+
+    private final EmployeeHierarchyRepository hierarchyRepository = new EmployeeHierarchyRepository();
+
+    @Override
+    public void execute(JobExecutionContext arg0) throws JobExecutionException {
+        logger.log(Level.INFO, "Executing Hierarchy Rebuild Job...");
+        try {
+            int rows = hierarchyRepository.rebuild();
+            if (rows < 0) {
+                logger.log(Level.INFO, "Skipped Hierarchy Rebuild Job. Another node is rebuilding the hierarchy.");
+                return;
+            }
+
+            OrgHierarchyIndex.getInstance().invalidate();
+            logger.log(Level.INFO, "Successfully Executed Hierarchy Rebuild Job. {0} hierarchy rows were written!", rows);
+        } catch (SQLException e) {
+            logger.log(Level.SEVERE, "Failed to execute the Hierarchy Rebuild Job. Error accessing the database: {0}", e);
+            throw new JobExecutionException("Error during Hierarchy Rebuild Job execution: " + e.getMessage(), e);
+        }
+    }
+}
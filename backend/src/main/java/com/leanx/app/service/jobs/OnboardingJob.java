@@ -12,6 +12,7 @@ import org.quartz.JobExecutionException;
 import com.leanx.app.model.entity.Employee;
 import com.leanx.app.repository.EmployeeRepository;
 import com.leanx.app.repository.base.StoredProceduresRepository;
+import com.leanx.app.service.modules.employee.search.SuggestionIndex;
 import com.leanx.app.service.modules.system.EmailService;
 import com.leanx.app.service.modules.user.admin.UserService;
 import com.leanx.app.utils.PasswordUtils;
@@ -49,6 +50,7 @@ public class OnboardingJob implements Job {
                 String passwordHash = passwordUtils.hashPassword(password);
 
                 storedProceduresRepository.callCreateNewUserAccount(username, passwordHash, employee.getId());
+                SuggestionIndex.getInstance().invalidate();
 
                 int sendResult = emailService.attemptSendCredentialsEmail(employee.getEmail(), username, password);
                 if (sendResult != 0) {
@@ -12,6 +12,7 @@ import org.quartz.Trigger;
 import org.quartz.TriggerBuilder;
 import org.quartz.impl.StdSchedulerFactory;
 
+import com.leanx.app.service.jobs.HierarchyRebuildJob;
 import com.leanx.app.service.jobs.OnboardingJob;
 
 import jakarta.servlet.ServletContextEvent;
@@ -65,6 +66,28 @@ public class JobScheduleInitializer implements ServletContextListener {
             // Schedule the job
             scheduler.scheduleJob(job, trigger);
             logger.info("OnboardingJob scheduled successfully with trigger: dailyTrigger");
+
+            // Rebuild the employee hierarchy once on startup and every night at 02:00 UTC
+            JobDetail hierarchyJob = JobBuilder.newJob(HierarchyRebuildJob.class)
+                    .withIdentity("hierarchyRebuildJob", "hr-ops")
+                    .storeDurably()
+                    .build();
+            scheduler.addJob(hierarchyJob, false);
+
+            Trigger startupHierarchyTrigger = TriggerBuilder.newTrigger()
+                    .withIdentity("startupHierarchyTrigger", "hr-ops")
+                    .forJob(hierarchyJob)
+                    .startNow()
+                    .build();
+            Trigger nightlyHierarchyTrigger = TriggerBuilder.newTrigger()
+                    .withIdentity("nightlyHierarchyTrigger", "hr-ops")
+                    .forJob(hierarchyJob)
+                    .withSchedule(CronScheduleBuilder.cronSchedule("0 0 2 * * ?")) // Run at 02:00 UTC every day
+                    .build();
+
+            scheduler.scheduleJob(startupHierarchyTrigger);
+            scheduler.scheduleJob(nightlyHierarchyTrigger);
+            logger.info("HierarchyRebuildJob scheduled successfully with triggers: startupHierarchyTrigger, nightlyHierarchyTrigger");
         } catch (SchedulerException e) {
             logger.log(Level.SEVERE, "Error starting job scheduler!", e);
         }
@@ -7,8 +7,15 @@ import java.util.Map;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
+import com.leanx.app.model.dto.Page;
+import com.leanx.app.model.dto.Suggestion;
 import com.leanx.app.model.entity.Employee;
+import com.leanx.app.repository.EmployeeHierarchyRepository;
 import com.leanx.app.repository.EmployeeRepository;
+import com.leanx.app.service.modules.employee.hierarchy.OrgHierarchyIndex;
+import com.leanx.app.service.modules.employee.search.EmployeeSearchIndex;
+import com.leanx.app.service.modules.employee.search.SuggestionIndex;
+import com.leanx.app.service.modules.employee.self.EmployeeProfileCache;
 
 /**
  * Service class for managing employee-related operations.
@@ -20,6 +27,10 @@ public class EmployeeService {
     private static final Logger logger = Logger.getLogger(EmployeeService.class.getName());
 
     private final EmployeeRepository employeeRepository = new EmployeeRepository();
+    private final EmployeeHierarchyRepository hierarchyRepository = new EmployeeHierarchyRepository();
+    private final OrgHierarchyIndex hierarchyIndex = OrgHierarchyIndex.getInstance();
+    private final EmployeeSearchIndex searchIndex = EmployeeSearchIndex.getInstance();
+    private final SuggestionIndex suggestionIndex = SuggestionIndex.getInstance();
 
     /**
      * Executes an update operation on an employee record in the database.
@@ -42,22 +53,46 @@ public class EmployeeService {
     }
 
     /**
-     * Searches for employees whose first or last name contains the given name.
-     * The search is case-insensitive and can match partial names.
+     * Searches for employees by first name, last name or email. The search is
+     * case-insensitive and served from the in-memory {@link EmployeeSearchIndex}:
+     * terms of three or more characters match anywhere in a field, shorter
+     * terms match the start of a word, and all terms must match.
      *
-     * @param name The name (or part of a name) to search for.
-     * @return A list of {@link Employee} objects matching the search criteria.
-     * Returns an empty list if no employees are found.
-     * @throws SQLException If a database access error occurs during the search.
+     * @param name  The name (or part of a name) to search for.
+     * @param limit The maximum number of results.
+     * @return A list of {@link Employee} objects with ID, first name, last name
+     * and email, best matches first. Returns an empty list if no employees are found.
+     * @throws IllegalArgumentException If {@code name} is null or {@code limit} is out of range.
+     * @throws SQLException             If the index had to be loaded and a database access error occurred.
      */
-    public List<Employee> searchEmployeesByName(String name) throws SQLException {
+    public List<Employee> searchEmployeesByName(String name, int limit) throws IllegalArgumentException, SQLException {
         try {
-            return employeeRepository.findByName(name);
+            return searchIndex.search(name, limit);
         } catch (SQLException e) {
             logger.log(Level.SEVERE, "Failed to access the database: {0}", e);
             throw e;
         }
+    }
 
+    /**
+     * Suggests employees, users and departments for the type-ahead of the
+     * employee and manager pickers, served from the in-memory
+     * {@link SuggestionIndex}: names that start with the typed text, most
+     * popular first.
+     *
+     * @param query The text typed so far.
+     * @param limit The maximum number of suggestions.
+     * @return A list of {@link Suggestion} objects, best first. Returns an empty list if nothing matches.
+     * @throws IllegalArgumentException If {@code query} is null or {@code limit} is out of range.
+     * @throws SQLException             If the index had to be loaded and a database access error occurred.
+     */
+    public List<Suggestion> suggest(String query, int limit) throws IllegalArgumentException, SQLException {
+        try {
+            return suggestionIndex.suggest(query, limit);
+        } catch (SQLException e) {
+            logger.log(Level.SEVERE, "Failed to access the database: {0}", e);
+            throw e;
+        }
     }
 
     /**
@@ -77,7 +112,29 @@ public class EmployeeService {
     }
 
     /**
-     * Retrieves a specific employee record based on their unique ID.
+     * Retrieves one page of employee records using keyset pagination.
+     *
+     * @param cursor The cursor returned with the previous page, or {@code null} for the first page.
+     * @param limit  The maximum number of employees on the page.
+     * @param sort   The column to sort by ({@code id}, {@code last_name} or {@code department}),
+     * or {@code null} to sort by ID.
+     * @return A {@link Page} of {@link Employee} objects and the cursor of the following page.
+     * @throws IllegalArgumentException If the cursor, limit or sort column is invalid.
+     * @throws SQLException             If a database access error occurs while fetching the employees.
+     */
+    public Page<Employee> getEmployeesPage(String cursor, int limit, String sort) throws IllegalArgumentException, SQLException {
+        try {
+            return employeeRepository.findPage(cursor, limit, sort);
+        } catch (SQLException e) {
+            logger.log(Level.SEVERE, "Failed to access the database: {0}", e);
+            throw e;
+        }
+    }
+
+    /**
+     * Retrieves a specific employee record based on their unique ID. Employees
+     * are served from the shared entity cache where possible; the returned
+     * object is shared and must not be modified.
      *
      * @param employeeId The ID of the employee to retrieve.
      * @return The {@link Employee} object with the given ID.
@@ -90,7 +147,7 @@ public class EmployeeService {
                 throw new IllegalArgumentException("Illegal argument: employeeId cannot be null or non-positive!");
             }
 
-            return employeeRepository.read(employeeId);
+            return employeeRepository.readCached(employeeId);
         } catch (SQLException e) {
             logger.log(Level.SEVERE, "Failed to fetch employee with ID: " + employeeId, e);
             throw e;
@@ -107,7 +164,8 @@ public class EmployeeService {
      * Null values in the employee object will result in no change
      * to the corresponding field in the database.
      * @return {@code true} if the update was successful, {@code false} otherwise.
-     * @throws IllegalArgumentException If the provided {@code employee} object is null.
+     * @throws IllegalArgumentException If the provided {@code employee} object is null,
+     * or if the new manager reports to the employee.
      * @throws SQLException             If a database access error occurs during the update.
      */
     public boolean updateEmployeeRecord(Integer id, Employee employee) throws IllegalArgumentException, SQLException {
@@ -154,7 +212,16 @@ public class EmployeeService {
             updates.put("termination_reason", employee.getTerminationReason());
         }
 
-        return executeUpdate(id, updates);
+        boolean updated = executeUpdate(id, updates);
+        if (updated && id != null) {
+            EmployeeProfileCache.invalidateEmployee(id);
+            if (employee.getManagerId() != null) {
+                hierarchyIndex.moveEmployee(id, employee.getManagerId());
+            }
+            searchIndex.update(id, employee.getFirstName(), employee.getLastName(), employee.getEmail());
+            suggestionIndex.updateEmployee(id, employee);
+        }
+        return updated;
     }
 
     /**
@@ -168,7 +235,13 @@ public class EmployeeService {
      */
     public boolean createEmployeeRecord(Employee employee) throws SQLException {
         try {
-            return employeeRepository.create(employee) > 0;
+            boolean created = employeeRepository.create(employee) > 0;
+            if (created) {
+                hierarchyIndex.invalidate();
+                searchIndex.put(employee);
+                suggestionIndex.putEmployee(employee);
+            }
+            return created;
         } catch (SQLException e) {
             logger.log(Level.SEVERE, "Failed to create records for employee with ID: " + employee.getId(), e);
             throw e;
@@ -177,7 +250,11 @@ public class EmployeeService {
 
     /**
      * Checks if a given employee is a direct or indirect subordinate of a specified manager.
-     * This method queries the database to determine the reporting hierarchy.
+     * The check is a single primary key lookup in the {@code employee_hierarchy}
+     * closure table, which all backend nodes share, so a manager change made on
+     * one node is visible to the checks of all others. Until the table has been
+     * filled (by the migration or the first hierarchy rebuild), the check
+     * follows {@code employees.manager_id} instead.
      *
      * @param employeeId The ID of the employee to check.
      * @param managerId  The ID of the manager to check against.
@@ -192,12 +269,10 @@ public class EmployeeService {
         }
 
         try {
-            List<Integer> directSubordinates = employeeRepository.findDirectSubordinates(managerId);
-            if (directSubordinates.contains(employeeId)) {
-                return true;
+            if (!hierarchyRepository.isComplete()) {
+                return hierarchyRepository.isDescendantByManagerChain(employeeId, managerId);
             }
-
-            return employeeRepository.findAllSubordinates(managerId).contains(employeeId);
+            return hierarchyRepository.isDescendant(employeeId, managerId);
         } catch (SQLException e) {
             logger.log(Level.SEVERE, "Failed to verify if employee with ID: " + employeeId + " is subordinate of employee with ID: " + managerId, e);
             throw e;
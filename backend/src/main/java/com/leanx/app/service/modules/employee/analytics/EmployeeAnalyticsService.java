@@ -0,0 +1,180 @@
+package com.leanx.app.service.modules.employee.analytics;
+
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import com.leanx.app.model.dto.HeadcountReport;
+import com.leanx.app.model.entity.Employee.EmploymentStatus;
+import com.leanx.app.model.entity.Employee.EmploymentType;
+import com.leanx.app.service.modules.employee.analytics.EmployeeColumnStore.Criteria;
+import com.leanx.app.service.modules.employee.analytics.EmployeeColumnStore.Dimension;
+
+/**
+ * Service class for the analytics of the HR dashboard, such as the headcount
+ * per department, status and employment type. Queries are answered from the
+ * in-memory {@link EmployeeColumnStore} instead of the database.
+ */
+public class EmployeeAnalyticsService {
+
+    private static final Logger logger = Logger.getLogger(EmployeeAnalyticsService.class.getName());
+
+    private final EmployeeColumnStore columnStore = EmployeeColumnStore.getInstance();
+
+    /**
+     * Counts the employees that match the given filters, in total and per
+     * combination of the requested dimensions. Filter parameters that are
+     * {@code null} or blank match every employee.
+     *
+     * @param groupBy            Comma-separated dimensions ({@code department}, {@code jobTitle},
+     *                           {@code employmentType}, {@code employmentStatus}, {@code hireYear}),
+     *                           or {@code null} or blank for the total only.
+     * @param departments        The departments to count, compared case-insensitively.
+     * @param jobTitles          The job titles to count, compared case-insensitively.
+     * @param employmentTypes    Comma-separated employment types to count, case-insensitive.
+     * @param employmentStatuses Comma-separated employment statuses to count, case-insensitive.
+     * @param managerId          The ID of the manager whose direct reports are counted.
+     * @param hiredFrom          The earliest hire date to count ({@code YYYY-MM-DD}).
+     * @param hiredTo            The latest hire date to count ({@code YYYY-MM-DD}).
+     * @param activeOn           Only employees employed on this day are counted ({@code YYYY-MM-DD}).
+     * @return The headcount report.
+     * @throws IllegalArgumentException If a parameter cannot be parsed or the dimensions are invalid.
+     * @throws SQLException             If the column store had to be loaded and a database access error occurred.
+     */
+    public HeadcountReport headcount(String groupBy, String[] departments, String[] jobTitles, String employmentTypes,
+                                     String employmentStatuses, String managerId, String hiredFrom, String hiredTo,
+                                     String activeOn) throws IllegalArgumentException, SQLException {
+        List<Dimension> dimensions = new ArrayList<>();
+        for (String dimension : split(groupBy)) {
+            dimensions.add(Dimension.fromString(dimension));
+        }
+
+        LocalDate from = parseDate("hiredFrom", hiredFrom);
+        LocalDate to = parseDate("hiredTo", hiredTo);
+        if (from != null && to != null && from.isAfter(to)) {
+            throw new IllegalArgumentException("Invalid hire date range: hiredFrom must not be after hiredTo.");
+        }
+
+        Criteria criteria = new Criteria(values(departments), values(jobTitles),
+            parseEnums(EmploymentType.class, employmentTypes), parseEnums(EmploymentStatus.class, employmentStatuses),
+            parseManagerId(managerId), from, to, parseDate("activeOn", activeOn));
+
+        try {
+            return columnStore.headcount(dimensions, criteria);
+        } catch (SQLException e) {
+            logger.log(Level.SEVERE, "Failed to access the database: {0}", e);
+            throw e;
+        }
+    }
+
+    /**
+     * Splits a comma-separated list.
+     *
+     * @param list The list, or {@code null}.
+     * @return The trimmed, non-blank items.
+     */
+    private static List<String> split(String list) {
+        List<String> items = new ArrayList<>();
+        if (list != null) {
+            for (String item : list.split(",")) {
+                if (!item.isBlank()) {
+                    items.add(item.trim());
+                }
+            }
+        }
+        return items;
+    }
+
+    /**
+     * Collects the non-blank values of a repeated parameter.
+     *
+     * @param values The values, or {@code null}.
+     * @return The trimmed values, or {@code null} if there are none.
+     */
+    private static Set<String> values(String[] values) {
+        if (values == null) {
+            return null;
+        }
+        Set<String> collected = new HashSet<>();
+        for (String value : values) {
+            if (value != null && !value.isBlank()) {
+                collected.add(value.trim());
+            }
+        }
+        return collected.isEmpty() ? null : collected;
+    }
+
+    /**
+     * Parses a comma-separated list of enum constants, ignoring case.
+     *
+     * @param <E>   The enum type.
+     * @param type  The enum class.
+     * @param names The list, or {@code null} or blank.
+     * @return The constants, or {@code null} if the list is empty.
+     * @throws IllegalArgumentException If a name is not a constant of the enum.
+     */
+    private static <E extends Enum<E>> Set<E> parseEnums(Class<E> type, String names) throws IllegalArgumentException {
+        List<String> items = split(names);
+        if (items.isEmpty()) {
+            return null;
+        }
+        Set<E> parsed = EnumSet.noneOf(type);
+        for (String item : items) {
+            try {
+                parsed.add(Enum.valueOf(type, item.toUpperCase(Locale.ROOT)));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Unsupported " + type.getSimpleName() + ": " + item + ".");
+            }
+        }
+        return parsed;
+    }
+
+    /**
+     * Parses the manager ID filter.
+     *
+     * @param managerId The ID, or {@code null} or blank.
+     * @return The ID, or {@code null} if none is given.
+     * @throws IllegalArgumentException If the ID is not a positive number.
+     */
+    private static Integer parseManagerId(String managerId) throws IllegalArgumentException {
+        if (managerId == null || managerId.isBlank()) {
+            return null;
+        }
+        try {
+            int id = Integer.parseInt(managerId.trim());
+            if (id > 0) {
+                return id;
+            }
+        } catch (NumberFormatException e) {
+            // Reported below
+        }
+        throw new IllegalArgumentException("Invalid managerId: " + managerId + ".");
+    }
+
+    /**
+     * Parses a date filter.
+     *
+     * @param name  The name of the parameter, for the error message.
+     * @param value The date in ISO format ({@code YYYY-MM-DD}), or {@code null} or blank.
+     * @return The date, or {@code null} if none is given.
+     * @throws IllegalArgumentException If the date cannot be parsed.
+     */
+    private static LocalDate parseDate(String name, String value) throws IllegalArgumentException {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        try {
+            return LocalDate.parse(value.trim());
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid " + name + ": " + value + ". Expected YYYY-MM-DD.");
+        }
+    }
+}
@@ -0,0 +1,756 @@
+package com.leanx.app.service.modules.employee.analytics;
+
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import com.leanx.app.model.dto.HeadcountReport;
+import com.leanx.app.model.entity.Employee.EmploymentStatus;
+import com.leanx.app.model.entity.Employee.EmploymentType;
+import com.leanx.app.repository.EmployeeRepository;
+import com.leanx.app.repository.EmployeeRepository.AnalyticsRowConsumer;
+import com.leanx.app.utils.EnvironmentUtils;
+import com.leanx.app.utils.collections.IntIntHashMap;
+import com.leanx.app.utils.database.PollingRefresher;
+
+/**
+ * Column-oriented in-memory snapshot of the {@code employees} table, used to
+ * answer dashboard questions such as the headcount per department, status and
+ * employment type without reading the table.
+ * <p>
+ * Only the columns analytics queries filter and group by are kept, one
+ * primitive array per column, indexed by slot: the IDs and manager IDs as
+ * {@code int}s, the department and job title as codes into a dictionary of
+ * their distinct values, the employment type and status as enum ordinals and
+ * the hire and termination dates as days since 1970-01-01. An employee takes
+ * about 30 bytes instead of a full {@code Employee} with its boxed and date
+ * fields.
+ * <p>
+ * A query evaluates one filter at a time over a whole column and records the
+ * matching slots in a bitmap; words of the bitmap without matches are skipped
+ * by the following filters. The dimension codes of the remaining slots are
+ * combined into one number per employee, column by column, and the numbers
+ * are counted in an array, or sorted and counted if there are too many
+ * possible combinations.
+ * <p>
+ * The store is not updated by the services. Instead, when it is used and the
+ * last check is older than {@code ANALYTICS_POLL_INTERVAL_MS} (default 10
+ * seconds), one request reads the rows whose {@code last_updated_at} is at or
+ * after the newest change seen so far and applies them, while the others keep
+ * using the current snapshot. Deleted employees are dropped by a full reload
+ * when the snapshot is older than {@code ANALYTICS_MAX_AGE_MS} (default 30
+ * minutes).
+ */
+public final class EmployeeColumnStore {
+
+    private static final Logger logger = Logger.getLogger(EmployeeColumnStore.class.getName());
+
+    private static final long POLL_INTERVAL_MILLIS = EnvironmentUtils.getLong("ANALYTICS_POLL_INTERVAL_MS", 10 * 1000L);
+    private static final long MAX_AGE_MILLIS = EnvironmentUtils.getLong("ANALYTICS_MAX_AGE_MS", 30 * 60 * 1000L);
+
+    /**
+     * Maximum number of dimensions a query may group by.
+     */
+    public static final int MAX_DIMENSIONS = 3;
+
+    /**
+     * Largest number of possible groups that is counted in an array indexed by
+     * group; beyond it, the group numbers of the matches are sorted instead.
+     */
+    private static final int DENSE_GROUP_LIMIT = 1 << 16;
+
+    /** Day number stored as termination date of employees that have none, so "not terminated yet" is a range test. */
+    private static final int OPEN_END = Integer.MAX_VALUE;
+
+    private static final EmploymentType[] EMPLOYMENT_TYPES = EmploymentType.values();
+    private static final EmploymentStatus[] EMPLOYMENT_STATUSES = EmploymentStatus.values();
+
+    private static final EmployeeColumnStore INSTANCE = new EmployeeColumnStore(new EmployeeRepository());
+
+    /**
+     * Dimensions the employees can be grouped by.
+     */
+    public enum Dimension {
+
+        /** The department; employees without one form their own group. */
+        DEPARTMENT("department"),
+
+        /** The job title; employees without one form their own group. */
+        JOB_TITLE("jobTitle"),
+
+        /** The employment type. */
+        EMPLOYMENT_TYPE("employmentType"),
+
+        /** The employment status. */
+        EMPLOYMENT_STATUS("employmentStatus"),
+
+        /** The year of the hire date. */
+        HIRE_YEAR("hireYear");
+
+        private final String key;
+
+        Dimension(String key) {
+            this.key = key;
+        }
+
+        /**
+         * Gets the name of the dimension in requests and reports.
+         *
+         * @return The dimension name, e.g. {@code "employmentStatus"}.
+         */
+        public String getKey() { return key; }
+
+        /**
+         * Resolves a dimension from its name, ignoring case.
+         *
+         * @param name The name of the dimension, e.g. {@code "department"}.
+         * @return The matching {@code Dimension}.
+         * @throws IllegalArgumentException If {@code name} is null or not a supported dimension.
+         */
+        public static Dimension fromString(String name) throws IllegalArgumentException {
+            if (name != null) {
+                for (Dimension dimension : values()) {
+                    if (dimension.key.equalsIgnoreCase(name.trim())) {
+                        return dimension;
+                    }
+                }
+            }
+            throw new IllegalArgumentException("Unsupported dimension: " + name + ". Expected 'department', 'jobTitle', " +
+                "'employmentType', 'employmentStatus' or 'hireYear'.");
+        }
+    }
+
+    /**
+     * The filters of a headcount query; all of them must match. A {@code null}
+     * component matches every employee.
+     *
+     * @param departments        The departments to count, compared case-insensitively.
+     * @param jobTitles          The job titles to count, compared case-insensitively.
+     * @param employmentTypes    The employment types to count.
+     * @param employmentStatuses The employment statuses to count.
+     * @param managerId          The manager whose direct reports are counted.
+     * @param hiredFrom          The earliest hire date to count.
+     * @param hiredTo            The latest hire date to count.
+     * @param activeOn           Only employees hired on or before this day and not
+     *                           terminated before or on it are counted.
+     */
+    public record Criteria(Set<String> departments, Set<String> jobTitles, Set<EmploymentType> employmentTypes,
+                           Set<EmploymentStatus> employmentStatuses, Integer managerId, LocalDate hiredFrom,
+                           LocalDate hiredTo, LocalDate activeOn) {}
+
+    private final EmployeeRepository employeeRepository;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final PollingRefresher refresher = new PollingRefresher("employee column store", POLL_INTERVAL_MILLIS,
+        MAX_AGE_MILLIS, this::reload, this::poll);
+
+    private Columns columns;
+    /** Time up to which changes are applied to {@link #columns}, in milliseconds. */
+    private long asOf;
+
+    private EmployeeColumnStore(EmployeeRepository employeeRepository) {
+        this.employeeRepository = employeeRepository;
+    }
+
+    /**
+     * Gets the shared store.
+     *
+     * @return The application-wide employee column store.
+     */
+    public static EmployeeColumnStore getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Counts the employees that match the criteria, in total and per
+     * combination of the given dimensions.
+     *
+     * @param groupBy  The dimensions to group by, at most {@link #MAX_DIMENSIONS}; empty for the total only.
+     * @param criteria The filters, or {@code null} to count all employees.
+     * @return The headcount report, with the groups ordered by size.
+     * @throws IllegalArgumentException If {@code groupBy} is null, too long or contains a dimension twice.
+     * @throws SQLException             If the store had to be loaded and a database access error occurred.
+     */
+    public HeadcountReport headcount(List<Dimension> groupBy, Criteria criteria) throws IllegalArgumentException, SQLException {
+        if (groupBy == null) {
+            throw new IllegalArgumentException("Illegal argument: groupBy cannot be null!");
+        }
+        if (groupBy.size() > MAX_DIMENSIONS) {
+            throw new IllegalArgumentException("Invalid groupBy: at most " + MAX_DIMENSIONS + " dimensions are supported.");
+        }
+        if (new HashSet<>(groupBy).size() < groupBy.size()) {
+            throw new IllegalArgumentException("Invalid groupBy: a dimension is listed twice.");
+        }
+
+        refresher.ensureFresh();
+        lock.readLock().lock();
+        try {
+            long[] selection = columns.select(criteria != null ? criteria : new Criteria(null, null, null, null, null, null, null, null));
+            return columns.count(selection, groupBy, asOf);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns store statistics.
+     *
+     * @return A map with the keys {@code employees}, {@code departments},
+     * {@code jobTitles}, {@code bytes}, {@code loadedAt}, {@code polledAt} and
+     * {@code polledChanges}.
+     */
+    public Map<String, Object> getStats() {
+        lock.readLock().lock();
+        try {
+            Map<String, Object> stats = new LinkedHashMap<>();
+            stats.put("employees", columns == null ? 0 : columns.size);
+            stats.put("departments", columns == null ? 0 : columns.departments.size() - 1);
+            stats.put("jobTitles", columns == null ? 0 : columns.jobTitles.size() - 1);
+            stats.put("bytes", columns == null ? 0L : columns.bytes());
+            stats.put("loadedAt", refresher.getLoadedAt());
+            stats.put("polledAt", refresher.getPolledAt());
+            stats.put("polledChanges", refresher.getPolledChanges());
+            return stats;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Builds a new snapshot from the database and swaps it in. Called by the
+     * {@link PollingRefresher}.
+     *
+     * @param startedAt The time the load started, in milliseconds.
+     * @throws SQLException If a database access error occurs while loading the employees.
+     */
+    private void reload(long startedAt) throws SQLException {
+        Columns loaded = new Columns();
+        employeeRepository.streamAnalyticsColumns(null, loaded::put);
+
+        lock.writeLock().lock();
+        try {
+            columns = loaded;
+            asOf = startedAt;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        logger.log(Level.INFO, "Loaded employee column store with {0} employees ({1} bytes)",
+            new Object[]{loaded.size, loaded.bytes()});
+    }
+
+    /**
+     * Reads the employees changed since the newest change seen and applies
+     * them to the snapshot. Called by the {@link PollingRefresher}.
+     *
+     * @param startedAt The time the poll started, in milliseconds.
+     * @return The number of changed employees applied.
+     * @throws SQLException If a database access error occurs while reading the changes.
+     */
+    private int poll(long startedAt) throws SQLException {
+        Timestamp since;
+        lock.readLock().lock();
+        try {
+            since = PollingRefresher.pollStart(columns.watermark);
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        Columns changes = new Columns();
+        employeeRepository.streamAnalyticsColumns(since, changes::put);
+
+        lock.writeLock().lock();
+        try {
+            columns.putAll(changes);
+            asOf = startedAt;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        return changes.size;
+    }
+
+    /**
+     * The distinct values of a text column, each identified by a code. Code
+     * 0 stands for {@code NULL}. Values are never removed, so codes stay valid
+     * until the store is reloaded.
+     */
+    private static final class Dictionary {
+        private final Map<String, Integer> codes = new HashMap<>();
+        private final List<String> values = new ArrayList<>();
+
+        private Dictionary() {
+            values.add(null);
+        }
+
+        /**
+         * Gets the code of a value, adding the value if it is new.
+         *
+         * @param value The value, or {@code null}.
+         * @return The code of the value.
+         */
+        private int encode(String value) {
+            if (value == null) {
+                return 0;
+            }
+            Integer code = codes.get(value);
+            if (code == null) {
+                code = values.size();
+                codes.put(value, code);
+                values.add(value);
+            }
+            return code;
+        }
+
+        /**
+         * Gets the value of a code.
+         *
+         * @param code The code.
+         * @return The value, or {@code null} for code 0.
+         */
+        private String decode(int code) {
+            return values.get(code);
+        }
+
+        /**
+         * Marks the codes of the values that equal one of the given values, ignoring case.
+         *
+         * @param wanted The values to look for.
+         * @return A bitset with a bit set for the code of every wanted value.
+         */
+        private long[] matching(Set<String> wanted) {
+            Set<String> folded = new HashSet<>();
+            for (String value : wanted) {
+                folded.add(value.toLowerCase(Locale.ROOT));
+            }
+            long[] accepted = new long[(values.size() + 63) >>> 6];
+            for (int code = 1; code < values.size(); code++) {
+                if (folded.contains(values.get(code).toLowerCase(Locale.ROOT))) {
+                    accepted[code >>> 6] |= 1L << code;
+                }
+            }
+            return accepted;
+        }
+
+        /**
+         * Gets the number of codes.
+         *
+         * @return The number of distinct values, plus one for {@code NULL}.
+         */
+        private int size() {
+            return values.size();
+        }
+    }
+
+    /**
+     * The columns of a snapshot, or of a batch of changes.
+     */
+    private static final class Columns {
+        private static final int INITIAL_CAPACITY = 256;
+
+        private final IntIntHashMap slotById = new IntIntHashMap(INITIAL_CAPACITY, -1);
+        private final Dictionary departments = new Dictionary();
+        private final Dictionary jobTitles = new Dictionary();
+        private int[] ids = new int[INITIAL_CAPACITY];
+        private int[] managerIds = new int[INITIAL_CAPACITY];
+        private int[] departmentCodes = new int[INITIAL_CAPACITY];
+        private int[] jobTitleCodes = new int[INITIAL_CAPACITY];
+        private byte[] employmentTypes = new byte[INITIAL_CAPACITY];
+        private byte[] employmentStatuses = new byte[INITIAL_CAPACITY];
+        private int[] hireDays = new int[INITIAL_CAPACITY];
+        /** Hire year, or 0 if the hire date is unknown; derived from {@link #hireDays} to group by year without date arithmetic. */
+        private short[] hireYears = new short[INITIAL_CAPACITY];
+        /** Termination day, or {@link #OPEN_END} if the employee is not terminated. */
+        private int[] terminationDays = new int[INITIAL_CAPACITY];
+        private int size;
+        private int minHireYear = Integer.MAX_VALUE;
+        private int maxHireYear = Integer.MIN_VALUE;
+        /** Time of the newest change seen, in milliseconds. */
+        private long watermark;
+
+        /**
+         * Adds an employee, or overwrites the columns of an employee that is
+         * already present. Matches {@link AnalyticsRowConsumer}.
+         *
+         * @param id               The employee ID.
+         * @param managerId        The ID of the employee's manager.
+         * @param jobTitle         The job title, or {@code null}.
+         * @param department       The department, or {@code null}.
+         * @param employmentType   The employment type.
+         * @param employmentStatus The employment status.
+         * @param hireDay          The hire date as epoch day, or {@link AnalyticsRowConsumer#NO_DATE}.
+         * @param terminationDay   The termination date as epoch day, or {@link AnalyticsRowConsumer#NO_DATE}.
+         * @param lastUpdatedAt    The time of the last change in milliseconds.
+         */
+        private void put(int id, int managerId, String jobTitle, String department, EmploymentType employmentType,
+                         EmploymentStatus employmentStatus, int hireDay, int terminationDay, long lastUpdatedAt) {
+            int slot = slotById.get(id);
+            if (slot < 0) {
+                if (size == ids.length) {
+                    grow();
+                }
+                slot = size++;
+                ids[slot] = id;
+                slotById.put(id, slot);
+            }
+
+            managerIds[slot] = managerId;
+            departmentCodes[slot] = departments.encode(department);
+            jobTitleCodes[slot] = jobTitles.encode(jobTitle);
+            employmentTypes[slot] = (byte) employmentType.ordinal();
+            employmentStatuses[slot] = (byte) employmentStatus.ordinal();
+            hireDays[slot] = hireDay;
+            terminationDays[slot] = terminationDay == AnalyticsRowConsumer.NO_DATE ? OPEN_END : terminationDay;
+
+            int hireYear = hireDay == AnalyticsRowConsumer.NO_DATE ? 0 : LocalDate.ofEpochDay(hireDay).getYear();
+            hireYears[slot] = (short) hireYear;
+            if (hireYear != 0) {
+                minHireYear = Math.min(minHireYear, hireYear);
+                maxHireYear = Math.max(maxHireYear, hireYear);
+            }
+            watermark = Math.max(watermark, lastUpdatedAt);
+        }
+
+        /**
+         * Applies a batch of changes.
+         *
+         * @param changes The changed employees.
+         */
+        private void putAll(Columns changes) {
+            for (int i = 0; i < changes.size; i++) {
+                int terminationDay = changes.terminationDays[i];
+                put(changes.ids[i], changes.managerIds[i], changes.jobTitles.decode(changes.jobTitleCodes[i]),
+                    changes.departments.decode(changes.departmentCodes[i]), EMPLOYMENT_TYPES[changes.employmentTypes[i]],
+                    EMPLOYMENT_STATUSES[changes.employmentStatuses[i]], changes.hireDays[i],
+                    terminationDay == OPEN_END ? AnalyticsRowConsumer.NO_DATE : terminationDay, changes.watermark);
+            }
+        }
+
+        /**
+         * Doubles the capacity of all columns.
+         */
+        private void grow() {
+            int capacity = ids.length * 2;
+            ids = Arrays.copyOf(ids, capacity);
+            managerIds = Arrays.copyOf(managerIds, capacity);
+            departmentCodes = Arrays.copyOf(departmentCodes, capacity);
+            jobTitleCodes = Arrays.copyOf(jobTitleCodes, capacity);
+            employmentTypes = Arrays.copyOf(employmentTypes, capacity);
+            employmentStatuses = Arrays.copyOf(employmentStatuses, capacity);
+            hireDays = Arrays.copyOf(hireDays, capacity);
+            hireYears = Arrays.copyOf(hireYears, capacity);
+            terminationDays = Arrays.copyOf(terminationDays, capacity);
+        }
+
+        /**
+         * Estimates the memory taken by the columns.
+         *
+         * @return The size of the column arrays in bytes.
+         */
+        private long bytes() {
+            return (long) ids.length * (6 * Integer.BYTES + 2 * Byte.BYTES + Short.BYTES);
+        }
+
+        /**
+         * Evaluates the filters, one column at a time.
+         *
+         * @param criteria The filters.
+         * @return A bitmap with a bit set for every matching slot.
+         */
+        private long[] select(Criteria criteria) {
+            long[] selection = new long[(size + 63) >>> 6];
+            Arrays.fill(selection, -1L);
+            if ((size & 63) != 0) {
+                selection[selection.length - 1] = (1L << (size & 63)) - 1;
+            }
+
+            if (criteria.departments() != null) {
+                keepCodes(selection, departmentCodes, departments.matching(criteria.departments()));
+            }
+            if (criteria.jobTitles() != null) {
+                keepCodes(selection, jobTitleCodes, jobTitles.matching(criteria.jobTitles()));
+            }
+            if (criteria.employmentTypes() != null) {
+                long[] accepted = new long[1];
+                criteria.employmentTypes().forEach(type -> accepted[0] |= 1L << type.ordinal());
+                keepCodes(selection, employmentTypes, accepted);
+            }
+            if (criteria.employmentStatuses() != null) {
+                long[] accepted = new long[1];
+                criteria.employmentStatuses().forEach(status -> accepted[0] |= 1L << status.ordinal());
+                keepCodes(selection, employmentStatuses, accepted);
+            }
+            if (criteria.managerId() != null) {
+                keepRange(selection, managerIds, criteria.managerId(), criteria.managerId());
+            }
+            if (criteria.hiredFrom() != null || criteria.hiredTo() != null) {
+                keepRange(selection, hireDays,
+                    criteria.hiredFrom() != null ? (int) criteria.hiredFrom().toEpochDay() : AnalyticsRowConsumer.NO_DATE + 1,
+                    criteria.hiredTo() != null ? (int) criteria.hiredTo().toEpochDay() : Integer.MAX_VALUE);
+            }
+            if (criteria.activeOn() != null) {
+                int day = (int) criteria.activeOn().toEpochDay();
+                keepRange(selection, hireDays, AnalyticsRowConsumer.NO_DATE + 1, day);
+                keepRange(selection, terminationDays, day + 1, OPEN_END);
+            }
+            return selection;
+        }
+
+        /**
+         * Clears the bits of the slots whose code in an {@code int} column is not accepted.
+         *
+         * @param selection The bitmap of the selected slots.
+         * @param column    The column.
+         * @param accepted  A bitset with a bit set for every accepted code.
+         */
+        private void keepCodes(long[] selection, int[] column, long[] accepted) {
+            for (int word = 0; word < selection.length; word++) {
+                long bits = selection[word];
+                if (bits == 0) {
+                    continue;
+                }
+                int base = word << 6;
+                int end = Math.min(64, size - base);
+                long keep = 0;
+                for (int bit = 0; bit < end; bit++) {
+                    int code = column[base + bit];
+                    keep |= ((accepted[code >>> 6] >>> code) & 1L) << bit;
+                }
+                selection[word] = bits & keep;
+            }
+        }
+
+        /**
+         * Clears the bits of the slots whose code in a {@code byte} column is not accepted.
+         *
+         * @param selection The bitmap of the selected slots.
+         * @param column    The column.
+         * @param accepted  A bitset with a bit set for every accepted code.
+         */
+        private void keepCodes(long[] selection, byte[] column, long[] accepted) {
+            for (int word = 0; word < selection.length; word++) {
+                long bits = selection[word];
+                if (bits == 0) {
+                    continue;
+                }
+                int base = word << 6;
+                int end = Math.min(64, size - base);
+                long keep = 0;
+                for (int bit = 0; bit < end; bit++) {
+                    int code = column[base + bit];
+                    keep |= ((accepted[code >>> 6] >>> code) & 1L) << bit;
+                }
+                selection[word] = bits & keep;
+            }
+        }
+
+        /**
+         * Clears the bits of the slots whose value in an {@code int} column is outside a range.
+         *
+         * @param selection The bitmap of the selected slots.
+         * @param column    The column.
+         * @param min       The smallest value to keep.
+         * @param max       The largest value to keep.
+         */
+        private void keepRange(long[] selection, int[] column, int min, int max) {
+            for (int word = 0; word < selection.length; word++) {
+                long bits = selection[word];
+                if (bits == 0) {
+                    continue;
+                }
+                int base = word << 6;
+                int end = Math.min(64, size - base);
+                long outside = 0;
+                for (int bit = 0; bit < end; bit++) {
+                    // The sign of (value - min) | (max - value) is set if the value is outside the range
+                    long value = column[base + bit];
+                    outside |= (((value - min) | (max - value)) >>> 63) << bit;
+                }
+                selection[word] = bits & ~outside;
+            }
+        }
+
+        /**
+         * Counts the selected slots per combination of dimension values.
+         *
+         * @param selection The bitmap of the selected slots.
+         * @param groupBy   The dimensions to group by.
+         * @param asOf      The time up to which changes were read.
+         * @return The headcount report.
+         */
+        private HeadcountReport count(long[] selection, List<Dimension> groupBy, long asOf) {
+            int total = 0;
+            for (long bits : selection) {
+                total += Long.bitCount(bits);
+            }
+            List<String> names = new ArrayList<>(groupBy.size());
+            groupBy.forEach(dimension -> names.add(dimension.getKey()));
+
+            List<HeadcountReport.Group> groups = new ArrayList<>();
+            if (groupBy.isEmpty()) {
+                if (total > 0) {
+                    groups.add(new HeadcountReport.Group(new LinkedHashMap<>(), total));
+                }
+                return new HeadcountReport(names, groups, total, asOf);
+            }
+
+            int[] slots = new int[total];
+            int n = 0;
+            for (int word = 0; word < selection.length; word++) {
+                long bits = selection[word];
+                while (bits != 0) {
+                    slots[n++] = (word << 6) + Long.numberOfTrailingZeros(bits);
+                    bits &= bits - 1;
+                }
+            }
+
+            int[] radixes = new int[groupBy.size()];
+            long groupCount = 1;
+            long[] keys = new long[total];
+            for (int d = 0; d < radixes.length; d++) {
+                radixes[d] = radix(groupBy.get(d));
+                groupCount *= radixes[d];
+                appendCodes(keys, slots, groupBy.get(d), radixes[d]);
+            }
+
+            if (groupCount <= DENSE_GROUP_LIMIT) {
+                int[] counts = new int[(int) groupCount];
+                for (long key : keys) {
+                    counts[(int) key]++;
+                }
+                for (int key = 0; key < counts.length; key++) {
+                    if (counts[key] > 0) {
+                        groups.add(new HeadcountReport.Group(decode(key, groupBy, radixes), counts[key]));
+                    }
+                }
+            } else {
+                Arrays.sort(keys);
+                for (int start = 0, end; start < keys.length; start = end) {
+                    end = start + 1;
+                    while (end < keys.length && keys[end] == keys[start]) {
+                        end++;
+                    }
+                    groups.add(new HeadcountReport.Group(decode(keys[start], groupBy, radixes), end - start));
+                }
+            }
+
+            groups.sort(Comparator.comparingInt(HeadcountReport.Group::getCount).reversed()
+                .thenComparing(group -> group.getKey().values(), Columns::compareValues));
+            return new HeadcountReport(names, groups, total, asOf);
+        }
+
+        /**
+         * Gets the number of distinct codes of a dimension.
+         *
+         * @param dimension The dimension.
+         * @return The number of codes.
+         */
+        private int radix(Dimension dimension) {
+            return switch (dimension) {
+                case DEPARTMENT -> departments.size();
+                case JOB_TITLE -> jobTitles.size();
+                case EMPLOYMENT_TYPE -> EMPLOYMENT_TYPES.length;
+                case EMPLOYMENT_STATUS -> EMPLOYMENT_STATUSES.length;
+                case HIRE_YEAR -> minHireYear <= maxHireYear ? maxHireYear - minHireYear + 2 : 1;
+            };
+        }
+
+        /**
+         * Appends the codes of one dimension to the group numbers of the selected slots.
+         *
+         * @param keys      The group numbers, updated in place.
+         * @param slots     The selected slots.
+         * @param dimension The dimension.
+         * @param radix     The number of codes of the dimension.
+         */
+        private void appendCodes(long[] keys, int[] slots, Dimension dimension, int radix) {
+            switch (dimension) {
+                case DEPARTMENT -> {
+                    for (int i = 0; i < slots.length; i++) {
+                        keys[i] = keys[i] * radix + departmentCodes[slots[i]];
+                    }
+                }
+                case JOB_TITLE -> {
+                    for (int i = 0; i < slots.length; i++) {
+                        keys[i] = keys[i] * radix + jobTitleCodes[slots[i]];
+                    }
+                }
+                case EMPLOYMENT_TYPE -> {
+                    for (int i = 0; i < slots.length; i++) {
+                        keys[i] = keys[i] * radix + employmentTypes[slots[i]];
+                    }
+                }
+                case EMPLOYMENT_STATUS -> {
+                    for (int i = 0; i < slots.length; i++) {
+                        keys[i] = keys[i] * radix + employmentStatuses[slots[i]];
+                    }
+                }
+                case HIRE_YEAR -> {
+                    for (int i = 0; i < slots.length; i++) {
+                        int year = hireYears[slots[i]];
+                        keys[i] = keys[i] * radix + (year == 0 ? 0 : year - minHireYear + 1);
+                    }
+                }
+            }
+        }
+
+        /**
+         * Turns a group number back into the values of its dimensions.
+         *
+         * @param key     The group number.
+         * @param groupBy The dimensions.
+         * @param radixes The number of codes of each dimension.
+         * @return The value of every dimension, by dimension name, in the order of {@code groupBy}.
+         */
+        private Map<String, String> decode(long key, List<Dimension> groupBy, int[] radixes) {
+            int[] codes = new int[radixes.length];
+            for (int d = radixes.length - 1; d >= 0; d--) {
+                codes[d] = (int) (key % radixes[d]);
+                key /= radixes[d];
+            }
+
+            Map<String, String> values = new LinkedHashMap<>();
+            for (int d = 0; d < codes.length; d++) {
+                Dimension dimension = groupBy.get(d);
+                values.put(dimension.getKey(), switch (dimension) {
+                    case DEPARTMENT -> departments.decode(codes[d]);
+                    case JOB_TITLE -> jobTitles.decode(codes[d]);
+                    case EMPLOYMENT_TYPE -> EMPLOYMENT_TYPES[codes[d]].name();
+                    case EMPLOYMENT_STATUS -> EMPLOYMENT_STATUSES[codes[d]].name();
+                    case HIRE_YEAR -> codes[d] == 0 ? null : String.valueOf(minHireYear + codes[d] - 1);
+                });
+            }
+            return values;
+        }
+
+        /**
+         * Orders the values of two groups, dimension by dimension, with missing values last.
+         *
+         * @param first  The values of the first group.
+         * @param second The values of the second group, for the same dimensions.
+         * @return A negative number, zero or a positive number if the first group comes first, ties or comes last.
+         */
+        private static int compareValues(Iterable<String> first, Iterable<String> second) {
+            Iterator<String> others = second.iterator();
+            for (String value : first) {
+                String other = others.next();
+                int order = value == null ? (other == null ? 0 : 1) : other == null ? -1 : value.compareTo(other);
+                if (order != 0) {
+                    return order;
+                }
+            }
+            return 0;
+        }
+    }
+}
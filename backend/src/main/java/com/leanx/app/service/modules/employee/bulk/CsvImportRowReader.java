@@ -0,0 +1,144 @@
+package com.leanx.app.service.modules.employee.bulk;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reads import rows from CSV (RFC 4180). The first record must be a header
+ * row naming the columns, e.g. {@code first_name,last_name,email,...}. Quoted
+ * fields may contain separators, escaped quotes ({@code ""}) and line breaks.
+ */
+public class CsvImportRowReader implements ImportRowReader {
+
+    private final Reader reader;
+    private List<String> header;
+    private int pushback = -2;
+
+    /**
+     * Constructs a {@code CsvImportRowReader}.
+     *
+     * @param reader The reader providing the CSV text. It should be buffered.
+     */
+    public CsvImportRowReader(Reader reader) {
+        this.reader = reader;
+    }
+
+    @Override
+    public Map<String, String> next() throws IOException {
+        if (header == null) {
+            List<String> columns = readRecord();
+            if (columns == null) {
+                return null;
+            }
+            header = new ArrayList<>(columns.size());
+            for (String column : columns) {
+                header.add(ImportRowReader.normalizeFieldName(column));
+            }
+        }
+
+        List<String> record;
+        do {
+            record = readRecord();
+            if (record == null) {
+                return null;
+            }
+        } while (record.size() == 1 && record.get(0).isEmpty());
+
+        if (record.size() > header.size()) {
+            throw new IOException("CSV record has " + record.size() + " fields, but the header only has " + header.size() + ".");
+        }
+
+        Map<String, String> values = new HashMap<>();
+        for (int i = 0; i < record.size(); i++) {
+            values.put(header.get(i), record.get(i));
+        }
+        return values;
+    }
+
+    /**
+     * Reads the fields of the next record.
+     *
+     * @return The fields, or {@code null} at the end of the input.
+     * @throws IOException If reading fails or a quoted field is not terminated.
+     */
+    private List<String> readRecord() throws IOException {
+        int ch = read();
+        if (ch == -1) {
+            return null;
+        }
+
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+
+        while (true) {
+            if (quoted) {
+                if (ch == -1) {
+                    throw new IOException("Unterminated quoted CSV field.");
+                }
+                if (ch == '"') {
+                    int following = read();
+                    if (following == '"') {
+                        field.append('"');
+                    } else {
+                        quoted = false;
+                        ch = following;
+                        continue;
+                    }
+                } else {
+                    field.append((char) ch);
+                }
+            } else if (ch == '"' && field.length() == 0) {
+                quoted = true;
+            } else if (ch == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (ch == '\r' || ch == '\n' || ch == -1) {
+                if (ch == '\r') {
+                    int following = read();
+                    if (following != '\n') {
+                        unread(following);
+                    }
+                }
+                fields.add(field.toString());
+                return fields;
+            } else {
+                field.append((char) ch);
+            }
+            ch = read();
+        }
+    }
+
+    /**
+     * Reads the next character, honouring a character pushed back by {@link #unread(int)}.
+     *
+     * @return The character, or {@code -1} at the end of the input.
+     * @throws IOException If reading fails.
+     */
+    private int read() throws IOException {
+        if (pushback != -2) {
+            int ch = pushback;
+            pushback = -2;
+            return ch;
+        }
+        return reader.read();
+    }
+
+    /**
+     * Pushes back one character so that the next {@link #read()} returns it again.
+     *
+     * @param ch The character to push back.
+     */
+    private void unread(int ch) {
+        pushback = ch;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
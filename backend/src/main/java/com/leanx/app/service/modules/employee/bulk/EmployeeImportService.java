@@ -0,0 +1,139 @@
+package com.leanx.app.service.modules.employee.bulk;
+
+import java.io.IOException;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import com.leanx.app.model.dto.BulkImportReport;
+import com.leanx.app.model.dto.BulkImportReport.RowResult;
+import com.leanx.app.model.dto.BulkImportReport.RowStatus;
+import com.leanx.app.model.entity.Employee;
+import com.leanx.app.repository.EmployeeRepository;
+import com.leanx.app.service.modules.employee.hierarchy.OrgHierarchyIndex;
+import com.leanx.app.service.modules.employee.search.EmployeeSearchIndex;
+import com.leanx.app.service.modules.employee.search.SuggestionIndex;
+
+/**
+ * Service class for importing many employee records at once. Rows are read
+ * from an {@link ImportRowReader} in chunks; each chunk is validated by the
+ * {@link EmployeeImportValidator} and its valid rows are inserted with a single
+ * JDBC batch in their own transaction. Invalid rows are skipped and reported,
+ * so one bad row does not prevent the rest of the import.
+ */
+public class EmployeeImportService {
+
+    private static final Logger logger = Logger.getLogger(EmployeeImportService.class.getName());
+
+    /**
+     * Number of rows per chunk if the caller does not specify one.
+     */
+    public static final int DEFAULT_CHUNK_SIZE = 500;
+
+    /**
+     * Largest accepted chunk size.
+     */
+    public static final int MAX_CHUNK_SIZE = 5000;
+
+    private final EmployeeRepository employeeRepository = new EmployeeRepository();
+    private final EmployeeImportValidator validator = new EmployeeImportValidator(employeeRepository);
+
+    /**
+     * Imports all rows provided by the reader.
+     *
+     * @param reader    The source of the rows.
+     * @param chunkSize The number of rows validated and inserted together (1 to {@link #MAX_CHUNK_SIZE}).
+     * @param createdBy The ID of the user performing the import.
+     * @return A {@link BulkImportReport} with the result of every row.
+     * @throws IllegalArgumentException If the reader is null or the chunk size is out of range.
+     */
+    public BulkImportReport importEmployees(ImportRowReader reader, int chunkSize, Integer createdBy) throws IllegalArgumentException {
+        if (reader == null || chunkSize < 1 || chunkSize > MAX_CHUNK_SIZE) {
+            throw new IllegalArgumentException("Invalid chunk size: must be between 1 and " + MAX_CHUNK_SIZE + ".");
+        }
+
+        BulkImportReport report = new BulkImportReport();
+        List<ImportRow> chunk = new ArrayList<>(chunkSize);
+        int rowNumber = 0;
+        boolean endOfInput = false;
+
+        while (!endOfInput && report.getError() == null) {
+            try {
+                Map<String, String> values = reader.next();
+                if (values == null) {
+                    endOfInput = true;
+                } else {
+                    chunk.add(new ImportRow(++rowNumber, values));
+                }
+            } catch (IOException e) {
+                report.setError("Malformed input after row " + rowNumber + ": " + e.getMessage());
+            }
+
+            if (chunk.size() == chunkSize || (!chunk.isEmpty() && (endOfInput || report.getError() != null))) {
+                processChunk(chunk, chunkSize, createdBy, report);
+                chunk.clear();
+            }
+        }
+
+        logger.log(Level.INFO, "Bulk import finished: {0} created, {1} invalid, {2} failed",
+            new Object[]{report.getCreated(), report.getInvalid(), report.getFailed()});
+        return report;
+    }
+
+    /**
+     * Validates a chunk and inserts its valid rows in one transaction.
+     *
+     * @param chunk     The rows of the chunk.
+     * @param chunkSize The batch size to use for the insert.
+     * @param createdBy The ID of the user performing the import.
+     * @param report    The report to add the results to.
+     */
+    private void processChunk(List<ImportRow> chunk, int chunkSize, Integer createdBy, BulkImportReport report) {
+        String failure = null;
+
+        try {
+            validator.validate(chunk, createdBy);
+
+            List<Employee> employees = new ArrayList<>(chunk.size());
+            for (ImportRow row : chunk) {
+                if (row.isValid()) {
+                    employees.add(row.getEmployee());
+                }
+            }
+            employeeRepository.createAll(employees, chunkSize);
+            OrgHierarchyIndex.getInstance().invalidate();
+            EmployeeSearchIndex.getInstance().putAll(employees);
+            SuggestionIndex.getInstance().putEmployees(employees);
+        } catch (SQLException e) {
+            logger.log(Level.SEVERE, "Failed to import rows " + chunk.get(0).getRowNumber() + " to " + chunk.get(chunk.size() - 1).getRowNumber(), e);
+            failure = "Database error: " + rootMessage(e);
+        }
+
+        for (ImportRow row : chunk) {
+            if (!row.isValid()) {
+                report.addRow(new RowResult(row.getRowNumber(), RowStatus.INVALID, null, row.getErrors()));
+            } else if (failure != null) {
+                report.addRow(new RowResult(row.getRowNumber(), RowStatus.FAILED, null, List.of(failure)));
+            } else {
+                report.addRow(new RowResult(row.getRowNumber(), RowStatus.CREATED, row.getEmployee().getId(), List.of()));
+            }
+        }
+    }
+
+    /**
+     * Gets the message of the innermost cause of an exception.
+     *
+     * @param e The exception.
+     * @return The message of the root cause.
+     */
+    private static String rootMessage(Throwable e) {
+        Throwable cause = e;
+        while (cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        return cause.getMessage();
+    }
+}
@@ -0,0 +1,218 @@
+package com.leanx.app.service.modules.employee.bulk;
+
+import java.sql.Date;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+
+import com.leanx.app.model.entity.Employee;
+import com.leanx.app.model.entity.Employee.EmploymentStatus;
+import com.leanx.app.model.entity.Employee.EmploymentType;
+import com.leanx.app.repository.EmployeeRepository;
+
+/**
+ * Validation pipeline for bulk employee imports. The steps run in order on
+ * each chunk of rows:
+ * <ol>
+ * <li>required fields are present,</li>
+ * <li>enum fields contain known values,</li>
+ * <li>the values are converted into an {@link Employee} (numbers, dates, lengths),</li>
+ * <li>the referenced managers exist (one batched query per chunk).</li>
+ * </ol>
+ * The first two steps report all problems of a row; the later steps only look
+ * at rows that are still valid.
+ */
+public class EmployeeImportValidator {
+
+    private static final String[][] REQUIRED_FIELDS = {
+        {"firstname", "first_name"}, {"lastname", "last_name"}, {"email", "email"}, {"managerid", "manager_id"},
+        {"employmenttype", "employment_type"}, {"employmentstatus", "employment_status"}, {"hiredate", "hire_date"}
+    };
+
+    private final EmployeeRepository employeeRepository;
+    private final List<ImportValidationStep> steps;
+
+    /**
+     * Constructs an {@code EmployeeImportValidator}.
+     *
+     * @param employeeRepository The repository used to look up managers.
+     */
+    public EmployeeImportValidator(EmployeeRepository employeeRepository) {
+        this.employeeRepository = employeeRepository;
+        this.steps = List.of(this::checkRequiredFields, this::checkEnumValues, this::convert, this::checkManagersExist);
+    }
+
+    /**
+     * Runs all validation steps on a chunk of rows. Afterwards every row is
+     * either valid and carries an {@link Employee}, or has at least one error.
+     *
+     * @param rows The rows to validate.
+     * @param createdBy The ID of the user performing the import.
+     * @throws SQLException If a check against the database fails.
+     */
+    public void validate(List<ImportRow> rows, Integer createdBy) throws SQLException {
+        for (ImportValidationStep step : steps) {
+            step.validate(rows);
+        }
+
+        for (ImportRow row : rows) {
+            if (row.isValid()) {
+                row.getEmployee().setCreatedBy(createdBy);
+            }
+        }
+    }
+
+    /**
+     * Step 1: records an error for every required field that is missing or blank.
+     *
+     * @param rows The rows to validate.
+     */
+    private void checkRequiredFields(List<ImportRow> rows) {
+        for (ImportRow row : rows) {
+            for (String[] field : REQUIRED_FIELDS) {
+                if (row.get(field[0]) == null) {
+                    row.addError("Missing required field: " + field[1]);
+                }
+            }
+        }
+    }
+
+    /**
+     * Step 2: records an error for every unknown employment type or status.
+     *
+     * @param rows The rows to validate.
+     */
+    private void checkEnumValues(List<ImportRow> rows) {
+        for (ImportRow row : rows) {
+            String type = row.get("employmenttype");
+            if (type != null && parseEnum(EmploymentType.class, type) == null) {
+                row.addError("Invalid employment_type: " + type + ". Expected one of " + Arrays.toString(EmploymentType.values()));
+            }
+
+            String status = row.get("employmentstatus");
+            if (status != null && parseEnum(EmploymentStatus.class, status) == null) {
+                row.addError("Invalid employment_status: " + status + ". Expected one of " + Arrays.toString(EmploymentStatus.values()));
+            }
+        }
+    }
+
+    /**
+     * Step 3: builds an {@link Employee} for every valid row, checking numbers,
+     * dates and column lengths on the way.
+     *
+     * @param rows The rows to validate.
+     */
+    private void convert(List<ImportRow> rows) {
+        for (ImportRow row : rows) {
+            if (!row.isValid()) {
+                continue;
+            }
+
+            Employee employee = new Employee();
+            employee.setFirstName(checkLength(row, "firstname", "first_name", 50));
+            employee.setLastName(checkLength(row, "lastname", "last_name", 50));
+            employee.setEmail(checkLength(row, "email", "email", 255));
+            employee.setJobTitle(checkLength(row, "jobtitle", "job_title", 100));
+            employee.setDepartment(checkLength(row, "department", "department", 100));
+            employee.setEmploymentType(parseEnum(EmploymentType.class, row.get("employmenttype")));
+            employee.setEmploymentStatus(parseEnum(EmploymentStatus.class, row.get("employmentstatus")));
+            employee.setHireDate(parseDate(row, "hiredate", "hire_date"));
+            employee.setStartDate(parseDate(row, "startdate", "start_date"));
+
+            try {
+                employee.setManagerId(Integer.valueOf(row.get("managerid")));
+            } catch (NumberFormatException e) {
+                row.addError("Invalid manager_id: " + row.get("managerid"));
+            }
+
+            if (row.isValid()) {
+                row.setEmployee(employee);
+            }
+        }
+    }
+
+    /**
+     * Step 4: checks that the managers of all valid rows exist, using one batched lookup.
+     *
+     * @param rows The rows to validate.
+     * @throws SQLException If the lookup fails.
+     */
+    private void checkManagersExist(List<ImportRow> rows) throws SQLException {
+        List<Integer> managerIds = new ArrayList<>();
+        for (ImportRow row : rows) {
+            if (row.isValid()) {
+                managerIds.add(row.getEmployee().getManagerId());
+            }
+        }
+
+        Set<Integer> existing = employeeRepository.findExistingIds(managerIds);
+        for (ImportRow row : rows) {
+            if (row.isValid() && !existing.contains(row.getEmployee().getManagerId())) {
+                row.addError("Manager not found: " + row.getEmployee().getManagerId());
+                row.setEmployee(null);
+            }
+        }
+    }
+
+    /**
+     * Reads a field and records an error if it exceeds the column length.
+     *
+     * @param row       The row to read from.
+     * @param field     The normalized field name.
+     * @param label     The field name used in error messages.
+     * @param maxLength The maximum length of the column.
+     * @return The field value, or {@code null}.
+     */
+    private static String checkLength(ImportRow row, String field, String label, int maxLength) {
+        String value = row.get(field);
+        if (value != null && value.length() > maxLength) {
+            row.addError("Field " + label + " exceeds " + maxLength + " characters.");
+        }
+        return value;
+    }
+
+    /**
+     * Parses a date given either as ISO date ({@code yyyy-MM-dd}) or as epoch
+     * milliseconds, the format used by the JSON API.
+     *
+     * @param row   The row to read from.
+     * @param field The normalized field name.
+     * @param label The field name used in error messages.
+     * @return The parsed date, or {@code null} if the field is missing or invalid.
+     */
+    private static Date parseDate(ImportRow row, String field, String label) {
+        String value = row.get(field);
+        if (value == null) {
+            return null;
+        }
+
+        try {
+            return value.chars().allMatch(Character::isDigit) ? new Date(Long.parseLong(value)) : Date.valueOf(value);
+        } catch (IllegalArgumentException e) {
+            row.addError("Invalid " + label + ": " + value + ". Expected yyyy-MM-dd.");
+            return null;
+        }
+    }
+
+    /**
+     * Resolves an enum constant by name, ignoring case.
+     *
+     * @param <E>   The enum type.
+     * @param type  The enum class.
+     * @param value The name to resolve.
+     * @return The constant, or {@code null} if {@code value} is null or unknown.
+     */
+    private static <E extends Enum<E>> E parseEnum(Class<E> type, String value) {
+        if (value == null) {
+            return null;
+        }
+        for (E constant : type.getEnumConstants()) {
+            if (constant.name().equalsIgnoreCase(value)) {
+                return constant;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,85 @@
+package com.leanx.app.service.modules.employee.bulk;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import com.leanx.app.model.entity.Employee;
+
+/**
+ * A single row of a bulk import while it passes through the validation
+ * pipeline. It holds the raw field values as read from the input, the
+ * {@link Employee} built from them and the errors found so far.
+ */
+public class ImportRow {
+
+    private final int rowNumber;
+    private final Map<String, String> values;
+    private final List<String> errors = new ArrayList<>();
+    private Employee employee;
+
+    /**
+     * Constructs an {@code ImportRow}.
+     *
+     * @param rowNumber The 1-based number of the row in the input.
+     * @param values    The raw field values, keyed by normalized field name
+     * (see {@link ImportRowReader#normalizeFieldName(String)}).
+     */
+    public ImportRow(int rowNumber, Map<String, String> values) {
+        this.rowNumber = rowNumber;
+        this.values = values;
+    }
+
+    /**
+     * Gets the raw value of a field.
+     *
+     * @param field The normalized field name.
+     * @return The trimmed value, or {@code null} if the field is missing or blank.
+     */
+    public String get(String field) {
+        String value = values.get(field);
+        return value == null || value.isBlank() ? null : value.trim();
+    }
+
+    /**
+     * Records a validation error for this row.
+     *
+     * @param error The error message.
+     */
+    public void addError(String error) { errors.add(error); }
+
+    /**
+     * Checks whether the row has passed all validation steps so far.
+     *
+     * @return {@code true} if no errors have been recorded.
+     */
+    public boolean isValid() { return errors.isEmpty(); }
+
+    /**
+     * Gets the 1-based number of the row in the input.
+     *
+     * @return The row number.
+     */
+    public int getRowNumber() { return rowNumber; }
+
+    /**
+     * Gets the errors recorded for this row.
+     *
+     * @return The list of error messages.
+     */
+    public List<String> getErrors() { return errors; }
+
+    /**
+     * Gets the employee built from the row's values.
+     *
+     * @return The {@link Employee}, or {@code null} if it has not been built yet.
+     */
+    public Employee getEmployee() { return employee; }
+
+    /**
+     * Sets the employee built from the row's values.
+     *
+     * @param employee The {@link Employee}.
+     */
+    public void setEmployee(Employee employee) { this.employee = employee; }
+}
@@ -0,0 +1,40 @@
+package com.leanx.app.service.modules.employee.bulk;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Reads the rows of a bulk import one at a time from a streamed request body.
+ * Implementations never hold more than the current row in memory.
+ */
+public interface ImportRowReader extends Closeable {
+
+    /**
+     * Reads the next row.
+     *
+     * @return The field values of the row keyed by normalized field name, or
+     * {@code null} if the end of the input has been reached.
+     * @throws IOException If the input cannot be read or is malformed.
+     */
+    Map<String, String> next() throws IOException;
+
+    /**
+     * Normalizes a field name so that JSON property names ({@code firstName}) and
+     * CSV column headers ({@code first_name}) refer to the same field.
+     *
+     * @param name The field name as it appears in the input.
+     * @return The lower case name without underscores, dashes and spaces.
+     */
+    static String normalizeFieldName(String name) {
+        StringBuilder normalized = new StringBuilder(name.length());
+        for (int i = 0; i < name.length(); i++) {
+            char ch = name.charAt(i);
+            if (ch != '_' && ch != '-' && !Character.isWhitespace(ch)) {
+                normalized.append(ch);
+            }
+        }
+        return normalized.toString().toLowerCase(Locale.ROOT);
+    }
+}
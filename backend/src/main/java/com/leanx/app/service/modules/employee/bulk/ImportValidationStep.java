@@ -0,0 +1,21 @@
+package com.leanx.app.service.modules.employee.bulk;
+
+import java.sql.SQLException;
+import java.util.List;
+
+/**
+ * One stage of the bulk import validation pipeline. A step receives a whole
+ * chunk of rows so that checks against the database can be batched, and
+ * records its findings with {@link ImportRow#addError(String)}.
+ */
+@FunctionalInterface
+public interface ImportValidationStep {
+
+    /**
+     * Validates a chunk of rows.
+     *
+     * @param rows The rows of the current chunk, including rows that already have errors.
+     * @throws SQLException If a check against the database fails.
+     */
+    void validate(List<ImportRow> rows) throws SQLException;
+}
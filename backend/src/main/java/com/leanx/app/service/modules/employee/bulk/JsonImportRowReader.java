@@ -0,0 +1,73 @@
+package com.leanx.app.service.modules.employee.bulk;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Reads import rows from a JSON array of employee objects. The array is parsed
+ * incrementally, so only the current element is materialized as a tree.
+ */
+public class JsonImportRowReader implements ImportRowReader {
+
+    private final ObjectMapper objectMapper;
+    private final JsonParser parser;
+    private boolean started;
+
+    /**
+     * Constructs a {@code JsonImportRowReader}.
+     *
+     * @param objectMapper The mapper used to create the parser and read elements.
+     * @param in           The stream containing the JSON array.
+     * @throws IOException If the parser cannot be created.
+     */
+    public JsonImportRowReader(ObjectMapper objectMapper, InputStream in) throws IOException {
+        this.objectMapper = objectMapper;
+        this.parser = objectMapper.getFactory().createParser(in);
+    }
+
+    @Override
+    public Map<String, String> next() throws IOException {
+        if (!started) {
+            started = true;
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new JsonParseException(parser, "Expected a JSON array of employees.");
+            }
+        }
+
+        JsonToken token = parser.nextToken();
+        if (token == null || token == JsonToken.END_ARRAY) {
+            return null;
+        }
+        if (token != JsonToken.START_OBJECT) {
+            throw new JsonParseException(parser, "Expected a JSON object for each employee.");
+        }
+
+        JsonNode node = objectMapper.readTree(parser);
+        Map<String, String> values = new HashMap<>();
+        Iterator<Map.Entry<String, JsonNode>> fields = node.fields();
+        while (fields.hasNext()) {
+            Map.Entry<String, JsonNode> field = fields.next();
+            JsonNode value = field.getValue();
+            if (value.isNull()) {
+                continue;
+            }
+            // Nested values are kept as JSON text and rejected by the validation steps.
+            values.put(ImportRowReader.normalizeFieldName(field.getKey()), value.isValueNode() ? value.asText() : value.toString());
+        }
+        return values;
+    }
+
+    @Override
+    public void close() throws IOException {
+        parser.close();
+    }
+}
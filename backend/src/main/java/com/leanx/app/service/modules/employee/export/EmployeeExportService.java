@@ -0,0 +1,163 @@
+package com.leanx.app.service.modules.employee.export;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.leanx.app.model.entity.Employee;
+import com.leanx.app.repository.EmployeeRepository;
+
+/**
+ * Service class for exporting all employee records. Rows are streamed from
+ * the database cursor straight into the output stream, so the export never
+ * holds more than a fetch-size worth of employees in memory. The output is
+ * flushed periodically so that clients receive the export in chunks while it
+ * is still being produced.
+ */
+public class EmployeeExportService {
+
+    private static final Logger logger = Logger.getLogger(EmployeeExportService.class.getName());
+
+    /**
+     * Number of rows written between two flushes of the output stream.
+     */
+    private static final int FLUSH_INTERVAL = 500;
+
+    private static final String[] CSV_HEADER = {
+        "id", "first_name", "last_name", "email", "manager_id", "job_title", "department",
+        "employment_type", "employment_status", "hire_date", "start_date", "termination_date",
+        "termination_reason", "retention_end_date", "created_at", "created_by", "last_updated_by", "last_updated_at"
+    };
+
+    private final EmployeeRepository employeeRepository = new EmployeeRepository();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    /**
+     * Writes all employees to the given output stream in the requested format.
+     * The stream is flushed but not closed.
+     *
+     * @param format The {@link ExportFormat} to write.
+     * @param out    The stream to write to, typically the servlet output stream.
+     * @return The number of exported employees.
+     * @throws IllegalArgumentException If {@code format} or {@code out} is null.
+     * @throws SQLException             If a database access error occurs while reading the employees.
+     * @throws IOException              If writing to the output stream fails.
+     */
+    public int exportEmployees(ExportFormat format, OutputStream out) throws IllegalArgumentException, SQLException, IOException {
+        if (format == null || out == null) {
+            throw new IllegalArgumentException("Illegal argument: format and output stream cannot be null!");
+        }
+
+        try {
+            int count = format == ExportFormat.CSV ? writeCsv(out) : writeNdjson(out);
+            logger.log(Level.INFO, "Exported {0} employees as {1}", new Object[]{count, format});
+            return count;
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Writes all employees as newline-delimited JSON.
+     *
+     * @param out The stream to write to.
+     * @return The number of exported employees.
+     * @throws SQLException If a database access error occurs.
+     * @throws IOException  If writing fails.
+     */
+    private int writeNdjson(OutputStream out) throws SQLException, IOException {
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.setRootValueSeparator(null);
+
+            int[] written = {0};
+            int count = employeeRepository.streamAll(employee -> {
+                try {
+                    objectMapper.writeValue(generator, employee);
+                    generator.writeRaw('\n');
+                    if (++written[0] % FLUSH_INTERVAL == 0) {
+                        generator.flush();
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+
+            generator.flush();
+            return count;
+        }
+    }
+
+    /**
+     * Writes all employees as CSV with a header row.
+     *
+     * @param out The stream to write to.
+     * @return The number of exported employees.
+     * @throws SQLException If a database access error occurs.
+     * @throws IOException  If writing fails.
+     */
+    private int writeCsv(OutputStream out) throws SQLException, IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        writeCsvRow(writer, (Object[]) CSV_HEADER);
+
+        int[] written = {0};
+        int count = employeeRepository.streamAll(employee -> {
+            try {
+                writeCsvRow(writer,
+                    employee.getId(), employee.getFirstName(), employee.getLastName(), employee.getEmail(),
+                    employee.getManagerId(), employee.getJobTitle(), employee.getDepartment(),
+                    employee.getEmploymentType(), employee.getEmploymentStatus(), employee.getHireDate(),
+                    employee.getStartDate(), employee.getTerminationDate(), employee.getTerminationReason(),
+                    employee.getRetentionEndDate(), employee.getCreatedAt(), employee.getCreatedBy(),
+                    employee.getLastUpdatedBy(), employee.getLastUpdatedAt());
+                if (++written[0] % FLUSH_INTERVAL == 0) {
+                    writer.flush();
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+
+        writer.flush();
+        return count;
+    }
+
+    /**
+     * Writes one CSV record. Values are quoted if they contain a separator, a
+     * quote or a line break; {@code null} is written as an empty field.
+     *
+     * @param writer The writer to write to.
+     * @param values The values of the record.
+     * @throws IOException If writing fails.
+     */
+    private static void writeCsvRow(Writer writer, Object... values) throws IOException {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+
+            if (values[i] == null) {
+                continue;
+            }
+
+            String value = values[i].toString();
+            if (value.indexOf(',') >= 0 || value.indexOf('"') >= 0 || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0) {
+                writer.write('"');
+                writer.write(value.replace("\"", "\"\""));
+                writer.write('"');
+            } else {
+                writer.write(value);
+            }
+        }
+        writer.write("\r\n");
+    }
+}
@@ -0,0 +1,57 @@
+package com.leanx.app.service.modules.employee.export;
+
+/**
+ * File formats supported by the employee export.
+ */
+public enum ExportFormat {
+
+    /**
+     * Newline-delimited JSON: one employee object per line.
+     */
+    NDJSON("application/x-ndjson", "ndjson"),
+
+    /**
+     * Comma-separated values with a header row (RFC 4180).
+     */
+    CSV("text/csv", "csv");
+
+    private final String contentType;
+    private final String fileExtension;
+
+    ExportFormat(String contentType, String fileExtension) {
+        this.contentType = contentType;
+        this.fileExtension = fileExtension;
+    }
+
+    /**
+     * Gets the MIME type of the format.
+     *
+     * @return The content type to send with the export.
+     */
+    public String getContentType() { return contentType; }
+
+    /**
+     * Gets the file extension of the format.
+     *
+     * @return The file extension without leading dot.
+     */
+    public String getFileExtension() { return fileExtension; }
+
+    /**
+     * Resolves a format from its name, ignoring case.
+     *
+     * @param name The name of the format, e.g. {@code "csv"}.
+     * @return The matching {@code ExportFormat}.
+     * @throws IllegalArgumentException If {@code name} is null or not a supported format.
+     */
+    public static ExportFormat fromString(String name) throws IllegalArgumentException {
+        if (name != null) {
+            for (ExportFormat format : values()) {
+                if (format.name().equalsIgnoreCase(name.trim())) {
+                    return format;
+                }
+            }
+        }
+        throw new IllegalArgumentException("Unsupported export format: " + name + ". Expected 'ndjson' or 'csv'.");
+    }
+}
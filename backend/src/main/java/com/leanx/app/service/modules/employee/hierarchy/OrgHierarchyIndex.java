@@ -0,0 +1,484 @@
+package com.leanx.app.service.modules.employee.hierarchy;
+
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import com.leanx.app.repository.EmployeeRepository;
+import com.leanx.app.utils.EnvironmentUtils;
+
+/**
+ * In-memory index of the reporting hierarchy defined by {@code employees.manager_id}.
+ * <p>
+ * The organisation is stored as a pre-order (Euler tour) numbering of the
+ * reporting tree in primitive {@code int} arrays: every employee gets an
+ * {@code enter} position and the size of their subtree, so the subordinates of
+ * a manager occupy the contiguous range {@code [enter, enter + size)}. Whether
+ * an employee is a direct or indirect subordinate of a manager is therefore a
+ * constant-time range check instead of a recursive query.
+ * <p>
+ * The index is shared by all services. Readers use an immutable snapshot and
+ * never block; changes replace the snapshot (copy-on-write). Manager changes
+ * made through {@link #moveEmployee(int, int)} are applied incrementally by
+ * shifting the moved subtree within the pre-order, without reloading from
+ * the database. Changes made elsewhere are picked up when the index is
+ * {@link #invalidate() invalidated}, when it is older than
+ * {@code ORG_INDEX_MAX_AGE_MS} (default 5 minutes), or when an unknown
+ * employee ID is looked up (at most once per {@code ORG_INDEX_RELOAD_BACKOFF_MS},
+ * default 30 seconds).
+ * <p>
+ * Employees that manage themselves, or whose manager does not exist, are
+ * roots of the hierarchy. Reporting cycles found in the data are broken
+ * and logged.
+ */
+public final class OrgHierarchyIndex {
+
+    private static final Logger logger = Logger.getLogger(OrgHierarchyIndex.class.getName());
+
+    private static final long MAX_AGE_MILLIS = EnvironmentUtils.getLong("ORG_INDEX_MAX_AGE_MS", 5 * 60 * 1000L);
+    private static final long RELOAD_BACKOFF_MILLIS = EnvironmentUtils.getLong("ORG_INDEX_RELOAD_BACKOFF_MS", 30 * 1000L);
+
+    private static final OrgHierarchyIndex INSTANCE = new OrgHierarchyIndex(new EmployeeRepository());
+
+    private final EmployeeRepository employeeRepository;
+    private volatile Snapshot snapshot;
+    private volatile boolean stale;
+    private long lastReloadAt;
+
+    /**
+     * Creates an index that loads the reporting lines from the given
+     * repository. All services use the shared {@link #getInstance() instance}.
+     *
+     * @param employeeRepository The repository the reporting lines are read from.
+     */
+    OrgHierarchyIndex(EmployeeRepository employeeRepository) {
+        this.employeeRepository = employeeRepository;
+    }
+
+    /**
+     * Gets the shared index.
+     *
+     * @return The organisation-wide hierarchy index.
+     */
+    public static OrgHierarchyIndex getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Checks if an employee is a direct or indirect subordinate of a manager.
+     * An employee is not considered to be in their own team.
+     *
+     * @param employeeId The ID of the employee to check.
+     * @param managerId  The ID of the manager to check against.
+     * @return {@code true} if the employee reports to the manager, directly or
+     * through other managers, {@code false} otherwise or if either employee does not exist.
+     * @throws SQLException If the index had to be loaded and a database access error occurred.
+     */
+    public boolean isInTeam(int employeeId, int managerId) throws SQLException {
+        Snapshot current = current();
+        int employee = current.slotOf(employeeId);
+        int manager = current.slotOf(managerId);
+
+        if (employee < 0 || manager < 0) {
+            current = reloadForUnknownId();
+            employee = current.slotOf(employeeId);
+            manager = current.slotOf(managerId);
+            if (employee < 0 || manager < 0) {
+                return false;
+            }
+        }
+        return current.contains(manager, employee);
+    }
+
+    /**
+     * Gets the number of direct and indirect subordinates of a manager.
+     *
+     * @param managerId The ID of the manager.
+     * @return The size of the manager's team, or {@code 0} if the employee does not exist.
+     * @throws SQLException If the index had to be loaded and a database access error occurred.
+     */
+    public int getTeamSize(int managerId) throws SQLException {
+        Snapshot current = current();
+        int manager = current.slotOf(managerId);
+        return manager < 0 ? 0 : current.size[manager] - 1;
+    }
+
+    /**
+     * Lists one page of a manager's team in org-chart order: every employee
+     * is followed by their own team, and employees below the depth limit are
+     * skipped together with their whole subtree. Only the pre-order range of
+     * the manager's team is visited, so the cost depends on the page size and
+     * not on the size of the organisation.
+     *
+     * @param managerId       The ID of the manager.
+     * @param maxDepth        The number of reporting levels to include, at least {@code 1}
+     * ({@code 1} lists the direct reports only).
+     * @param afterEmployeeId The ID of the last employee of the previous page, or {@code -1} for the first page.
+     * @param limit           The maximum number of employees on the page.
+     * @return The page, or {@code null} if the manager does not exist.
+     * @throws IllegalArgumentException If {@code maxDepth} or {@code limit} is not positive, or
+     * {@code afterEmployeeId} is not part of the listed team (e.g. because they changed teams).
+     * @throws SQLException             If the index had to be loaded and a database access error occurred.
+     */
+    public TeamSlice getTeam(int managerId, int maxDepth, int afterEmployeeId, int limit) throws IllegalArgumentException, SQLException {
+        if (maxDepth < 1 || limit < 1) {
+            throw new IllegalArgumentException("Invalid team query: depth and limit must be positive.");
+        }
+
+        Snapshot current = current();
+        int manager = current.slotOf(managerId);
+        if (manager < 0) {
+            current = reloadForUnknownId();
+            manager = current.slotOf(managerId);
+            if (manager < 0) {
+                return null;
+            }
+        }
+
+        int end = current.enter[manager] + current.size[manager];
+        int position = current.enter[manager] + 1;
+        if (afterEmployeeId >= 0) {
+            int after = current.slotOf(afterEmployeeId);
+            if (after < 0 || !current.contains(manager, after) || current.depth[after] - current.depth[manager] > maxDepth) {
+                throw new IllegalArgumentException("Invalid cursor: the team has changed since the previous page.");
+            }
+            position = current.depth[after] - current.depth[manager] == maxDepth
+                ? current.enter[after] + current.size[after]
+                : current.enter[after] + 1;
+        }
+
+        int[] employeeIds = new int[Math.min(limit, end - position)];
+        int[] levels = new int[employeeIds.length];
+        int count = 0;
+        while (position < end && count < employeeIds.length) {
+            int slot = current.order[position];
+            int level = current.depth[slot] - current.depth[manager];
+            employeeIds[count] = current.ids[slot];
+            levels[count++] = level;
+            position += level == maxDepth ? current.size[slot] : 1;
+        }
+
+        return new TeamSlice(current.size[manager] - 1, Arrays.copyOf(employeeIds, count), Arrays.copyOf(levels, count), position < end);
+    }
+
+    /**
+     * Records that an employee now reports to a new manager. The employee's
+     * whole team moves with them. The change is applied to a copy of the
+     * current snapshot by shifting the moved range of the pre-order; only the
+     * positions between the old and the new place of the team and the
+     * subtree sizes of the old and new managers' reporting lines are updated.
+     * <p>
+     * If either employee is not in the index yet, or the change contradicts
+     * the snapshot (the new manager appears to report to the employee, which
+     * the database has already ruled out), the index is marked stale and
+     * reloaded on its next use instead.
+     *
+     * @param employeeId   The ID of the employee whose manager changed.
+     * @param newManagerId The ID of the new manager; the employee's own ID makes them a root.
+     */
+    public synchronized void moveEmployee(int employeeId, int newManagerId) {
+        Snapshot current = snapshot;
+        if (current == null) {
+            return;
+        }
+
+        int employee = current.slotOf(employeeId);
+        int manager = employeeId == newManagerId ? -1 : current.slotOf(newManagerId);
+        if (employee < 0 || (manager < 0 && employeeId != newManagerId)) {
+            invalidate();
+            return;
+        }
+        if (manager >= 0 && current.contains(employee, manager)) {
+            logger.log(Level.WARNING, "Hierarchy index is out of date for employee {0}; reloading", employeeId);
+            invalidate();
+            return;
+        }
+        if (current.parent[employee] == manager) {
+            return;
+        }
+
+        snapshot = current.withMove(employee, manager);
+        logger.log(Level.FINE, "Moved employee {0} under manager {1} in the hierarchy index", new Object[]{employeeId, newManagerId});
+    }
+
+    /**
+     * Marks the index as stale, so that it is reloaded from the database on
+     * its next use. Called after changes that add or remove employees.
+     */
+    public void invalidate() {
+        stale = true;
+    }
+
+    /**
+     * Gets the current snapshot, loading it first if the index is empty,
+     * stale or older than the maximum age.
+     *
+     * @return The current snapshot.
+     * @throws SQLException If the index had to be loaded and a database access error occurred.
+     */
+    private Snapshot current() throws SQLException {
+        Snapshot current = snapshot;
+        if (current != null && !stale && System.currentTimeMillis() - current.loadedAt < MAX_AGE_MILLIS) {
+            return current;
+        }
+
+        synchronized (this) {
+            current = snapshot;
+            if (current == null || stale || System.currentTimeMillis() - current.loadedAt >= MAX_AGE_MILLIS) {
+                current = reload();
+            }
+            return current;
+        }
+    }
+
+    /**
+     * Reloads the index after an unknown employee ID was looked up, unless it
+     * was reloaded within the back-off period.
+     *
+     * @return The current snapshot.
+     * @throws SQLException If a database access error occurs while loading the index.
+     */
+    private synchronized Snapshot reloadForUnknownId() throws SQLException {
+        if (System.currentTimeMillis() - lastReloadAt < RELOAD_BACKOFF_MILLIS) {
+            return snapshot;
+        }
+        return reload();
+    }
+
+    /**
+     * Loads the reporting lines of all employees and builds a new snapshot.
+     * Must be called while holding the lock of this index.
+     *
+     * @return The new snapshot.
+     * @throws SQLException If a database access error occurs while loading the index.
+     */
+    private Snapshot reload() throws SQLException {
+        stale = false;
+        lastReloadAt = System.currentTimeMillis();
+        try {
+            int[][] links = employeeRepository.findManagerLinks();
+            Snapshot loaded = Snapshot.build(links[0], links[1]);
+            snapshot = loaded;
+            logger.log(Level.INFO, "Loaded hierarchy index with {0} employees", loaded.ids.length);
+            return loaded;
+        } catch (SQLException e) {
+            stale = true;
+            logger.log(Level.SEVERE, "Failed to load the hierarchy index", e);
+            throw e;
+        }
+    }
+
+    /**
+     * One page of a manager's team.
+     *
+     * @param teamSize    The number of direct and indirect subordinates of the manager, at any depth.
+     * @param employeeIds The IDs of the employees on the page, in org-chart order.
+     * @param levels      The reporting level of each employee below the manager ({@code 1} for direct reports).
+     * @param hasMore     {@code true} if further employees follow within the depth limit.
+     */
+    public record TeamSlice(int teamSize, int[] employeeIds, int[] levels, boolean hasMore) {}
+
+    /**
+     * An immutable pre-order numbering of the reporting tree. Employees are
+     * addressed by slot, their position in {@link #ids}.
+     */
+    private static final class Snapshot {
+        private final long loadedAt;
+        /** Employee ID of each slot, ascending. */
+        private final int[] ids;
+        /** Slot of each employee ID, or {@code -1}; indexed by employee ID. */
+        private final int[] slotById;
+        /** Slot of each slot's manager, or {@code -1} for roots. */
+        private final int[] parent;
+        /** Pre-order position of each slot. */
+        private final int[] enter;
+        /** Number of slots in each slot's subtree, including the slot itself. */
+        private final int[] size;
+        /** Slot at each pre-order position. */
+        private final int[] order;
+        /** Number of managers above each slot. */
+        private final int[] depth;
+
+        private Snapshot(long loadedAt, int[] ids, int[] slotById, int[] parent, int[] enter, int[] size, int[] order, int[] depth) {
+            this.loadedAt = loadedAt;
+            this.ids = ids;
+            this.slotById = slotById;
+            this.parent = parent;
+            this.enter = enter;
+            this.size = size;
+            this.order = order;
+            this.depth = depth;
+        }
+
+        /**
+         * Builds a snapshot from the reporting lines of all employees.
+         *
+         * @param ids        The employee IDs, ascending.
+         * @param managerIds The manager ID of each employee.
+         * @return The snapshot.
+         */
+        private static Snapshot build(int[] ids, int[] managerIds) {
+            int n = ids.length;
+            int maxId = n == 0 ? 0 : ids[n - 1];
+            int[] slotById = new int[maxId + 1];
+            Arrays.fill(slotById, -1);
+            for (int slot = 0; slot < n; slot++) {
+                slotById[ids[slot]] = slot;
+            }
+
+            int[] parent = new int[n];
+            for (int slot = 0; slot < n; slot++) {
+                int managerId = managerIds[slot];
+                parent[slot] = managerId == ids[slot] || managerId < 0 || managerId > maxId ? -1 : slotById[managerId];
+            }
+
+            // Children of each slot in compressed form: children[childStart[s] .. childStart[s + 1])
+            int[] childStart = new int[n + 1];
+            for (int slot = 0; slot < n; slot++) {
+                if (parent[slot] >= 0) {
+                    childStart[parent[slot] + 1]++;
+                }
+            }
+            for (int slot = 0; slot < n; slot++) {
+                childStart[slot + 1] += childStart[slot];
+            }
+            int[] children = new int[n];
+            int[] nextChild = Arrays.copyOf(childStart, n);
+            for (int slot = 0; slot < n; slot++) {
+                if (parent[slot] >= 0) {
+                    children[nextChild[parent[slot]]++] = slot;
+                }
+            }
+
+            int[] enter = new int[n];
+            int[] size = new int[n];
+            int[] order = new int[n];
+            int[] depth = new int[n];
+            Arrays.fill(enter, -1);
+            System.arraycopy(childStart, 0, nextChild, 0, n);
+
+            int[] stack = new int[n];
+            int position = 0;
+            for (int pass = 0; pass < 2; pass++) {
+                for (int root = 0; root < n; root++) {
+                    if (enter[root] >= 0 || (pass == 0 && parent[root] >= 0)) {
+                        continue;
+                    }
+                    if (pass == 1) {
+                        // Every slot left after the first pass is part of a reporting cycle
+                        logger.log(Level.WARNING, "Employee {0} is part of a reporting cycle; treating them as a root", ids[root]);
+                        parent[root] = -1;
+                    }
+
+                    int top = 0;
+                    stack[top++] = root;
+                    depth[root] = 0;
+                    enter[root] = position;
+                    order[position++] = root;
+                    while (top > 0) {
+                        int slot = stack[top - 1];
+                        if (nextChild[slot] < childStart[slot + 1]) {
+                            int child = children[nextChild[slot]++];
+                            if (enter[child] < 0) {
+                                stack[top++] = child;
+                                depth[child] = depth[slot] + 1;
+                                enter[child] = position;
+                                order[position++] = child;
+                            }
+                        } else {
+                            top--;
+                            size[slot] = position - enter[slot];
+                        }
+                    }
+                }
+            }
+
+            return new Snapshot(System.currentTimeMillis(), ids, slotById, parent, enter, size, order, depth);
+        }
+
+        /**
+         * Gets the slot of an employee.
+         *
+         * @param employeeId The employee ID.
+         * @return The slot, or {@code -1} if the employee is not in the snapshot.
+         */
+        private int slotOf(int employeeId) {
+            return employeeId >= 0 && employeeId < slotById.length ? slotById[employeeId] : -1;
+        }
+
+        /**
+         * Checks if a slot lies strictly inside the subtree of another slot.
+         *
+         * @param ancestor   The slot of the potential ancestor.
+         * @param descendant The slot of the potential descendant.
+         * @return {@code true} if {@code descendant} is below {@code ancestor}.
+         */
+        private boolean contains(int ancestor, int descendant) {
+            return enter[ancestor] < enter[descendant] && enter[descendant] < enter[ancestor] + size[ancestor];
+        }
+
+        /**
+         * Creates a copy of this snapshot in which a subtree has a new parent.
+         * The subtree is moved to the end of the new parent's subtree (or to
+         * the end of the pre-order for a new root) by rotating the positions
+         * between its old and new place.
+         *
+         * @param moved     The root slot of the moved subtree.
+         * @param newParent The new parent slot, or {@code -1} to make the subtree a root.
+         * @return The new snapshot.
+         */
+        private Snapshot withMove(int moved, int newParent) {
+            int[] newParents = parent.clone();
+            int[] newEnter = enter.clone();
+            int[] newSize = size.clone();
+            int[] newOrder = order.clone();
+            int[] newDepth = depth.clone();
+
+            int from = enter[moved];
+            int count = size[moved];
+            int last = newParent < 0 ? order.length - 1 : enter[newParent] + size[newParent] - 1;
+
+            if (last > from + count - 1) {
+                // Target lies after the subtree: shift (from + count .. last] left
+                System.arraycopy(order, from + count, newOrder, from, last - from - count + 1);
+                System.arraycopy(order, from, newOrder, last - count + 1, count);
+                renumber(newOrder, newEnter, from, last);
+            } else if (last < from) {
+                // Target lies before the subtree: shift (last .. from) right
+                System.arraycopy(order, last + 1, newOrder, last + 1 + count, from - last - 1);
+                System.arraycopy(order, from, newOrder, last + 1, count);
+                renumber(newOrder, newEnter, last + 1, from + count - 1);
+            }
+
+            for (int slot = parent[moved]; slot >= 0; slot = parent[slot]) {
+                newSize[slot] -= count;
+            }
+            newParents[moved] = newParent;
+            for (int slot = newParent; slot >= 0; slot = newParents[slot]) {
+                newSize[slot] += count;
+            }
+
+            int levels = (newParent < 0 ? 0 : depth[newParent] + 1) - depth[moved];
+            for (int position = newEnter[moved]; position < newEnter[moved] + count; position++) {
+                newDepth[newOrder[position]] += levels;
+            }
+
+            return new Snapshot(loadedAt, ids, slotById, newParents, newEnter, newSize, newOrder, newDepth);
+        }
+
+        /**
+         * Updates the pre-order positions of the slots in a range of the order.
+         *
+         * @param order The slot at each position.
+         * @param enter The positions to update.
+         * @param start The first position of the range.
+         * @param end   The last position of the range.
+         */
+        private static void renumber(int[] order, int[] enter, int start, int end) {
+            for (int position = start; position <= end; position++) {
+                enter[order[position]] = position;
+            }
+        }
+    }
+}
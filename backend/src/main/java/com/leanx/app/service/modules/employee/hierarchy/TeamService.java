@@ -0,0 +1,211 @@
+package com.leanx.app.service.modules.employee.hierarchy;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
+import java.util.Base64;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.leanx.app.model.dto.TeamMember;
+import com.leanx.app.repository.EmployeeRepository;
+import com.leanx.app.repository.base.KeysetPaginator;
+
+/**
+ * Service class for the team (org-chart) view of a manager. The members of a
+ * page are selected from the in-memory {@link OrgHierarchyIndex}, and only
+ * their projections are read from the database, with one query per page.
+ * The page is written to the response as it is read, so a department head
+ * with thousands of subordinates never causes the whole team to be loaded.
+ */
+public class TeamService {
+
+    private static final Logger logger = Logger.getLogger(TeamService.class.getName());
+
+    /**
+     * Number of reporting levels listed if no depth is requested (the direct reports).
+     */
+    public static final int DEFAULT_DEPTH = 1;
+
+    private static final String CURSOR_VERSION = "1";
+
+    private final OrgHierarchyIndex hierarchyIndex = OrgHierarchyIndex.getInstance();
+    private final EmployeeRepository employeeRepository = new EmployeeRepository();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    /**
+     * Selects one page of a manager's team. The members are listed in
+     * org-chart order: every employee is followed by their own team, down to
+     * the requested depth.
+     *
+     * @param managerId The ID of the manager.
+     * @param depth     The number of reporting levels to list, or {@code null} for {@link #DEFAULT_DEPTH}.
+     * @param cursor    The cursor returned with the previous page, or {@code null} for the first page.
+     * @param limit     The maximum number of team members on the page (1 to {@link KeysetPaginator#MAX_LIMIT}).
+     * @return The selected page, or {@code null} if the manager does not exist.
+     * @throws IllegalArgumentException If the manager ID, depth, cursor or limit is invalid.
+     * @throws SQLException             If the hierarchy had to be loaded and a database access error occurred.
+     */
+    public TeamPage findTeam(Integer managerId, Integer depth, String cursor, int limit) throws IllegalArgumentException, SQLException {
+        if (managerId == null || managerId <= 0) {
+            throw new IllegalArgumentException("Illegal argument: managerId cannot be null or non-positive!");
+        }
+        if (limit < 1 || limit > KeysetPaginator.MAX_LIMIT) {
+            throw new IllegalArgumentException("Invalid page size: limit must be between 1 and " + KeysetPaginator.MAX_LIMIT + ".");
+        }
+        int maxDepth = depth == null ? DEFAULT_DEPTH : depth;
+        if (maxDepth < 1) {
+            throw new IllegalArgumentException("Invalid depth: depth must be at least 1.");
+        }
+
+        int afterEmployeeId = cursor == null || cursor.isBlank() ? -1 : decodeCursor(cursor, managerId, maxDepth);
+
+        try {
+            OrgHierarchyIndex.TeamSlice slice = hierarchyIndex.getTeam(managerId, maxDepth, afterEmployeeId, limit);
+            if (slice == null) {
+                return null;
+            }
+
+            int[] ids = slice.employeeIds();
+            String next = slice.hasMore() ? encodeCursor(managerId, maxDepth, ids[ids.length - 1]) : null;
+            return new TeamPage(managerId, maxDepth, limit, slice, next);
+        } catch (SQLException e) {
+            logger.log(Level.SEVERE, "Failed to load the team of employee with ID: " + managerId, e);
+            throw e;
+        }
+    }
+
+    /**
+     * Writes a team page as JSON. The team members are read from the database
+     * and written one by one; the stream is flushed but not closed.
+     *
+     * @param page The page selected with {@link #findTeam(Integer, Integer, String, int)}.
+     * @param out  The stream to write to, typically the servlet output stream.
+     * @return The number of written team members.
+     * @throws IllegalArgumentException If {@code page} or {@code out} is null.
+     * @throws SQLException             If a database access error occurs while reading the team members.
+     * @throws IOException              If writing to the output stream fails.
+     */
+    public int writeTeamPage(TeamPage page, OutputStream out) throws IllegalArgumentException, SQLException, IOException {
+        if (page == null || out == null) {
+            throw new IllegalArgumentException("Illegal argument: page and output stream cannot be null!");
+        }
+
+        int[] ids = page.slice.employeeIds();
+        int[] levels = page.slice.levels();
+
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.writeStartObject();
+            generator.writeNumberField("managerId", page.managerId);
+            generator.writeNumberField("depth", page.depth);
+            generator.writeNumberField("teamSize", page.slice.teamSize());
+            generator.writeArrayFieldStart("items");
+
+            int[] position = {0};
+            int count = employeeRepository.streamTeamMembers(ids, member -> {
+                while (ids[position[0]] != member.getId()) {
+                    position[0]++;
+                }
+                member.setLevel(levels[position[0]]);
+                try {
+                    generator.writeObject(member);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+
+            generator.writeEndArray();
+            generator.writeStringField("next", page.next);
+            generator.writeNumberField("limit", page.limit);
+            generator.writeEndObject();
+            generator.flush();
+            return count;
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Encodes the position after an employee into an opaque cursor.
+     *
+     * @param managerId  The ID of the manager whose team is listed.
+     * @param depth      The depth limit of the listing.
+     * @param employeeId The ID of the last employee on the page.
+     * @return The URL-safe cursor.
+     */
+    private static String encodeCursor(int managerId, int depth, int employeeId) {
+        String raw = CURSOR_VERSION + ":" + managerId + ":" + depth + ":" + employeeId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes a cursor and checks that it belongs to the requested listing.
+     *
+     * @param cursor    The cursor returned with the previous page.
+     * @param managerId The ID of the manager whose team is listed.
+     * @param depth     The depth limit of the listing.
+     * @return The ID of the last employee of the previous page.
+     * @throws IllegalArgumentException If the cursor is malformed or belongs to another listing.
+     */
+    private static int decodeCursor(String cursor, int managerId, int depth) throws IllegalArgumentException {
+        String[] parts;
+        try {
+            parts = new String(Base64.getUrlDecoder().decode(cursor.trim()), StandardCharsets.UTF_8).split(":");
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor.", e);
+        }
+
+        if (parts.length != 4 || !parts[0].equals(CURSOR_VERSION)
+                || !parts[1].equals(String.valueOf(managerId)) || !parts[2].equals(String.valueOf(depth))) {
+            throw new IllegalArgumentException("Invalid cursor.");
+        }
+        try {
+            return Integer.parseInt(parts[3]);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid cursor.", e);
+        }
+    }
+
+    /**
+     * A selected page of a manager's team, ready to be written with
+     * {@link TeamService#writeTeamPage(TeamPage, OutputStream)}.
+     */
+    public static final class TeamPage {
+        private final int managerId;
+        private final int depth;
+        private final int limit;
+        private final OrgHierarchyIndex.TeamSlice slice;
+        private final String next;
+
+        private TeamPage(int managerId, int depth, int limit, OrgHierarchyIndex.TeamSlice slice, String next) {
+            this.managerId = managerId;
+            this.depth = depth;
+            this.limit = limit;
+            this.slice = slice;
+            this.next = next;
+        }
+
+        /**
+         * Gets the number of team members on the page.
+         *
+         * @return The number of selected employees.
+         */
+        public int size() {
+            return slice.employeeIds().length;
+        }
+
+        /**
+         * Gets the cursor of the following page.
+         *
+         * @return The cursor, or {@code null} if this is the last page.
+         */
+        public String getNext() {
+            return next;
+        }
+    }
+}
@@ -0,0 +1,822 @@
+package com.leanx.app.service.modules.employee.search;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import com.leanx.app.model.entity.Employee;
+import com.leanx.app.repository.EmployeeRepository;
+import com.leanx.app.repository.base.KeysetPaginator;
+import com.leanx.app.utils.EnvironmentUtils;
+import com.leanx.app.utils.NameUtils;
+import com.leanx.app.utils.collections.IntIntHashMap;
+
+/**
+ * In-memory trigram index over the first name, last name and email of all
+ * employees, used to answer the HR search box without querying MySQL.
+ * <p>
+ * Every field is folded with {@link NameUtils#fold(String)}, so that "Müller"
+ * and "Mueller" are the same, and split into words at non-alphanumeric
+ * characters; each word is prefixed with a word-start marker. The index maps
+ * every trigram of that text, plus the marker and first letter of every word,
+ * to the sorted IDs of the employees containing it. A query term of three or
+ * more characters is looked up by intersecting the postings of its trigrams,
+ * so it matches anywhere in a field; shorter terms match the start of a word.
+ * Candidates are verified against the fields and ranked: an exact field match
+ * scores above a field prefix, a word prefix and a plain substring, and last
+ * names weigh more than first names, which weigh more than emails. All terms
+ * of a query must match.
+ * <p>
+ * If there are fewer matches than requested, the search is repeated with typo
+ * tolerance: a term of four or more characters also matches name words within
+ * one edit (two edits for six or more characters). Those words are found by
+ * walking a {@link WordTrie} of all words of first and last names like a
+ * Levenshtein automaton. Such matches rank below all others.
+ * <p>
+ * The index is shared by all services and updated incrementally when
+ * employees are created or their names change. Changes made on other backend
+ * nodes are picked up when the index is older than {@code SEARCH_INDEX_MAX_AGE_MS}
+ * (default 5 minutes); the reload is done by one request while the others
+ * keep using the current index.
+ */
+public final class EmployeeSearchIndex {
+
+    private static final Logger logger = Logger.getLogger(EmployeeSearchIndex.class.getName());
+
+    private static final long MAX_AGE_MILLIS = EnvironmentUtils.getLong("SEARCH_INDEX_MAX_AGE_MS", 5 * 60 * 1000L);
+
+    /**
+     * Number of results returned if no limit is requested.
+     */
+    public static final int DEFAULT_LIMIT = 50;
+
+    /** Marks the start of every word in the indexed text and in query terms. */
+    private static final char WORD_START = '\u0001';
+
+    /** Fills the third position of the key of a word-start bigram. */
+    private static final char NO_CHAR = '\uFFFF';
+
+    private static final int EXACT_SCORE = 100;
+    private static final int FIELD_PREFIX_SCORE = 80;
+    private static final int WORD_PREFIX_SCORE = 60;
+    private static final int SUBSTRING_SCORE = 30;
+    private static final int FUZZY_SCORE = 20;
+
+    /** Bonus of a match in the last name, first name and email, in field order. */
+    private static final int[] FIELD_BONUS = { 3, 2, 1 };
+
+    private static final EmployeeSearchIndex INSTANCE = new EmployeeSearchIndex(new EmployeeRepository());
+
+    private final EmployeeRepository employeeRepository;
+    private final ReloadableIndex<Index> index = new ReloadableIndex<>("employee search index", MAX_AGE_MILLIS, this::load);
+
+    /**
+     * Creates an index that loads the employees from the given repository.
+     * All services use the shared {@link #getInstance() instance}.
+     *
+     * @param employeeRepository The repository the employees are read from.
+     */
+    EmployeeSearchIndex(EmployeeRepository employeeRepository) {
+        this.employeeRepository = employeeRepository;
+    }
+
+    /**
+     * Gets the shared index.
+     *
+     * @return The organisation-wide employee search index.
+     */
+    public static EmployeeSearchIndex getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Searches employees by first name, last name and email.
+     *
+     * @param query The search text; whitespace separates terms that must all match.
+     * @param limit The maximum number of results (1 to {@link KeysetPaginator#MAX_LIMIT}).
+     * @return The best matching employees, ranked by relevance, with their ID,
+     * first name, last name and email. Empty if the query has no searchable characters.
+     * @throws IllegalArgumentException If {@code query} is null or {@code limit} is out of range.
+     * @throws SQLException             If the index had to be loaded and a database access error occurred.
+     */
+    public List<Employee> search(String query, int limit) throws IllegalArgumentException, SQLException {
+        if (query == null) {
+            throw new IllegalArgumentException("Illegal argument: query cannot be null!");
+        }
+        if (limit < 1 || limit > KeysetPaginator.MAX_LIMIT) {
+            throw new IllegalArgumentException("Invalid limit: limit must be between 1 and " + KeysetPaginator.MAX_LIMIT + ".");
+        }
+
+        List<String> terms = new ArrayList<>();
+        for (String part : query.trim().split("\\s+")) {
+            String term = normalize(part);
+            if (!term.isEmpty()) {
+                terms.add(term);
+            }
+        }
+        if (terms.isEmpty()) {
+            return List.of();
+        }
+
+        return index.read(loaded -> loaded.search(terms, limit));
+    }
+
+    /**
+     * Adds a new employee, or replaces the indexed names of an existing one.
+     *
+     * @param employee The employee; must have an ID.
+     */
+    public void put(Employee employee) {
+        if (employee == null || employee.getId() == null) {
+            return;
+        }
+        Document document = new Document(employee.getId(), employee.getFirstName(), employee.getLastName(), employee.getEmail());
+        index.apply(loaded -> loaded.apply(document));
+    }
+
+    /**
+     * Adds several new employees.
+     *
+     * @param employees The employees; those without an ID are skipped.
+     */
+    public void putAll(Collection<Employee> employees) {
+        for (Employee employee : employees) {
+            put(employee);
+        }
+    }
+
+    /**
+     * Applies changed names of an employee. If the employee is not indexed,
+     * the index is reloaded on its next use instead.
+     *
+     * @param employeeId The ID of the employee.
+     * @param firstName  The new first name, or {@code null} if unchanged.
+     * @param lastName   The new last name, or {@code null} if unchanged.
+     * @param email      The new email, or {@code null} if unchanged.
+     */
+    public void update(int employeeId, String firstName, String lastName, String email) {
+        if (firstName == null && lastName == null && email == null) {
+            return;
+        }
+
+        index.applyOrInvalidate(loaded -> loaded.find(employeeId) != null, loaded -> {
+            Document current = loaded.find(employeeId);
+            if (current == null) {
+                return;
+            }
+            loaded.apply(new Document(employeeId,
+                firstName != null ? firstName : current.firstName,
+                lastName != null ? lastName : current.lastName,
+                email != null ? email : current.email));
+        });
+    }
+
+    /**
+     * Removes a deleted employee.
+     *
+     * @param employeeId The ID of the employee.
+     */
+    public void remove(int employeeId) {
+        Document removal = new Document(employeeId);
+        index.apply(loaded -> loaded.apply(removal));
+    }
+
+    /**
+     * Marks the index as stale, so that it is reloaded from the database on
+     * its next use. Called after changes that cannot be applied incrementally.
+     */
+    public void invalidate() {
+        index.invalidate();
+    }
+
+    /**
+     * Builds a new index from the database. Called by the {@link ReloadableIndex}.
+     *
+     * @return The loaded index.
+     * @throws SQLException If a database access error occurs while loading the employees.
+     */
+    private Index load() throws SQLException {
+        Index loaded = new Index();
+        employeeRepository.streamBasic(employee ->
+            loaded.apply(new Document(employee.getId(), employee.getFirstName(), employee.getLastName(), employee.getEmail())));
+        logger.log(Level.INFO, "Loaded employee search index with {0} employees, {1} grams and {2} name words",
+            new Object[]{loaded.slotById.size(), loaded.postings.size(), loaded.dictionary.size()});
+        return loaded;
+    }
+
+    /**
+     * Normalises text for indexing and searching: folds it with
+     * {@link NameUtils#fold(String)} and replaces every run of non-alphanumeric
+     * characters by one {@link #WORD_START} marker. Leading and trailing
+     * markers are removed.
+     *
+     * @param text The text; {@code null} is treated as empty.
+     * @return The normalised text.
+     */
+    static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+
+        String folded = NameUtils.fold(text);
+        StringBuilder normalized = new StringBuilder(folded.length());
+        for (int i = 0; i < folded.length(); i++) {
+            char c = folded.charAt(i);
+            if (Character.isLetterOrDigit(c)) {
+                normalized.append(c);
+            } else if (normalized.length() > 0 && normalized.charAt(normalized.length() - 1) != WORD_START) {
+                normalized.append(WORD_START);
+            }
+        }
+        int end = normalized.length();
+        if (end > 0 && normalized.charAt(end - 1) == WORD_START) {
+            normalized.setLength(end - 1);
+        }
+        return normalized.toString();
+    }
+
+    /**
+     * Encodes three characters as a gram key.
+     *
+     * @param a The first character.
+     * @param b The second character.
+     * @param c The third character, or {@link #NO_CHAR} for a word-start bigram.
+     * @return The key.
+     */
+    private static long gram(char a, char b, char c) {
+        return ((long) a << 32) | ((long) b << 16) | c;
+    }
+
+    /**
+     * Selects the grams whose postings contain every employee matching a
+     * query term: its trigrams, or for short terms the word-start gram.
+     *
+     * @param term The normalised query term.
+     * @return The gram keys.
+     */
+    private static long[] termGrams(String term) {
+        if (term.length() == 1) {
+            return new long[] { gram(WORD_START, term.charAt(0), NO_CHAR) };
+        }
+        if (term.length() == 2) {
+            return new long[] { gram(WORD_START, term.charAt(0), term.charAt(1)) };
+        }
+
+        long[] grams = new long[term.length() - 2];
+        for (int i = 0; i < grams.length; i++) {
+            grams[i] = gram(term.charAt(i), term.charAt(i + 1), term.charAt(i + 2));
+        }
+        return grams;
+    }
+
+    /**
+     * Gets the number of typos tolerated in a query term.
+     *
+     * @param term The normalised query term.
+     * @return The maximum edit distance to name words; {@code 0} for short
+     * terms and terms of several words.
+     */
+    private static int maxEdits(String term) {
+        if (term.length() < 4 || term.indexOf(WORD_START) >= 0) {
+            return 0;
+        }
+        return term.length() < 6 ? 1 : 2;
+    }
+
+    /**
+     * Scores how well a query term matches one field.
+     *
+     * @param text The indexed text of a document.
+     * @param from The start of the field in {@code text}, a {@link #WORD_START} marker.
+     * @param to   The end of the field in {@code text} (exclusive).
+     * @param term The normalised query term.
+     * @return The score, or {@code 0} if the term does not match.
+     */
+    private static int matchScore(String text, int from, int to, String term) {
+        int last = to - term.length();
+        if (last < from + 1) {
+            return 0;
+        }
+        if (text.startsWith(term, from + 1)) {
+            return last == from + 1 ? EXACT_SCORE : FIELD_PREFIX_SCORE;
+        }
+
+        // A normalised term never starts with a marker, so every match has a preceding character
+        boolean found = false;
+        int at = text.indexOf(term, from + 2);
+        while (at >= 0 && at <= last) {
+            if (text.charAt(at - 1) == WORD_START) {
+                return WORD_PREFIX_SCORE;
+            }
+            found = true;
+            at = text.indexOf(term, at + 1);
+        }
+        return found && term.length() >= 3 ? SUBSTRING_SCORE : 0;
+    }
+
+    /**
+     * Scores how well a query term matches one field, allowing typos: the
+     * closest word of the field within {@link #maxEdits(String)} edits counts.
+     *
+     * @param text The indexed text of a document.
+     * @param from The start of the field in {@code text}, a {@link #WORD_START} marker.
+     * @param to   The end of the field in {@code text} (exclusive).
+     * @param term The normalised query term.
+     * @return The score, or {@code 0} if no word is close enough.
+     */
+    private static int fuzzyScore(String text, int from, int to, String term) {
+        int maxEdits = maxEdits(term);
+        int closest = maxEdits + 1;
+        int start = from + 1;
+        while (start < to && closest > 1) {
+            int end = text.indexOf(WORD_START, start);
+            if (end < 0 || end > to) {
+                end = to;
+            }
+            closest = Math.min(closest, WordTrie.distance(text, start, end, term, maxEdits));
+            start = end + 1;
+        }
+        return closest <= maxEdits ? FUZZY_SCORE / closest : 0;
+    }
+
+    /**
+     * The indexed names of one employee, or the removal of an employee.
+     */
+    private static final class Document {
+        private final int id;
+        private final String firstName;
+        private final String lastName;
+        private final String email;
+        /**
+         * The normalised last name, first name and email, each starting with a
+         * word-start marker, in one string so that scoring touches little memory.
+         */
+        private final String text;
+        /** The end of every field in {@link #text}. */
+        private final int[] ends;
+        /** The normalised last and first name, which order matches of equal score. */
+        private final String sortKey;
+
+        private Document(int id, String firstName, String lastName, String email) {
+            this.id = id;
+            this.firstName = firstName;
+            this.lastName = lastName;
+            this.email = email;
+            String last = WORD_START + normalize(lastName);
+            String first = WORD_START + normalize(firstName);
+            this.text = last + first + WORD_START + normalize(email);
+            this.ends = new int[] { last.length(), last.length() + first.length(), text.length() };
+            this.sortKey = last + '\u0000' + first;
+        }
+
+        private Document(int id) {
+            this.id = id;
+            this.firstName = null;
+            this.lastName = null;
+            this.email = null;
+            this.text = null;
+            this.ends = null;
+            this.sortKey = null;
+        }
+
+        /**
+         * Checks if this document marks the removal of the employee.
+         *
+         * @return {@code true} for a removal marker.
+         */
+        private boolean isRemoval() {
+            return text == null;
+        }
+
+        /**
+         * Collects the distinct grams of all fields: every trigram and the
+         * word-start bigram of every word.
+         *
+         * @return The sorted, distinct gram keys.
+         */
+        private long[] grams() {
+            long[] grams = new long[text.length() * 2];
+            int count = 0;
+            int from = 0;
+            for (int end : ends) {
+                for (int i = from; i + 1 < end; i++) {
+                    if (text.charAt(i) == WORD_START) {
+                        grams[count++] = gram(WORD_START, text.charAt(i + 1), NO_CHAR);
+                    }
+                    if (i + 2 < end) {
+                        grams[count++] = gram(text.charAt(i), text.charAt(i + 1), text.charAt(i + 2));
+                    }
+                }
+                from = end;
+            }
+
+            Arrays.sort(grams, 0, count);
+            int distinct = 0;
+            for (int i = 0; i < count; i++) {
+                if (distinct == 0 || grams[distinct - 1] != grams[i]) {
+                    grams[distinct++] = grams[i];
+                }
+            }
+            return Arrays.copyOf(grams, distinct);
+        }
+
+        /**
+         * Collects the distinct words of the first and last name that are long
+         * enough to match a query term with typos.
+         *
+         * @return The words.
+         */
+        private List<String> nameWords() {
+            List<String> words = new ArrayList<>();
+            int start = 1;
+            while (start < ends[1]) {
+                int end = text.indexOf(WORD_START, start);
+                if (end < 0 || end > ends[1]) {
+                    end = ends[1];
+                }
+                if (end - start >= 3) {
+                    String word = text.substring(start, end);
+                    if (!words.contains(word)) {
+                        words.add(word);
+                    }
+                }
+                start = end + 1;
+            }
+            return words;
+        }
+
+        /**
+         * Converts the document into a basic {@link Employee}.
+         *
+         * @return A new employee with ID, first name, last name and email.
+         */
+        private Employee toEmployee() {
+            Employee employee = new Employee();
+            employee.setId(id);
+            employee.setFirstName(firstName);
+            employee.setLastName(lastName);
+            employee.setEmail(email);
+            return employee;
+        }
+    }
+
+    /**
+     * Sorted, growable list of the document slots that contain one gram.
+     */
+    private static final class Postings {
+        private int[] slots = new int[4];
+        private int size;
+
+        /**
+         * Adds a slot, keeping the list sorted.
+         *
+         * @param slot The document slot.
+         */
+        private void add(int slot) {
+            int at = Arrays.binarySearch(slots, 0, size, slot);
+            if (at >= 0) {
+                return;
+            }
+            at = -at - 1;
+            if (size == slots.length) {
+                slots = Arrays.copyOf(slots, size * 2);
+            }
+            System.arraycopy(slots, at, slots, at + 1, size - at);
+            slots[at] = slot;
+            size++;
+        }
+
+        /**
+         * Removes a slot.
+         *
+         * @param slot The document slot.
+         */
+        private void remove(int slot) {
+            int at = Arrays.binarySearch(slots, 0, size, slot);
+            if (at >= 0) {
+                System.arraycopy(slots, at + 1, slots, at, size - at - 1);
+                size--;
+            }
+        }
+    }
+
+    /**
+     * One version of the index: the documents and the postings of every gram.
+     * Guarded by the lock of the enclosing index once it is in use.
+     */
+    private static final class Index {
+
+        /** Orders matches from the worst to the best: by score, then by name and ID, both descending. */
+        private static final Comparator<Match> WORST_FIRST = Comparator.<Match>comparingInt(m -> m.score)
+            .thenComparing(m -> m.document.sortKey, Comparator.reverseOrder())
+            .thenComparing(m -> m.document.id, Comparator.reverseOrder());
+
+        /** The documents by slot; postings refer to slots so that no lookup by ID is needed. */
+        private Document[] documents = new Document[1024];
+        private int slotCount;
+        private int[] freeSlots = new int[16];
+        private int freeCount;
+        private final IntIntHashMap slotById = new IntIntHashMap(1024, -1);
+        private final Map<Long, Postings> postings = new HashMap<>();
+        /** The slots of the documents containing each word of a first or last name. */
+        private final Map<String, Postings> nameWords = new HashMap<>();
+        /** All words that have been in {@link #nameWords}, for finding words with typos. */
+        private final WordTrie dictionary = new WordTrie();
+
+        /**
+         * Gets the document of an employee.
+         *
+         * @param employeeId The ID of the employee.
+         * @return The document, or {@code null} if the employee is not indexed.
+         */
+        private Document find(int employeeId) {
+            int slot = slotById.get(employeeId);
+            return slot < 0 ? null : documents[slot];
+        }
+
+        /**
+         * Adds, replaces or removes a document.
+         *
+         * @param document The new document, or a removal marker.
+         */
+        private void apply(Document document) {
+            int slot = slotById.get(document.id);
+            if (slot >= 0) {
+                Document previous = documents[slot];
+                for (long gram : previous.grams()) {
+                    Postings list = postings.get(gram);
+                    if (list != null) {
+                        list.remove(slot);
+                        if (list.size == 0) {
+                            postings.remove(gram);
+                        }
+                    }
+                }
+                for (String word : previous.nameWords()) {
+                    Postings list = nameWords.get(word);
+                    if (list != null) {
+                        list.remove(slot);
+                        if (list.size == 0) {
+                            nameWords.remove(word);
+                        }
+                    }
+                }
+                if (document.isRemoval()) {
+                    documents[slot] = null;
+                    slotById.remove(document.id);
+                    if (freeCount == freeSlots.length) {
+                        freeSlots = Arrays.copyOf(freeSlots, freeCount * 2);
+                    }
+                    freeSlots[freeCount++] = slot;
+                    return;
+                }
+            } else if (document.isRemoval()) {
+                return;
+            } else {
+                slot = freeCount > 0 ? freeSlots[--freeCount] : slotCount++;
+                if (slot == documents.length) {
+                    documents = Arrays.copyOf(documents, slot * 2);
+                }
+                slotById.put(document.id, slot);
+            }
+
+            documents[slot] = document;
+            for (long gram : document.grams()) {
+                postings.computeIfAbsent(gram, g -> new Postings()).add(slot);
+            }
+            for (String word : document.nameWords()) {
+                nameWords.computeIfAbsent(word, w -> {
+                    dictionary.add(w);
+                    return new Postings();
+                }).add(slot);
+            }
+        }
+
+        /**
+         * Finds and ranks the documents that match all query terms. If there
+         * are fewer than {@code limit} matches, the search is repeated with
+         * typo tolerance.
+         *
+         * @param terms The normalised query terms.
+         * @param limit The maximum number of results.
+         * @return The best matches as basic employees.
+         */
+        private List<Employee> search(List<String> terms, int limit) {
+            List<Employee> results = rank(terms, limit, false);
+            if (results.size() < limit && terms.stream().anyMatch(term -> maxEdits(term) > 0)) {
+                results = rank(terms, limit, true);
+            }
+            return results;
+        }
+
+        /**
+         * Finds the candidates of every term, intersects them and ranks the
+         * documents that really match.
+         *
+         * @param terms The normalised query terms.
+         * @param limit The maximum number of results.
+         * @param fuzzy Whether terms may match name words with typos.
+         * @return The best matches as basic employees.
+         */
+        private List<Employee> rank(List<String> terms, int limit, boolean fuzzy) {
+            int[][] termCandidates = new int[terms.size()][];
+            for (int t = 0; t < terms.size(); t++) {
+                termCandidates[t] = candidates(terms.get(t), fuzzy);
+                if (termCandidates[t].length == 0) {
+                    return List.of();
+                }
+            }
+            Arrays.sort(termCandidates, Comparator.comparingInt(c -> c.length));
+
+            int[] candidates = termCandidates[0];
+            int count = candidates.length;
+            for (int t = 1; t < termCandidates.length && count > 0; t++) {
+                count = retainAll(candidates, count, termCandidates[t], termCandidates[t].length);
+            }
+
+            // Keep the best matches in a heap whose head is the worst of them
+            PriorityQueue<Match> best = new PriorityQueue<>(Math.min(limit, count) + 1, WORST_FIRST);
+            for (int i = 0; i < count; i++) {
+                Document document = documents[candidates[i]];
+                int score = score(document, terms, fuzzy);
+                if (score == 0) {
+                    continue;
+                }
+                if (best.size() < limit) {
+                    best.add(new Match(document, score));
+                } else if (isBetter(document, score, best.peek())) {
+                    best.poll();
+                    best.add(new Match(document, score));
+                }
+            }
+
+            Employee[] results = new Employee[best.size()];
+            for (int i = results.length - 1; i >= 0; i--) {
+                results[i] = best.poll().document.toEmployee();
+            }
+            return Arrays.asList(results);
+        }
+
+        /**
+         * Finds the documents that may match a query term: those containing
+         * all of its grams and, with typo tolerance, those containing a name
+         * word close to it. The verification in {@link #score} is exact.
+         *
+         * @param term  The normalised query term.
+         * @param fuzzy Whether the term may match name words with typos.
+         * @return The sorted candidate slots.
+         */
+        private int[] candidates(String term, boolean fuzzy) {
+            int[] exact = new int[0];
+            List<Postings> lists = new ArrayList<>();
+            for (long gram : termGrams(term)) {
+                Postings list = postings.get(gram);
+                if (list == null) {
+                    lists = null;
+                    break;
+                }
+                lists.add(list);
+            }
+            if (lists != null) {
+                // Intersect starting from the rarest gram
+                lists.sort(Comparator.comparingInt(list -> list.size));
+                Postings smallest = lists.get(0);
+                int[] slots = Arrays.copyOf(smallest.slots, smallest.size);
+                int count = slots.length;
+                for (int l = 1; l < lists.size() && count > 0; l++) {
+                    count = retainAll(slots, count, lists.get(l).slots, lists.get(l).size);
+                }
+                exact = count == slots.length ? slots : Arrays.copyOf(slots, count);
+            }
+
+            int maxEdits = fuzzy ? maxEdits(term) : 0;
+            if (maxEdits == 0) {
+                return exact;
+            }
+
+            List<String> words = new ArrayList<>();
+            dictionary.search(term, maxEdits, words);
+            int size = exact.length;
+            for (String word : words) {
+                Postings list = nameWords.get(word);
+                size += list == null ? 0 : list.size;
+            }
+            int[] all = Arrays.copyOf(exact, size);
+            int count = exact.length;
+            for (String word : words) {
+                Postings list = nameWords.get(word);
+                if (list != null) {
+                    System.arraycopy(list.slots, 0, all, count, list.size);
+                    count += list.size;
+                }
+            }
+            Arrays.sort(all, 0, count);
+            int distinct = 0;
+            for (int i = 0; i < count; i++) {
+                if (distinct == 0 || all[distinct - 1] != all[i]) {
+                    all[distinct++] = all[i];
+                }
+            }
+            return Arrays.copyOf(all, distinct);
+        }
+
+        /**
+         * Keeps the slots that are also in another sorted list. Each slot is
+         * looked up by galloping ahead from the previous position before a
+         * binary search, so walking a short list through a long one touches
+         * only a few entries per slot.
+         *
+         * @param slots      The sorted slots to filter in place.
+         * @param count      The number of slots.
+         * @param other      The sorted slots to keep.
+         * @param otherCount The number of slots in {@code other}.
+         * @return The number of slots kept at the start of {@code slots}.
+         */
+        private static int retainAll(int[] slots, int count, int[] other, int otherCount) {
+            int kept = 0;
+            int at = 0;
+            for (int i = 0; i < count && at < otherCount; i++) {
+                int slot = slots[i];
+                int bound = 1;
+                while (at + bound < otherCount && other[at + bound] < slot) {
+                    bound <<= 1;
+                }
+                at = Arrays.binarySearch(other, at, Math.min(at + bound + 1, otherCount), slot);
+                if (at >= 0) {
+                    slots[kept++] = slot;
+                } else {
+                    at = -at - 1;
+                }
+            }
+            return kept;
+        }
+
+        /**
+         * Checks if a document ranks above a match, without creating a match for it.
+         *
+         * @param document The document.
+         * @param score    The score of the document.
+         * @param match    The match to compare with.
+         * @return {@code true} if the document ranks higher.
+         */
+        private static boolean isBetter(Document document, int score, Match match) {
+            if (score != match.score) {
+                return score > match.score;
+            }
+            int order = document.sortKey.compareTo(match.document.sortKey);
+            return order != 0 ? order < 0 : document.id < match.document.id;
+        }
+
+        /**
+         * Scores a document against all query terms; each term counts with its best field.
+         *
+         * @param document The candidate document.
+         * @param terms    The normalised query terms.
+         * @param fuzzy    Whether terms may match name words with typos.
+         * @return The total score, or {@code 0} if a term does not match.
+         */
+        private static int score(Document document, List<String> terms, boolean fuzzy) {
+            int total = 0;
+            for (String term : terms) {
+                int best = 0;
+                int from = 0;
+                for (int f = 0; f < document.ends.length; f++) {
+                    int score = matchScore(document.text, from, document.ends[f], term);
+                    if (score == 0 && fuzzy && f < 2) {
+                        score = fuzzyScore(document.text, from, document.ends[f], term);
+                    }
+                    if (score > 0) {
+                        best = Math.max(best, score * 4 + FIELD_BONUS[f]);
+                    }
+                    from = document.ends[f];
+                }
+                if (best == 0) {
+                    return 0;
+                }
+                total += best;
+            }
+            return total;
+        }
+    }
+
+    /**
+     * A matching document and its score.
+     */
+    private static final class Match {
+        private final Document document;
+        private final int score;
+
+        private Match(Document document, int score) {
+            this.document = document;
+            this.score = score;
+        }
+    }
+}
@@ -0,0 +1,220 @@
+package com.leanx.app.service.modules.employee.search;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Holds an in-memory index that is updated incrementally by the services and
+ * reloaded from the database when it is stale or too old.
+ * <p>
+ * The index is loaded on first use, and again when it was marked stale by a
+ * change that cannot be applied incrementally. A reload that is only due to
+ * the maximum age is done by one thread while the others keep using the
+ * current index, and a failed reload keeps it. Changes applied while a reload
+ * is running are recorded and replayed on the reloaded index before it is
+ * swapped in, so that they are not lost if the load read the rows before they
+ * were written.
+ *
+ * @param <T> The type of the index; not thread-safe itself, as it is only
+ *            accessed under the lock of the holder.
+ */
+final class ReloadableIndex<T> {
+
+    private static final Logger logger = Logger.getLogger(ReloadableIndex.class.getName());
+
+    /**
+     * Builds a new index from the database.
+     *
+     * @param <T> The type of the index.
+     */
+    @FunctionalInterface
+    interface Loader<T> {
+
+        /**
+         * Loads the index.
+         *
+         * @return The loaded index.
+         * @throws SQLException If a database access error occurs while loading the rows.
+         */
+        T load() throws SQLException;
+    }
+
+    private final String name;
+    private final long maxAgeMillis;
+    private final Loader<T> loader;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final ReentrantLock reloadLock = new ReentrantLock();
+
+    private T index;
+    private List<Consumer<T>> pendingChanges;
+    private volatile boolean stale;
+    private volatile long loadedAt;
+
+    /**
+     * Creates a holder whose index is loaded on first use.
+     *
+     * @param name         The name of the index in log messages, e.g. {@code "suggestion index"}.
+     * @param maxAgeMillis The age after which the index is reloaded, in milliseconds.
+     * @param loader       Builds the index from the database.
+     */
+    ReloadableIndex(String name, long maxAgeMillis, Loader<T> loader) {
+        this.name = name;
+        this.maxAgeMillis = maxAgeMillis;
+        this.loader = loader;
+    }
+
+    /**
+     * Reads from the index, loading it first if necessary.
+     *
+     * @param <R>    The type of the result.
+     * @param reader Reads from the index; called under the read lock.
+     * @return The result of the reader.
+     * @throws SQLException If the index is missing or stale and loading it failed.
+     */
+    <R> R read(Function<T, R> reader) throws SQLException {
+        ensureLoaded();
+        lock.readLock().lock();
+        try {
+            return reader.apply(index);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Applies a change to the index, and records it if a reload is running so
+     * that it can be replayed on the reloaded index. Does nothing to an index
+     * that is not loaded yet, since loading it reads the change from the database.
+     *
+     * @param change The change; must be repeatable on an index that may already contain it.
+     */
+    void apply(Consumer<T> change) {
+        lock.writeLock().lock();
+        try {
+            if (index != null) {
+                change.accept(index);
+            }
+            if (pendingChanges != null) {
+                pendingChanges.add(change);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Applies a change if the loaded index can take it incrementally, and
+     * otherwise marks the index as stale.
+     *
+     * @param applicable Checks if the change can be applied to the loaded index.
+     * @param change     The change; see {@link #apply(Consumer)}.
+     */
+    void applyOrInvalidate(Predicate<T> applicable, Consumer<T> change) {
+        lock.writeLock().lock();
+        try {
+            if (index != null && !applicable.test(index)) {
+                stale = true;
+                return;
+            }
+            apply(change);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Marks the index as stale, so that it is reloaded from the database on
+     * its next use.
+     */
+    void invalidate() {
+        stale = true;
+    }
+
+    /**
+     * Loads the index if it is missing or stale. If it is only older than the
+     * maximum age, it is reloaded by this thread unless another thread is
+     * already doing so, and a failed reload keeps the current index.
+     *
+     * @throws SQLException If the index is missing or stale and loading it failed.
+     */
+    private void ensureLoaded() throws SQLException {
+        boolean loaded = loadedAt > 0 && !stale;
+        if (loaded && System.currentTimeMillis() - loadedAt < maxAgeMillis) {
+            return;
+        }
+
+        if (loaded) {
+            if (reloadLock.tryLock()) {
+                try {
+                    reload();
+                } catch (SQLException e) {
+                    // Already logged, the current index stays in use until the next attempt
+                } finally {
+                    reloadLock.unlock();
+                }
+            }
+            return;
+        }
+
+        reloadLock.lock();
+        try {
+            if (loadedAt == 0 || stale) {
+                reload();
+            }
+        } finally {
+            reloadLock.unlock();
+        }
+    }
+
+    /**
+     * Builds a new index from the database and swaps it in. Changes made
+     * while loading are replayed on the new index. Must be called while
+     * holding the reload lock.
+     *
+     * @throws SQLException If a database access error occurs while loading the index.
+     */
+    private void reload() throws SQLException {
+        lock.writeLock().lock();
+        try {
+            stale = false;
+            pendingChanges = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        T loaded;
+        try {
+            loaded = loader.load();
+        } catch (SQLException e) {
+            lock.writeLock().lock();
+            try {
+                pendingChanges = null;
+                stale = loadedAt == 0 || stale;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            logger.log(Level.SEVERE, "Failed to load the " + name, e);
+            throw e;
+        }
+
+        lock.writeLock().lock();
+        try {
+            for (Consumer<T> change : pendingChanges) {
+                change.accept(loaded);
+            }
+            pendingChanges = null;
+            index = loaded;
+            loadedAt = System.currentTimeMillis();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+}
@@ -0,0 +1,546 @@
+package com.leanx.app.service.modules.employee.search;
+
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import com.leanx.app.model.dto.Suggestion;
+import com.leanx.app.model.dto.Suggestion.SuggestionType;
+import com.leanx.app.model.entity.Employee;
+import com.leanx.app.model.entity.Employee.EmploymentStatus;
+import com.leanx.app.repository.EmployeeRepository;
+import com.leanx.app.repository.UserEmployeeLinkIndex;
+import com.leanx.app.repository.UserRepository;
+import com.leanx.app.utils.EnvironmentUtils;
+
+/**
+ * In-memory type-ahead index over the names of current employees, the
+ * usernames of active user accounts and the departments, used by the
+ * employee and manager pickers without querying MySQL.
+ * <p>
+ * All names are kept in one {@link SuggestionTrie}: an employee under
+ * "first last" and "last first", a user under the username and a department
+ * under its name. Every trie node stores the best {@value #MAX_LIMIT}
+ * suggestions below it, so a lookup only walks the typed prefix and returns
+ * that array without allocating. Suggestions are ranked by a cheap popularity
+ * score: one plus the number of direct reports for employees, the popularity
+ * of the linked employee for users, and the headcount for departments.
+ * <p>
+ * The index is shared by all services and updated incrementally when
+ * employees are created or changed and when users are linked or deactivated;
+ * a change only rebuilds the best suggestions along the affected trie paths.
+ * Changes made on other backend nodes are picked up when the index is older
+ * than {@code SUGGEST_INDEX_MAX_AGE_MS} (default 5 minutes); the reload is
+ * done by one request while the others keep using the current index.
+ */
+public final class SuggestionIndex {
+
+    private static final Logger logger = Logger.getLogger(SuggestionIndex.class.getName());
+
+    private static final long MAX_AGE_MILLIS = EnvironmentUtils.getLong("SUGGEST_INDEX_MAX_AGE_MS", 5 * 60 * 1000L);
+
+    /**
+     * Number of suggestions returned if no limit is requested.
+     */
+    public static final int DEFAULT_LIMIT = 10;
+
+    /**
+     * Maximum number of suggestions per request, which is the number kept for every prefix.
+     */
+    public static final int MAX_LIMIT = 20;
+
+    private static final SuggestionIndex INSTANCE = new SuggestionIndex(new EmployeeRepository(), new UserRepository(),
+        UserEmployeeLinkIndex.getInstance());
+
+    private final EmployeeRepository employeeRepository;
+    private final UserRepository userRepository;
+    private final UserEmployeeLinkIndex linkIndex;
+    private final ReloadableIndex<Directory> directory = new ReloadableIndex<>("suggestion index", MAX_AGE_MILLIS, this::load);
+
+    private SuggestionIndex(EmployeeRepository employeeRepository, UserRepository userRepository, UserEmployeeLinkIndex linkIndex) {
+        this.employeeRepository = employeeRepository;
+        this.userRepository = userRepository;
+        this.linkIndex = linkIndex;
+    }
+
+    /**
+     * Gets the shared index.
+     *
+     * @return The organisation-wide suggestion index.
+     */
+    public static SuggestionIndex getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Suggests employees, users and departments whose name starts with the
+     * typed text. Case, accents and punctuation are ignored, and for employees
+     * the first and last name may be typed in either order.
+     *
+     * @param query The text typed so far.
+     * @param limit The maximum number of suggestions (1 to {@link #MAX_LIMIT}).
+     * @return The most popular matching suggestions, best first. The list is
+     * read-only. Empty if the query has no letters or digits.
+     * @throws IllegalArgumentException If {@code query} is null or {@code limit} is out of range.
+     * @throws SQLException             If the index had to be loaded and a database access error occurred.
+     */
+    public List<Suggestion> suggest(String query, int limit) throws IllegalArgumentException, SQLException {
+        if (query == null) {
+            throw new IllegalArgumentException("Illegal argument: query cannot be null!");
+        }
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new IllegalArgumentException("Invalid limit: limit must be between 1 and " + MAX_LIMIT + ".");
+        }
+
+        Suggestion[] top = directory.read(loaded -> loaded.trie.find(query));
+
+        // The arrays of the trie are replaced, never modified, so the view stays valid without the lock
+        return Collections.unmodifiableList(Arrays.asList(top).subList(0, Math.min(limit, top.length)));
+    }
+
+    /**
+     * Adds a new employee, or replaces an existing one. Employees that are
+     * terminated, resigned or retired are removed instead.
+     *
+     * @param employee The employee; must have an ID.
+     */
+    public void putEmployee(Employee employee) {
+        if (employee == null || employee.getId() == null) {
+            return;
+        }
+        int employeeId = employee.getId();
+        String firstName = employee.getFirstName();
+        String lastName = employee.getLastName();
+        String department = employee.getDepartment();
+        Integer managerId = employee.getManagerId();
+        boolean current = isCurrent(employee.getEmploymentStatus());
+        directory.apply(d -> {
+            if (current) {
+                d.putEmployee(new EmployeeEntry(employeeId, firstName, lastName, department, managerId));
+            } else {
+                d.removeEmployee(employeeId);
+            }
+        });
+    }
+
+    /**
+     * Adds several new employees.
+     *
+     * @param employees The employees; those without an ID are skipped.
+     */
+    public void putEmployees(Collection<Employee> employees) {
+        for (Employee employee : employees) {
+            putEmployee(employee);
+        }
+    }
+
+    /**
+     * Applies changes to an employee. If the employee is not indexed and may
+     * now be a current employee, the index is reloaded on its next use instead.
+     *
+     * @param employeeId The ID of the employee.
+     * @param changes    The changed fields; {@code null} fields are unchanged.
+     */
+    public void updateEmployee(int employeeId, Employee changes) {
+        if (changes == null) {
+            return;
+        }
+        String firstName = changes.getFirstName();
+        String lastName = changes.getLastName();
+        String department = changes.getDepartment();
+        Integer managerId = changes.getManagerId();
+        EmploymentStatus status = changes.getEmploymentStatus();
+        if (firstName == null && lastName == null && department == null && managerId == null && status == null) {
+            return;
+        }
+
+        directory.applyOrInvalidate(d -> d.employees.containsKey(employeeId) || !isCurrent(status), d -> {
+            EmployeeEntry current = d.employees.get(employeeId);
+            if (current == null) {
+                return;
+            }
+            if (!isCurrent(status)) {
+                d.removeEmployee(employeeId);
+                return;
+            }
+            d.putEmployee(new EmployeeEntry(employeeId,
+                firstName != null ? firstName : current.firstName,
+                lastName != null ? lastName : current.lastName,
+                department != null ? department : current.department,
+                managerId != null ? managerId : current.managerId));
+        });
+    }
+
+    /**
+     * Removes a deactivated user account.
+     *
+     * @param userId The ID of the user.
+     */
+    public void removeUser(int userId) {
+        directory.apply(d -> d.removeUser(userId));
+    }
+
+    /**
+     * Links a user account to an employee, so that it is ranked like the
+     * employee. If the user is not indexed, the index is reloaded on its next
+     * use instead.
+     *
+     * @param userId     The ID of the user.
+     * @param employeeId The ID of the employee.
+     */
+    public void linkUser(int userId, int employeeId) {
+        directory.applyOrInvalidate(d -> d.users.containsKey(userId), d -> d.linkUser(userId, employeeId));
+    }
+
+    /**
+     * Marks the index as stale, so that it is reloaded from the database on
+     * its next use. Called after changes that cannot be applied incrementally,
+     * such as new user accounts.
+     */
+    public void invalidate() {
+        directory.invalidate();
+    }
+
+    /**
+     * Checks if an employment status belongs to a current employee.
+     *
+     * @param status The status, or {@code null} if unknown.
+     * @return {@code false} for terminated, resigned and retired employees.
+     */
+    private static boolean isCurrent(EmploymentStatus status) {
+        return status != EmploymentStatus.TERMINATED && status != EmploymentStatus.RESIGNED
+            && status != EmploymentStatus.RETIRED;
+    }
+
+    /**
+     * Builds a new index from the database. Called by the {@link ReloadableIndex}.
+     *
+     * @return The loaded records with their trie.
+     * @throws SQLException If a database access error occurs while loading the employees or users.
+     */
+    private Directory load() throws SQLException {
+        Directory loaded = new Directory();
+        employeeRepository.streamDirectory(employee -> loaded.employees.put(employee.getId(), new EmployeeEntry(employee)));
+        userRepository.streamDirectory(user -> {
+            int employeeId = linkIndex.findEmployeeId(user.getId());
+            loaded.users.put(user.getId(), new UserEntry(user.getId(), user.getName(),
+                employeeId >= 0 ? employeeId : null));
+        });
+        loaded.build();
+        logger.log(Level.INFO, "Loaded suggestion index with {0} employees, {1} users, {2} departments and {3} trie nodes",
+            new Object[]{loaded.employees.size(), loaded.users.size(), loaded.departments.size(), loaded.trie.nodeCount()});
+        return loaded;
+    }
+
+    /**
+     * The indexed records and the trie of their suggestions. Not thread-safe;
+     * guarded by the lock of the index.
+     */
+    private static final class Directory {
+        private final SuggestionTrie trie = new SuggestionTrie(MAX_LIMIT);
+        private final Map<Integer, EmployeeEntry> employees = new HashMap<>();
+        private final Map<Integer, UserEntry> users = new HashMap<>();
+        /** The users linked to each employee. */
+        private final Map<Integer, Set<Integer>> usersByEmployee = new HashMap<>();
+        /** The number of indexed direct reports of each manager. */
+        private final Map<Integer, Integer> reportCounts = new HashMap<>();
+        /** The departments by their trie key. */
+        private final Map<String, DepartmentEntry> departments = new HashMap<>();
+
+        /**
+         * Counts the reports and headcounts of the loaded records and adds all
+         * of them to the trie at once, so that no suggestion is re-ranked
+         * while loading.
+         */
+        private void build() {
+            for (EmployeeEntry employee : employees.values()) {
+                count(employee, 1);
+            }
+            for (EmployeeEntry employee : employees.values()) {
+                index(employee);
+            }
+            for (DepartmentEntry department : departments.values()) {
+                index(department);
+            }
+            for (UserEntry user : users.values()) {
+                if (user.employeeId != null) {
+                    usersByEmployee.computeIfAbsent(user.employeeId, id -> new HashSet<>()).add(user.id);
+                }
+                index(user);
+            }
+        }
+
+        /**
+         * Adds or replaces an employee and re-ranks its old and new manager
+         * and department.
+         *
+         * @param employee The employee.
+         */
+        private void putEmployee(EmployeeEntry employee) {
+            removeEmployee(employee.id);
+            employees.put(employee.id, employee);
+            count(employee, 1);
+            index(employee);
+            refreshRelated(employee);
+            refreshUsers(employee.id);
+        }
+
+        /**
+         * Removes an employee, if indexed, and re-ranks its manager and department.
+         *
+         * @param employeeId The ID of the employee.
+         */
+        private void removeEmployee(int employeeId) {
+            EmployeeEntry employee = employees.remove(employeeId);
+            if (employee == null) {
+                return;
+            }
+            unindex(employee);
+            count(employee, -1);
+            refreshRelated(employee);
+            refreshUsers(employeeId);
+        }
+
+        /**
+         * Removes a user, if indexed.
+         *
+         * @param userId The ID of the user.
+         */
+        private void removeUser(int userId) {
+            UserEntry user = users.remove(userId);
+            if (user == null) {
+                return;
+            }
+            trie.remove(user.key, user.suggestion);
+            if (user.employeeId != null) {
+                Set<Integer> linked = usersByEmployee.get(user.employeeId);
+                if (linked != null) {
+                    linked.remove(userId);
+                    if (linked.isEmpty()) {
+                        usersByEmployee.remove(user.employeeId);
+                    }
+                }
+            }
+        }
+
+        /**
+         * Links an indexed user to an employee.
+         *
+         * @param userId     The ID of the user.
+         * @param employeeId The ID of the employee.
+         */
+        private void linkUser(int userId, int employeeId) {
+            UserEntry user = users.get(userId);
+            if (user == null) {
+                return;
+            }
+            removeUser(userId);
+            UserEntry linked = new UserEntry(userId, user.name, employeeId);
+            users.put(userId, linked);
+            usersByEmployee.computeIfAbsent(employeeId, id -> new HashSet<>()).add(userId);
+            index(linked);
+        }
+
+        /**
+         * Adds an employee to the report count of its manager and the
+         * headcount of its department, or removes it from them.
+         *
+         * @param employee The employee.
+         * @param delta    {@code 1} to add, {@code -1} to remove.
+         */
+        private void count(EmployeeEntry employee, int delta) {
+            if (employee.managerId != null) {
+                reportCounts.merge(employee.managerId, delta, (a, b) -> a + b == 0 ? null : a + b);
+            }
+            String key = SuggestionTrie.key(employee.department);
+            if (key.isEmpty()) {
+                return;
+            }
+            DepartmentEntry department = departments.computeIfAbsent(key, k -> new DepartmentEntry(employee.department, k));
+            department.headcount += delta;
+            if (department.headcount == 0) {
+                departments.remove(key);
+                if (department.suggestion != null) {
+                    trie.remove(department.key, department.suggestion);
+                }
+            }
+        }
+
+        /**
+         * Re-ranks the manager and the department of an employee after it was
+         * added or removed.
+         *
+         * @param employee The employee.
+         */
+        private void refreshRelated(EmployeeEntry employee) {
+            if (employee.managerId != null) {
+                EmployeeEntry manager = employees.get(employee.managerId);
+                if (manager != null) {
+                    unindex(manager);
+                    index(manager);
+                    refreshUsers(manager.id);
+                }
+            }
+            DepartmentEntry department = departments.get(SuggestionTrie.key(employee.department));
+            if (department != null) {
+                if (department.suggestion != null) {
+                    trie.remove(department.key, department.suggestion);
+                }
+                index(department);
+            }
+        }
+
+        /**
+         * Re-ranks the users linked to an employee after its popularity changed.
+         *
+         * @param employeeId The ID of the employee.
+         */
+        private void refreshUsers(int employeeId) {
+            Set<Integer> linked = usersByEmployee.get(employeeId);
+            if (linked == null) {
+                return;
+            }
+            for (Integer userId : linked) {
+                UserEntry user = users.get(userId);
+                trie.remove(user.key, user.suggestion);
+                index(user);
+            }
+        }
+
+        /**
+         * Computes the popularity of an employee.
+         *
+         * @param employeeId The ID of the employee.
+         * @return One plus the number of direct reports, or {@code 1} if the employee is not indexed.
+         */
+        private int popularity(Integer employeeId) {
+            if (employeeId == null || !employees.containsKey(employeeId)) {
+                return 1;
+            }
+            return 1 + reportCounts.getOrDefault(employeeId, 0);
+        }
+
+        /**
+         * Creates the suggestion of an employee with its current popularity
+         * and adds it under both name orders.
+         *
+         * @param employee The employee.
+         */
+        private void index(EmployeeEntry employee) {
+            employee.suggestion = new Suggestion(SuggestionType.EMPLOYEE, employee.id, employee.label,
+                employee.id, popularity(employee.id));
+            trie.add(employee.firstLastKey, employee.suggestion);
+            if (!employee.lastFirstKey.equals(employee.firstLastKey)) {
+                trie.add(employee.lastFirstKey, employee.suggestion);
+            }
+        }
+
+        /**
+         * Removes the suggestion of an employee from the trie.
+         *
+         * @param employee The employee.
+         */
+        private void unindex(EmployeeEntry employee) {
+            trie.remove(employee.firstLastKey, employee.suggestion);
+            if (!employee.lastFirstKey.equals(employee.firstLastKey)) {
+                trie.remove(employee.lastFirstKey, employee.suggestion);
+            }
+        }
+
+        /**
+         * Creates the suggestion of a user with its current popularity and adds it.
+         *
+         * @param user The user.
+         */
+        private void index(UserEntry user) {
+            user.suggestion = new Suggestion(SuggestionType.USER, user.id, user.name, user.employeeId,
+                popularity(user.employeeId));
+            trie.add(user.key, user.suggestion);
+        }
+
+        /**
+         * Creates the suggestion of a department with its current headcount and adds it.
+         *
+         * @param department The department.
+         */
+        private void index(DepartmentEntry department) {
+            department.suggestion = new Suggestion(SuggestionType.DEPARTMENT, null, department.name, null,
+                department.headcount);
+            trie.add(department.key, department.suggestion);
+        }
+    }
+
+    /**
+     * An indexed employee.
+     */
+    private static final class EmployeeEntry {
+        private final int id;
+        private final String firstName;
+        private final String lastName;
+        private final String department;
+        private final Integer managerId;
+        private final String label;
+        private final String firstLastKey;
+        private final String lastFirstKey;
+        private Suggestion suggestion;
+
+        private EmployeeEntry(Employee employee) {
+            this(employee.getId(), employee.getFirstName(), employee.getLastName(), employee.getDepartment(),
+                employee.getManagerId());
+        }
+
+        private EmployeeEntry(int id, String firstName, String lastName, String department, Integer managerId) {
+            this.id = id;
+            this.firstName = firstName;
+            this.lastName = lastName;
+            this.department = department;
+            this.managerId = managerId;
+            String first = firstName != null ? firstName : "";
+            String last = lastName != null ? lastName : "";
+            this.label = (first + " " + last).trim();
+            this.firstLastKey = SuggestionTrie.key(label);
+            this.lastFirstKey = SuggestionTrie.key(last + " " + first);
+        }
+    }
+
+    /**
+     * An indexed user account.
+     */
+    private static final class UserEntry {
+        private final int id;
+        private final String name;
+        private final Integer employeeId;
+        private final String key;
+        private Suggestion suggestion;
+
+        private UserEntry(int id, String name, Integer employeeId) {
+            this.id = id;
+            this.name = name;
+            this.employeeId = employeeId;
+            this.key = SuggestionTrie.key(name);
+        }
+    }
+
+    /**
+     * An indexed department, named like its first indexed employee spells it.
+     */
+    private static final class DepartmentEntry {
+        private final String name;
+        private final String key;
+        private int headcount;
+        private Suggestion suggestion;
+
+        private DepartmentEntry(String name, String key) {
+            this.name = name;
+            this.key = key;
+        }
+    }
+}
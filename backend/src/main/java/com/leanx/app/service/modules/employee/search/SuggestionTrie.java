@@ -0,0 +1,449 @@
+package com.leanx.app.service.modules.employee.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+import com.leanx.app.model.dto.Suggestion;
+import com.leanx.app.utils.NameUtils;
+
+/**
+ * Radix trie (compressed prefix tree) from normalised keys to suggestions.
+ * Every node keeps the best suggestions of its whole subtree, so a prefix
+ * lookup only walks the prefix and returns that precomputed array; it
+ * allocates nothing. The arrays are replaced, never modified, when
+ * suggestions are added or removed. Removing suggestions prunes nodes that
+ * are left empty and merges a node without suggestions into its only child,
+ * so the trie stays as compact as if it had been built from scratch.
+ * <p>
+ * Keys are folded with {@link NameUtils#fold(char)}, and every run of
+ * characters other than letters and digits becomes a single space. The trie
+ * is not thread-safe.
+ */
+final class SuggestionTrie {
+
+    /** Orders suggestions from the best to the worst: by popularity, then by label, type and ID. */
+    static final Comparator<Suggestion> RANKING = Comparator.comparingInt(Suggestion::getPopularity).reversed()
+        .thenComparing(Suggestion::getLabel, String.CASE_INSENSITIVE_ORDER)
+        .thenComparing(Suggestion::getType)
+        .thenComparing(Suggestion::getId, Comparator.nullsFirst(Comparator.naturalOrder()));
+
+    private static final Suggestion[] NONE = new Suggestion[0];
+    private static final char SEPARATOR = ' ';
+
+    private final int topSize;
+    private final Node root = new Node("");
+    private int nodeCount = 1;
+
+    /**
+     * Creates an empty trie.
+     *
+     * @param topSize The number of best suggestions kept for every prefix.
+     */
+    SuggestionTrie(int topSize) {
+        this.topSize = topSize;
+    }
+
+    /**
+     * Normalises text to a key: folds it and turns every run of characters
+     * other than letters and digits into a single space. Leading and trailing
+     * separators are removed.
+     *
+     * @param text The text; {@code null} is treated as empty.
+     * @return The key.
+     */
+    static String key(String text) {
+        String folded = NameUtils.fold(text);
+        StringBuilder key = new StringBuilder(folded.length());
+        for (int i = 0; i < folded.length(); i++) {
+            char c = folded.charAt(i);
+            if (Character.isLetterOrDigit(c)) {
+                key.append(c);
+            } else if (key.length() > 0 && key.charAt(key.length() - 1) != SEPARATOR) {
+                key.append(SEPARATOR);
+            }
+        }
+        int end = key.length();
+        if (end > 0 && key.charAt(end - 1) == SEPARATOR) {
+            key.setLength(end - 1);
+        }
+        return key.toString();
+    }
+
+    /**
+     * Adds a suggestion under a key.
+     *
+     * @param key        The normalised key, see {@link #key(String)}.
+     * @param suggestion The suggestion.
+     */
+    void add(String key, Suggestion suggestion) {
+        if (key.isEmpty()) {
+            return;
+        }
+
+        List<Node> path = new ArrayList<>();
+        Node node = root;
+        int at = 0;
+        while (true) {
+            path.add(node);
+            if (at == key.length()) {
+                node.entries = append(node.entries, suggestion);
+                break;
+            }
+
+            int index = node.childIndex(key.charAt(at));
+            if (index < 0) {
+                Node leaf = new Node(key.substring(at));
+                leaf.entries = new Suggestion[] { suggestion };
+                node.addChild(-index - 1, leaf);
+                nodeCount++;
+                path.add(leaf);
+                break;
+            }
+
+            Node child = node.children[index];
+            int common = commonPrefix(child.label, key, at);
+            if (common < child.label.length()) {
+                // Split the edge, so that the key continues below the shared part
+                Node middle = new Node(child.label.substring(0, common));
+                child.label = child.label.substring(common);
+                middle.addChild(0, child);
+                middle.top = child.top;
+                node.children[index] = middle;
+                nodeCount++;
+                child = middle;
+            }
+            node = child;
+            at += common;
+        }
+
+        for (int i = path.size() - 1; i >= 0; i--) {
+            Node n = path.get(i);
+            n.top = insertTop(n.top, suggestion);
+        }
+    }
+
+    /**
+     * Removes a suggestion from a key.
+     *
+     * @param key        The normalised key the suggestion was added under.
+     * @param suggestion The suggestion, compared by identity.
+     */
+    void remove(String key, Suggestion suggestion) {
+        if (key.isEmpty()) {
+            return;
+        }
+
+        List<Node> path = new ArrayList<>();
+        Node node = root;
+        int at = 0;
+        while (true) {
+            path.add(node);
+            if (at == key.length()) {
+                break;
+            }
+            int index = node.childIndex(key.charAt(at));
+            if (index < 0 || !key.startsWith(node.children[index].label, at)) {
+                return;
+            }
+            node = node.children[index];
+            at += node.label.length();
+        }
+
+        Suggestion[] entries = without(node.entries, suggestion);
+        if (entries == node.entries) {
+            return;
+        }
+        node.entries = entries;
+
+        for (int i = path.size() - 1; i >= 0; i--) {
+            Node n = path.get(i);
+            if (i > 0 && n.entries.length == 0 && n.childCount == 0) {
+                path.get(i - 1).removeChild(n);
+                nodeCount--;
+                continue;
+            }
+            if (i > 0 && n.entries.length == 0 && n.childCount == 1) {
+                // Undo the split of the edge; the child's best suggestions already exclude the removed one
+                Node child = n.children[0];
+                child.label = n.label + child.label;
+                path.get(i - 1).replaceChild(n, child);
+                nodeCount--;
+                continue;
+            }
+            if (contains(n.top, suggestion)) {
+                n.top = recomputeTop(n);
+            }
+        }
+    }
+
+    /**
+     * Finds the best suggestions whose key starts with a query. The query is
+     * normalised on the fly like a key, except that a trailing separator is
+     * kept, so "max " does not match "maxi". Allocates nothing.
+     *
+     * @param query The text typed by the user.
+     * @return The best suggestions, best first; shared and must not be modified.
+     */
+    Suggestion[] find(String query) {
+        Node node = root;
+        int at = 0;
+        boolean pendingSeparator = false;
+        boolean started = false;
+
+        for (int i = 0; i < query.length(); i++) {
+            char c = query.charAt(i);
+            String folded = c < 0x80 ? null : NameUtils.fold(c);
+            int length = folded == null ? 1 : folded.length();
+
+            for (int f = 0; f < length; f++) {
+                char k = folded == null ? c : folded.charAt(f);
+                if (k >= 'A' && k <= 'Z') {
+                    k = (char) (k + ('a' - 'A'));
+                }
+                if (!Character.isLetterOrDigit(k)) {
+                    pendingSeparator = started;
+                    continue;
+                }
+
+                if (pendingSeparator) {
+                    pendingSeparator = false;
+                    if (at < node.label.length()) {
+                        if (node.label.charAt(at) != SEPARATOR) {
+                            return NONE;
+                        }
+                        at++;
+                    } else {
+                        int index = node.childIndex(SEPARATOR);
+                        if (index < 0) {
+                            return NONE;
+                        }
+                        node = node.children[index];
+                        at = 1;
+                    }
+                }
+
+                if (at < node.label.length()) {
+                    if (node.label.charAt(at) != k) {
+                        return NONE;
+                    }
+                    at++;
+                } else {
+                    int index = node.childIndex(k);
+                    if (index < 0) {
+                        return NONE;
+                    }
+                    node = node.children[index];
+                    at = 1;
+                }
+                started = true;
+            }
+        }
+
+        if (pendingSeparator) {
+            if (at < node.label.length()) {
+                return node.label.charAt(at) == SEPARATOR ? node.top : NONE;
+            }
+            int index = node.childIndex(SEPARATOR);
+            return index < 0 ? NONE : node.children[index].top;
+        }
+        return started ? node.top : NONE;
+    }
+
+    /**
+     * Gets the number of nodes.
+     *
+     * @return The number of nodes, including the root.
+     */
+    int nodeCount() {
+        return nodeCount;
+    }
+
+    /**
+     * Computes the length of the common prefix of an edge label and the rest of a key.
+     *
+     * @param label The edge label.
+     * @param key   The key.
+     * @param at    The position in {@code key} where the edge starts.
+     * @return The number of equal characters.
+     */
+    private static int commonPrefix(String label, String key, int at) {
+        int max = Math.min(label.length(), key.length() - at);
+        int i = 0;
+        while (i < max && label.charAt(i) == key.charAt(at + i)) {
+            i++;
+        }
+        return i;
+    }
+
+    /**
+     * Inserts a suggestion into a best-first array if it is among the best
+     * {@code topSize} and not yet present.
+     *
+     * @param top        The current array.
+     * @param suggestion The suggestion.
+     * @return A new array, or {@code top} if it is unchanged.
+     */
+    private Suggestion[] insertTop(Suggestion[] top, Suggestion suggestion) {
+        if (contains(top, suggestion)) {
+            return top;
+        }
+        int at = 0;
+        while (at < top.length && RANKING.compare(top[at], suggestion) <= 0) {
+            at++;
+        }
+        if (at >= topSize) {
+            return top;
+        }
+
+        Suggestion[] updated = new Suggestion[Math.min(top.length + 1, topSize)];
+        System.arraycopy(top, 0, updated, 0, at);
+        updated[at] = suggestion;
+        System.arraycopy(top, at, updated, at + 1, updated.length - at - 1);
+        return updated;
+    }
+
+    /**
+     * Recomputes the best suggestions of a node from its own entries and the
+     * best suggestions of its children.
+     *
+     * @param node The node.
+     * @return The new best-first array.
+     */
+    private Suggestion[] recomputeTop(Node node) {
+        Suggestion[] top = NONE;
+        for (Suggestion suggestion : node.entries) {
+            top = insertTop(top, suggestion);
+        }
+        for (int i = 0; i < node.childCount; i++) {
+            for (Suggestion suggestion : node.children[i].top) {
+                top = insertTop(top, suggestion);
+            }
+        }
+        return top;
+    }
+
+    /**
+     * Checks if an array contains a suggestion.
+     *
+     * @param suggestions The array.
+     * @param suggestion  The suggestion, compared by identity.
+     * @return {@code true} if it is in the array.
+     */
+    private static boolean contains(Suggestion[] suggestions, Suggestion suggestion) {
+        for (Suggestion s : suggestions) {
+            if (s == suggestion) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Appends a suggestion to an array.
+     *
+     * @param suggestions The array.
+     * @param suggestion  The suggestion.
+     * @return A new array.
+     */
+    private static Suggestion[] append(Suggestion[] suggestions, Suggestion suggestion) {
+        Suggestion[] appended = Arrays.copyOf(suggestions, suggestions.length + 1);
+        appended[suggestions.length] = suggestion;
+        return appended;
+    }
+
+    /**
+     * Removes a suggestion from an array.
+     *
+     * @param suggestions The array.
+     * @param suggestion  The suggestion, compared by identity.
+     * @return A new array, or {@code suggestions} if it does not contain the suggestion.
+     */
+    private static Suggestion[] without(Suggestion[] suggestions, Suggestion suggestion) {
+        for (int i = 0; i < suggestions.length; i++) {
+            if (suggestions[i] == suggestion) {
+                Suggestion[] remaining = new Suggestion[suggestions.length - 1];
+                System.arraycopy(suggestions, 0, remaining, 0, i);
+                System.arraycopy(suggestions, i + 1, remaining, i, remaining.length - i);
+                return remaining;
+            }
+        }
+        return suggestions;
+    }
+
+    /**
+     * A node and the label of the edge leading to it; children are kept
+     * sorted by the first character of their label.
+     */
+    private static final class Node {
+        private String label;
+        private char[] firstChars = new char[0];
+        private Node[] children = new Node[0];
+        private int childCount;
+        /** The suggestions whose key ends at this node. */
+        private Suggestion[] entries = NONE;
+        /** The best suggestions of this node and all nodes below it, best first. */
+        private Suggestion[] top = NONE;
+
+        private Node(String label) {
+            this.label = label;
+        }
+
+        /**
+         * Finds the child whose label starts with a character.
+         *
+         * @param c The character.
+         * @return The index of the child, or {@code -(insertion point) - 1} if there is none.
+         */
+        private int childIndex(char c) {
+            return Arrays.binarySearch(firstChars, 0, childCount, c);
+        }
+
+        /**
+         * Inserts a child.
+         *
+         * @param index The position to insert the child at.
+         * @param child The child.
+         */
+        private void addChild(int index, Node child) {
+            if (childCount == children.length) {
+                int capacity = Math.max(2, childCount * 2);
+                firstChars = Arrays.copyOf(firstChars, capacity);
+                children = Arrays.copyOf(children, capacity);
+            }
+            System.arraycopy(firstChars, index, firstChars, index + 1, childCount - index);
+            System.arraycopy(children, index, children, index + 1, childCount - index);
+            firstChars[index] = child.label.charAt(0);
+            children[index] = child;
+            childCount++;
+        }
+
+        /**
+         * Replaces a child by a node whose label starts with the same character.
+         *
+         * @param child       The child.
+         * @param replacement The node taking its place.
+         */
+        private void replaceChild(Node child, Node replacement) {
+            int index = childIndex(child.label.charAt(0));
+            if (index >= 0 && children[index] == child) {
+                children[index] = replacement;
+            }
+        }
+
+        /**
+         * Removes a child.
+         *
+         * @param child The child.
+         */
+        private void removeChild(Node child) {
+            int index = childIndex(child.label.charAt(0));
+            if (index >= 0 && children[index] == child) {
+                System.arraycopy(firstChars, index + 1, firstChars, index, childCount - index - 1);
+                System.arraycopy(children, index + 1, children, index, childCount - index - 1);
+                children[--childCount] = null;
+            }
+        }
+    }
+}
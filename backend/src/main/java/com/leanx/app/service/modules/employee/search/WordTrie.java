@@ -0,0 +1,180 @@
+package com.leanx.app.service.modules.employee.search;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Trie of words that finds all words within a given Levenshtein distance of a
+ * query word. The search walks the trie like a Levenshtein automaton: every
+ * node computes one row of the edit distance matrix from its parent's row,
+ * and a subtree is skipped as soon as no entry of the row is within the
+ * distance, so only prefixes that can still lead to a match are visited.
+ * <p>
+ * Words can only be added; callers track separately which words are still in
+ * use and rebuild the trie to drop the others. The trie is not thread-safe.
+ */
+final class WordTrie {
+
+    private final Node root = new Node();
+    private int size;
+    private int maxLength;
+
+    /**
+     * Adds a word unless it is already in the trie.
+     *
+     * @param word The word.
+     * @return {@code true} if the word was added.
+     */
+    boolean add(String word) {
+        Node node = root;
+        for (int i = 0; i < word.length(); i++) {
+            node = node.childOrAdd(word.charAt(i));
+        }
+        if (node.word != null) {
+            return false;
+        }
+        node.word = word;
+        size++;
+        maxLength = Math.max(maxLength, word.length());
+        return true;
+    }
+
+    /**
+     * Collects all words within a maximum distance of a query word.
+     *
+     * @param word        The query word.
+     * @param maxDistance The maximum number of inserted, deleted or replaced characters.
+     * @param matches     The list to add the matching words to.
+     */
+    void search(String word, int maxDistance, List<String> matches) {
+        int[][] rows = new int[maxLength + 1][word.length() + 1];
+        for (int j = 0; j <= word.length(); j++) {
+            rows[0][j] = j;
+        }
+        for (int i = 0; i < root.childCount; i++) {
+            walk(root.children[i], root.keys[i], 1, word, maxDistance, rows, matches);
+        }
+    }
+
+    /**
+     * Computes the row of a node and continues with its children while the
+     * row is within the maximum distance.
+     *
+     * @param node        The node.
+     * @param key         The character that leads to the node.
+     * @param depth       The length of the node's prefix.
+     * @param word        The query word.
+     * @param maxDistance The maximum distance.
+     * @param rows        The rows of the nodes on the current path, by depth.
+     * @param matches     The list to add the matching words to.
+     */
+    private static void walk(Node node, char key, int depth, String word, int maxDistance, int[][] rows, List<String> matches) {
+        int[] previous = rows[depth - 1];
+        int[] row = rows[depth];
+        row[0] = depth;
+        int rowMin = depth;
+        for (int j = 1; j < row.length; j++) {
+            int replace = previous[j - 1] + (key == word.charAt(j - 1) ? 0 : 1);
+            row[j] = Math.min(replace, Math.min(previous[j], row[j - 1]) + 1);
+            rowMin = Math.min(rowMin, row[j]);
+        }
+
+        if (node.word != null && row[row.length - 1] <= maxDistance) {
+            matches.add(node.word);
+        }
+        if (rowMin <= maxDistance) {
+            for (int i = 0; i < node.childCount; i++) {
+                walk(node.children[i], node.keys[i], depth + 1, word, maxDistance, rows, matches);
+            }
+        }
+    }
+
+    /**
+     * Gets the number of words.
+     *
+     * @return The number of words added to the trie.
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Computes the Levenshtein distance between a region of a text and a word,
+     * giving up as soon as it exceeds a maximum.
+     *
+     * @param text The text.
+     * @param from The start of the region in {@code text}.
+     * @param to   The end of the region in {@code text} (exclusive).
+     * @param word The word to compare with.
+     * @param max  The maximum distance of interest.
+     * @return The distance, or {@code max + 1} if it is larger than {@code max}.
+     */
+    static int distance(CharSequence text, int from, int to, CharSequence word, int max) {
+        int length = to - from;
+        int wordLength = word.length();
+        if (Math.abs(length - wordLength) > max) {
+            return max + 1;
+        }
+
+        int[] previous = new int[wordLength + 1];
+        int[] current = new int[wordLength + 1];
+        for (int j = 0; j <= wordLength; j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= length; i++) {
+            char c = text.charAt(from + i - 1);
+            current[0] = i;
+            int rowMin = i;
+            for (int j = 1; j <= wordLength; j++) {
+                int replace = previous[j - 1] + (c == word.charAt(j - 1) ? 0 : 1);
+                current[j] = Math.min(replace, Math.min(previous[j], current[j - 1]) + 1);
+                rowMin = Math.min(rowMin, current[j]);
+            }
+            if (rowMin > max) {
+                return max + 1;
+            }
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+        return Math.min(previous[wordLength], max + 1);
+    }
+
+    /**
+     * A prefix; its children are kept sorted by their character.
+     */
+    private static final class Node {
+        private char[] keys = new char[0];
+        private Node[] children = new Node[0];
+        private int childCount;
+        /** The word that ends here, or {@code null}. */
+        private String word;
+
+        /**
+         * Gets the child for a character, adding it if it is missing.
+         *
+         * @param key The character.
+         * @return The child.
+         */
+        private Node childOrAdd(char key) {
+            int at = Arrays.binarySearch(keys, 0, childCount, key);
+            if (at >= 0) {
+                return children[at];
+            }
+
+            at = -at - 1;
+            if (childCount == keys.length) {
+                int capacity = Math.max(2, childCount * 2);
+                keys = Arrays.copyOf(keys, capacity);
+                children = Arrays.copyOf(children, capacity);
+            }
+            System.arraycopy(keys, at, keys, at + 1, childCount - at);
+            System.arraycopy(children, at, children, at + 1, childCount - at);
+            Node child = new Node();
+            keys[at] = key;
+            children[at] = child;
+            childCount++;
+            return child;
+        }
+    }
+}
@@ -0,0 +1,176 @@
+package com.leanx.app.service.modules.employee.self;
+
+import java.sql.SQLException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import com.leanx.app.model.dto.EmployeeProfile;
+import com.leanx.app.utils.EnvironmentUtils;
+
+/**
+ * Shared, per-user cache of {@link EmployeeProfile}s. The profile page is
+ * loaded on every navigation but changes rarely, so profiles are kept until
+ * they expire ({@code PROFILE_CACHE_TTL_MS}, default 60 seconds) or are
+ * invalidated because the employee, their manager or the user's employee link
+ * changed. Invalidation only reaches the cache of the node that made the
+ * change: other backend nodes keep serving their copy until it expires, so the
+ * TTL is the window in which a profile can be stale there. The default matches
+ * the entity cache ({@code ENTITY_CACHE_TTL_MS}). At most
+ * {@code PROFILE_CACHE_MAX_ENTRIES} (default 10000) profiles are cached; the
+ * least recently used one is dropped when the limit is exceeded.
+ * <p>
+ * Cached profiles are shared between requests and must not be modified.
+ */
+public final class EmployeeProfileCache {
+
+    private static final Logger logger = Logger.getLogger(EmployeeProfileCache.class.getName());
+
+    private static final long TTL_MILLIS = EnvironmentUtils.getLong("PROFILE_CACHE_TTL_MS", 60 * 1000L);
+    private static final int MAX_ENTRIES = Math.max(1, EnvironmentUtils.getInt("PROFILE_CACHE_MAX_ENTRIES", 10000));
+
+    /** The profiles by user ID, least recently used first; accessed only while synchronized on the map. */
+    private static final Map<Integer, Entry> ENTRIES = new LinkedHashMap<>(16, 0.75f, true);
+    private static final AtomicLong GENERATION = new AtomicLong();
+    private static final AtomicLong HITS = new AtomicLong();
+    private static final AtomicLong MISSES = new AtomicLong();
+
+    private EmployeeProfileCache() {
+    }
+
+    /**
+     * Loads the profile of a user.
+     */
+    @FunctionalInterface
+    public interface Loader {
+
+        /**
+         * Loads the profile.
+         *
+         * @return The profile, or {@code null} if the user is not linked to an employee.
+         * @throws SQLException If the query fails.
+         */
+        EmployeeProfile load() throws SQLException;
+    }
+
+    /**
+     * Returns the cached profile of a user, loading it if it is missing or expired.
+     * A missing profile ({@code null}) is not cached.
+     *
+     * @param userId The ID of the user.
+     * @param loader Loads the profile if it is not cached.
+     * @return The profile, or {@code null} if the user is not linked to an employee.
+     * @throws SQLException If the profile had to be loaded and loading failed.
+     */
+    public static EmployeeProfile get(int userId, Loader loader) throws SQLException {
+        long now = System.currentTimeMillis();
+        synchronized (ENTRIES) {
+            Entry entry = ENTRIES.get(userId);
+            if (entry != null && entry.expiresAt > now) {
+                HITS.incrementAndGet();
+                return entry.profile;
+            }
+            if (entry != null) {
+                ENTRIES.remove(userId);
+            }
+        }
+
+        MISSES.incrementAndGet();
+        long generation = GENERATION.get();
+        EmployeeProfile profile = loader.load();
+        if (profile == null || TTL_MILLIS <= 0) {
+            return profile;
+        }
+
+        synchronized (ENTRIES) {
+            // Skip the profile if an invalidation ran while it was loaded, as it may already be outdated
+            if (GENERATION.get() == generation) {
+                ENTRIES.put(userId, new Entry(profile, now + TTL_MILLIS));
+                evictOverflow();
+            }
+        }
+        return profile;
+    }
+
+    /**
+     * Drops the cached profiles that show an employee, either as the profile's
+     * employee or as their manager. Called after the employee record changed.
+     *
+     * @param employeeId The ID of the changed employee.
+     */
+    public static void invalidateEmployee(int employeeId) {
+        synchronized (ENTRIES) {
+            GENERATION.incrementAndGet();
+            ENTRIES.values().removeIf(entry -> entry.profile.getId() == employeeId
+                || (entry.profile.getManagerId() != null && entry.profile.getManagerId() == employeeId));
+        }
+        logger.log(Level.FINE, "Invalidated cached profiles of employee {0}", employeeId);
+    }
+
+    /**
+     * Drops the cached profile of a user. Called after the user's employee link changed.
+     *
+     * @param userId The ID of the user.
+     */
+    public static void invalidateUser(int userId) {
+        synchronized (ENTRIES) {
+            GENERATION.incrementAndGet();
+            ENTRIES.remove(userId);
+        }
+    }
+
+    /**
+     * Drops all cached profiles.
+     */
+    public static void invalidateAll() {
+        synchronized (ENTRIES) {
+            GENERATION.incrementAndGet();
+            ENTRIES.clear();
+        }
+    }
+
+    /**
+     * Returns cache statistics.
+     *
+     * @return A map with the keys {@code entries}, {@code hits} and {@code misses}.
+     */
+    public static Map<String, Long> getStats() {
+        int entries;
+        synchronized (ENTRIES) {
+            entries = ENTRIES.size();
+        }
+        return Map.of(
+            "entries", (long) entries,
+            "hits", HITS.get(),
+            "misses", MISSES.get()
+        );
+    }
+
+    /**
+     * Removes the least recently used entry if the entry limit is exceeded.
+     * Must be called while holding the lock of {@link #ENTRIES}, after adding one entry.
+     */
+    private static void evictOverflow() {
+        if (ENTRIES.size() > MAX_ENTRIES) {
+            Iterator<Entry> eldest = ENTRIES.values().iterator();
+            eldest.next();
+            eldest.remove();
+        }
+    }
+
+    /**
+     * A cached profile.
+     */
+    private static final class Entry {
+        private final EmployeeProfile profile;
+        private final long expiresAt;
+
+        private Entry(EmployeeProfile profile, long expiresAt) {
+            this.profile = profile;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
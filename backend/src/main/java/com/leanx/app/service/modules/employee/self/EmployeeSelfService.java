@@ -1,12 +1,10 @@
 package com.leanx.app.service.modules.employee.self;
 
 import java.sql.SQLException;
-import java.util.List;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
 import com.leanx.app.model.dto.EmployeeProfile;
-import com.leanx.app.model.entity.Employee;
 import com.leanx.app.repository.EmployeeRepository;
 import com.leanx.app.repository.UserEmployeeLinkRepository;
 import com.leanx.app.service.modules.user.admin.UserService;
@@ -42,35 +40,19 @@ public class EmployeeSelfService {
     }
 
     /**
-     * Retrieves the personal employee profile information for the user with the given ID.
-     * This method fetches the employee details and their manager's name to construct
-     * an {@link EmployeeProfile} DTO.
+     * Retrieves the personal employee profile for the user with the given ID.
+     * The employee details and their manager's name are read with one joined
+     * query and kept in the {@link EmployeeProfileCache}, so repeated requests
+     * of the profile page do not touch the database.
      *
      * @param userId The ID of the user whose employee profile is to be retrieved.
-     * @return An {@link EmployeeProfile} object containing the employee's personal information.
-     * @throws SQLException If a database access error occurs while fetching the employee
-     * details or the manager's name.
+     * @return An {@link EmployeeProfile} object containing the employee's personal information,
+     * or {@code null} if the user is not linked to an employee.
+     * @throws SQLException If a database access error occurs while fetching the profile.
      */
     public EmployeeProfile getPersonalEmployeeProfile(Integer userId) throws SQLException {
         try {
-            Employee employee = employeeRepository.read(getEmployeeId(userId));
-            List<String> managerName = employeeRepository.findNameById(employee.getManagerId());
-
-            EmployeeProfile employeeProfile = new EmployeeProfile(
-                employee.getId(),
-                employee.getFirstName(),
-                employee.getLastName(),
-                employee.getEmail(),
-                managerName.get(0),
-                managerName.get(1),
-                employee.getJobTitle(),
-                employee.getDepartment(),
-                employee.getEmploymentType(),
-                employee.getEmploymentStatus(),
-                employee.getStartDate()
-            );
-
-            return employeeProfile;
+            return EmployeeProfileCache.get(userId, () -> employeeRepository.findProfileByUserId(userId));
         } catch (SQLException e) {
             logger.log(Level.SEVERE, "Failed to get employee profile for user with ID: " + userId, e);
             throw e;
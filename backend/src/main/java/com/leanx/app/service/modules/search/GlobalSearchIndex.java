@@ -0,0 +1,711 @@
+package com.leanx.app.service.modules.search;
+
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import com.leanx.app.model.dto.SearchHit;
+import com.leanx.app.model.dto.SearchHit.HitType;
+import com.leanx.app.model.dto.SearchResults;
+import com.leanx.app.model.entity.Employee;
+import com.leanx.app.model.entity.Role;
+import com.leanx.app.model.entity.User;
+import com.leanx.app.repository.EmployeeRepository;
+import com.leanx.app.repository.RoleRepository;
+import com.leanx.app.repository.UserRepository;
+import com.leanx.app.repository.base.KeysetPaginator;
+import com.leanx.app.utils.EnvironmentUtils;
+import com.leanx.app.utils.NameUtils;
+import com.leanx.app.utils.database.PollingRefresher;
+
+/**
+ * In-memory inverted index over employees, user accounts and roles, used by
+ * the admin console to find a record of any type with one request.
+ * <p>
+ * The searchable fields of every record are folded with
+ * {@link NameUtils#fold(String)} and split into words at characters other
+ * than letters and digits; the index maps every word to the sorted slots of
+ * the records containing it. The words are kept in a sorted map, so a query
+ * term matches all words it is a prefix of by reading one range of the map.
+ * All terms of a query must match. The term with the fewest candidates is
+ * looked up in the index, and the candidates are verified and scored against
+ * the other terms: a whole word in the title (name, username, role name)
+ * scores highest, then a prefix of a title word, a whole word in the other
+ * fields (email, job title, department, user type, role description) and a
+ * prefix of such a word.
+ * <p>
+ * Results are typed and faceted: besides the best hits, a search counts the
+ * matches per record type, department and status. The filters on these facets
+ * are combined with AND, and every facet is counted with the filters of the
+ * other facets only, so the counts tell how many matches selecting another
+ * value would yield.
+ * <p>
+ * The index is not updated by the services. Instead, when it is used and the
+ * last check is older than {@code GLOBAL_SEARCH_POLL_INTERVAL_MS} (default 10
+ * seconds), one request reads the rows whose {@code last_updated_at} (or
+ * {@code created_at} for users) is at or after the newest change seen so far
+ * and applies them, while the others keep using the current index. Records
+ * deleted from the database are dropped by a full reload when the index is
+ * older than {@code GLOBAL_SEARCH_MAX_AGE_MS} (default 30 minutes).
+ */
+public final class GlobalSearchIndex {
+
+    private static final Logger logger = Logger.getLogger(GlobalSearchIndex.class.getName());
+
+    private static final long POLL_INTERVAL_MILLIS = EnvironmentUtils.getLong("GLOBAL_SEARCH_POLL_INTERVAL_MS", 10 * 1000L);
+    private static final long MAX_AGE_MILLIS = EnvironmentUtils.getLong("GLOBAL_SEARCH_MAX_AGE_MS", 30 * 60 * 1000L);
+
+    /**
+     * Number of hits returned if no limit is requested.
+     */
+    public static final int DEFAULT_LIMIT = 20;
+
+    /** Name of the facet that counts the matches per record type. */
+    public static final String TYPE_FACET = "type";
+
+    /** Name of the facet that counts the matching employees per department. */
+    public static final String DEPARTMENT_FACET = "department";
+
+    /** Name of the facet that counts the matching employees and users per status. */
+    public static final String STATUS_FACET = "status";
+
+    private static final int TITLE_WORD_SCORE = 8;
+    private static final int TITLE_PREFIX_SCORE = 4;
+    private static final int WORD_SCORE = 2;
+    private static final int PREFIX_SCORE = 1;
+
+    private static final GlobalSearchIndex INSTANCE = new GlobalSearchIndex(new EmployeeRepository(), new UserRepository(),
+        new RoleRepository());
+
+    private final EmployeeRepository employeeRepository;
+    private final UserRepository userRepository;
+    private final RoleRepository roleRepository;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final PollingRefresher refresher = new PollingRefresher("global search index", POLL_INTERVAL_MILLIS,
+        MAX_AGE_MILLIS, this::reload, this::poll);
+
+    private Index index;
+
+    private GlobalSearchIndex(EmployeeRepository employeeRepository, UserRepository userRepository, RoleRepository roleRepository) {
+        this.employeeRepository = employeeRepository;
+        this.userRepository = userRepository;
+        this.roleRepository = roleRepository;
+    }
+
+    /**
+     * Gets the shared index.
+     *
+     * @return The application-wide global search index.
+     */
+    public static GlobalSearchIndex getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Searches employees, users and roles.
+     *
+     * @param query      The search text; every word must be the prefix of a word of the record.
+     * @param types      The record types to return, or {@code null} or empty for all types.
+     * @param department The department employees must belong to, or {@code null} for any;
+     *                   compared case-insensitively. Users and roles have no department.
+     * @param status     The employment or user status records must have, or {@code null} for any;
+     *                   compared case-insensitively. Roles have no status.
+     * @param limit      The maximum number of hits (1 to {@link KeysetPaginator#MAX_LIMIT}).
+     * @return The best hits, the total number of matches and the facet counts.
+     * Empty if the query has no letters or digits.
+     * @throws IllegalArgumentException If {@code query} is null or {@code limit} is out of range.
+     * @throws SQLException             If the index had to be loaded and a database access error occurred.
+     */
+    public SearchResults search(String query, Set<HitType> types, String department, String status, int limit)
+            throws IllegalArgumentException, SQLException {
+        if (query == null) {
+            throw new IllegalArgumentException("Illegal argument: query cannot be null!");
+        }
+        if (limit < 1 || limit > KeysetPaginator.MAX_LIMIT) {
+            throw new IllegalArgumentException("Invalid limit: limit must be between 1 and " + KeysetPaginator.MAX_LIMIT + ".");
+        }
+
+        Filter filter = new Filter(types == null || types.isEmpty() ? null : types, department, status);
+        String[] terms = words(query);
+        if (terms.length == 0) {
+            return new Search(filter).results(limit);
+        }
+
+        refresher.ensureFresh();
+        lock.readLock().lock();
+        try {
+            return index.search(terms, filter, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns index statistics.
+     *
+     * @return A map with the keys {@code employees}, {@code users}, {@code roles},
+     * {@code words}, {@code loadedAt}, {@code polledAt} and {@code polledChanges}.
+     */
+    public Map<String, Object> getStats() {
+        lock.readLock().lock();
+        try {
+            Map<String, Object> stats = new LinkedHashMap<>();
+            for (HitType type : HitType.values()) {
+                stats.put(type.name().toLowerCase() + "s", index == null ? 0 : index.counts.getOrDefault(type, 0));
+            }
+            stats.put("words", index == null ? 0 : index.postings.size());
+            stats.put("loadedAt", refresher.getLoadedAt());
+            stats.put("polledAt", refresher.getPolledAt());
+            stats.put("polledChanges", refresher.getPolledChanges());
+            return stats;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Builds a new index from the database and swaps it in. Called by the
+     * {@link PollingRefresher}.
+     *
+     * @param startedAt The time the load started, in milliseconds.
+     * @throws SQLException If a database access error occurs while loading the records.
+     */
+    private void reload(long startedAt) throws SQLException {
+        Index loaded = new Index();
+        employeeRepository.streamChangedSince(null, loaded::putEmployee);
+        userRepository.streamChangedSince(null, loaded::putUser);
+        roleRepository.streamChangedSince(null, loaded::putRole);
+
+        lock.writeLock().lock();
+        try {
+            index = loaded;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        logger.log(Level.INFO, "Loaded global search index with {0} records and {1} words",
+            new Object[]{loaded.slotByKey.size(), loaded.postings.size()});
+    }
+
+    /**
+     * Reads the records changed since the newest change seen and applies them
+     * to the index. Called by the {@link PollingRefresher}.
+     *
+     * @param startedAt The time the poll started, in milliseconds.
+     * @return The number of changed records applied.
+     * @throws SQLException If a database access error occurs while reading the changes.
+     */
+    private int poll(long startedAt) throws SQLException {
+        Timestamp employeesSince;
+        Timestamp usersSince;
+        Timestamp rolesSince;
+        lock.readLock().lock();
+        try {
+            employeesSince = PollingRefresher.pollStart(index.watermarks.getOrDefault(HitType.EMPLOYEE, 0L));
+            usersSince = PollingRefresher.pollStart(index.watermarks.getOrDefault(HitType.USER, 0L));
+            rolesSince = PollingRefresher.pollStart(index.watermarks.getOrDefault(HitType.ROLE, 0L));
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        List<Employee> employees = new ArrayList<>();
+        List<User> users = new ArrayList<>();
+        List<Role> roles = new ArrayList<>();
+        employeeRepository.streamChangedSince(employeesSince, employees::add);
+        userRepository.streamChangedSince(usersSince, users::add);
+        roleRepository.streamChangedSince(rolesSince, roles::add);
+
+        lock.writeLock().lock();
+        try {
+            employees.forEach(index::putEmployee);
+            users.forEach(index::putUser);
+            roles.forEach(index::putRole);
+        } finally {
+            lock.writeLock().unlock();
+        }
+        return employees.size() + users.size() + roles.size();
+    }
+
+    /**
+     * Folds text and splits it into words at characters other than letters and digits.
+     *
+     * @param text The text; {@code null} is treated as empty.
+     * @return The words, in order, without duplicates.
+     */
+    static String[] words(String text) {
+        String folded = NameUtils.fold(text);
+        Set<String> words = new LinkedHashSet<>();
+        int start = -1;
+        for (int i = 0; i <= folded.length(); i++) {
+            boolean letter = i < folded.length() && Character.isLetterOrDigit(folded.charAt(i));
+            if (letter && start < 0) {
+                start = i;
+            } else if (!letter && start >= 0) {
+                words.add(folded.substring(start, i));
+                start = -1;
+            }
+        }
+        return words.toArray(new String[0]);
+    }
+
+    /**
+     * Joins the non-empty parts of a text.
+     *
+     * @param separator The separator between the parts.
+     * @param parts     The parts, some of which may be {@code null} or blank.
+     * @return The trimmed parts joined by the separator, or {@code null} if all are empty.
+     */
+    private static String join(String separator, String... parts) {
+        StringBuilder joined = new StringBuilder();
+        for (String part : parts) {
+            if (part != null && !part.isBlank()) {
+                if (joined.length() > 0) {
+                    joined.append(separator);
+                }
+                joined.append(part.trim());
+            }
+        }
+        return joined.length() > 0 ? joined.toString() : null;
+    }
+
+    /**
+     * The facet filters of a search.
+     */
+    private static final class Filter {
+        private final Set<HitType> types;
+        private final String department;
+        private final String status;
+
+        private Filter(Set<HitType> types, String department, String status) {
+            this.types = types;
+            this.department = department;
+            this.status = status;
+        }
+    }
+
+    /**
+     * One searchable record.
+     */
+    private static final class Document {
+        private final SearchHit hit;
+        private final String[] titleWords;
+        private final String[] otherWords;
+        /** The folded title, used to order hits of equal score. */
+        private final String sortKey;
+
+        private Document(SearchHit hit, String[] titleWords, String[] otherWords) {
+            this.hit = hit;
+            this.titleWords = titleWords;
+            this.otherWords = otherWords;
+            this.sortKey = NameUtils.fold(hit.getTitle());
+        }
+
+        /**
+         * Creates the document of an employee.
+         *
+         * @param employee The employee.
+         * @return The document.
+         */
+        private static Document of(Employee employee) {
+            String name = join(" ", employee.getFirstName(), employee.getLastName());
+            String title = name != null ? name : "";
+            return new Document(
+                new SearchHit(HitType.EMPLOYEE, employee.getId(), title,
+                    join(", ", employee.getJobTitle(), employee.getEmail()), employee.getDepartment(),
+                    employee.getEmploymentStatus() != null ? employee.getEmploymentStatus().name() : null),
+                words(title),
+                words(join(" ", employee.getEmail(), employee.getJobTitle(), employee.getDepartment())));
+        }
+
+        /**
+         * Creates the document of a user account.
+         *
+         * @param user The user.
+         * @return The document.
+         */
+        private static Document of(User user) {
+            String type = user.getType() != null ? user.getType().name() : null;
+            return new Document(
+                new SearchHit(HitType.USER, user.getId(), user.getName(), type, null,
+                    user.getStatus() != null ? user.getStatus().name() : null),
+                words(user.getName()),
+                words(type));
+        }
+
+        /**
+         * Creates the document of a role.
+         *
+         * @param role The role.
+         * @return The document.
+         */
+        private static Document of(Role role) {
+            return new Document(
+                new SearchHit(HitType.ROLE, role.getId(), role.getName(), role.getDescription(), null, null),
+                words(role.getName()),
+                words(role.getDescription()));
+        }
+
+        /**
+         * Scores how well a query term matches the document.
+         *
+         * @param term The folded query term.
+         * @return The score of the best matching word, or {@code 0} if no word starts with the term.
+         */
+        private int score(String term) {
+            int best = score(titleWords, term, TITLE_WORD_SCORE, TITLE_PREFIX_SCORE);
+            if (best == TITLE_WORD_SCORE) {
+                return best;
+            }
+            return Math.max(best, score(otherWords, term, WORD_SCORE, PREFIX_SCORE));
+        }
+
+        /**
+         * Scores how well a query term matches a list of words.
+         *
+         * @param words       The words.
+         * @param term        The folded query term.
+         * @param wordScore   The score if a word equals the term.
+         * @param prefixScore The score if a word starts with the term.
+         * @return The score of the best matching word, or {@code 0} if none matches.
+         */
+        private static int score(String[] words, String term, int wordScore, int prefixScore) {
+            int best = 0;
+            for (String word : words) {
+                if (word.startsWith(term)) {
+                    if (word.length() == term.length()) {
+                        return wordScore;
+                    }
+                    best = prefixScore;
+                }
+            }
+            return best;
+        }
+    }
+
+    /**
+     * Sorted, growable list of the slots of the documents that contain one word.
+     */
+    private static final class Postings {
+        private int[] slots = new int[2];
+        private int size;
+
+        /**
+         * Adds a slot, keeping the list sorted.
+         *
+         * @param slot The document slot.
+         */
+        private void add(int slot) {
+            int at = Arrays.binarySearch(slots, 0, size, slot);
+            if (at >= 0) {
+                return;
+            }
+            at = -at - 1;
+            if (size == slots.length) {
+                slots = Arrays.copyOf(slots, size * 2);
+            }
+            System.arraycopy(slots, at, slots, at + 1, size - at);
+            slots[at] = slot;
+            size++;
+        }
+
+        /**
+         * Removes a slot.
+         *
+         * @param slot The document slot.
+         */
+        private void remove(int slot) {
+            int at = Arrays.binarySearch(slots, 0, size, slot);
+            if (at >= 0) {
+                System.arraycopy(slots, at + 1, slots, at, size - at - 1);
+                size--;
+            }
+        }
+    }
+
+    /**
+     * One version of the index: the documents, the postings of every word and
+     * the time of the newest change seen per record type. Records are only
+     * added or replaced; deleted records disappear with the next reload.
+     * Guarded by the lock of the enclosing index once it is in use.
+     */
+    private static final class Index {
+        private Document[] documents = new Document[1024];
+        private int slotCount;
+        private final Map<Long, Integer> slotByKey = new HashMap<>();
+        private final TreeMap<String, Postings> postings = new TreeMap<>();
+        private final Map<HitType, Integer> counts = new EnumMap<>(HitType.class);
+        private final Map<HitType, Long> watermarks = new EnumMap<>(HitType.class);
+
+        /**
+         * Adds or replaces an employee.
+         *
+         * @param employee The employee.
+         */
+        private void putEmployee(Employee employee) {
+            put(Document.of(employee), employee.getCreatedAt(), employee.getLastUpdatedAt());
+        }
+
+        /**
+         * Adds or replaces a user account.
+         *
+         * @param user The user.
+         */
+        private void putUser(User user) {
+            put(Document.of(user), user.getCreatedAt(), user.getLastUpdatedAt());
+        }
+
+        /**
+         * Adds or replaces a role.
+         *
+         * @param role The role.
+         */
+        private void putRole(Role role) {
+            put(Document.of(role), role.getCreatedAt(), role.getLastUpdatedAt());
+        }
+
+        /**
+         * Adds or replaces a document and advances the watermark of its type.
+         *
+         * @param document  The document.
+         * @param createdAt The creation time of the record, or {@code null}.
+         * @param updatedAt The last update time of the record, or {@code null}.
+         */
+        private void put(Document document, Timestamp createdAt, Timestamp updatedAt) {
+            HitType type = document.hit.getType();
+            long key = ((long) type.ordinal() << 32) | (document.hit.getId() & 0xFFFFFFFFL);
+            Integer existing = slotByKey.get(key);
+            int slot;
+            if (existing != null) {
+                slot = existing;
+                unlink(slot);
+            } else {
+                slot = slotCount++;
+                if (slot == documents.length) {
+                    documents = Arrays.copyOf(documents, slot * 2);
+                }
+                slotByKey.put(key, slot);
+                counts.merge(type, 1, Integer::sum);
+            }
+
+            documents[slot] = document;
+            for (String word : document.titleWords) {
+                postings.computeIfAbsent(word, w -> new Postings()).add(slot);
+            }
+            for (String word : document.otherWords) {
+                postings.computeIfAbsent(word, w -> new Postings()).add(slot);
+            }
+
+            for (Timestamp changedAt : new Timestamp[] { createdAt, updatedAt }) {
+                if (changedAt != null) {
+                    watermarks.merge(type, changedAt.getTime(), Math::max);
+                }
+            }
+        }
+
+        /**
+         * Removes the words of the document in a slot from the postings.
+         *
+         * @param slot The document slot.
+         */
+        private void unlink(int slot) {
+            Document document = documents[slot];
+            for (String[] words : new String[][] { document.titleWords, document.otherWords }) {
+                for (String word : words) {
+                    Postings list = postings.get(word);
+                    if (list != null) {
+                        list.remove(slot);
+                        if (list.size == 0) {
+                            postings.remove(word);
+                        }
+                    }
+                }
+            }
+            documents[slot] = null;
+        }
+
+        /**
+         * Finds the documents matching all terms and collects the hits and facets.
+         *
+         * @param terms  The folded query terms.
+         * @param filter The facet filters.
+         * @param limit  The maximum number of hits.
+         * @return The results.
+         */
+        private SearchResults search(String[] terms, Filter filter, int limit) {
+            // Look up the term with the fewest candidates, and verify the others on the candidates
+            Map<String, Postings> driver = null;
+            long driverSize = Long.MAX_VALUE;
+            for (String term : terms) {
+                Map<String, Postings> range = postings.subMap(term, true, term + Character.MAX_VALUE, false);
+                long size = 0;
+                for (Postings list : range.values()) {
+                    size += list.size;
+                }
+                if (size < driverSize) {
+                    driver = range;
+                    driverSize = size;
+                }
+            }
+
+            int[] candidates = new int[(int) Math.min(driverSize, Integer.MAX_VALUE - 8)];
+            int count = 0;
+            for (Postings list : driver.values()) {
+                System.arraycopy(list.slots, 0, candidates, count, list.size);
+                count += list.size;
+            }
+            Arrays.sort(candidates, 0, count);
+
+            Search search = new Search(filter);
+            int previous = -1;
+            for (int i = 0; i < count; i++) {
+                int slot = candidates[i];
+                if (slot == previous) {
+                    continue;
+                }
+                previous = slot;
+
+                Document document = documents[slot];
+                int score = 0;
+                for (String term : terms) {
+                    int termScore = document.score(term);
+                    if (termScore == 0) {
+                        score = 0;
+                        break;
+                    }
+                    score += termScore;
+                }
+                if (score > 0) {
+                    search.add(document, score, limit);
+                }
+            }
+            return search.results(limit);
+        }
+    }
+
+    /**
+     * Collects the hits and facet counts of one search.
+     */
+    private static final class Search {
+
+        /** Orders matches from the worst to the best: by score, then by title, type and ID, all descending. */
+        private static final Comparator<Match> WORST_FIRST = Comparator.comparingInt((Match m) -> m.score)
+            .thenComparing((Match m) -> m.document.sortKey, Comparator.reverseOrder())
+            .thenComparing((Match m) -> m.document.hit.getType(), Comparator.reverseOrder())
+            .thenComparing((Match m) -> m.document.hit.getId(), Comparator.reverseOrder());
+
+        private final Filter filter;
+        private final PriorityQueue<Match> best = new PriorityQueue<>(WORST_FIRST);
+        private final Map<String, Integer> typeCounts = new HashMap<>();
+        private final Map<String, Integer> departmentCounts = new HashMap<>();
+        private final Map<String, Integer> statusCounts = new HashMap<>();
+        private int total;
+
+        private Search(Filter filter) {
+            this.filter = filter;
+        }
+
+        /**
+         * Counts a matching document in the facets and keeps it if it passes
+         * all filters and is among the best.
+         *
+         * @param document The document.
+         * @param score    Its score.
+         * @param limit    The number of best documents to keep.
+         */
+        private void add(Document document, int score, int limit) {
+            SearchHit hit = document.hit;
+            boolean typeOk = filter.types == null || filter.types.contains(hit.getType());
+            boolean departmentOk = filter.department == null || filter.department.equalsIgnoreCase(hit.getDepartment());
+            boolean statusOk = filter.status == null || filter.status.equalsIgnoreCase(hit.getStatus());
+
+            if (departmentOk && statusOk) {
+                typeCounts.merge(hit.getType().name(), 1, Integer::sum);
+            }
+            if (typeOk && statusOk && hit.getDepartment() != null) {
+                departmentCounts.merge(hit.getDepartment(), 1, Integer::sum);
+            }
+            if (typeOk && departmentOk && hit.getStatus() != null) {
+                statusCounts.merge(hit.getStatus(), 1, Integer::sum);
+            }
+            if (!typeOk || !departmentOk || !statusOk) {
+                return;
+            }
+
+            total++;
+            Match match = new Match(document, score);
+            if (best.size() < limit) {
+                best.add(match);
+            } else if (WORST_FIRST.compare(match, best.peek()) > 0) {
+                best.poll();
+                best.add(match);
+            }
+        }
+
+        /**
+         * Builds the results.
+         *
+         * @param limit The maximum number of hits.
+         * @return The best hits, the total and the facets, each ordered by count, then by value.
+         */
+        private SearchResults results(int limit) {
+            List<Match> matches = new ArrayList<>(best);
+            matches.sort(WORST_FIRST.reversed());
+            List<SearchHit> hits = new ArrayList<>(Math.min(limit, matches.size()));
+            for (Match match : matches) {
+                hits.add(match.document.hit);
+            }
+
+            Map<String, Integer> types = new LinkedHashMap<>();
+            for (HitType type : HitType.values()) {
+                types.put(type.name(), typeCounts.getOrDefault(type.name(), 0));
+            }
+            Map<String, Map<String, Integer>> facets = new LinkedHashMap<>();
+            facets.put(TYPE_FACET, types);
+            facets.put(DEPARTMENT_FACET, byCount(departmentCounts));
+            facets.put(STATUS_FACET, byCount(statusCounts));
+            return new SearchResults(hits, total, facets);
+        }
+
+        /**
+         * Orders facet counts by count, then by value.
+         *
+         * @param counts The counts by value.
+         * @return The ordered counts.
+         */
+        private static Map<String, Integer> byCount(Map<String, Integer> counts) {
+            List<Map.Entry<String, Integer>> entries = new ArrayList<>(counts.entrySet());
+            entries.sort(Map.Entry.<String, Integer>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey()));
+            Map<String, Integer> ordered = new LinkedHashMap<>();
+            for (Map.Entry<String, Integer> entry : entries) {
+                ordered.put(entry.getKey(), entry.getValue());
+            }
+            return ordered;
+        }
+    }
+
+    /**
+     * A matching document and its score.
+     */
+    private static final class Match {
+        private final Document document;
+        private final int score;
+
+        private Match(Document document, int score) {
+            this.document = document;
+            this.score = score;
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.leanx.app.service.modules.search;
+
+import java.sql.SQLException;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import com.leanx.app.model.dto.SearchHit.HitType;
+import com.leanx.app.model.dto.SearchResults;
+
+/**
+ * Service class for the global search of the admin console, which finds
+ * employees, user accounts and roles with one request.
+ */
+public class GlobalSearchService {
+
+    private static final Logger logger = Logger.getLogger(GlobalSearchService.class.getName());
+
+    private final GlobalSearchIndex searchIndex = GlobalSearchIndex.getInstance();
+
+    /**
+     * Searches employees, users and roles. The search is case-insensitive and
+     * served from the in-memory {@link GlobalSearchIndex}: every word of the
+     * query must be the start of a word of the record.
+     *
+     * @param query      The search text.
+     * @param types      Comma-separated record types to return ({@code employee},
+     *                   {@code user}, {@code role}), or {@code null} or blank for all.
+     * @param department The department employees must belong to, or {@code null} or blank for any.
+     * @param status     The employment or user status records must have, or {@code null} or blank for any.
+     * @param limit      The maximum number of hits.
+     * @return The best hits, the total number of matches and the facet counts.
+     * @throws IllegalArgumentException If {@code query} is null, a type is unknown or {@code limit} is out of range.
+     * @throws SQLException             If the index had to be loaded and a database access error occurred.
+     */
+    public SearchResults search(String query, String types, String department, String status, int limit)
+            throws IllegalArgumentException, SQLException {
+        try {
+            return searchIndex.search(query, parseTypes(types), blankToNull(department), blankToNull(status), limit);
+        } catch (SQLException e) {
+            logger.log(Level.SEVERE, "Failed to access the database: {0}", e);
+            throw e;
+        }
+    }
+
+    /**
+     * Parses a comma-separated list of record types.
+     *
+     * @param types The types, case-insensitive, or {@code null} or blank for all.
+     * @return The types, or {@code null} for all.
+     * @throws IllegalArgumentException If a type is unknown.
+     */
+    private static Set<HitType> parseTypes(String types) throws IllegalArgumentException {
+        if (types == null || types.isBlank()) {
+            return null;
+        }
+
+        Set<HitType> parsed = EnumSet.noneOf(HitType.class);
+        for (String type : types.split(",")) {
+            if (type.isBlank()) {
+                continue;
+            }
+            HitType match = null;
+            for (HitType candidate : HitType.values()) {
+                if (candidate.name().equalsIgnoreCase(type.trim())) {
+                    match = candidate;
+                }
+            }
+            if (match == null) {
+                throw new IllegalArgumentException("Unsupported type: " + type.trim() + ". Expected 'employee', 'user' or 'role'.");
+            }
+            parsed.add(match);
+        }
+        return parsed;
+    }
+
+    /**
+     * Turns a blank filter value into {@code null}.
+     *
+     * @param value The value.
+     * @return The trimmed value, or {@code null} if it is {@code null} or blank.
+     */
+    private static String blankToNull(String value) {
+        return value == null || value.isBlank() ? null : value.trim();
+    }
+}
@@ -21,26 +21,27 @@ public class SecurityConfig {
     public static final int SESSION_TIMEOUT = 3600 * 24;
 
     /**
-     * A map holding the current password policy settings, loaded from the database.
-     * The keys represent the setting names (e.g., "password.min_length"), and the
-     * values are their corresponding string representations.
-     * <p>
-     * Note: This map is loaded once during class initialization. If password
-     * settings are changed dynamically at runtime, this static map will not
-     * automatically reflect those changes. A mechanism for reloading these
-     * settings would be required for dynamic updates.
+     * The password policy settings that were loaded last. The keys represent the
+     * setting names (e.g., "password.min_length"), and the values are their
+     * corresponding string representations. Used as a fallback if the settings
+     * cannot be reloaded.
      */
-    public static Map<String, String> PASSWORD_SETTINGS; // current password settings -> needs to be updated if dynamically changed during runtime! (lazy loading)
+    private static volatile Map<String, String> lastPasswordSettings;
 
     /**
-     * Static initializer block that loads the password policy settings from the
-     * database when the {@code SecurityConfig} class is loaded.
+     * Returns the current password policy settings. The settings are read
+     * through the view result cache, so they are only queried again after the
+     * cached result expired or {@code configuration_change_log} gained rows.
+     *
+     * @return A map from setting name to value; the last loaded settings if the
+     * database cannot be reached, or {@code null} if they were never loaded.
      */
-    static {
+    public static Map<String, String> getPasswordSettings() {
         try {
-            PASSWORD_SETTINGS = new PasswordSettingsViewRepository().loadPasswordSettings();
+            lastPasswordSettings = new PasswordSettingsViewRepository().loadPasswordSettings();
         } catch (SQLException e) {
             logger.log(Level.SEVERE, e.getMessage());
         }
+        return lastPasswordSettings;
     }
 }
\ No newline at end of file
@@ -5,15 +5,18 @@ import java.sql.Timestamp;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
-import java.util.Locale;
 import java.util.Map;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
+import com.leanx.app.model.dto.Page;
 import com.leanx.app.model.entity.User;
 import com.leanx.app.repository.UserEmployeeLinkRepository;
 import com.leanx.app.repository.UserRepository;
 import com.leanx.app.repository.base.StoredProceduresRepository;
+import com.leanx.app.service.modules.employee.search.SuggestionIndex;
+import com.leanx.app.service.modules.employee.self.EmployeeProfileCache;
+import com.leanx.app.utils.NameUtils;
 
 /**
  * Service class for administrative operations related to user accounts.
@@ -80,6 +83,9 @@ public final class UserService {
 
     /**
      * Retrieves a user entity based on either their username (String) or user ID (Integer).
+     * The user is always read from the primary database, because the login
+     * and the password change decide on the password hash, the lock and the
+     * failed login count, which must not come from an outdated copy.
      *
      * @param identifier The username (String) or user ID (Integer) of the user to retrieve.
      * @return The {@link User} entity corresponding to the provided identifier.
@@ -98,6 +104,25 @@ public final class UserService {
         throw new IllegalArgumentException("Invalid identifier type! Expected String or Integer.");
     }
 
+    /**
+     * Retrieves one page of user records using keyset pagination.
+     *
+     * @param cursor The cursor returned with the previous page, or {@code null} for the first page.
+     * @param limit  The maximum number of users on the page.
+     * @param sort   The column to sort by ({@code id} or {@code name}), or {@code null} to sort by ID.
+     * @return A {@link Page} of {@link User} objects and the cursor of the following page.
+     * @throws IllegalArgumentException If the cursor, limit or sort column is invalid.
+     * @throws SQLException             If a database access error occurs during the retrieval.
+     */
+    public Page<User> getUsersPage(String cursor, int limit, String sort) throws IllegalArgumentException, SQLException {
+        try {
+            return userCrudRepository.findPage(cursor, limit, sort);
+        } catch (SQLException e) {
+            logger.log(Level.SEVERE, "Error accessing the database while listing users", e);
+            throw e;
+        }
+    }
+
     /**
      * Updates the password hash for a specific user.
      *
@@ -207,6 +232,47 @@ public final class UserService {
         return executeUpdate(updates, userId);
     }
 
+    /**
+     * Records a failed login attempt for a specific user, locking the account once
+     * the maximum number of failed attempts is reached. The check and the update
+     * are performed atomically by the database.
+     *
+     * @param userId                 The ID of the user who failed to log in.
+     * @param updatedBy              The ID of the user who triggered the update.
+     * @param maxAttempts            The number of failed attempts after which the account is locked.
+     * @param lockoutDurationMinutes The configured lockout duration in minutes.
+     * @return The number of failed login attempts after the update, or {@code 0} if the user was not updated.
+     * @throws SQLException If a database access error occurs during the update.
+     */
+    public int recordFailedLogin(Integer userId, Integer updatedBy, int maxAttempts, int lockoutDurationMinutes) throws SQLException {
+        try {
+            return userCrudRepository.recordFailedLogin(userId, maxAttempts, lockoutDurationMinutes, updatedBy);
+        } catch (SQLException e) {
+            logger.log(Level.SEVERE, "Failed to record failed login for user with ID: " + userId, e);
+            throw e;
+        }
+    }
+
+    /**
+     * Records a successful login for a specific user by resetting the failed login
+     * attempts, lifting an expired lock and optionally updating 'last_login_at'.
+     *
+     * @param userId                 The ID of the user who logged in.
+     * @param updatedBy              The ID of the user who triggered the update.
+     * @param lockoutDurationMinutes The configured lockout duration in minutes.
+     * @param stampLastLogin         Whether the last login timestamp should be updated.
+     * @return {@code true} if the user was still eligible to log in and was updated, {@code false} otherwise.
+     * @throws SQLException If a database access error occurs during the update.
+     */
+    public boolean recordSuccessfulLogin(Integer userId, Integer updatedBy, int lockoutDurationMinutes, boolean stampLastLogin) throws SQLException {
+        try {
+            return userCrudRepository.recordSuccessfulLogin(userId, lockoutDurationMinutes, stampLastLogin, updatedBy);
+        } catch (SQLException e) {
+            logger.log(Level.SEVERE, "Failed to record successful login for user with ID: " + userId, e);
+            throw e;
+        }
+    }
+
     /**
      * Assigns a specific role to a user.
      *
@@ -260,6 +326,10 @@ public final class UserService {
     public boolean linkUserToEmployee(Integer userId, Integer employeeId) throws SQLException {
         try {
             int affectedRows = userEmployeeLinkRepository.saveUserEmployeeLink(employeeId, userId);
+            EmployeeProfileCache.invalidateUser(userId);
+            if (affectedRows > 0) {
+                SuggestionIndex.getInstance().linkUser(userId, employeeId);
+            }
             return affectedRows > 0;
         } catch (SQLException e) {
             logger.log(Level.SEVERE, "Failed to link user with ID: " + userId + " to employee with ID: " + employeeId, e);
@@ -270,8 +340,9 @@ public final class UserService {
     /**
      * Generates a unique username based on the employee's first and last name.
      * The username is generated by taking the first letter of the first name
-     * and appending the lowercase version of the last name (with German umlauts
-     * replaced). If the generated username already exists, a counter is appended
+     * and appending the lowercase version of the last name, both folded with
+     * {@link NameUtils#fold(String)} (German umlauts transliterated, accents
+     * removed). If the generated username already exists, a counter is appended
      * to ensure uniqueness. The maximum length of the base username (before the
      * counter) is 7 characters.
      *
@@ -282,18 +353,12 @@ public final class UserService {
     public String generateUsername(String firstName, String lastName) {
         int MAX_LENGTH = 7;
 
-        String normalizedFirstName = firstName.toLowerCase(Locale.GERMAN)
+        String normalizedFirstName = NameUtils.fold(firstName)
             .replace(" ", "")
-            .replace("-", "")
-            .replace("ä", "ae")
-            .replace("ü", "ue")
-            .replace("ö", "oe");
-        String normalizedLastName = lastName.toLowerCase(Locale.GERMAN)
+            .replace("-", "");
+        String normalizedLastName = NameUtils.fold(lastName)
             .replace(" ", "")
-            .replace("-", "")
-            .replace("ä", "ae")
-            .replace("ü", "ue")
-            .replace("ö", "oe");
+            .replace("-", "");
 
         String baseUsername = normalizedFirstName.substring(0, 1) + normalizedLastName;
         if (baseUsername.length() > MAX_LENGTH) {
@@ -324,6 +389,11 @@ public final class UserService {
      * stored procedure (as defined by the procedure itself).
      */
     public boolean deactivateUser(Integer userId, Integer currentUserId) throws IllegalArgumentException {
-        return storedProceduresRepository.callDeactivateUserAccount(userId, currentUserId);
+        boolean deactivated = storedProceduresRepository.callDeactivateUserAccount(userId, currentUserId);
+        EmployeeProfileCache.invalidateUser(userId);
+        if (deactivated) {
+            SuggestionIndex.getInstance().removeUser(userId);
+        }
+        return deactivated;
     }
 }
\ No newline at end of file
@@ -16,6 +16,7 @@ import com.leanx.app.service.modules.user.auth.exceptions.AccountLockedException
 import com.leanx.app.service.modules.user.auth.exceptions.FirstLoginException;
 import com.leanx.app.service.modules.user.auth.exceptions.PasswordExpiredException;
 import com.leanx.app.utils.PasswordUtils;
+import com.leanx.app.utils.database.TransactionTemplate;
 
 /**
  * The {@code AuthenticationService} class provides functionalities related to user authentication,
@@ -39,10 +40,30 @@ public class AuthenticationService {
     }
 
 
+    /**
+     * Outcome of the database part of an authentication attempt. Exceptions are
+     * only raised once the transaction that recorded the attempt is committed.
+     */
+    private enum LoginOutcome {
+        FAILED, DEACTIVATED, LOCKED, PASSWORD_EXPIRED, FIRST_LOGIN, SUCCESS
+    }
+
+    /**
+     * Result of the database part of an authentication attempt.
+     *
+     * @param outcome The outcome of the attempt.
+     * @param userId  The ID of the authenticated user, or {@code -1}.
+     */
+    private record LoginResult(LoginOutcome outcome, int userId) {
+        private static LoginResult of(LoginOutcome outcome) {
+            return new LoginResult(outcome, -1);
+        }
+    }
+
     /**
      * Authenticates the user by checking their username and password.
      * This method verifies the user's existence, lock status, failed login attempts, password expiry, and checks if
-     * the password matches the stored hash.
+     * the password matches the stored hash. All reads and updates of a single attempt run in one transaction.
      *
      * @param username The username of the user attempting to authenticate.
      * @param password The plain text password entered by the user.
@@ -53,75 +74,111 @@ public class AuthenticationService {
      * @throws AccountDeactivatedException If the user's account is deactivated.
      */
     public int authenticate(String username, String password) throws AccountLockedException, PasswordExpiredException, FirstLoginException, AccountDeactivatedException {
+        LoginResult result;
         try {
-            User user = userService.getUserByIdentifier(username);
+            result = TransactionTemplate.inTransaction(connection -> attemptLogin(username, password));
+        } catch (IllegalArgumentException | SQLException e) {
+            logger.log(Level.SEVERE, "Error authenticating user with username: {0}" + username, e);
+            return -1;
+        }
 
-            if (user == null) {
-                logger.log(Level.WARNING, "Failed to find user with username: {0}", username);
+        switch (result.outcome()) {
+            case DEACTIVATED:
+                throw new AccountDeactivatedException("Authentication failed. The account does not exist anymore. Please contact support for further information.");
+            case LOCKED:
+                throw new AccountLockedException("Too many failed login attempts! Your account is temporarily locked. Please try again later or contact support.");
+            case PASSWORD_EXPIRED:
+                throw new PasswordExpiredException("Password is expired. Please set a new password.");
+            case FIRST_LOGIN:
+                throw new FirstLoginException("First Login. Please set a new password.");
+            case SUCCESS:
+                return result.userId();
+            default:
                 return -1;
-            }
+        }
+    }
 
-            /* 
-             * if (user.getValidUntil() != null && user.getValidUntil().before(new Date(System.currentTimeMillis()))) {
-             *      logger.log(Level.WARNING, "Failed login attempt due to user account being expired: {0}", username);
-             *      throw new AccountExpiredException("Authentication Failed. The account is expired. Please contact support for further questions.");
-             * }
-             */
+    /**
+     * Performs the reads and updates of an authentication attempt. Must be called
+     * inside a transaction so that all updates are committed together.
+     *
+     * @param username The username of the user attempting to authenticate.
+     * @param password The plain text password entered by the user.
+     * @return The {@link LoginResult} of the attempt.
+     * @throws SQLException If a database access error occurs.
+     * @throws IllegalArgumentException If the user cannot be looked up.
+     */
+    private LoginResult attemptLogin(String username, String password) throws SQLException, IllegalArgumentException {
+        User user = userService.getUserByIdentifier(username);
 
-            if (user.getStatus() == UserStatus.DEACTIVATED) {
-                logger.log(Level.WARNING, "Failed login attempt due to user account being deactivated: {0}", username);
-                throw new AccountDeactivatedException("Authentication failed. The account does not exist anymore. Please contact support for further information.");
-            }
+        if (user == null) {
+            logger.log(Level.WARNING, "Failed to find user with username: {0}", username);
+            return LoginResult.of(LoginOutcome.FAILED);
+        }
 
-            if (user.getStatus() == UserStatus.LOCKED) {
-                if (user.getLockUntil() == null) {
-                    logger.log(Level.WARNING, "Locked user attempted to login: {0}", username);
-                    return -1;
-                }
-
-                if(user.getLockUntil() != null && System.currentTimeMillis() < user.getLockUntil().getTime() + passwordUtils.getLockoutDuration() * 60 * 1000) {
-                    logger.log(Level.WARNING, "Failed login attempt due to user being temporarily locked: {0}", username);
-                    userService.updateNumFailedLoginAttempts(user.getId(), 2, user.getNumFailedLoginAttempts() + 1);
-                    throw new AccountLockedException("Too many failed login attempts! Your account is temporarily locked. Please try again later or contact support.");
-                }
-
-                userService.unlockUser(user.getId(), 2);
-                user.setStatus(UserStatus.ACTIVE);
-                user.setNumFailedLoginAttempts(0);
-            }
+        /* 
+         * if (user.getValidUntil() != null && user.getValidUntil().before(new Date(System.currentTimeMillis()))) {
+         *      logger.log(Level.WARNING, "Failed login attempt due to user account being expired: {0}", username);
+         *      throw new AccountExpiredException("Authentication Failed. The account is expired. Please contact support for further questions.");
+         * }
+         */
 
-            if (!passwordUtils.checkPassword(password, user.getPasswordHash())) {  
-                userService.updateNumFailedLoginAttempts(user.getId(), 2, user.getNumFailedLoginAttempts() + 1);
+        if (user.getStatus() == UserStatus.DEACTIVATED) {
+            logger.log(Level.WARNING, "Failed login attempt due to user account being deactivated: {0}", username);
+            return LoginResult.of(LoginOutcome.DEACTIVATED);
+        }
 
-                if (user.getNumFailedLoginAttempts() + 1 >= passwordUtils.getMaxNumFailedAttempts()) {
-                    logger.log(Level.WARNING, "User locked due to exceeding allowed number of failed login attempts: {0}", username);
-                    userService.lockUser(user.getId(), 2);
-                    return -1;
-                }
+        int lockoutDuration = passwordUtils.getLockoutDuration();
+        int maxNumFailedAttempts = passwordUtils.getMaxNumFailedAttempts();
+        boolean lockExpired = false;
 
-                logger.log(Level.WARNING, "Incorrect password attempt for user: {0}", username);
-                return -1;
+        if (user.getStatus() == UserStatus.LOCKED) {
+            if (user.getLockUntil() == null) {
+                logger.log(Level.WARNING, "Locked user attempted to login: {0}", username);
+                return LoginResult.of(LoginOutcome.FAILED);
             }
 
-            if (user.getPasswordExpiryDate() != null && user.getPasswordExpiryDate().before(new Date(System.currentTimeMillis()))) {
-                logger.log(Level.WARNING, "Password expired for user: {0}", username);
-                throw new PasswordExpiredException("Password is expired. Please set a new password.");
+            if(System.currentTimeMillis() < user.getLockUntil().getTime() + lockoutDuration * 60 * 1000) {
+                logger.log(Level.WARNING, "Failed login attempt due to user being temporarily locked: {0}", username);
+                userService.recordFailedLogin(user.getId(), 2, maxNumFailedAttempts, lockoutDuration);
+                return LoginResult.of(LoginOutcome.LOCKED);
             }
 
-            userService.resetNumFailedLoginAttempts(user.getId(), 2);
-            logger.log(Level.INFO, "Successfully authenticated user: {0}", username);
+            lockExpired = true;
+        }
 
-            if (user.isFirstLogin()) {
-                logger.log(Level.INFO, "Password change required prior to first login from user: {0}", username);
-                throw new FirstLoginException("First Login. Please set a new password.");
+        if (!passwordUtils.checkPassword(password, user.getPasswordHash())) {  
+            int numFailedAttempts = userService.recordFailedLogin(user.getId(), 2, maxNumFailedAttempts, lockoutDuration);
+
+            if (numFailedAttempts >= maxNumFailedAttempts) {
+                logger.log(Level.WARNING, "User locked due to exceeding allowed number of failed login attempts: {0}", username);
+                return LoginResult.of(LoginOutcome.FAILED);
             }
 
-            userService.updateLastLoginAt(user.getId(), 2);
-            return user.getId();
-        } catch (IllegalArgumentException | SQLException e) {
-            logger.log(Level.SEVERE, "Error authenticating user with username: {0}" + username, e);
-            return -1;
+            logger.log(Level.WARNING, "Incorrect password attempt for user: {0}", username);
+            return LoginResult.of(LoginOutcome.FAILED);
         }
+
+        if (user.getPasswordExpiryDate() != null && user.getPasswordExpiryDate().before(new Date(System.currentTimeMillis()))) {
+            logger.log(Level.WARNING, "Password expired for user: {0}", username);
+            if (lockExpired) {
+                userService.recordSuccessfulLogin(user.getId(), 2, lockoutDuration, false);
+            }
+            return LoginResult.of(LoginOutcome.PASSWORD_EXPIRED);
+        }
+
+        if (!userService.recordSuccessfulLogin(user.getId(), 2, lockoutDuration, !user.isFirstLogin())) {
+            logger.log(Level.WARNING, "User was locked or deactivated during login: {0}", username);
+            return LoginResult.of(LoginOutcome.FAILED);
+        }
+        logger.log(Level.INFO, "Successfully authenticated user: {0}", username);
+
+        if (user.isFirstLogin()) {
+            logger.log(Level.INFO, "Password change required prior to first login from user: {0}", username);
+            return LoginResult.of(LoginOutcome.FIRST_LOGIN);
+        }
+
+        return new LoginResult(LoginOutcome.SUCCESS, user.getId());
     }
 
     /**
@@ -160,12 +217,14 @@ public class AuthenticationService {
             throw new IllegalArgumentException("New password is in recent password history!");
         }
 
-        if(user.isFirstLogin()) {
-            userService.setIsFirstLoginFalse(user.getId(), 2);
-        }
-
         String newPasswordHash = passwordUtils.hashPassword(newPassword);
-        return userService.updatePassword(user.getId(), changedBy, newPasswordHash);
+        return TransactionTemplate.inTransaction(connection -> {
+            if(user.isFirstLogin()) {
+                userService.setIsFirstLoginFalse(user.getId(), 2);
+            }
+
+            return userService.updatePassword(user.getId(), changedBy, newPasswordHash);
+        });
     }
 
     /**
@@ -1,17 +1,29 @@
 package com.leanx.app.utils;
 
 import java.sql.Connection;
-import java.sql.DriverManager;
 import java.sql.SQLException;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
+import javax.sql.DataSource;
+
+import com.leanx.app.utils.database.ConnectionPoolConfig;
+import com.leanx.app.utils.database.PooledDataSource;
+import com.leanx.app.utils.database.ReplicaRouter;
+import com.leanx.app.utils.database.StatementCacheConfig;
+import com.leanx.app.utils.database.TransactionTemplate;
+
 /**
  * Utility class for managing database connections.
  * Providing different methods to establish connections, test the connection,
  * and load the MySQL JDBC driver.
  * Configuration details such as JDBC URL, username, password, and database name
  * are expected to be provided through environment variables.
+ * Connections are served from a shared {@link PooledDataSource}, which is tuned
+ * through the {@code RDS_MYSQL_POOL_*} environment variables
+ * (see {@link ConnectionPoolConfig#fromEnvironment()}).
+ * Read-only work can be routed to read replicas through
+ * {@link #getReadOnlyConnection()} (see {@link ReplicaRouter#fromEnvironment}).
  */
 public class DatabaseUtils {
 
@@ -42,24 +54,128 @@ public class DatabaseUtils {
     }
 
     /**
-     * Establishes a connection to the MySQL database using the configuration
-     * loaded from environment variables.
+     * Connection properties appended to the JDBC URL. {@code useLocalSessionState}
+     * lets the driver answer {@code getAutoCommit()}/{@code isReadOnly()} from its
+     * local state, so resetting a connection on its way back into the pool does
+     * not cost extra round trips. {@code useCursorFetch} makes a positive fetch
+     * size stream large result sets through a server-side cursor instead of
+     * buffering them completely in memory. {@code rewriteBatchedStatements}
+     * sends JDBC batches of inserts as multi-row statements. The prepared
+     * statement cache properties are appended from {@link #STATEMENT_CACHE}.
+     */
+    private static final String CONNECTION_PROPERTIES = "?useLocalSessionState=true&useCursorFetch=true&rewriteBatchedStatements=true";
+
+    /**
+     * Per-connection prepared statement cache of the driver, configurable through
+     * the {@code RDS_MYSQL_PREP_STMT_*} environment variables (see
+     * {@link StatementCacheConfig#fromEnvironment()}). Statements are prepared on
+     * the server once per connection and reused by later calls with the same SQL,
+     * e.g. the user lookup during login or the employee lookup by ID.
+     */
+    private static final StatementCacheConfig STATEMENT_CACHE = StatementCacheConfig.fromEnvironment();
+
+    /**
+     * Number of rows fetched per round trip when reading large result sets,
+     * configurable through the 'RDS_MYSQL_FETCH_SIZE' environment variable.
+     */
+    private static final int FETCH_SIZE = Math.max(1, EnvironmentUtils.getInt("RDS_MYSQL_FETCH_SIZE", 500));
+
+    private static final PooledDataSource DATA_SOURCE = new PooledDataSource(
+        "primary", JDBC_URL + DB_NAME + CONNECTION_PROPERTIES + STATEMENT_CACHE.toUrlProperties(), DB_USER, DB_PASSWORD,
+        ConnectionPoolConfig.fromEnvironment(), STATEMENT_CACHE
+    );
+
+    private static final ReplicaRouter REPLICAS = ReplicaRouter.fromEnvironment(
+        System.getenv("RDS_MYSQL_PORT"), DB_NAME + CONNECTION_PROPERTIES + STATEMENT_CACHE.toUrlProperties(), DB_USER, DB_PASSWORD,
+        ConnectionPoolConfig.fromEnvironment(), STATEMENT_CACHE
+    );
+
+    /**
+     * Gets the number of rows to fetch per round trip for queries that read
+     * many rows. Repositories pass it to {@link java.sql.Statement#setFetchSize(int)}.
+     *
+     * @return The configured fetch size.
+     */
+    public static int getFetchSize() {
+        return FETCH_SIZE;
+    }
+
+    /**
+     * Returns the shared, pooled {@link DataSource} that all repositories use.
+     *
+     * @return The application's {@link DataSource}.
+     */
+    public static DataSource getDataSource() {
+        return DATA_SOURCE;
+    }
+
+    /**
+     * Returns the shared connection pool, e.g. to inspect its utilisation.
+     *
+     * @return The application's {@link PooledDataSource}.
+     */
+    public static PooledDataSource getConnectionPool() {
+        return DATA_SOURCE;
+    }
+
+    /**
+     * Borrows a connection to the MySQL database from the shared connection pool.
+     * If a transaction started by {@link TransactionTemplate} is active on the
+     * current thread, the transaction's connection is returned instead, so that
+     * the caller takes part in that transaction.
      *
      * @return A {@link Connection} object representing the database connection.
-     * The caller is responsible for closing this connection after use.
-     * @throws SQLException If a database access error occurs or the connection
-     * cannot be established.
+     * The caller is responsible for closing this connection after use, which
+     * returns it to the pool (or has no effect inside a transaction).
+     * @throws SQLException If a database access error occurs, the connection
+     * cannot be established, or no pooled connection becomes available in time.
      */
     public static Connection getMySQLConnection() throws SQLException {
+        Connection transactional = TransactionTemplate.currentConnection();
+        if (transactional != null) {
+            return transactional;
+        }
+
         try {
-            Connection c = DriverManager.getConnection(JDBC_URL + DB_NAME, DB_USER, DB_PASSWORD);
-            return c;
+            return DATA_SOURCE.getConnection();
         } catch (SQLException e) {
             logger.log(Level.SEVERE, "Failed to connect to database: {0}", JDBC_URL + DB_NAME + e.getMessage());
             throw e;
         }
     }
 
+    /**
+     * Borrows a connection for read-only work. The connection comes from one of
+     * the configured read replicas unless
+     * <ul>
+     * <li>a transaction is active on the current thread (its connection is returned),</li>
+     * <li>the current thread is pinned to the primary to read its own writes, or</li>
+     * <li>no replica is configured or all replicas lag behind or are unavailable,</li>
+     * </ul>
+     * in which case the connection is borrowed from the primary.
+     * Callers must not write through the returned connection.
+     *
+     * @return A {@link Connection} for read-only queries; closing it returns it to its pool.
+     * @throws SQLException If no connection can be obtained from the primary either.
+     */
+    public static Connection getReadOnlyConnection() throws SQLException {
+        if (TransactionTemplate.isTransactionActive()) {
+            return TransactionTemplate.currentConnection();
+        }
+
+        Connection replica = REPLICAS.getConnection();
+        return replica != null ? replica : getMySQLConnection();
+    }
+
+    /**
+     * Returns the router that distributes read-only work across the read replicas.
+     *
+     * @return The application's {@link ReplicaRouter}.
+     */
+    public static ReplicaRouter getReplicaRouter() {
+        return REPLICAS;
+    }
+
     /**
      * Tests the database connection by attempting to establish a connection
      * and validating it within a 5-second timeout.
@@ -76,4 +192,13 @@ public class DatabaseUtils {
             return false;
         }
     }
+
+    /**
+     * Closes the shared connection pool and the replica pools. Intended to be
+     * called once when the application is shut down.
+     */
+    public static void shutdown() {
+        REPLICAS.close();
+        DATA_SOURCE.close();
+    }
 }
\ No newline at end of file
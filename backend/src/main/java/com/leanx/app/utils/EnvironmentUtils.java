@@ -0,0 +1,89 @@
+package com.leanx.app.utils;
+
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Utility class for reading optional tuning parameters from environment
+ * variables. Every accessor takes a default value that is used if the variable
+ * is not set or cannot be parsed, so deployments only need to set the values
+ * they want to change.
+ */
+public final class EnvironmentUtils {
+
+    private static final Logger logger = Logger.getLogger(EnvironmentUtils.class.getName());
+
+    private EnvironmentUtils() {
+    }
+
+    /**
+     * Reads a string environment variable.
+     *
+     * @param name         The name of the environment variable.
+     * @param defaultValue The value to use if the variable is missing or blank.
+     * @return The trimmed value or {@code defaultValue}.
+     */
+    public static String getString(String name, String defaultValue) {
+        String value = System.getenv(name);
+        return value == null || value.isBlank() ? defaultValue : value.trim();
+    }
+
+    /**
+     * Reads an integer environment variable.
+     *
+     * @param name         The name of the environment variable.
+     * @param defaultValue The value to use if the variable is missing or invalid.
+     * @return The parsed value or {@code defaultValue}.
+     */
+    public static int getInt(String name, int defaultValue) {
+        long value = getLong(name, defaultValue);
+        if (value < Integer.MIN_VALUE || value > Integer.MAX_VALUE) {
+            logger.log(Level.WARNING, "Ignoring out of range value for {0}: {1}", new Object[]{name, value});
+            return defaultValue;
+        }
+        return (int) value;
+    }
+
+    /**
+     * Reads a long environment variable.
+     *
+     * @param name         The name of the environment variable.
+     * @param defaultValue The value to use if the variable is missing or invalid.
+     * @return The parsed value or {@code defaultValue}.
+     */
+    public static long getLong(String name, long defaultValue) {
+        String value = getString(name, null);
+        if (value == null) {
+            return defaultValue;
+        }
+
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            logger.log(Level.WARNING, "Ignoring invalid value for {0}: {1}", new Object[]{name, value});
+            return defaultValue;
+        }
+    }
+
+    /**
+     * Reads a boolean environment variable. Only {@code true} and {@code false}
+     * (case-insensitive) are accepted.
+     *
+     * @param name         The name of the environment variable.
+     * @param defaultValue The value to use if the variable is missing or invalid.
+     * @return The parsed value or {@code defaultValue}.
+     */
+    public static boolean getBoolean(String name, boolean defaultValue) {
+        String value = getString(name, null);
+        if (value == null) {
+            return defaultValue;
+        }
+
+        if (value.equalsIgnoreCase("true") || value.equalsIgnoreCase("false")) {
+            return Boolean.parseBoolean(value);
+        }
+
+        logger.log(Level.WARNING, "Ignoring invalid value for {0}: {1}", new Object[]{name, value});
+        return defaultValue;
+    }
+}
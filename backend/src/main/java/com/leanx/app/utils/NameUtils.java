@@ -0,0 +1,93 @@
+package com.leanx.app.utils;
+
+import java.text.Normalizer;
+
+/**
+ * Utility class for normalising personal names, so that spellings of the same
+ * name compare equal: "Müller" and "Mueller" both become {@code mueller}, and
+ * "José" becomes {@code jose}. Used for generating usernames and for searching
+ * employees.
+ */
+public final class NameUtils {
+
+    /** Folded form of every character of the Latin blocks, by character. */
+    private static final String[] FOLDED = new String[0x250];
+
+    static {
+        for (char c = 0; c < FOLDED.length; c++) {
+            FOLDED[c] = foldLetter(Character.toLowerCase(c));
+        }
+    }
+
+    private NameUtils() {
+    }
+
+    /**
+     * Folds a name to lower-case ASCII where possible: German umlauts and
+     * {@code ß} are transliterated ({@code ä} to {@code ae}, {@code ö} to
+     * {@code oe}, {@code ü} to {@code ue}, {@code ß} to {@code ss}) and the
+     * accents of all other letters are removed. Characters without an ASCII
+     * base letter, as well as spaces and punctuation, are kept.
+     *
+     * @param name The name; {@code null} is treated as empty.
+     * @return The folded name.
+     */
+    public static String fold(String name) {
+        if (name == null) {
+            return "";
+        }
+
+        StringBuilder folded = new StringBuilder(name.length() + 4);
+        for (int i = 0; i < name.length(); i++) {
+            char c = name.charAt(i);
+            if (c < 0x80) {
+                folded.append(c >= 'A' && c <= 'Z' ? (char) (c + ('a' - 'A')) : c);
+            } else {
+                folded.append(fold(c));
+            }
+        }
+        return folded.toString();
+    }
+
+    /**
+     * Folds a single character like {@link #fold(String)}. Characters of the
+     * Latin blocks are folded without allocating.
+     *
+     * @param c The character.
+     * @return The folded character, or two characters for umlauts and {@code ß}.
+     */
+    public static String fold(char c) {
+        return c < FOLDED.length ? FOLDED[c] : String.valueOf(Character.toLowerCase(c));
+    }
+
+    /**
+     * Folds a lower-case letter: transliterates umlauts and {@code ß}, and
+     * removes the accents of all other letters by decomposing them and
+     * dropping the combining marks.
+     *
+     * @param c The lower-case letter.
+     * @return The folded letter, or the letter itself if it has no accent.
+     */
+    private static String foldLetter(char c) {
+        String transliterated = switch (c) {
+            case 'ä' -> "ae";
+            case 'ö' -> "oe";
+            case 'ü' -> "ue";
+            case 'ß' -> "ss";
+            default -> null;
+        };
+        if (transliterated != null) {
+            return transliterated;
+        }
+
+        String decomposed = Normalizer.normalize(String.valueOf(c), Normalizer.Form.NFD);
+        StringBuilder base = new StringBuilder(decomposed.length());
+        for (int i = 0; i < decomposed.length(); i++) {
+            char d = decomposed.charAt(i);
+            if (Character.getType(d) != Character.NON_SPACING_MARK) {
+                base.append(d);
+            }
+        }
+        return base.length() > 0 ? base.toString() : String.valueOf(c);
+    }
+}
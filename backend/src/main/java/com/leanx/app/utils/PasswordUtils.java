@@ -15,7 +15,7 @@ import com.leanx.app.service.modules.system.configs.SecurityConfig;
  */
 public class PasswordUtils {
 
-    private final Map<String, String> PASSWORD_SETTINGS = SecurityConfig.PASSWORD_SETTINGS;
+    private final Map<String, String> PASSWORD_SETTINGS = SecurityConfig.getPasswordSettings();
 
     private final int maxNumFailedAttempts;
     private final int historySize;
@@ -29,7 +29,7 @@ public class PasswordUtils {
 
     /**
      * Constructs a new {@code PasswordUtils} instance, initializing password
-     * policy settings from the {@link SecurityConfig#PASSWORD_SETTINGS} map.
+     * policy settings from {@link SecurityConfig#getPasswordSettings()}.
      */
     public PasswordUtils() {
         this.maxNumFailedAttempts = Integer.parseInt(PASSWORD_SETTINGS.get("password.num_failed_attempts_before_lockout"));
@@ -0,0 +1,244 @@
+package com.leanx.app.utils.collections;
+
+/**
+ * Hash map from {@code int} keys to {@code int} values that stores keys and
+ * values in two primitive arrays (open addressing with linear probing), so a
+ * map with millions of entries needs no boxed {@code Integer}s or entry objects.
+ * <p>
+ * Absent keys are reported with the {@code noValue} given at construction,
+ * which therefore cannot be stored as a value. The map is not thread-safe.
+ */
+public final class IntIntHashMap {
+
+    /** Key that marks an empty slot; the entry with this key is stored outside the arrays. */
+    private static final int FREE_KEY = 0;
+    private static final int MIN_CAPACITY = 16;
+    private static final int MAX_CAPACITY = 1 << 30;
+
+    private final int noValue;
+    private int[] keys;
+    private int[] values;
+    private int mask;
+    private int size;
+    private int resizeAt;
+    private boolean hasFreeKey;
+    private int freeKeyValue;
+
+    /**
+     * Creates an empty map.
+     *
+     * @param expectedSize The number of entries the map should hold without resizing.
+     * @param noValue      The value returned for absent keys.
+     * @throws IllegalArgumentException If {@code expectedSize} is negative.
+     */
+    public IntIntHashMap(int expectedSize, int noValue) throws IllegalArgumentException {
+        if (expectedSize < 0) {
+            throw new IllegalArgumentException("Illegal argument: expectedSize cannot be negative!");
+        }
+        this.noValue = noValue;
+        allocate(capacityFor(expectedSize));
+    }
+
+    /**
+     * Gets the value of a key.
+     *
+     * @param key The key to look up.
+     * @return The value, or {@code noValue} if the key is absent.
+     */
+    public int get(int key) {
+        if (key == FREE_KEY) {
+            return hasFreeKey ? freeKeyValue : noValue;
+        }
+
+        int slot = slot(key);
+        while (keys[slot] != FREE_KEY) {
+            if (keys[slot] == key) {
+                return values[slot];
+            }
+            slot = (slot + 1) & mask;
+        }
+        return noValue;
+    }
+
+    /**
+     * Checks if a key is present.
+     *
+     * @param key The key to look up.
+     * @return {@code true} if the map has an entry for the key.
+     */
+    public boolean containsKey(int key) {
+        return get(key) != noValue;
+    }
+
+    /**
+     * Sets the value of a key.
+     *
+     * @param key   The key.
+     * @param value The value; must differ from {@code noValue}.
+     * @return The previous value, or {@code noValue} if the key was absent.
+     * @throws IllegalArgumentException If {@code value} equals {@code noValue}.
+     */
+    public int put(int key, int value) throws IllegalArgumentException {
+        if (value == noValue) {
+            throw new IllegalArgumentException("Illegal argument: value cannot be the map's noValue!");
+        }
+
+        if (key == FREE_KEY) {
+            int previous = hasFreeKey ? freeKeyValue : noValue;
+            if (!hasFreeKey) {
+                hasFreeKey = true;
+                size++;
+            }
+            freeKeyValue = value;
+            return previous;
+        }
+
+        int slot = slot(key);
+        while (keys[slot] != FREE_KEY) {
+            if (keys[slot] == key) {
+                int previous = values[slot];
+                values[slot] = value;
+                return previous;
+            }
+            slot = (slot + 1) & mask;
+        }
+
+        if (size >= resizeAt) {
+            rehash(keys.length * 2);
+            slot = slot(key);
+            while (keys[slot] != FREE_KEY) {
+                slot = (slot + 1) & mask;
+            }
+        }
+        keys[slot] = key;
+        values[slot] = value;
+        size++;
+        return noValue;
+    }
+
+    /**
+     * Removes the entry of a key. The entries that follow it in the probe
+     * sequence are shifted back, so lookups never need tombstones.
+     *
+     * @param key The key to remove.
+     * @return The removed value, or {@code noValue} if the key was absent.
+     */
+    public int remove(int key) {
+        if (key == FREE_KEY) {
+            if (!hasFreeKey) {
+                return noValue;
+            }
+            hasFreeKey = false;
+            size--;
+            return freeKeyValue;
+        }
+
+        int slot = slot(key);
+        while (keys[slot] != key) {
+            if (keys[slot] == FREE_KEY) {
+                return noValue;
+            }
+            slot = (slot + 1) & mask;
+        }
+
+        int removed = values[slot];
+        size--;
+
+        // Move every following entry whose home slot is not between the gap and itself into the gap
+        int gap = slot;
+        int next = (gap + 1) & mask;
+        while (keys[next] != FREE_KEY) {
+            int home = slot(keys[next]);
+            if (((next - home) & mask) >= ((next - gap) & mask)) {
+                keys[gap] = keys[next];
+                values[gap] = values[next];
+                gap = next;
+            }
+            next = (next + 1) & mask;
+        }
+        keys[gap] = FREE_KEY;
+        return removed;
+    }
+
+    /**
+     * Gets the number of entries.
+     *
+     * @return The number of keys in the map.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Gets the value reported for absent keys.
+     *
+     * @return The {@code noValue} given at construction.
+     */
+    public int noValue() {
+        return noValue;
+    }
+
+    /**
+     * Computes the home slot of a key by spreading its bits with the golden-ratio multiplier.
+     *
+     * @param key The key, never {@link #FREE_KEY}.
+     * @return The index of the first slot to probe.
+     */
+    private int slot(int key) {
+        int h = key * 0x9E3779B9;
+        return (h ^ (h >>> 16)) & mask;
+    }
+
+    /**
+     * Computes the table capacity for a number of entries at a load factor of at most 0.75.
+     *
+     * @param expectedSize The number of entries.
+     * @return A power of two.
+     */
+    private static int capacityFor(int expectedSize) {
+        long needed = Math.max(MIN_CAPACITY, (long) Math.ceil(expectedSize / 0.75));
+        if (needed > MAX_CAPACITY) {
+            return MAX_CAPACITY;
+        }
+        return Integer.highestOneBit((int) needed - 1) << 1;
+    }
+
+    /**
+     * Replaces the arrays with empty arrays of the given capacity.
+     *
+     * @param capacity The new capacity, a power of two.
+     */
+    private void allocate(int capacity) {
+        keys = new int[capacity];
+        values = new int[capacity];
+        mask = capacity - 1;
+        resizeAt = capacity / 4 * 3;
+    }
+
+    /**
+     * Moves all entries into arrays of a new capacity.
+     *
+     * @param capacity The new capacity, a power of two.
+     * @throws IllegalStateException If the map cannot grow any further.
+     */
+    private void rehash(int capacity) throws IllegalStateException {
+        if (keys.length == MAX_CAPACITY) {
+            throw new IllegalStateException("IntIntHashMap cannot hold more than " + (MAX_CAPACITY / 4 * 3) + " entries.");
+        }
+
+        int[] oldKeys = keys;
+        int[] oldValues = values;
+        allocate(capacity);
+        for (int i = 0; i < oldKeys.length; i++) {
+            int key = oldKeys[i];
+            if (key != FREE_KEY) {
+                int slot = slot(key);
+                while (keys[slot] != FREE_KEY) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = key;
+                values[slot] = oldValues[i];
+            }
+        }
+    }
+}
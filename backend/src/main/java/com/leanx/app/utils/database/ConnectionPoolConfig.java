@@ -0,0 +1,131 @@
+package com.leanx.app.utils.database;
+
+import com.leanx.app.utils.EnvironmentUtils;
+
+/**
+ * Immutable set of tuning parameters for a {@link PooledDataSource}.
+ * The values are read from {@code RDS_MYSQL_POOL_*} environment variables,
+ * next to the {@code RDS_MYSQL_*} variables that already describe the
+ * database endpoint and credentials. Every setting has a sensible default so
+ * existing deployments keep working without additional configuration.
+ */
+public final class ConnectionPoolConfig {
+
+    private final int minIdle;
+    private final int maxSize;
+    private final long idleTimeoutMillis;
+    private final long maxLifetimeMillis;
+    private final long acquireTimeoutMillis;
+    private final int validationTimeoutSeconds;
+
+    /**
+     * Constructs a new {@code ConnectionPoolConfig}.
+     *
+     * @param minIdle                  The number of idle connections the pool tries to keep open.
+     * @param maxSize                  The maximum number of connections (idle and in use) the pool may open.
+     * @param idleTimeoutMillis        The time after which an idle connection above {@code minIdle} is closed.
+     * @param maxLifetimeMillis        The maximum lifetime of a physical connection before it is retired.
+     * @param acquireTimeoutMillis     The maximum time a caller waits for a free connection.
+     * @param validationTimeoutSeconds The timeout used when validating a connection on borrow.
+     * @throws IllegalArgumentException If the sizes or timeouts are inconsistent.
+     */
+    public ConnectionPoolConfig(int minIdle, int maxSize, long idleTimeoutMillis, long maxLifetimeMillis,
+                                long acquireTimeoutMillis, int validationTimeoutSeconds) throws IllegalArgumentException {
+        if (maxSize <= 0 || minIdle < 0 || minIdle > maxSize) {
+            throw new IllegalArgumentException("Invalid pool size: minIdle=" + minIdle + ", maxSize=" + maxSize);
+        }
+        if (idleTimeoutMillis <= 0 || maxLifetimeMillis <= 0 || acquireTimeoutMillis <= 0 || validationTimeoutSeconds <= 0) {
+            throw new IllegalArgumentException("Pool timeouts must be positive!");
+        }
+
+        this.minIdle = minIdle;
+        this.maxSize = maxSize;
+        this.idleTimeoutMillis = idleTimeoutMillis;
+        this.maxLifetimeMillis = maxLifetimeMillis;
+        this.acquireTimeoutMillis = acquireTimeoutMillis;
+        this.validationTimeoutSeconds = validationTimeoutSeconds;
+    }
+
+    /**
+     * Creates a configuration from the following environment variables:
+     * <ul>
+     * <li>{@code RDS_MYSQL_POOL_MIN_IDLE} (default 2)</li>
+     * <li>{@code RDS_MYSQL_POOL_MAX_SIZE} (default 10)</li>
+     * <li>{@code RDS_MYSQL_POOL_IDLE_TIMEOUT_MS} (default 10 minutes)</li>
+     * <li>{@code RDS_MYSQL_POOL_MAX_LIFETIME_MS} (default 30 minutes)</li>
+     * <li>{@code RDS_MYSQL_POOL_ACQUIRE_TIMEOUT_MS} (default 10 seconds)</li>
+     * <li>{@code RDS_MYSQL_POOL_VALIDATION_TIMEOUT_S} (default 5 seconds)</li>
+     * </ul>
+     *
+     * @return A {@code ConnectionPoolConfig} populated from the environment.
+     */
+    public static ConnectionPoolConfig fromEnvironment() {
+        return new ConnectionPoolConfig(
+            EnvironmentUtils.getInt("RDS_MYSQL_POOL_MIN_IDLE", 2),
+            EnvironmentUtils.getInt("RDS_MYSQL_POOL_MAX_SIZE", 10),
+            EnvironmentUtils.getLong("RDS_MYSQL_POOL_IDLE_TIMEOUT_MS", 10 * 60 * 1000L),
+            EnvironmentUtils.getLong("RDS_MYSQL_POOL_MAX_LIFETIME_MS", 30 * 60 * 1000L),
+            EnvironmentUtils.getLong("RDS_MYSQL_POOL_ACQUIRE_TIMEOUT_MS", 10 * 1000L),
+            EnvironmentUtils.getInt("RDS_MYSQL_POOL_VALIDATION_TIMEOUT_S", 5)
+        );
+    }
+
+    /**
+     * Gets the number of idle connections the pool tries to keep open.
+     *
+     * @return The minimum number of idle connections.
+     */
+    public int getMinIdle() { return minIdle; }
+
+    /**
+     * Gets the maximum number of connections the pool may open.
+     *
+     * @return The maximum pool size.
+     */
+    public int getMaxSize() { return maxSize; }
+
+    /**
+     * Gets the time after which an idle connection above the minimum is closed.
+     *
+     * @return The idle timeout in milliseconds.
+     */
+    public long getIdleTimeoutMillis() { return idleTimeoutMillis; }
+
+    /**
+     * Gets the maximum lifetime of a physical connection.
+     *
+     * @return The maximum lifetime in milliseconds.
+     */
+    public long getMaxLifetimeMillis() { return maxLifetimeMillis; }
+
+    /**
+     * Gets the maximum time a caller waits for a free connection.
+     *
+     * @return The acquisition timeout in milliseconds.
+     */
+    public long getAcquireTimeoutMillis() { return acquireTimeoutMillis; }
+
+    /**
+     * Gets the timeout used when validating a connection on borrow.
+     *
+     * @return The validation timeout in seconds.
+     */
+    public int getValidationTimeoutSeconds() { return validationTimeoutSeconds; }
+
+    /**
+     * Returns a string representation of the {@code ConnectionPoolConfig} object.
+     *
+     * @return A string containing all pool settings.
+     */
+    @Override
+    public String toString() {
+        return "ConnectionPoolConfig{" +
+                "minIdle=" + minIdle +
+                ", maxSize=" + maxSize +
+                ", idleTimeoutMillis=" + idleTimeoutMillis +
+                ", maxLifetimeMillis=" + maxLifetimeMillis +
+                ", acquireTimeoutMillis=" + acquireTimeoutMillis +
+                ", validationTimeoutSeconds=" + validationTimeoutSeconds +
+                '}';
+    }
+}
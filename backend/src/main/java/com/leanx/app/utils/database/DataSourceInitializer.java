@@ -0,0 +1,47 @@
+package com.leanx.app.utils.database;
+
+import java.sql.SQLException;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import com.leanx.app.repository.UserEmployeeLinkIndex;
+import com.leanx.app.repository.base.ViewResultCache;
+import com.leanx.app.utils.DatabaseUtils;
+
+import jakarta.servlet.ServletContextEvent;
+import jakarta.servlet.ServletContextListener;
+import jakarta.servlet.annotation.WebListener;
+
+/**
+ * Servlet context listener that manages the lifecycle of the shared connection
+ * pool: it initialises the pool when the application starts and closes all
+ * pooled connections when the application is undeployed or the server stops.
+ * Once the database is reachable, the {@link UserEmployeeLinkIndex} is loaded.
+ * Cached view results and their watermark polling are stopped first.
+ */
+@WebListener
+public class DataSourceInitializer implements ServletContextListener {
+
+    private static final Logger logger = Logger.getLogger(DataSourceInitializer.class.getName());
+
+    @Override
+    public void contextInitialized(ServletContextEvent sce) {
+        if (DatabaseUtils.testMySQLConnection()) {
+            logger.log(Level.INFO, "Connection pool initialized: {0}", DatabaseUtils.getConnectionPool().getConfig());
+            try {
+                UserEmployeeLinkIndex.getInstance().load();
+            } catch (SQLException e) {
+                logger.log(Level.WARNING, "User-employee link index not loaded, links are read from the database until it is.");
+            }
+        } else {
+            logger.log(Level.WARNING, "Connection pool initialized, but the database is currently not reachable.");
+        }
+    }
+
+    @Override
+    public void contextDestroyed(ServletContextEvent sce) {
+        ViewResultCache.shutdown();
+        DatabaseUtils.shutdown();
+        logger.info("Connection pool closed...");
+    }
+}
@@ -0,0 +1,204 @@
+package com.leanx.app.utils.database;
+
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Keeps an in-memory copy of database rows current by polling for changed
+ * rows instead of being notified by the services that change them.
+ * <p>
+ * The copy is loaded on first use. Afterwards, when it is used and the last
+ * check is older than the poll interval, one caller reads the rows changed
+ * since the newest change seen so far and applies them, while the others keep
+ * using the current copy. Rows deleted from the database are only dropped by
+ * a full reload, which replaces a poll once the copy is older than the maximum
+ * age. Only the first load blocks; a failed refresh is logged and the current
+ * copy stays in use until the next attempt.
+ * <p>
+ * The owner of the copy does the reading and swapping itself, through a
+ * {@link Reload} and a {@link Poll}, and guards its data with its own lock;
+ * the refresher only decides when to reload or poll and makes sure one thread
+ * at a time does it.
+ */
+public final class PollingRefresher {
+
+    private static final Logger logger = Logger.getLogger(PollingRefresher.class.getName());
+
+    /**
+     * How far before the newest change seen the next poll starts. Rows are
+     * stamped when they are written but only visible once their transaction
+     * commits, so a row may become visible after newer rows were already
+     * read; re-reading the overlap picks it up.
+     */
+    private static final long POLL_OVERLAP_MILLIS = 5 * 1000L;
+
+    /**
+     * Builds a new copy from the database and swaps it in. Called by one
+     * thread at a time.
+     */
+    @FunctionalInterface
+    public interface Reload {
+
+        /**
+         * Loads the copy.
+         *
+         * @param startedAt The time the load started, in milliseconds.
+         * @throws SQLException If a database access error occurs while loading the rows.
+         */
+        void reload(long startedAt) throws SQLException;
+    }
+
+    /**
+     * Reads the rows changed since the newest change seen, typically from
+     * {@link PollingRefresher#pollStart(long)}, and applies them to the copy.
+     * Called by one thread at a time.
+     */
+    @FunctionalInterface
+    public interface Poll {
+
+        /**
+         * Applies the changes.
+         *
+         * @param startedAt The time the poll started, in milliseconds.
+         * @return The number of changed rows applied.
+         * @throws SQLException If a database access error occurs while reading the changes.
+         */
+        int poll(long startedAt) throws SQLException;
+    }
+
+    private final String name;
+    private final long pollIntervalMillis;
+    private final long maxAgeMillis;
+    private final Reload reloader;
+    private final Poll poller;
+    private final ReentrantLock refreshLock = new ReentrantLock();
+
+    private volatile long loadedAt;
+    private volatile long polledAt;
+    private volatile long polledChanges;
+
+    /**
+     * Creates a refresher.
+     *
+     * @param name               The name of the copy in log messages, e.g. {@code "global search index"}.
+     * @param pollIntervalMillis The minimum time between two polls, in milliseconds.
+     * @param maxAgeMillis       The age after which the copy is reloaded instead of polled, in milliseconds.
+     * @param reload             Loads the copy.
+     * @param poll               Applies the changes to the copy.
+     */
+    public PollingRefresher(String name, long pollIntervalMillis, long maxAgeMillis, Reload reload, Poll poll) {
+        this.name = name;
+        this.pollIntervalMillis = pollIntervalMillis;
+        this.maxAgeMillis = maxAgeMillis;
+        this.reloader = reload;
+        this.poller = poll;
+    }
+
+    /**
+     * Computes where a poll starts.
+     *
+     * @param watermark The time of the newest change seen, in milliseconds, or 0 if none was seen.
+     * @return The time the poll starts at.
+     */
+    public static Timestamp pollStart(long watermark) {
+        return new Timestamp(Math.max(0, watermark - POLL_OVERLAP_MILLIS));
+    }
+
+    /**
+     * Loads the copy if it is missing, reloads it if it is older than the
+     * maximum age, and otherwise applies the changes since the last poll if
+     * the poll interval has passed.
+     *
+     * @throws SQLException If the copy is missing and loading it failed.
+     */
+    public void ensureFresh() throws SQLException {
+        if (loadedAt == 0) {
+            refreshLock.lock();
+            try {
+                if (loadedAt == 0) {
+                    reload();
+                }
+            } finally {
+                refreshLock.unlock();
+            }
+            return;
+        }
+
+        long now = System.currentTimeMillis();
+        if (now - polledAt < pollIntervalMillis || !refreshLock.tryLock()) {
+            return;
+        }
+        try {
+            if (now - polledAt < pollIntervalMillis) {
+                return;
+            }
+            if (now - loadedAt >= maxAgeMillis) {
+                reload();
+            } else {
+                poll();
+            }
+        } catch (SQLException e) {
+            // Already logged, the current copy stays in use until the next attempt
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+
+    /**
+     * Gets the time the copy was last loaded completely.
+     *
+     * @return The time in milliseconds, or 0 if it was never loaded.
+     */
+    public long getLoadedAt() { return loadedAt; }
+
+    /**
+     * Gets the time of the last load or poll, whether it succeeded or not.
+     *
+     * @return The time in milliseconds, or 0 if the copy was never loaded.
+     */
+    public long getPolledAt() { return polledAt; }
+
+    /**
+     * Gets the number of changed rows applied by polls since startup.
+     *
+     * @return The number of changed rows.
+     */
+    public long getPolledChanges() { return polledChanges; }
+
+    /**
+     * Loads a new copy. Must be called while holding the refresh lock.
+     *
+     * @throws SQLException If a database access error occurs while loading the rows.
+     */
+    private void reload() throws SQLException {
+        long startedAt = System.currentTimeMillis();
+        polledAt = startedAt;
+        try {
+            reloader.reload(startedAt);
+        } catch (SQLException e) {
+            logger.log(Level.SEVERE, "Failed to load the " + name, e);
+            throw e;
+        }
+        loadedAt = startedAt;
+    }
+
+    /**
+     * Applies the changes since the newest change seen. Must be called while
+     * holding the refresh lock.
+     *
+     * @throws SQLException If a database access error occurs while reading the changes.
+     */
+    private void poll() throws SQLException {
+        long startedAt = System.currentTimeMillis();
+        polledAt = startedAt;
+        try {
+            polledChanges += poller.poll(startedAt);
+        } catch (SQLException e) {
+            logger.log(Level.WARNING, "Polling changes for the {0} failed: {1}", new Object[]{name, e.getMessage()});
+            throw e;
+        }
+    }
+}
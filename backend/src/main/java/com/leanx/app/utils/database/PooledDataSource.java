@@ -0,0 +1,619 @@
+package com.leanx.app.utils.database;
+
+import java.io.PrintWriter;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.SQLTransientConnectionException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import javax.sql.DataSource;
+
+/**
+ * Lightweight, bounded JDBC connection pool exposed as a {@link DataSource}.
+ * <p>
+ * Physical connections are opened lazily through {@link DriverManager} and handed
+ * out wrapped in a proxy whose {@link Connection#close()} returns the connection
+ * to the pool instead of closing it. This keeps the familiar
+ * {@code try (Connection c = ...)} pattern of the repositories unchanged.
+ * <p>
+ * The pool supports:
+ * <ul>
+ * <li>a hard upper bound on open connections and an acquisition timeout,</li>
+ * <li>validation on borrow (skipped for connections that were returned very recently),</li>
+ * <li>eviction of idle connections above the configured minimum and retirement of old connections,</li>
+ * <li>a background housekeeper that keeps {@code minIdle} connections warm,</li>
+ * <li>hit-rate statistics of the driver's per-connection prepared statement cache.</li>
+ * </ul>
+ */
+public class PooledDataSource implements DataSource, AutoCloseable {
+
+    private static final Logger logger = Logger.getLogger(PooledDataSource.class.getName());
+
+    /** Connections returned within this window are handed out again without a validation round trip. */
+    private static final long VALIDATION_BYPASS_WINDOW_MILLIS = 500;
+    private static final long HOUSEKEEPING_INTERVAL_MILLIS = 30 * 1000;
+    /** How long a borrower waits for an idle connection at a time before checking for a free slot again. */
+    private static final long IDLE_WAIT_SLICE_MILLIS = 50;
+
+    private final String name;
+    private final String jdbcUrl;
+    private final String user;
+    private final String password;
+    private final ConnectionPoolConfig config;
+    private final StatementCacheConfig statementCacheConfig;
+    private final StatementCacheStats statementCacheStats = new StatementCacheStats();
+
+    private final Semaphore permits;
+    private final LinkedBlockingDeque<PhysicalConnection> idleConnections = new LinkedBlockingDeque<>();
+    private final AtomicInteger totalConnections = new AtomicInteger();
+    private final ScheduledExecutorService housekeeper;
+
+    private volatile boolean closed = false;
+    private volatile int loginTimeout = 0;
+    private PrintWriter logWriter;
+
+    /**
+     * Constructs a new {@code PooledDataSource}. No connection is opened by the
+     * constructor itself; the housekeeper fills the pool up to {@code minIdle}
+     * in the background, so an unavailable database does not prevent the
+     * application from starting.
+     *
+     * @param name     A short name for the pool, used in log messages and thread names.
+     * @param jdbcUrl  The JDBC URL of the database.
+     * @param user     The database user.
+     * @param password The password of the database user.
+     * @param config   The pool sizing and timeout configuration.
+     */
+    public PooledDataSource(String name, String jdbcUrl, String user, String password, ConnectionPoolConfig config) {
+        this(name, jdbcUrl, user, password, config, null);
+    }
+
+    /**
+     * Constructs a new {@code PooledDataSource} that also reports statistics
+     * about the driver's prepared statement cache. The JDBC URL is expected to
+     * already contain the properties from {@link StatementCacheConfig#toUrlProperties()}.
+     *
+     * @param name                 A short name for the pool, used in log messages and thread names.
+     * @param jdbcUrl              The JDBC URL of the database.
+     * @param user                 The database user.
+     * @param password             The password of the database user.
+     * @param config               The pool sizing and timeout configuration.
+     * @param statementCacheConfig The statement cache settings of the driver, or {@code null} to disable the statistics.
+     */
+    public PooledDataSource(String name, String jdbcUrl, String user, String password, ConnectionPoolConfig config,
+                            StatementCacheConfig statementCacheConfig) {
+        this.name = name;
+        this.jdbcUrl = jdbcUrl;
+        this.user = user;
+        this.password = password;
+        this.config = config;
+        this.statementCacheConfig = statementCacheConfig;
+        this.permits = new Semaphore(config.getMaxSize(), true);
+
+        this.housekeeper = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "leanx-db-pool-" + name);
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.housekeeper.scheduleWithFixedDelay(this::housekeep, 0, HOUSEKEEPING_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+
+        logger.log(Level.INFO, "Created connection pool ''{0}'' with {1}", new Object[]{name, config});
+    }
+
+    /**
+     * Borrows a connection from the pool. If no idle connection is available and
+     * the pool has not reached its maximum size, a new physical connection is
+     * opened. Otherwise the caller waits up to the configured acquisition timeout,
+     * either for a borrowed connection to be returned or, if the housekeeper
+     * holds the last slot, for the connection it is opening.
+     *
+     * @return A pooled {@link Connection}. Closing it returns it to the pool.
+     * @throws SQLException If the pool is closed, the timeout elapses, or a new
+     * connection cannot be established.
+     */
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (closed) {
+            throw new SQLException("Connection pool '" + name + "' is closed.");
+        }
+
+        long deadline = System.currentTimeMillis() + config.getAcquireTimeoutMillis();
+        acquirePermit();
+        try {
+            while (true) {
+                PhysicalConnection physical = idleConnections.pollFirst();
+                if (physical == null) {
+                    if (reserveSlot()) {
+                        return wrap(openPhysicalConnection());
+                    }
+                    // The permit guarantees a free slot, so the housekeeper is opening an idle connection in it
+                    physical = awaitIdleConnection(deadline);
+                    if (physical == null) {
+                        continue;
+                    }
+                }
+                if (isUsable(physical)) {
+                    return wrap(physical);
+                }
+                discard(physical);
+            }
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    /**
+     * Not supported: all pooled connections share the credentials the pool was created with.
+     *
+     * @param username Ignored.
+     * @param password Ignored.
+     * @return Never returns normally.
+     * @throws SQLException Always.
+     */
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        throw new SQLFeatureNotSupportedException("Pooled connections cannot be opened with different credentials.");
+    }
+
+    /**
+     * Waits for a free slot in the pool.
+     *
+     * @throws SQLException If the acquisition timeout elapses or the thread is interrupted.
+     */
+    private void acquirePermit() throws SQLException {
+        try {
+            if (!permits.tryAcquire(config.getAcquireTimeoutMillis(), TimeUnit.MILLISECONDS)) {
+                throw new SQLTransientConnectionException("Timed out after " + config.getAcquireTimeoutMillis()
+                        + " ms waiting for a connection from pool '" + name + "' (active=" + getActiveConnections()
+                        + ", max=" + config.getMaxSize() + ").");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLTransientConnectionException("Interrupted while waiting for a database connection.", e);
+        }
+    }
+
+    /**
+     * Waits a short time for a connection to become idle.
+     *
+     * @param deadline The time the acquisition times out, in milliseconds.
+     * @return The idle connection, or {@code null} if none became idle in time
+     * and the caller should check for a free slot again.
+     * @throws SQLException If the acquisition timeout elapsed or the thread is interrupted.
+     */
+    private PhysicalConnection awaitIdleConnection(long deadline) throws SQLException {
+        long remaining = deadline - System.currentTimeMillis();
+        if (remaining <= 0) {
+            throw new SQLTransientConnectionException("Timed out after " + config.getAcquireTimeoutMillis()
+                    + " ms waiting for a connection from pool '" + name + "' (total=" + getTotalConnections()
+                    + ", max=" + config.getMaxSize() + ").");
+        }
+        try {
+            return idleConnections.pollFirst(Math.min(remaining, IDLE_WAIT_SLICE_MILLIS), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLTransientConnectionException("Interrupted while waiting for a database connection.", e);
+        }
+    }
+
+    /**
+     * Checks whether an idle connection can be handed out. Connections exceeding
+     * their maximum lifetime are rejected; connections that have been idle for
+     * longer than {@link #VALIDATION_BYPASS_WINDOW_MILLIS} are validated with
+     * {@link Connection#isValid(int)}.
+     *
+     * @param physical The idle connection to check.
+     * @return {@code true} if the connection can be reused, {@code false} otherwise.
+     */
+    private boolean isUsable(PhysicalConnection physical) {
+        long now = System.currentTimeMillis();
+        if (now - physical.createdAt > config.getMaxLifetimeMillis()) {
+            return false;
+        }
+        if (now - physical.lastReturnedAt < VALIDATION_BYPASS_WINDOW_MILLIS) {
+            return true;
+        }
+
+        try {
+            return physical.connection.isValid(config.getValidationTimeoutSeconds());
+        } catch (SQLException e) {
+            logger.log(Level.WARNING, "Validation of pooled connection failed: {0}", e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Opens a new physical connection in a slot reserved with {@link #reserveSlot()},
+     * and frees the slot again if the connection cannot be established.
+     *
+     * @return The newly opened connection.
+     * @throws SQLException If the connection cannot be established.
+     */
+    private PhysicalConnection openPhysicalConnection() throws SQLException {
+        try {
+            return newPhysicalConnection();
+        } catch (SQLException e) {
+            totalConnections.decrementAndGet();
+            throw e;
+        }
+    }
+
+    /**
+     * Opens a physical connection without touching the pool accounting.
+     *
+     * @return The newly opened connection.
+     * @throws SQLException If the connection cannot be established.
+     */
+    private PhysicalConnection newPhysicalConnection() throws SQLException {
+        int cacheSize = statementCacheConfig != null ? statementCacheConfig.getCacheSize() : 0;
+        return new PhysicalConnection(DriverManager.getConnection(jdbcUrl, user, password), cacheSize);
+    }
+
+    /**
+     * Records a {@code prepareStatement} call in the statement cache statistics.
+     * The physical connection keeps an LRU set of the SQL texts that the driver
+     * is expected to have cached, mirroring the driver's own eviction; the
+     * recorded hits and misses are an estimate, not the driver's counters.
+     *
+     * @param physical The connection the statement is prepared on.
+     * @param sql      The SQL text of the statement.
+     */
+    private void recordPrepare(PhysicalConnection physical, String sql) {
+        if (statementCacheConfig == null) {
+            return;
+        }
+        if (!statementCacheConfig.isCacheable(sql)) {
+            statementCacheStats.recordUncacheable();
+            return;
+        }
+
+        boolean cached;
+        synchronized (physical.cachedStatements) {
+            cached = physical.cachedStatements.put(sql, Boolean.TRUE) != null;
+        }
+        if (cached) {
+            statementCacheStats.recordHit(sql);
+        } else {
+            statementCacheStats.recordMiss(sql);
+        }
+    }
+
+    /**
+     * Wraps a physical connection into a proxy that returns it to the pool on close.
+     *
+     * @param physical The physical connection to hand out.
+     * @return The proxied connection.
+     */
+    private Connection wrap(PhysicalConnection physical) {
+        return (Connection) Proxy.newProxyInstance(
+            Connection.class.getClassLoader(),
+            new Class<?>[]{Connection.class},
+            new ConnectionHandle(physical)
+        );
+    }
+
+    /**
+     * Returns a borrowed connection to the pool. The connection state that
+     * callers may have changed (auto-commit, read-only flag, open transaction)
+     * is reset first; if that fails or the connection was marked broken, it is
+     * closed instead.
+     *
+     * @param physical The connection being returned.
+     * @param broken   {@code true} if a fatal error was observed on the connection.
+     */
+    private void release(PhysicalConnection physical, boolean broken) {
+        try {
+            if (broken || closed || !resetState(physical)) {
+                discard(physical);
+                return;
+            }
+
+            physical.lastReturnedAt = System.currentTimeMillis();
+            idleConnections.offerFirst(physical);
+        } finally {
+            permits.release();
+        }
+    }
+
+    /**
+     * Restores the default session state of a connection before it is reused.
+     *
+     * @param physical The connection to reset.
+     * @return {@code true} if the connection was reset successfully, {@code false} otherwise.
+     */
+    private boolean resetState(PhysicalConnection physical) {
+        Connection connection = physical.connection;
+        try {
+            if (!connection.getAutoCommit()) {
+                connection.rollback();
+                connection.setAutoCommit(true);
+            }
+            if (connection.isReadOnly()) {
+                connection.setReadOnly(false);
+            }
+            connection.clearWarnings();
+            return true;
+        } catch (SQLException e) {
+            logger.log(Level.WARNING, "Failed to reset pooled connection, discarding it: {0}", e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Closes a physical connection and removes it from the pool accounting.
+     *
+     * @param physical The connection to close.
+     */
+    private void discard(PhysicalConnection physical) {
+        totalConnections.decrementAndGet();
+        try {
+            physical.connection.close();
+        } catch (SQLException e) {
+            logger.log(Level.FINE, "Error while closing pooled connection: {0}", e.getMessage());
+        }
+    }
+
+    /**
+     * Periodic maintenance task: evicts idle connections that exceeded the idle
+     * timeout (while keeping at least {@code minIdle}) or their maximum lifetime,
+     * and opens new connections until {@code minIdle} idle connections exist.
+     */
+    private void housekeep() {
+        if (closed) {
+            return;
+        }
+
+        long now = System.currentTimeMillis();
+        Iterator<PhysicalConnection> iterator = idleConnections.descendingIterator();
+        while (iterator.hasNext()) {
+            PhysicalConnection physical = iterator.next();
+            boolean idleTooLong = now - physical.lastReturnedAt > config.getIdleTimeoutMillis()
+                    && idleConnections.size() > config.getMinIdle();
+            boolean tooOld = now - physical.createdAt > config.getMaxLifetimeMillis();
+
+            if ((idleTooLong || tooOld) && idleConnections.removeFirstOccurrence(physical)) {
+                discard(physical);
+            }
+        }
+
+        while (!closed && idleConnections.size() < config.getMinIdle() && reserveSlot()) {
+            try {
+                idleConnections.offerLast(openPhysicalConnection());
+            } catch (SQLException e) {
+                logger.log(Level.WARNING, "Failed to open idle connection for pool ''{0}'': {1}", new Object[]{name, e.getMessage()});
+                return;
+            }
+        }
+    }
+
+    /**
+     * Reserves capacity for one additional physical connection, unless the pool
+     * has already reached its maximum size.
+     *
+     * @return {@code true} if a slot was reserved, {@code false} if the pool is full.
+     */
+    private boolean reserveSlot() {
+        int current;
+        do {
+            current = totalConnections.get();
+            if (current >= config.getMaxSize()) {
+                return false;
+            }
+        } while (!totalConnections.compareAndSet(current, current + 1));
+        return true;
+    }
+
+    /**
+     * Closes the pool. Idle connections are closed immediately; connections that
+     * are currently in use are closed when their borrower returns them.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        housekeeper.shutdownNow();
+
+        PhysicalConnection physical;
+        while ((physical = idleConnections.pollFirst()) != null) {
+            discard(physical);
+        }
+        logger.log(Level.INFO, "Closed connection pool ''{0}''.", name);
+    }
+
+    /**
+     * Gets the name of the pool.
+     *
+     * @return The pool name.
+     */
+    public String getName() { return name; }
+
+    /**
+     * Gets the configuration the pool was created with.
+     *
+     * @return The pool configuration.
+     */
+    public ConnectionPoolConfig getConfig() { return config; }
+
+    /**
+     * Gets the number of physical connections currently open (idle and in use).
+     *
+     * @return The total number of open connections.
+     */
+    public int getTotalConnections() { return totalConnections.get(); }
+
+    /**
+     * Gets the number of idle connections waiting in the pool.
+     *
+     * @return The number of idle connections.
+     */
+    public int getIdleConnections() { return idleConnections.size(); }
+
+    /**
+     * Gets the number of connections currently borrowed by callers.
+     *
+     * @return The number of active connections.
+     */
+    public int getActiveConnections() { return config.getMaxSize() - permits.availablePermits(); }
+
+    /**
+     * Gets the number of threads currently waiting for a connection.
+     *
+     * @return The number of waiting threads (an estimate).
+     */
+    public int getWaitingThreads() { return permits.getQueueLength(); }
+
+    /**
+     * Gets the prepared statement cache settings the pool reports statistics for.
+     *
+     * @return The statement cache settings, or {@code null} if statistics are disabled.
+     */
+    public StatementCacheConfig getStatementCacheConfig() { return statementCacheConfig; }
+
+    /**
+     * Gets the prepared statement cache statistics of all connections of the pool.
+     *
+     * @return The statement cache statistics.
+     */
+    public StatementCacheStats getStatementCacheStats() { return statementCacheStats; }
+
+    @Override
+    public PrintWriter getLogWriter() { return logWriter; }
+
+    @Override
+    public void setLogWriter(PrintWriter out) { this.logWriter = out; }
+
+    @Override
+    public void setLoginTimeout(int seconds) { this.loginTimeout = seconds; }
+
+    @Override
+    public int getLoginTimeout() { return loginTimeout; }
+
+    @Override
+    public Logger getParentLogger() { return logger; }
+
+    @Override
+    public <T> T unwrap(Class<T> iface) throws SQLException {
+        if (iface.isInstance(this)) {
+            return iface.cast(this);
+        }
+        throw new SQLException("PooledDataSource does not wrap " + iface.getName());
+    }
+
+    @Override
+    public boolean isWrapperFor(Class<?> iface) {
+        return iface.isInstance(this);
+    }
+
+    /**
+     * A physical database connection together with its pool bookkeeping.
+     */
+    private static final class PhysicalConnection {
+        private final Connection connection;
+        private final long createdAt = System.currentTimeMillis();
+        private volatile long lastReturnedAt = createdAt;
+        /** SQL texts the driver currently caches for this connection, in LRU order. */
+        private final Map<String, Boolean> cachedStatements;
+
+        private PhysicalConnection(Connection connection, int statementCacheSize) {
+            this.connection = connection;
+            this.cachedStatements = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, Boolean> eldest) {
+                    return size() > statementCacheSize;
+                }
+            };
+        }
+    }
+
+    /**
+     * Invocation handler behind the connection proxies handed out by the pool.
+     * It intercepts {@code close()} to return the connection to the pool and
+     * remembers whether a fatal (connection-level) error was observed, so that
+     * broken connections are discarded instead of being reused.
+     */
+    private final class ConnectionHandle implements InvocationHandler {
+
+        private final PhysicalConnection physical;
+        private boolean returned = false;
+        private boolean broken = false;
+
+        private ConnectionHandle(PhysicalConnection physical) {
+            this.physical = physical;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close":
+                    if (!returned) {
+                        returned = true;
+                        release(physical, broken);
+                    }
+                    return null;
+                case "isClosed":
+                    return returned || physical.connection.isClosed();
+                case "abort":
+                    if (!returned) {
+                        returned = true;
+                        release(physical, true);
+                    }
+                    return null;
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "PooledConnection[" + name + "]@" + Integer.toHexString(System.identityHashCode(proxy));
+                case "prepareStatement":
+                    if (!returned) {
+                        recordPrepare(physical, (String) args[0]);
+                    }
+                    break;
+                default:
+                    break;
+            }
+
+            if (returned) {
+                throw new SQLException("Connection has already been returned to the pool.");
+            }
+
+            try {
+                return method.invoke(physical.connection, args);
+            } catch (InvocationTargetException e) {
+                Throwable cause = e.getCause();
+                if (cause instanceof SQLException sqlException && isFatal(sqlException)) {
+                    broken = true;
+                }
+                throw cause;
+            }
+        }
+
+        /**
+         * Determines whether an exception indicates that the connection itself is
+         * no longer usable (SQL state class 08: connection exception).
+         *
+         * @param e The exception to inspect.
+         * @return {@code true} if the connection should be discarded.
+         */
+        private boolean isFatal(SQLException e) {
+            String sqlState = e.getSQLState();
+            return sqlState != null && sqlState.startsWith("08");
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.leanx.app.utils.database;
+
+import java.io.IOException;
+
+import com.leanx.app.utils.DatabaseUtils;
+import com.leanx.app.utils.EnvironmentUtils;
+
+import jakarta.servlet.Filter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+import jakarta.servlet.annotation.WebFilter;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpSession;
+
+/**
+ * Servlet filter that keeps read-your-writes consistency when read-only work
+ * is routed to replicas. Requests that may write (anything but {@code GET},
+ * {@code HEAD} and {@code OPTIONS}) run pinned to the primary and mark the
+ * session, so that the same session also reads from the primary for a short
+ * window afterwards, until the replicas have caught up with the write.
+ * <p>
+ * The window defaults to the maximum tolerated replication lag and can be
+ * changed with the {@code RDS_MYSQL_READ_YOUR_WRITES_MS} environment variable.
+ */
+@WebFilter("/api/*")
+public class ReadYourWritesFilter implements Filter {
+
+    private static final String PRIMARY_UNTIL_ATTRIBUTE = "primaryReadsUntil";
+
+    private static final long WINDOW_MILLIS = EnvironmentUtils.getLong("RDS_MYSQL_READ_YOUR_WRITES_MS",
+            DatabaseUtils.getReplicaRouter().getMaxLagSeconds() * 1000);
+
+    /**
+     * Pins the request to the primary if it may write or if its session wrote recently.
+     *
+     * @param request  The {@code ServletRequest} object representing the client's request.
+     * @param response The {@code ServletResponse} object representing the server's response.
+     * @param chain    The {@code FilterChain} to pass the request on to.
+     * @throws IOException      If an I/O error occurs during the processing of the filter.
+     * @throws ServletException If a servlet-specific error occurs during the processing of the filter.
+     */
+    @Override
+    public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain) throws IOException, ServletException {
+        if (DatabaseUtils.getReplicaRouter().getReplicas().isEmpty()) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        HttpServletRequest httpRequest = (HttpServletRequest) request;
+        boolean writing = isWriteMethod(httpRequest.getMethod());
+        boolean pinned = writing || wroteRecently(httpRequest.getSession(false));
+
+        if (pinned) {
+            ReplicaRouter.pinToPrimary();
+        }
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            if (pinned) {
+                ReplicaRouter.unpin();
+            }
+            if (writing) {
+                HttpSession session = httpRequest.getSession(false);
+                if (session != null) {
+                    session.setAttribute(PRIMARY_UNTIL_ATTRIBUTE, System.currentTimeMillis() + WINDOW_MILLIS);
+                }
+            }
+        }
+    }
+
+    /**
+     * Checks whether an HTTP method may modify data.
+     *
+     * @param method The HTTP method.
+     * @return {@code true} unless the method is {@code GET}, {@code HEAD} or {@code OPTIONS}.
+     */
+    private static boolean isWriteMethod(String method) {
+        return !("GET".equals(method) || "HEAD".equals(method) || "OPTIONS".equals(method));
+    }
+
+    /**
+     * Checks whether a session made a write within the read-your-writes window.
+     *
+     * @param session The session of the request, may be {@code null}.
+     * @return {@code true} if reads of the session must still go to the primary.
+     */
+    private static boolean wroteRecently(HttpSession session) {
+        if (session == null) {
+            return false;
+        }
+        Object until = session.getAttribute(PRIMARY_UNTIL_ATTRIBUTE);
+        return until instanceof Long deadline && deadline > System.currentTimeMillis();
+    }
+}
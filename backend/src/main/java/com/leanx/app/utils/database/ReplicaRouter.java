@@ -0,0 +1,298 @@
+package com.leanx.app.utils.database;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import com.leanx.app.utils.EnvironmentUtils;
+
+/**
+ * Routes read-only work to a set of MySQL read replicas. Each replica has its
+ * own {@link PooledDataSource}; connections are handed out round-robin across
+ * the replicas that are currently healthy.
+ * <p>
+ * A background task checks the replication lag of every replica. Replicas that
+ * lag behind by more than the configured maximum, whose replication is stopped
+ * or that cannot be reached are skipped until they have caught up again. If no
+ * replica is usable, callers fall back to the primary.
+ * <p>
+ * Work that must see its own writes can pin the current thread to the primary
+ * with {@link #pinToPrimary()} / {@link #unpin()}.
+ */
+public final class ReplicaRouter implements AutoCloseable {
+
+    private static final Logger logger = Logger.getLogger(ReplicaRouter.class.getName());
+
+    private static final ThreadLocal<Integer> PRIMARY_PINS = new ThreadLocal<>();
+
+    private final List<Replica> replicas;
+    private final long maxLagSeconds;
+    private final AtomicInteger next = new AtomicInteger();
+    private final ScheduledExecutorService lagMonitor;
+
+    /**
+     * Constructs a new {@code ReplicaRouter}. If at least one replica is given,
+     * a background task checks their replication lag at the given interval.
+     *
+     * @param replicas          The connection pools of the replicas; may be empty.
+     * @param maxLagSeconds     The maximum tolerated replication lag in seconds.
+     * @param checkIntervalMillis The interval between two lag checks.
+     */
+    public ReplicaRouter(List<PooledDataSource> replicas, long maxLagSeconds, long checkIntervalMillis) {
+        List<Replica> list = new ArrayList<>();
+        for (PooledDataSource dataSource : replicas) {
+            list.add(new Replica(dataSource));
+        }
+        this.replicas = Collections.unmodifiableList(list);
+        this.maxLagSeconds = maxLagSeconds;
+
+        if (this.replicas.isEmpty()) {
+            this.lagMonitor = null;
+            return;
+        }
+
+        this.lagMonitor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "leanx-db-replica-lag");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.lagMonitor.scheduleWithFixedDelay(this::checkLag, 0, checkIntervalMillis, TimeUnit.MILLISECONDS);
+        logger.log(Level.INFO, "Routing read-only work to {0} replica(s), max lag {1} s", new Object[]{this.replicas.size(), maxLagSeconds});
+    }
+
+    /**
+     * Creates a router for the replicas listed in the environment:
+     * <ul>
+     * <li>{@code RDS_MYSQL_REPLICA_ENDPOINTS}: comma-separated {@code host[:port]} list (default: none)</li>
+     * <li>{@code RDS_MYSQL_REPLICA_MAX_LAG_S} (default 5 seconds)</li>
+     * <li>{@code RDS_MYSQL_REPLICA_LAG_CHECK_INTERVAL_MS} (default 5 seconds)</li>
+     * </ul>
+     * The replicas use the same database name, credentials and pool settings as the primary.
+     *
+     * @param defaultPort    The port used for endpoints without an explicit port.
+     * @param urlSuffix      The database name and connection properties appended to each replica URL.
+     * @param user           The database user.
+     * @param password       The password of the database user.
+     * @param poolConfig     The pool configuration of each replica.
+     * @param statementCache The statement cache settings of each replica, may be {@code null}.
+     * @return The router; without configured replicas it always falls back to the primary.
+     */
+    public static ReplicaRouter fromEnvironment(String defaultPort, String urlSuffix, String user, String password,
+                                                ConnectionPoolConfig poolConfig, StatementCacheConfig statementCache) {
+        List<PooledDataSource> pools = new ArrayList<>();
+        String endpoints = EnvironmentUtils.getString("RDS_MYSQL_REPLICA_ENDPOINTS", "");
+
+        for (String endpoint : endpoints.split(",")) {
+            endpoint = endpoint.trim();
+            if (endpoint.isEmpty()) {
+                continue;
+            }
+            String hostAndPort = endpoint.contains(":") ? endpoint : endpoint + ":" + defaultPort;
+            pools.add(new PooledDataSource("replica-" + (pools.size() + 1), "jdbc:mysql://" + hostAndPort + "/" + urlSuffix,
+                    user, password, poolConfig, statementCache));
+        }
+
+        return new ReplicaRouter(
+            pools,
+            EnvironmentUtils.getLong("RDS_MYSQL_REPLICA_MAX_LAG_S", 5),
+            EnvironmentUtils.getLong("RDS_MYSQL_REPLICA_LAG_CHECK_INTERVAL_MS", 5 * 1000L)
+        );
+    }
+
+    /**
+     * Borrows a connection from the next healthy replica. Replicas that fail to
+     * hand out a connection are marked unhealthy and the next one is tried.
+     *
+     * @return A pooled replica connection, or {@code null} if the current thread
+     * is pinned to the primary or no replica is usable.
+     */
+    public Connection getConnection() {
+        if (replicas.isEmpty() || isPinnedToPrimary()) {
+            return null;
+        }
+
+        int start = Math.floorMod(next.getAndIncrement(), replicas.size());
+        for (int i = 0; i < replicas.size(); i++) {
+            Replica replica = replicas.get((start + i) % replicas.size());
+            if (!replica.healthy) {
+                continue;
+            }
+
+            try {
+                return replica.dataSource.getConnection();
+            } catch (SQLException e) {
+                replica.healthy = false;
+                logger.log(Level.WARNING, "Replica ''{0}'' is unavailable, skipping it: {1}",
+                        new Object[]{replica.dataSource.getName(), e.getMessage()});
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Checks the replication lag of all replicas and updates their health.
+     */
+    private void checkLag() {
+        for (Replica replica : replicas) {
+            boolean wasHealthy = replica.healthy;
+            try {
+                replica.lagSeconds = queryLagSeconds(replica.dataSource);
+                replica.healthy = replica.lagSeconds >= 0 && replica.lagSeconds <= maxLagSeconds;
+            } catch (SQLException e) {
+                replica.lagSeconds = -1;
+                replica.healthy = false;
+                logger.log(Level.FINE, "Lag check of replica ''{0}'' failed: {1}", new Object[]{replica.dataSource.getName(), e.getMessage()});
+            }
+
+            if (wasHealthy != replica.healthy) {
+                logger.log(Level.WARNING, "Replica ''{0}'' is now {1} (lag {2} s)",
+                        new Object[]{replica.dataSource.getName(), replica.healthy ? "in use" : "skipped", replica.lagSeconds});
+            }
+        }
+    }
+
+    /**
+     * Queries the replication lag of a replica. Newer servers report it as
+     * {@code Seconds_Behind_Source} of {@code SHOW REPLICA STATUS}, older ones
+     * as {@code Seconds_Behind_Master} of {@code SHOW SLAVE STATUS}.
+     *
+     * @param dataSource The pool of the replica.
+     * @return The lag in seconds, {@code 0} if the server does not report
+     * replication status (e.g. managed reader endpoints), or {@code -1} if
+     * replication is stopped.
+     * @throws SQLException If the replica cannot be reached.
+     */
+    private static long queryLagSeconds(PooledDataSource dataSource) throws SQLException {
+        try (Connection c = dataSource.getConnection();
+             Statement stmt = c.createStatement()) {
+            try {
+                return readLag(stmt, "SHOW REPLICA STATUS", "Seconds_Behind_Source");
+            } catch (SQLException e) {
+                return readLag(stmt, "SHOW SLAVE STATUS", "Seconds_Behind_Master");
+            }
+        }
+    }
+
+    /**
+     * Reads the replication lag from a replication status statement.
+     *
+     * @param stmt      The statement to execute the query with.
+     * @param sql       The replication status query.
+     * @param lagColumn The column that holds the lag in seconds.
+     * @return The lag in seconds, {@code 0} if no replication status is reported,
+     * or {@code -1} if replication is stopped.
+     * @throws SQLException If the query fails.
+     */
+    private static long readLag(Statement stmt, String sql, String lagColumn) throws SQLException {
+        try (ResultSet rs = stmt.executeQuery(sql)) {
+            if (!rs.next()) {
+                return 0;
+            }
+            long lag = rs.getLong(lagColumn);
+            return rs.wasNull() ? -1 : lag;
+        }
+    }
+
+    /**
+     * Pins the current thread to the primary until {@link #unpin()} is called,
+     * so that reads see the writes made before. Pins may be nested.
+     */
+    public static void pinToPrimary() {
+        Integer pins = PRIMARY_PINS.get();
+        PRIMARY_PINS.set(pins == null ? 1 : pins + 1);
+    }
+
+    /**
+     * Releases a pin set by {@link #pinToPrimary()}.
+     */
+    public static void unpin() {
+        Integer pins = PRIMARY_PINS.get();
+        if (pins == null || pins <= 1) {
+            PRIMARY_PINS.remove();
+        } else {
+            PRIMARY_PINS.set(pins - 1);
+        }
+    }
+
+    /**
+     * Checks whether the current thread is pinned to the primary.
+     *
+     * @return {@code true} if reads of the current thread must go to the primary.
+     */
+    public static boolean isPinnedToPrimary() {
+        return PRIMARY_PINS.get() != null;
+    }
+
+    /**
+     * Gets the connection pools of the replicas.
+     *
+     * @return An unmodifiable list of the replica pools.
+     */
+    public List<PooledDataSource> getReplicas() {
+        List<PooledDataSource> pools = new ArrayList<>();
+        for (Replica replica : replicas) {
+            pools.add(replica.dataSource);
+        }
+        return pools;
+    }
+
+    /**
+     * Checks whether a replica is currently used for read-only work.
+     *
+     * @param index The index of the replica in {@link #getReplicas()}.
+     * @return {@code true} if the replica is healthy.
+     */
+    public boolean isHealthy(int index) { return replicas.get(index).healthy; }
+
+    /**
+     * Gets the replication lag measured by the last check.
+     *
+     * @param index The index of the replica in {@link #getReplicas()}.
+     * @return The lag in seconds, or {@code -1} if replication is stopped or the replica is unreachable.
+     */
+    public long getLagSeconds(int index) { return replicas.get(index).lagSeconds; }
+
+    /**
+     * Gets the maximum tolerated replication lag.
+     *
+     * @return The maximum lag in seconds.
+     */
+    public long getMaxLagSeconds() { return maxLagSeconds; }
+
+    /**
+     * Stops the lag checks and closes the connection pools of all replicas.
+     */
+    @Override
+    public void close() {
+        if (lagMonitor != null) {
+            lagMonitor.shutdownNow();
+        }
+        for (Replica replica : replicas) {
+            replica.dataSource.close();
+        }
+    }
+
+    /**
+     * A replica pool together with its health state. Replicas start out
+     * unhealthy and are only used after their first successful lag check.
+     */
+    private static final class Replica {
+        private final PooledDataSource dataSource;
+        private volatile boolean healthy = false;
+        private volatile long lagSeconds = -1;
+
+        private Replica(PooledDataSource dataSource) {
+            this.dataSource = dataSource;
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package com.leanx.app.utils.database;
+
+import com.leanx.app.utils.EnvironmentUtils;
+
+/**
+ * Immutable settings of the per-connection prepared statement cache of the
+ * MySQL driver. The values are read from {@code RDS_MYSQL_PREP_STMT_*}
+ * environment variables and turned into JDBC URL properties by
+ * {@link #toUrlProperties()}. The same settings are used by
+ * {@link PooledDataSource} to report statement cache hit rates.
+ */
+public final class StatementCacheConfig {
+
+    private final boolean serverPrepared;
+    private final boolean enabled;
+    private final int cacheSize;
+    private final int sqlLimit;
+
+    /**
+     * Constructs a new {@code StatementCacheConfig}.
+     *
+     * @param serverPrepared {@code true} to prepare statements on the server ({@code useServerPrepStmts}).
+     * @param enabled        {@code true} to cache prepared statements per connection ({@code cachePrepStmts}).
+     * @param cacheSize      The maximum number of statements cached per connection.
+     * @param sqlLimit       The maximum length of SQL text that is cached.
+     * @throws IllegalArgumentException If the cache size or SQL limit is not positive.
+     */
+    public StatementCacheConfig(boolean serverPrepared, boolean enabled, int cacheSize, int sqlLimit) throws IllegalArgumentException {
+        if (cacheSize <= 0 || sqlLimit <= 0) {
+            throw new IllegalArgumentException("Invalid statement cache settings: cacheSize=" + cacheSize + ", sqlLimit=" + sqlLimit);
+        }
+
+        this.serverPrepared = serverPrepared;
+        this.enabled = enabled;
+        this.cacheSize = cacheSize;
+        this.sqlLimit = sqlLimit;
+    }
+
+    /**
+     * Creates a configuration from the following environment variables:
+     * <ul>
+     * <li>{@code RDS_MYSQL_USE_SERVER_PREP_STMTS} (default true)</li>
+     * <li>{@code RDS_MYSQL_PREP_STMT_CACHE_ENABLED} (default true)</li>
+     * <li>{@code RDS_MYSQL_PREP_STMT_CACHE_SIZE} (default 250)</li>
+     * <li>{@code RDS_MYSQL_PREP_STMT_CACHE_SQL_LIMIT} (default 2048)</li>
+     * </ul>
+     *
+     * @return A {@code StatementCacheConfig} populated from the environment.
+     */
+    public static StatementCacheConfig fromEnvironment() {
+        return new StatementCacheConfig(
+            EnvironmentUtils.getBoolean("RDS_MYSQL_USE_SERVER_PREP_STMTS", true),
+            EnvironmentUtils.getBoolean("RDS_MYSQL_PREP_STMT_CACHE_ENABLED", true),
+            EnvironmentUtils.getInt("RDS_MYSQL_PREP_STMT_CACHE_SIZE", 250),
+            EnvironmentUtils.getInt("RDS_MYSQL_PREP_STMT_CACHE_SQL_LIMIT", 2048)
+        );
+    }
+
+    /**
+     * Builds the JDBC URL properties that configure the driver accordingly.
+     *
+     * @return The properties, each prefixed with {@code &}.
+     */
+    public String toUrlProperties() {
+        return "&useServerPrepStmts=" + serverPrepared +
+                "&cachePrepStmts=" + enabled +
+                "&prepStmtCacheSize=" + cacheSize +
+                "&prepStmtCacheSqlLimit=" + sqlLimit;
+    }
+
+    /**
+     * Checks whether a statement with the given SQL text can be cached.
+     *
+     * @param sql The SQL text of the statement.
+     * @return {@code true} if caching is enabled and the SQL is short enough.
+     */
+    public boolean isCacheable(String sql) {
+        return enabled && sql != null && sql.length() <= sqlLimit;
+    }
+
+    /**
+     * Checks whether statements are prepared on the server.
+     *
+     * @return {@code true} if server-side prepared statements are used.
+     */
+    public boolean isServerPrepared() { return serverPrepared; }
+
+    /**
+     * Checks whether prepared statements are cached per connection.
+     *
+     * @return {@code true} if the cache is enabled.
+     */
+    public boolean isEnabled() { return enabled; }
+
+    /**
+     * Gets the maximum number of statements cached per connection.
+     *
+     * @return The cache size.
+     */
+    public int getCacheSize() { return cacheSize; }
+
+    /**
+     * Gets the maximum length of SQL text that is cached.
+     *
+     * @return The SQL length limit.
+     */
+    public int getSqlLimit() { return sqlLimit; }
+
+    /**
+     * Returns a string representation of the {@code StatementCacheConfig} object.
+     *
+     * @return A string containing all statement cache settings.
+     */
+    @Override
+    public String toString() {
+        return "StatementCacheConfig{" +
+                "serverPrepared=" + serverPrepared +
+                ", enabled=" + enabled +
+                ", cacheSize=" + cacheSize +
+                ", sqlLimit=" + sqlLimit +
+                '}';
+    }
+}
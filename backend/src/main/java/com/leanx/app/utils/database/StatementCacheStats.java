@@ -0,0 +1,176 @@
+package com.leanx.app.utils.database;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Estimated hit and miss counters of the prepared statement cache, aggregated
+ * over all connections of a {@link PooledDataSource}. The driver does not
+ * expose its cache statistics, so the pool mirrors the driver's per-connection
+ * LRU cache (same size and SQL length limit) and records for every
+ * {@code prepareStatement} call whether the statement was already cached. The
+ * counters are therefore a client-side simulation, not the driver's own
+ * figures, and can differ from them, e.g. when the driver closes a statement
+ * or the server drops it.
+ * <p>
+ * Counters are additionally kept per SQL text for a bounded number of
+ * statements, which shows the effect on individual read paths such as the
+ * login lookup by user name.
+ */
+public final class StatementCacheStats {
+
+    /** Maximum number of distinct SQL texts tracked individually. */
+    private static final int MAX_TRACKED_STATEMENTS = 500;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder uncacheable = new LongAdder();
+    private final Map<String, Counter> statements = new ConcurrentHashMap<>();
+
+    /**
+     * Records a statement that was served from a connection's cache.
+     *
+     * @param sql The SQL text of the statement.
+     */
+    void recordHit(String sql) {
+        hits.increment();
+        Counter counter = counterFor(sql);
+        if (counter != null) {
+            counter.hits.increment();
+        }
+    }
+
+    /**
+     * Records a statement that had to be prepared (and was then cached).
+     *
+     * @param sql The SQL text of the statement.
+     */
+    void recordMiss(String sql) {
+        misses.increment();
+        Counter counter = counterFor(sql);
+        if (counter != null) {
+            counter.misses.increment();
+        }
+    }
+
+    /**
+     * Records a statement that could not be cached, e.g. because its SQL text
+     * exceeds the configured length limit.
+     */
+    void recordUncacheable() {
+        uncacheable.increment();
+    }
+
+    /**
+     * Gets the per-statement counter for a SQL text, creating it while fewer
+     * than {@link #MAX_TRACKED_STATEMENTS} statements are tracked.
+     *
+     * @param sql The SQL text of the statement.
+     * @return The counter, or {@code null} if the statement is not tracked.
+     */
+    private Counter counterFor(String sql) {
+        Counter counter = statements.get(sql);
+        if (counter == null && statements.size() < MAX_TRACKED_STATEMENTS) {
+            counter = statements.computeIfAbsent(sql, k -> new Counter());
+        }
+        return counter;
+    }
+
+    /**
+     * Gets the estimated number of statements served from the cache.
+     *
+     * @return The number of simulated cache hits.
+     */
+    public long getEstimatedHits() { return hits.sum(); }
+
+    /**
+     * Gets the estimated number of cacheable statements that had to be prepared.
+     *
+     * @return The number of simulated cache misses.
+     */
+    public long getEstimatedMisses() { return misses.sum(); }
+
+    /**
+     * Gets the number of statements that bypassed the cache.
+     *
+     * @return The number of uncacheable statements.
+     */
+    public long getUncacheable() { return uncacheable.sum(); }
+
+    /**
+     * Gets the estimated share of cacheable statements that were served from the cache.
+     *
+     * @return The simulated hit rate between 0 and 1, or 0 if no statement was prepared yet.
+     */
+    public double getEstimatedHitRate() {
+        return hitRate(getEstimatedHits(), getEstimatedMisses());
+    }
+
+    /**
+     * Returns the counters of the most frequently prepared statements. The
+     * statements are identified by the hash of their SQL text rather than the
+     * text itself, because the metrics are available to every signed-in user
+     * and must not reveal the queries and schema.
+     *
+     * @param limit The maximum number of statements to return.
+     * @return A list of maps with the keys {@code sqlHash} (see {@link #sqlHash(String)}), {@code estimatedHits},
+     * {@code estimatedMisses} and {@code estimatedHitRate}, ordered by the number of executions, most frequent first.
+     */
+    public List<Map<String, Object>> topStatements(int limit) {
+        List<Map.Entry<String, Counter>> entries = new ArrayList<>(statements.entrySet());
+        entries.sort(Comparator.comparingLong((Map.Entry<String, Counter> e) -> e.getValue().total()).reversed());
+
+        List<Map<String, Object>> result = new ArrayList<>();
+        for (Map.Entry<String, Counter> entry : entries.subList(0, Math.min(limit, entries.size()))) {
+            long statementHits = entry.getValue().hits.sum();
+            long statementMisses = entry.getValue().misses.sum();
+
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("sqlHash", sqlHash(entry.getKey()));
+            row.put("estimatedHits", statementHits);
+            row.put("estimatedMisses", statementMisses);
+            row.put("estimatedHitRate", hitRate(statementHits, statementMisses));
+            result.add(row);
+        }
+        return result;
+    }
+
+    /**
+     * Computes the identifier of a statement in {@link #topStatements(int)}.
+     *
+     * @param sql The SQL text of the statement.
+     * @return The {@link String#hashCode()} of the text as eight hexadecimal digits.
+     */
+    public static String sqlHash(String sql) {
+        return String.format("%08x", sql.hashCode());
+    }
+
+    /**
+     * Computes a hit rate.
+     *
+     * @param hits   The number of hits.
+     * @param misses The number of misses.
+     * @return The hit rate between 0 and 1, or 0 if both counts are zero.
+     */
+    private static double hitRate(long hits, long misses) {
+        long total = hits + misses;
+        return total == 0 ? 0.0 : (double) hits / total;
+    }
+
+    /**
+     * Hit and miss counters of a single SQL text.
+     */
+    private static final class Counter {
+        private final LongAdder hits = new LongAdder();
+        private final LongAdder misses = new LongAdder();
+
+        private long total() {
+            return hits.sum() + misses.sum();
+        }
+    }
+}
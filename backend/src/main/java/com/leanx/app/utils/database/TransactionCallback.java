@@ -0,0 +1,26 @@
+package com.leanx.app.utils.database;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * A unit of work that is executed by {@link TransactionTemplate} while a
+ * transaction is bound to the current thread.
+ *
+ * @param <T> The type of the result produced by the unit of work.
+ */
+@FunctionalInterface
+public interface TransactionCallback<T> {
+
+    /**
+     * Executes the unit of work. Repository calls made from within this method
+     * transparently use the transaction's connection.
+     *
+     * @param connection The connection the transaction is running on. It must not
+     * be closed, committed or rolled back by the callback.
+     * @return The result of the unit of work, may be {@code null}.
+     * @throws SQLException If a database access error occurs. The transaction is
+     * rolled back in that case.
+     */
+    T doInTransaction(Connection connection) throws SQLException;
+}
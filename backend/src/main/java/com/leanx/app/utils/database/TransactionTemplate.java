@@ -0,0 +1,263 @@
+package com.leanx.app.utils.database;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import com.leanx.app.utils.DatabaseUtils;
+
+/**
+ * Executes units of work in a database transaction that is bound to the
+ * current thread. While a transaction is active,
+ * {@link DatabaseUtils#getMySQLConnection()} hands out the transaction's
+ * connection, so repositories join it without any changes to their code:
+ * several repository calls share one connection and are committed together.
+ * <p>
+ * Nested calls to {@link #inTransaction(TransactionCallback)} join the
+ * surrounding transaction. If any of them fails, the whole transaction is
+ * rolled back by the outermost call.
+ * <p>
+ * Transactions started with {@link #inReadOnlyTransaction(TransactionCallback)}
+ * run on a read replica where possible (see
+ * {@link DatabaseUtils#getReadOnlyConnection()}).
+ * <p>
+ * Work that must only happen once the outcome is known, such as dropping
+ * cached copies of changed rows, is registered with {@link #afterCompletion(Runnable)}.
+ */
+public final class TransactionTemplate {
+
+    private static final Logger logger = Logger.getLogger(TransactionTemplate.class.getName());
+
+    private static final ThreadLocal<TransactionContext> CURRENT = new ThreadLocal<>();
+
+    private TransactionTemplate() {
+    }
+
+    /**
+     * Runs the given unit of work in a transaction. If a transaction is already
+     * active on the current thread, the unit of work joins it; otherwise a new
+     * transaction is started, committed on success and rolled back if the unit
+     * of work throws.
+     *
+     * @param <T>      The type of the result produced by the unit of work.
+     * @param callback The unit of work to execute.
+     * @return The result returned by {@code callback}.
+     * @throws SQLException If the unit of work or the commit fails.
+     * @throws IllegalArgumentException If {@code callback} is null.
+     */
+    public static <T> T inTransaction(TransactionCallback<T> callback) throws SQLException, IllegalArgumentException {
+        return execute(callback, false);
+    }
+
+    /**
+     * Runs the given read-only unit of work in a transaction. A new transaction
+     * is started on a read replica if one is available, so all its reads see
+     * one consistent snapshot without loading the primary. If a transaction is
+     * already active on the current thread, the unit of work joins it.
+     *
+     * @param <T>      The type of the result produced by the unit of work.
+     * @param callback The unit of work to execute; it must not write.
+     * @return The result returned by {@code callback}.
+     * @throws SQLException If the unit of work or the commit fails.
+     * @throws IllegalArgumentException If {@code callback} is null.
+     */
+    public static <T> T inReadOnlyTransaction(TransactionCallback<T> callback) throws SQLException, IllegalArgumentException {
+        return execute(callback, true);
+    }
+
+    /**
+     * Runs a unit of work in a new or the surrounding transaction.
+     *
+     * @param <T>      The type of the result produced by the unit of work.
+     * @param callback The unit of work to execute.
+     * @param readOnly {@code true} to start a read-only transaction.
+     * @return The result returned by {@code callback}.
+     * @throws SQLException If the unit of work or the commit fails, or a
+     * read-write unit of work is nested in a read-only transaction.
+     * @throws IllegalArgumentException If {@code callback} is null.
+     */
+    private static <T> T execute(TransactionCallback<T> callback, boolean readOnly) throws SQLException, IllegalArgumentException {
+        if (callback == null) {
+            throw new IllegalArgumentException("Transaction callback must not be null.");
+        }
+
+        TransactionContext current = CURRENT.get();
+        if (current != null) {
+            if (current.readOnly && !readOnly) {
+                current.rollbackOnly = true;
+                throw new SQLException("Cannot join a read-only transaction with a read-write unit of work.");
+            }
+            try {
+                return callback.doInTransaction(current.handle);
+            } catch (SQLException | RuntimeException | Error e) {
+                current.rollbackOnly = true;
+                throw e;
+            }
+        }
+
+        Connection connection = readOnly ? DatabaseUtils.getReadOnlyConnection() : DatabaseUtils.getDataSource().getConnection();
+        TransactionContext context = new TransactionContext(connection, readOnly);
+        CURRENT.set(context);
+        try {
+            if (readOnly) {
+                connection.setReadOnly(true);
+            }
+            connection.setAutoCommit(false);
+            T result = callback.doInTransaction(context.handle);
+
+            if (context.rollbackOnly) {
+                connection.rollback();
+                throw new SQLException("Transaction rolled back because a nested unit of work failed.");
+            }
+
+            connection.commit();
+            return result;
+        } catch (SQLException | RuntimeException | Error e) {
+            rollbackQuietly(connection);
+            throw e;
+        } finally {
+            CURRENT.remove();
+            runCompletionActions(context);
+            connection.close();
+        }
+    }
+
+    /**
+     * Runs an action once the transaction bound to the current thread has been
+     * committed or rolled back, or right away if no transaction is active.
+     *
+     * @param action The action to run; it must not throw checked exceptions.
+     * @throws IllegalArgumentException If {@code action} is null.
+     */
+    public static void afterCompletion(Runnable action) throws IllegalArgumentException {
+        if (action == null) {
+            throw new IllegalArgumentException("Completion action must not be null.");
+        }
+
+        TransactionContext context = CURRENT.get();
+        if (context == null) {
+            action.run();
+        } else {
+            context.completionActions.add(action);
+        }
+    }
+
+    /**
+     * Checks whether a transaction is bound to the current thread.
+     *
+     * @return {@code true} if a transaction is active, {@code false} otherwise.
+     */
+    public static boolean isTransactionActive() {
+        return CURRENT.get() != null;
+    }
+
+    /**
+     * Returns the connection of the transaction bound to the current thread.
+     * Closing the returned connection has no effect; the transaction is
+     * completed by {@link #inTransaction(TransactionCallback)}.
+     *
+     * @return The transaction's connection, or {@code null} if no transaction is active.
+     */
+    public static Connection currentConnection() {
+        TransactionContext context = CURRENT.get();
+        return context != null ? context.handle : null;
+    }
+
+    /**
+     * Runs the completion actions of a finished transaction. A failing action
+     * is logged and does not keep the others from running.
+     *
+     * @param context The finished transaction.
+     */
+    private static void runCompletionActions(TransactionContext context) {
+        for (Runnable action : context.completionActions) {
+            try {
+                action.run();
+            } catch (RuntimeException e) {
+                logger.log(Level.WARNING, "Transaction completion action failed", e);
+            }
+        }
+    }
+
+    /**
+     * Rolls back the given connection, logging instead of propagating a failure
+     * so that the original exception reaches the caller.
+     *
+     * @param connection The connection to roll back.
+     */
+    private static void rollbackQuietly(Connection connection) {
+        try {
+            connection.rollback();
+        } catch (SQLException e) {
+            logger.log(Level.WARNING, "Failed to roll back transaction", e);
+        }
+    }
+
+    /**
+     * State of the transaction bound to a thread.
+     */
+    private static final class TransactionContext {
+
+        private final Connection handle;
+        private final boolean readOnly;
+        private final List<Runnable> completionActions = new ArrayList<>();
+        private boolean rollbackOnly;
+
+        private TransactionContext(Connection connection, boolean readOnly) {
+            this.readOnly = readOnly;
+            this.handle = (Connection) Proxy.newProxyInstance(
+                Connection.class.getClassLoader(),
+                new Class<?>[]{Connection.class},
+                new TransactionBoundHandler(connection)
+            );
+        }
+    }
+
+    /**
+     * Handler for the connection that is handed out to repositories while a
+     * transaction is active. It ignores {@code close()} and refuses to let the
+     * transaction boundaries be changed from inside the unit of work.
+     */
+    private static final class TransactionBoundHandler implements InvocationHandler {
+
+        private final Connection target;
+
+        private TransactionBoundHandler(Connection target) {
+            this.target = target;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close":
+                    return null;
+                case "isClosed":
+                    return target.isClosed();
+                case "commit":
+                case "rollback":
+                case "setAutoCommit":
+                case "setReadOnly":
+                    throw new SQLException("Transaction boundaries are managed by TransactionTemplate.");
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "TransactionBoundConnection[" + target + "]";
+                default:
+                    try {
+                        return method.invoke(target, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+            }
+        }
+    }
+}
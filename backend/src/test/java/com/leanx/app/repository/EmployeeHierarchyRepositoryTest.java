@@ -0,0 +1,296 @@
+package com.leanx.app.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the statements that maintain the {@code employee_hierarchy} closure
+ * table. No database is available to the unit tests, so the statements run
+ * against {@link FakeHierarchyTable}, which evaluates each of them the way
+ * MySQL does (the multi-table {@code DELETE} evaluates its joins before any
+ * row is removed, and the primary key rejects duplicate rows). After every
+ * change the table is compared with the closure computed from the manager of
+ * each employee.
+ * <pre>
+ * 1          7
+ * ├── 2      └── 8
+ * │   ├── 4
+ * │   │   └── 9
+ * │   └── 5
+ * └── 3
+ *     └── 6
+ * </pre>
+ */
+class EmployeeHierarchyRepositoryTest {
+
+    private final EmployeeHierarchyRepository repository = new EmployeeHierarchyRepository();
+
+    private FakeHierarchyTable table;
+    private Map<Integer, Integer> managers;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        table = new FakeHierarchyTable();
+        managers = new HashMap<>();
+        int[][] links = {{1, 1}, {2, 1}, {3, 1}, {4, 2}, {5, 2}, {6, 3}, {7, 7}, {8, 7}, {9, 4}};
+        for (int[] link : links) {
+            add(link[0], link[1]);
+        }
+    }
+
+    @Test
+    void addEmployeeInsertsOneRowPerManagerAndTheSelfRow() throws SQLException {
+        assertEquals(expectedClosure(), table.rows);
+        assertEquals(0, table.depth(9, 9));
+        assertEquals(1, table.depth(4, 9));
+        assertEquals(3, table.depth(1, 9));
+        assertEquals(5, add(10, 9));
+    }
+
+    @Test
+    void detachRemovesOnlyTheLinksFromOutsideTheSubtree() throws SQLException {
+        move(2, 2);
+
+        assertEquals(expectedClosure(), table.rows);
+        assertEquals(-1, table.depth(1, 2));
+        assertEquals(-1, table.depth(1, 9));
+        assertEquals(1, table.depth(2, 4));
+        assertEquals(2, table.depth(2, 9));
+        assertEquals(0, table.depth(9, 9));
+    }
+
+    @Test
+    void attachLinksEveryNewManagerToEveryTeamMemberWithTheSummedDepth() throws SQLException {
+        move(2, 6);
+
+        assertEquals(expectedClosure(), table.rows);
+        assertEquals(1, table.depth(6, 2));
+        assertEquals(3, table.depth(6, 9));
+        assertEquals(3, table.depth(3, 4));
+        assertEquals(5, table.depth(1, 9));
+        assertEquals(2, table.depth(2, 9));
+    }
+
+    @Test
+    void moveToAnotherTreeKeepsTheTeam() throws SQLException {
+        move(4, 8);
+
+        assertEquals(expectedClosure(), table.rows);
+        assertEquals(-1, table.depth(2, 9));
+        assertEquals(3, table.depth(7, 9));
+    }
+
+    @Test
+    void moveUnderOwnTeamIsRejectedWithoutChanges() throws SQLException {
+        Map<List<Integer>, Integer> before = new HashMap<>(table.rows);
+
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+            () -> repository.moveEmployee(table.connection(), 2, 9));
+
+        assertEquals("Employee 9 reports to employee 2 and cannot become their manager.", e.getMessage());
+        assertEquals(before, table.rows);
+    }
+
+    @Test
+    void randomMovesKeepTheClosureExact() throws SQLException {
+        Random random = new Random(7);
+        for (int id = 10; id <= 40; id++) {
+            add(id, 1 + random.nextInt(id - 1));
+        }
+
+        for (int step = 0; step < 300; step++) {
+            int employee = 1 + random.nextInt(40);
+            int manager = random.nextInt(6) == 0 ? employee : 1 + random.nextInt(40);
+            if (manager != employee && reportsTo(manager, employee)) {
+                assertThrows(IllegalArgumentException.class, () -> repository.moveEmployee(table.connection(), employee, manager));
+            } else {
+                move(employee, manager);
+            }
+            assertEquals(expectedClosure(), table.rows, "after moving " + employee + " under " + manager);
+        }
+    }
+
+    /**
+     * Adds an employee through the repository and records their manager.
+     */
+    private int add(int employeeId, int managerId) throws SQLException {
+        managers.put(employeeId, managerId);
+        table.employees.add(employeeId);
+        return repository.addEmployee(table.connection(), employeeId, managerId);
+    }
+
+    /**
+     * Moves an employee through the repository and records their new manager.
+     */
+    private void move(int employeeId, int newManagerId) throws SQLException {
+        repository.moveEmployee(table.connection(), employeeId, newManagerId);
+        managers.put(employeeId, newManagerId);
+    }
+
+    /**
+     * Checks if an employee reports to a manager according to the recorded managers.
+     */
+    private boolean reportsTo(int employeeId, int managerId) {
+        for (int current = employeeId; managers.get(current) != current; ) {
+            current = managers.get(current);
+            if (current == managerId) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Computes the closure table from the recorded managers.
+     *
+     * @return The depth of every (ancestor, descendant) pair.
+     */
+    private Map<List<Integer>, Integer> expectedClosure() {
+        Map<List<Integer>, Integer> closure = new HashMap<>();
+        for (int employeeId : managers.keySet()) {
+            int depth = 0;
+            int current = employeeId;
+            closure.put(List.of(current, employeeId), depth);
+            while (managers.get(current) != current) {
+                current = managers.get(current);
+                closure.put(List.of(current, employeeId), ++depth);
+            }
+        }
+        return closure;
+    }
+
+    /**
+     * In-memory {@code employee_hierarchy} table that understands the
+     * statements of {@link EmployeeHierarchyRepository}.
+     */
+    private static final class FakeHierarchyTable {
+        /** Depth by (ancestor_id, descendant_id), the primary key of the table. */
+        private final Map<List<Integer>, Integer> rows = new HashMap<>();
+        private final List<Integer> employees = new ArrayList<>();
+
+        private int depth(int ancestorId, int descendantId) {
+            return rows.getOrDefault(List.of(ancestorId, descendantId), -1);
+        }
+
+        private Connection connection() {
+            return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[] {Connection.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "prepareStatement" -> statement((String) args[0]);
+                    case "close" -> null;
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+        }
+
+        private PreparedStatement statement(String sql) {
+            Map<Integer, Integer> parameters = new HashMap<>();
+            return (PreparedStatement) Proxy.newProxyInstance(PreparedStatement.class.getClassLoader(), new Class<?>[] {PreparedStatement.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "setInt" -> {
+                        parameters.put((Integer) args[0], (Integer) args[1]);
+                        yield null;
+                    }
+                    case "executeUpdate" -> executeUpdate(sql, parameters);
+                    case "executeQuery" -> resultSet(executeQuery(sql, parameters));
+                    case "close" -> null;
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+        }
+
+        private int executeUpdate(String sql, Map<Integer, Integer> p) throws SQLException {
+            if (sql.equals(EmployeeHierarchyRepository.INSERT_NODE_SQL)) {
+                // SELECT ancestor_id, ?1, depth + 1 FROM employee_hierarchy WHERE descendant_id = ?2 UNION ALL SELECT ?3, ?4, 0
+                List<int[]> inserted = new ArrayList<>();
+                rows.forEach((key, depth) -> {
+                    if (key.get(1).equals(p.get(2))) {
+                        inserted.add(new int[] {key.get(0), p.get(1), depth + 1});
+                    }
+                });
+                inserted.add(new int[] {p.get(3), p.get(4), 0});
+                return insert(inserted);
+            }
+            if (sql.equals(EmployeeHierarchyRepository.DETACH_SUBTREE_SQL)) {
+                // h JOIN subtree ON subtree.descendant_id = h.descendant_id AND subtree.ancestor_id = ?1
+                // LEFT JOIN inside ON inside.ancestor_id = subtree.ancestor_id AND inside.descendant_id = h.ancestor_id
+                // WHERE inside.ancestor_id IS NULL
+                List<List<Integer>> deleted = new ArrayList<>();
+                for (List<Integer> h : rows.keySet()) {
+                    boolean inSubtree = rows.containsKey(List.of(p.get(1), h.get(1)));
+                    boolean fromInside = rows.containsKey(List.of(p.get(1), h.get(0)));
+                    if (inSubtree && !fromInside) {
+                        deleted.add(h);
+                    }
+                }
+                deleted.forEach(rows::remove);
+                return deleted.size();
+            }
+            if (sql.equals(EmployeeHierarchyRepository.ATTACH_SUBTREE_SQL)) {
+                // above JOIN below ON above.descendant_id = ?1 AND below.ancestor_id = ?2
+                List<int[]> inserted = new ArrayList<>();
+                rows.forEach((above, aboveDepth) -> {
+                    if (above.get(1).equals(p.get(1))) {
+                        rows.forEach((below, belowDepth) -> {
+                            if (below.get(0).equals(p.get(2))) {
+                                inserted.add(new int[] {above.get(0), below.get(1), aboveDepth + belowDepth + 1});
+                            }
+                        });
+                    }
+                });
+                return insert(inserted);
+            }
+            throw new UnsupportedOperationException(sql);
+        }
+
+        private boolean executeQuery(String sql, Map<Integer, Integer> p) {
+            if (sql.equals(EmployeeHierarchyRepository.IS_DESCENDANT_SQL)) {
+                return depth(p.get(1), p.get(2)) > 0;
+            }
+            if (sql.equals(EmployeeHierarchyRepository.COMPLETENESS_SQL)) {
+                return employees.stream().allMatch(id -> depth(id, id) == 0);
+            }
+            throw new UnsupportedOperationException(sql);
+        }
+
+        private int insert(List<int[]> inserted) throws SQLException {
+            for (int[] row : inserted) {
+                if (rows.putIfAbsent(List.of(row[0], row[1]), row[2]) != null) {
+                    throw new SQLException("Duplicate entry '" + row[0] + "-" + row[1] + "' for key 'PRIMARY'");
+                }
+            }
+            return inserted.size();
+        }
+
+        /**
+         * Creates a result set with a single row holding {@code true}, or no
+         * row for {@code false}.
+         */
+        private static ResultSet resultSet(boolean value) {
+            boolean[] consumed = {false};
+            return (ResultSet) Proxy.newProxyInstance(ResultSet.class.getClassLoader(), new Class<?>[] {ResultSet.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "next" -> {
+                        boolean hasRow = !consumed[0] && value;
+                        consumed[0] = true;
+                        yield hasRow;
+                    }
+                    case "getBoolean" -> true;
+                    case "getInt" -> 1;
+                    case "close" -> null;
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.leanx.app.repository.base;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import com.leanx.app.repository.base.KeysetPaginator.Position;
+
+/**
+ * Tests the cursor encoding of {@link KeysetPaginator} and the validation of
+ * the page parameters, which happens before the database is accessed.
+ */
+class KeysetPaginatorTest {
+
+    @ParameterizedTest
+    @ValueSource(strings = {"Smith", "", "Müller-Lüdenscheidt", "O'Brien \u001F Jr.", "日本"})
+    void cursorRoundTripKeepsIdAndValue(String value) {
+        String cursor = KeysetPaginator.encode("last_name", value, 42);
+
+        Position position = KeysetPaginator.decode(cursor, "last_name");
+
+        assertEquals(42, position.id());
+        assertEquals(value, position.value());
+    }
+
+    @Test
+    void cursorRoundTripKeepsNullValue() {
+        String cursor = KeysetPaginator.encode("department", null, 7);
+
+        Position position = KeysetPaginator.decode(cursor, "department");
+
+        assertEquals(7, position.id());
+        assertNull(position.value());
+    }
+
+    @Test
+    void cursorIsUrlSafe() {
+        String cursor = KeysetPaginator.encode("last_name", "a/b+c?d=e&f", Integer.MAX_VALUE);
+
+        assertFalse(cursor.matches(".*[+/=?&].*"), cursor);
+        assertEquals("a/b+c?d=e&f", KeysetPaginator.decode(cursor, "last_name").value());
+    }
+
+    @Test
+    void cursorIsRejectedForAnotherSortOrder() {
+        String cursor = KeysetPaginator.encode("last_name", "Smith", 42);
+
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+            () -> KeysetPaginator.decode(cursor, "department"));
+        assertEquals("Cursor does not match the requested sort order.", e.getMessage());
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"not a cursor!", "", "MQ", "Mh9pZB8xH3g"})
+    void malformedCursorIsRejected(String cursor) {
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+            () -> KeysetPaginator.decode(cursor, "id"));
+        assertEquals("Invalid cursor.", e.getMessage());
+    }
+
+    @Test
+    void cursorWithNonNumericIdIsRejected() {
+        String raw = "1\u001Fid\u001Fabc\u001Fx";
+        String cursor = Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+            () -> KeysetPaginator.decode(cursor, "id"));
+        assertEquals("Invalid cursor.", e.getMessage());
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {0, -1, KeysetPaginator.MAX_LIMIT + 1})
+    void invalidLimitIsRejected(int limit) {
+        assertThrows(IllegalArgumentException.class,
+            () -> KeysetPaginator.findPage("employees", Set.of("last_name"), null, limit, null, null));
+    }
+
+    @Test
+    void unknownSortColumnIsRejected() {
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+            () -> KeysetPaginator.findPage("employees", Set.of("last_name"), null, 10, "password", null));
+        assertEquals("Invalid sort column: password", e.getMessage());
+    }
+}
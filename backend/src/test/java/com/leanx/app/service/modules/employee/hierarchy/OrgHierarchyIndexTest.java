@@ -0,0 +1,264 @@
+package com.leanx.app.service.modules.employee.hierarchy;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.leanx.app.repository.EmployeeRepository;
+import com.leanx.app.service.modules.employee.hierarchy.OrgHierarchyIndex.TeamSlice;
+
+/**
+ * Tests the subtree queries of {@link OrgHierarchyIndex} and the incremental
+ * moves, using an in-memory organisation instead of the database:
+ * <pre>
+ * 1          7
+ * ├── 2      └── 8
+ * │   ├── 4
+ * │   └── 5
+ * └── 3
+ *     └── 6
+ * </pre>
+ */
+class OrgHierarchyIndexTest {
+
+    private FakeEmployeeRepository repository;
+    private OrgHierarchyIndex index;
+
+    @BeforeEach
+    void setUp() {
+        repository = new FakeEmployeeRepository(new int[] {1, 2, 3, 4, 5, 6, 7, 8}, new int[] {1, 1, 1, 2, 2, 3, 7, 7});
+        index = new OrgHierarchyIndex(repository);
+    }
+
+    @Test
+    void isInTeamCoversDirectAndIndirectReports() throws Exception {
+        assertTrue(index.isInTeam(2, 1));
+        assertTrue(index.isInTeam(4, 1));
+        assertTrue(index.isInTeam(6, 3));
+        assertFalse(index.isInTeam(4, 3));
+        assertFalse(index.isInTeam(1, 2));
+        assertFalse(index.isInTeam(8, 1));
+        assertFalse(index.isInTeam(1, 1));
+        assertFalse(index.isInTeam(99, 1));
+    }
+
+    @Test
+    void teamSizeCountsTheWholeSubtree() throws Exception {
+        assertEquals(5, index.getTeamSize(1));
+        assertEquals(2, index.getTeamSize(2));
+        assertEquals(0, index.getTeamSize(4));
+        assertEquals(1, index.getTeamSize(7));
+        assertEquals(0, index.getTeamSize(99));
+    }
+
+    @Test
+    void getTeamListsTheSubtreeInOrgChartOrder() throws Exception {
+        TeamSlice team = index.getTeam(1, 5, -1, 100);
+
+        assertEquals(5, team.teamSize());
+        assertArrayEquals(new int[] {2, 4, 5, 3, 6}, team.employeeIds());
+        assertArrayEquals(new int[] {1, 2, 2, 1, 2}, team.levels());
+        assertFalse(team.hasMore());
+    }
+
+    @Test
+    void getTeamSkipsSubtreesBelowTheDepthLimit() throws Exception {
+        TeamSlice team = index.getTeam(1, 1, -1, 100);
+
+        assertEquals(5, team.teamSize());
+        assertArrayEquals(new int[] {2, 3}, team.employeeIds());
+        assertFalse(team.hasMore());
+    }
+
+    @Test
+    void getTeamContinuesAfterTheCursor() throws Exception {
+        TeamSlice first = index.getTeam(1, 5, -1, 2);
+        assertArrayEquals(new int[] {2, 4}, first.employeeIds());
+        assertTrue(first.hasMore());
+
+        TeamSlice second = index.getTeam(1, 5, 4, 2);
+        assertArrayEquals(new int[] {5, 3}, second.employeeIds());
+        assertTrue(second.hasMore());
+
+        TeamSlice third = index.getTeam(1, 5, 3, 2);
+        assertArrayEquals(new int[] {6}, third.employeeIds());
+        assertFalse(third.hasMore());
+
+        TeamSlice directReports = index.getTeam(1, 1, 2, 10);
+        assertArrayEquals(new int[] {3}, directReports.employeeIds());
+    }
+
+    @Test
+    void getTeamRejectsInvalidArguments() throws Exception {
+        assertThrows(IllegalArgumentException.class, () -> index.getTeam(1, 0, -1, 10));
+        assertThrows(IllegalArgumentException.class, () -> index.getTeam(1, 1, -1, 0));
+        assertThrows(IllegalArgumentException.class, () -> index.getTeam(2, 5, 6, 10));
+        assertNull(index.getTeam(99, 1, -1, 10));
+    }
+
+    @Test
+    void moveToALaterPositionCarriesTheTeam() throws Exception {
+        index.isInTeam(2, 1);
+        index.moveEmployee(2, 3);
+
+        assertTrue(index.isInTeam(4, 3));
+        assertTrue(index.isInTeam(2, 3));
+        assertEquals(4, index.getTeamSize(3));
+        assertEquals(5, index.getTeamSize(1));
+        assertArrayEquals(new int[] {3, 6, 2, 4, 5}, index.getTeam(1, 5, -1, 100).employeeIds());
+        assertArrayEquals(new int[] {1, 2, 2, 3, 3}, index.getTeam(1, 5, -1, 100).levels());
+        assertArrayEquals(new int[] {4, 5}, index.getTeam(2, 5, -1, 100).employeeIds());
+        assertEquals(1, repository.loads);
+    }
+
+    @Test
+    void moveToAnEarlierPositionCarriesTheTeam() throws Exception {
+        index.isInTeam(2, 1);
+        index.moveEmployee(3, 4);
+
+        assertTrue(index.isInTeam(6, 4));
+        assertTrue(index.isInTeam(6, 2));
+        assertEquals(4, index.getTeamSize(2));
+        assertEquals(0, index.getTeamSize(5));
+        assertArrayEquals(new int[] {2, 4, 3, 6, 5}, index.getTeam(1, 5, -1, 100).employeeIds());
+        assertArrayEquals(new int[] {1, 2, 3, 4, 2}, index.getTeam(1, 5, -1, 100).levels());
+        assertEquals(1, repository.loads);
+    }
+
+    @Test
+    void moveToAnotherTreeAndToTheRoot() throws Exception {
+        index.isInTeam(2, 1);
+
+        index.moveEmployee(2, 8);
+        assertFalse(index.isInTeam(4, 1));
+        assertTrue(index.isInTeam(4, 7));
+        assertEquals(2, index.getTeamSize(1));
+        assertEquals(4, index.getTeamSize(7));
+
+        index.moveEmployee(2, 2);
+        assertFalse(index.isInTeam(4, 7));
+        assertTrue(index.isInTeam(4, 2));
+        assertEquals(1, index.getTeamSize(7));
+        assertArrayEquals(new int[] {4, 5}, index.getTeam(2, 5, -1, 100).employeeIds());
+        assertEquals(1, repository.loads);
+    }
+
+    @Test
+    void moveBelowOwnTeamReloadsInsteadOfCreatingACycle() throws Exception {
+        index.isInTeam(2, 1);
+        index.moveEmployee(2, 4);
+
+        assertTrue(index.isInTeam(4, 2));
+        assertTrue(index.isInTeam(2, 1));
+        assertEquals(2, repository.loads);
+    }
+
+    @Test
+    void moveOfUnknownEmployeeReloads() throws Exception {
+        index.isInTeam(2, 1);
+        repository.set(new int[] {1, 2, 3, 4, 5, 6, 7, 8, 9}, new int[] {1, 1, 1, 2, 2, 3, 7, 7, 6});
+        index.moveEmployee(9, 6);
+
+        assertTrue(index.isInTeam(9, 1));
+        assertEquals(2, repository.loads);
+    }
+
+    @Test
+    void reportingCyclesAreBroken() throws Exception {
+        repository.set(new int[] {1, 2, 3}, new int[] {2, 3, 2});
+
+        assertFalse(index.isInTeam(2, 3) && index.isInTeam(3, 2));
+        assertTrue(index.isInTeam(2, 3) || index.isInTeam(3, 2));
+        // Three employees in two trees: one reporting line of the cycle is kept
+        assertEquals(1, index.getTeamSize(1) + index.getTeamSize(2) + index.getTeamSize(3));
+    }
+
+    @Test
+    void incrementalMovesMatchAFreshLoad() throws Exception {
+        int n = 60;
+        int[] ids = new int[n];
+        int[] managers = new int[n];
+        Random random = new Random(42);
+        for (int i = 0; i < n; i++) {
+            ids[i] = i + 1;
+            managers[i] = i == 0 ? 1 : 1 + random.nextInt(i);
+        }
+        repository.set(ids, managers.clone());
+        index.isInTeam(1, 1);
+
+        for (int step = 0; step < 200; step++) {
+            int employee = 1 + random.nextInt(n);
+            int manager = random.nextInt(5) == 0 ? employee : 1 + random.nextInt(n);
+            if (manager != employee && reportsTo(managers, manager, employee)) {
+                continue;
+            }
+            managers[employee - 1] = manager;
+            index.moveEmployee(employee, manager);
+
+            OrgHierarchyIndex fresh = new OrgHierarchyIndex(new FakeEmployeeRepository(ids, managers.clone()));
+            for (int m = 1; m <= n; m++) {
+                assertEquals(fresh.getTeamSize(m), index.getTeamSize(m), "team size of " + m + " after step " + step);
+                assertEquals(levels(fresh.getTeam(m, n, -1, n)), levels(index.getTeam(m, n, -1, n)), "team of " + m + " after step " + step);
+            }
+        }
+        assertEquals(1, repository.loads);
+    }
+
+    /**
+     * Checks if an employee reports to a manager in a manager array.
+     */
+    private static boolean reportsTo(int[] managers, int employee, int manager) {
+        for (int current = employee; managers[current - 1] != current; ) {
+            current = managers[current - 1];
+            if (current == manager) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Maps every employee of a team page to their level below the manager.
+     */
+    private static Map<Integer, Integer> levels(TeamSlice slice) {
+        Map<Integer, Integer> levels = new HashMap<>();
+        for (int i = 0; i < slice.employeeIds().length; i++) {
+            levels.put(slice.employeeIds()[i], slice.levels()[i]);
+        }
+        return levels;
+    }
+
+    /**
+     * Serves the reporting lines from memory and counts how often they are loaded.
+     */
+    private static final class FakeEmployeeRepository extends EmployeeRepository {
+        private int[] ids;
+        private int[] managerIds;
+        private int loads;
+
+        private FakeEmployeeRepository(int[] ids, int[] managerIds) {
+            set(ids, managerIds);
+        }
+
+        private void set(int[] ids, int[] managerIds) {
+            this.ids = ids;
+            this.managerIds = managerIds;
+        }
+
+        @Override
+        public int[][] findManagerLinks() {
+            loads++;
+            return new int[][] { ids.clone(), managerIds.clone() };
+        }
+    }
+}
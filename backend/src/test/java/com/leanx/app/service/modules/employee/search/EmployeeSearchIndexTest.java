@@ -0,0 +1,136 @@
+package com.leanx.app.service.modules.employee.search;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.sql.SQLException;
+import java.util.List;
+import java.util.function.Consumer;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.leanx.app.model.entity.Employee;
+import com.leanx.app.repository.EmployeeRepository;
+
+/**
+ * Tests the ranking and the typo tolerance of {@link EmployeeSearchIndex},
+ * with the employees served from memory instead of the database.
+ */
+class EmployeeSearchIndexTest {
+
+    private static final List<Employee> EMPLOYEES = List.of(
+        new Employee(1, "Anna", "Müller", "a.mueller@leanx.com"),
+        new Employee(2, "Jonathan", "Schmidt", "j.schmidt@leanx.com"),
+        new Employee(3, "Johanna", "Schmitt", "j.schmitt@leanx.com"),
+        new Employee(4, "Michael", "Meyer", "m.meyer@leanx.com"),
+        new Employee(5, "Michaela", "Maier", "m.maier@leanx.com"),
+        new Employee(6, "Renée", "Dubois", "r.dubois@leanx.com"),
+        new Employee(7, "Christopher", "Nolan", "c.nolan@leanx.com"));
+
+    private EmployeeSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new EmployeeSearchIndex(new FakeEmployeeRepository());
+    }
+
+    @Test
+    void umlautsAndAccentsAreFolded() throws SQLException {
+        assertEquals(List.of(1), search("Müller"));
+        assertEquals(List.of(1), search("mueller"));
+        assertEquals(List.of(6), search("Renee"));
+        assertEquals(List.of(6), search("RENÉE"));
+    }
+
+    @Test
+    void exactMatchesRankAboveTypos() throws SQLException {
+        assertEquals(List.of(2, 3), search("schmidt"));
+        assertEquals(List.of(3, 2), search("schmitt"));
+    }
+
+    @Test
+    void typosAreOnlyConsideredIfThereAreTooFewExactMatches() throws SQLException {
+        assertEquals(List.of(2), ids(index.search("schmidt", 1)));
+    }
+
+    @Test
+    void closerWordsRankHigher() throws SQLException {
+        // "mchael" is one edit from "michael" and two from "michaela"
+        assertEquals(List.of(4, 5), search("mchael"));
+    }
+
+    @Test
+    void termsOfFourOrFiveCharactersTolerateOneEdit() throws SQLException {
+        assertEquals(List.of(5), search("maer"));
+        assertEquals(List.of(), search("mayr"));
+        assertEquals(List.of(1), search("anne"));
+    }
+
+    @Test
+    void termsOfSixOrMoreCharactersTolerateTwoEdits() throws SQLException {
+        assertEquals(List.of(7), search("chirstopher"));
+        assertEquals(List.of(6), search("dubios"));
+        assertEquals(List.of(2), search("jonatan"));
+        assertEquals(List.of(), search("jnthn"));
+    }
+
+    @Test
+    void shortTermsAreNotMatchedWithTypos() throws SQLException {
+        assertEquals(List.of(), search("ana"));
+        assertEquals(List.of(1, 3), search("ann"));
+    }
+
+    @Test
+    void emailsAreNotMatchedWithTypos() throws SQLException {
+        assertEquals(7, search("leanx").size());
+        assertEquals(List.of(), search("leamx"));
+    }
+
+    @Test
+    void everyTermMustMatchWithOrWithoutTypos() throws SQLException {
+        assertEquals(List.of(2), search("jonatan schmidt"));
+        assertEquals(List.of(3), search("johana schmit"));
+        assertEquals(List.of(), search("michael schmidt"));
+    }
+
+    @Test
+    void renamedEmployeesAreFoundByTheirNewName() throws SQLException {
+        search("schmitt");
+        index.update(3, null, "Weber", "j.weber@leanx.com");
+
+        assertEquals(List.of(3), search("weber"));
+        assertEquals(List.of(2), search("schmitt"));
+    }
+
+    @Test
+    void invalidArgumentsAreRejected() {
+        assertThrows(IllegalArgumentException.class, () -> index.search(null, 10));
+        assertThrows(IllegalArgumentException.class, () -> index.search("anna", 0));
+    }
+
+    /**
+     * Searches with a limit above the number of employees.
+     */
+    private List<Integer> search(String query) throws SQLException {
+        return ids(index.search(query, 10));
+    }
+
+    /**
+     * Gets the IDs of the found employees, in ranking order.
+     */
+    private static List<Integer> ids(List<Employee> employees) {
+        return employees.stream().map(Employee::getId).toList();
+    }
+
+    /**
+     * Serves the basic employee records from memory.
+     */
+    private static final class FakeEmployeeRepository extends EmployeeRepository {
+        @Override
+        public int streamBasic(Consumer<Employee> consumer) {
+            EMPLOYEES.forEach(consumer);
+            return EMPLOYEES.size();
+        }
+    }
+}
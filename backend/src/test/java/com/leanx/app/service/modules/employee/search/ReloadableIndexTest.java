@@ -0,0 +1,95 @@
+package com.leanx.app.service.modules.employee.search;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests when {@link ReloadableIndex} loads its index and that changes made
+ * while loading are replayed, with a list of names as the index.
+ */
+class ReloadableIndexTest {
+
+    private final List<String> rows = new ArrayList<>(List.of("anna", "ben"));
+    private int loads;
+    private Runnable duringLoad = () -> { };
+    private boolean failLoad;
+
+    private final ReloadableIndex<List<String>> index = new ReloadableIndex<>("test index", 60 * 1000L, () -> {
+        loads++;
+        if (failLoad) {
+            throw new SQLException("Database unavailable");
+        }
+        List<String> loaded = new ArrayList<>(rows);
+        duringLoad.run();
+        return loaded;
+    });
+
+    @Test
+    void indexIsLoadedOnFirstReadOnly() throws SQLException {
+        assertEquals(0, loads);
+
+        assertEquals(List.of("anna", "ben"), index.read(List::copyOf));
+        assertEquals(List.of("anna", "ben"), index.read(List::copyOf));
+        assertEquals(1, loads);
+    }
+
+    @Test
+    void changesBeforeTheFirstLoadAreLeftToTheLoad() throws SQLException {
+        index.apply(names -> names.add("carl"));
+
+        assertEquals(List.of("anna", "ben"), index.read(List::copyOf));
+    }
+
+    @Test
+    void changesMadeWhileLoadingAreReplayed() throws SQLException {
+        duringLoad = () -> {
+            rows.add("carl");
+            index.apply(names -> names.add("carl"));
+        };
+
+        assertEquals(List.of("anna", "ben", "carl"), index.read(List::copyOf));
+    }
+
+    @Test
+    void changesThatCannotBeAppliedMarkTheIndexStale() throws SQLException {
+        index.read(List::copyOf);
+        rows.add("carl");
+
+        index.applyOrInvalidate(names -> names.contains("ben"), names -> names.remove("ben"));
+        assertEquals(List.of("anna"), index.read(List::copyOf));
+        assertEquals(1, loads);
+
+        index.applyOrInvalidate(names -> names.contains("carl"), names -> names.remove("carl"));
+        assertEquals(List.of("anna", "ben", "carl"), index.read(List::copyOf));
+        assertEquals(2, loads);
+    }
+
+    @Test
+    void failedFirstLoadIsRetried() throws SQLException {
+        failLoad = true;
+        assertThrows(SQLException.class, () -> index.read(List::copyOf));
+
+        failLoad = false;
+        assertEquals(List.of("anna", "ben"), index.read(List::copyOf));
+        assertEquals(2, loads);
+    }
+
+    @Test
+    void failedReloadOfAStaleIndexKeepsTheCurrentIndex() throws SQLException {
+        index.read(List::copyOf);
+        index.invalidate();
+        rows.add("carl");
+
+        failLoad = true;
+        assertThrows(SQLException.class, () -> index.read(List::copyOf));
+
+        assertEquals(List.of("anna", "ben"), index.read(List::copyOf));
+        assertEquals(2, loads);
+    }
+}
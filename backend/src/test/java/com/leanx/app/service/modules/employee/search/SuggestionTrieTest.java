@@ -0,0 +1,185 @@
+package com.leanx.app.service.modules.employee.search;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import com.leanx.app.model.dto.Suggestion;
+import com.leanx.app.model.dto.Suggestion.SuggestionType;
+
+/**
+ * Tests how {@link SuggestionTrie} splits edges when keys are added, merges
+ * them again when keys are removed, and keeps the best suggestions of every
+ * prefix up to date.
+ */
+class SuggestionTrieTest {
+
+    private final SuggestionTrie trie = new SuggestionTrie(3);
+
+    @Test
+    void keyEndingInsideAnEdgeSplitsIt() {
+        Suggestion maximilian = suggestion(1, "Maximilian", 5);
+        Suggestion max = suggestion(2, "Max", 1);
+        trie.add("maximilian", maximilian);
+        trie.add("max", max);
+
+        // root, "max", "imilian"
+        assertEquals(3, trie.nodeCount());
+        assertArrayEquals(new Suggestion[] {maximilian, max}, trie.find("ma"));
+        assertArrayEquals(new Suggestion[] {maximilian, max}, trie.find("max"));
+        assertArrayEquals(new Suggestion[] {maximilian}, trie.find("maxi"));
+        assertArrayEquals(new Suggestion[0], trie.find("maxx"));
+    }
+
+    @Test
+    void divergingKeysSplitAnEdge() {
+        Suggestion martin = suggestion(1, "Martin", 0);
+        Suggestion marta = suggestion(2, "Marta", 0);
+        trie.add("martin", martin);
+        trie.add("marta", marta);
+
+        // root, "mart", "a", "in"
+        assertEquals(4, trie.nodeCount());
+        assertArrayEquals(new Suggestion[] {marta, martin}, trie.find("mart"));
+        assertArrayEquals(new Suggestion[] {marta}, trie.find("marta"));
+        assertArrayEquals(new Suggestion[] {martin}, trie.find("marti"));
+    }
+
+    @Test
+    void removingTheKeyOfASplitMergesTheEdgeAgain() {
+        Suggestion maximilian = suggestion(1, "Maximilian", 0);
+        Suggestion max = suggestion(2, "Max", 0);
+        trie.add("maximilian", maximilian);
+        trie.add("max", max);
+
+        trie.remove("max", max);
+
+        assertEquals(2, trie.nodeCount());
+        assertArrayEquals(new Suggestion[] {maximilian}, trie.find("max"));
+        assertArrayEquals(new Suggestion[] {maximilian}, trie.find("maximilian"));
+    }
+
+    @Test
+    void removingALeafMergesItsParentWithTheOtherChild() {
+        Suggestion martin = suggestion(1, "Martin", 0);
+        Suggestion marta = suggestion(2, "Marta", 0);
+        trie.add("martin", martin);
+        trie.add("marta", marta);
+
+        trie.remove("marta", marta);
+
+        assertEquals(2, trie.nodeCount());
+        assertArrayEquals(new Suggestion[] {martin}, trie.find("mart"));
+        assertArrayEquals(new Suggestion[0], trie.find("marta"));
+
+        trie.remove("martin", martin);
+        assertEquals(1, trie.nodeCount());
+        assertArrayEquals(new Suggestion[0], trie.find("m"));
+    }
+
+    @Test
+    void unknownKeysAndSuggestionsAreIgnoredOnRemoval() {
+        Suggestion anna = suggestion(1, "Anna", 0);
+        trie.add("anna", anna);
+
+        trie.remove("ann", anna);
+        trie.remove("annabel", anna);
+        trie.remove("anna", suggestion(1, "Anna", 0));
+
+        assertEquals(2, trie.nodeCount());
+        assertArrayEquals(new Suggestion[] {anna}, trie.find("an"));
+    }
+
+    @Test
+    void removingOneOfTheBestSuggestionsPromotesTheNext() {
+        Suggestion[] suggestions = new Suggestion[5];
+        for (int i = 0; i < suggestions.length; i++) {
+            suggestions[i] = suggestion(i + 1, "Meyer " + i, 10 - i);
+            trie.add("meyer " + i, suggestions[i]);
+        }
+        assertArrayEquals(new Suggestion[] {suggestions[0], suggestions[1], suggestions[2]}, trie.find("mey"));
+
+        trie.remove("meyer 1", suggestions[1]);
+
+        assertArrayEquals(new Suggestion[] {suggestions[0], suggestions[2], suggestions[3]}, trie.find("mey"));
+        assertArrayEquals(new Suggestion[] {suggestions[0], suggestions[2], suggestions[3]}, trie.find("meyer "));
+    }
+
+    @Test
+    void queriesAreNormalisedLikeKeys() {
+        Suggestion mueller = suggestion(1, "Max Müller", 0);
+        Suggestion maxi = suggestion(2, "Maxi", 0);
+        trie.add(SuggestionTrie.key("Max Müller"), mueller);
+        trie.add(SuggestionTrie.key("Maxi"), maxi);
+
+        assertArrayEquals(new Suggestion[] {mueller}, trie.find("MAX  mü"));
+        assertArrayEquals(new Suggestion[] {mueller}, trie.find("max-"));
+        assertArrayEquals(new Suggestion[] {mueller, maxi}, trie.find(" max"));
+    }
+
+    @Test
+    void randomChangesMatchAFreshTrie() {
+        Random random = new Random(11);
+        Map<Suggestion, String> keys = new LinkedHashMap<>();
+        List<Suggestion> added = new ArrayList<>();
+
+        for (int step = 0; step < 2000; step++) {
+            if (added.isEmpty() || random.nextInt(3) > 0) {
+                Suggestion suggestion = suggestion(step, "S" + step, random.nextInt(4));
+                String key = randomKey(random);
+                keys.put(suggestion, key);
+                added.add(suggestion);
+                trie.add(key, suggestion);
+            } else {
+                Suggestion suggestion = added.remove(random.nextInt(added.size()));
+                trie.remove(keys.remove(suggestion), suggestion);
+            }
+
+            if (step % 50 == 0) {
+                SuggestionTrie fresh = new SuggestionTrie(3);
+                keys.forEach((suggestion, key) -> fresh.add(key, suggestion));
+                assertEquals(fresh.nodeCount(), trie.nodeCount(), "nodes after step " + step);
+                for (int query = 0; query < 10; query++) {
+                    String prefix = randomKey(random);
+                    assertArrayEquals(expected(keys, prefix), trie.find(prefix), "prefix " + prefix + " after step " + step);
+                }
+            }
+        }
+    }
+
+    /**
+     * Creates a key of one to five letters from a small alphabet, so that
+     * keys often share prefixes.
+     */
+    private static String randomKey(Random random) {
+        StringBuilder key = new StringBuilder();
+        int length = 1 + random.nextInt(5);
+        for (int i = 0; i < length; i++) {
+            key.append((char) ('a' + random.nextInt(3)));
+        }
+        return key.toString();
+    }
+
+    /**
+     * Computes the best suggestions whose key starts with a prefix by scanning all keys.
+     */
+    private static Suggestion[] expected(Map<Suggestion, String> keys, String prefix) {
+        return keys.entrySet().stream()
+            .filter(entry -> entry.getValue().startsWith(prefix))
+            .map(Map.Entry::getKey)
+            .sorted(SuggestionTrie.RANKING)
+            .limit(3)
+            .toArray(Suggestion[]::new);
+    }
+
+    private static Suggestion suggestion(int id, String label, int popularity) {
+        return new Suggestion(SuggestionType.EMPLOYEE, id, label, id, popularity);
+    }
+}
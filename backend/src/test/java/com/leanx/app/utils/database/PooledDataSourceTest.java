@@ -0,0 +1,173 @@
+package com.leanx.app.utils.database;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.Driver;
+import java.sql.DriverManager;
+import java.sql.DriverPropertyInfo;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.SQLTransientConnectionException;
+import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Logger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests that {@link PooledDataSource} never opens more than {@code maxSize}
+ * physical connections, with the connections served by {@link FakeDriver}
+ * instead of a database.
+ */
+class PooledDataSourceTest {
+
+    private static final String URL = "jdbc:leanx-fake:pool";
+
+    private FakeDriver driver;
+    private PooledDataSource pool;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        driver = new FakeDriver();
+        DriverManager.registerDriver(driver);
+    }
+
+    @AfterEach
+    void tearDown() throws SQLException {
+        if (pool != null) {
+            pool.close();
+        }
+        driver.housekeeperMayConnect.countDown();
+        DriverManager.deregisterDriver(driver);
+    }
+
+    @Test
+    void borrowerWaitsForTheConnectionTheHousekeeperIsOpening() throws Exception {
+        driver.blockHousekeeper = true;
+        pool = new PooledDataSource("test", URL, "user", "password", config(1, 1, 5000));
+        assertTrue(driver.housekeeperConnecting.await(5, TimeUnit.SECONDS));
+
+        CompletableFuture<Connection> borrowed = CompletableFuture.supplyAsync(() -> {
+            try {
+                return pool.getConnection();
+            } catch (SQLException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        Thread.sleep(200);
+        assertFalse(borrowed.isDone());
+        assertEquals(0, driver.opened.get());
+
+        driver.housekeeperMayConnect.countDown();
+        try (Connection connection = borrowed.get(5, TimeUnit.SECONDS)) {
+            assertFalse(connection.isClosed());
+        }
+        assertEquals(1, driver.opened.get());
+        assertEquals(1, pool.getTotalConnections());
+    }
+
+    @Test
+    void borrowerTimesOutWhileAllConnectionsAreInUse() throws SQLException {
+        pool = new PooledDataSource("test", URL, "user", "password", config(0, 1, 200));
+
+        try (Connection first = pool.getConnection()) {
+            assertThrows(SQLTransientConnectionException.class, pool::getConnection);
+        }
+        try (Connection second = pool.getConnection()) {
+            assertEquals(1, driver.opened.get());
+            assertEquals(1, pool.getTotalConnections());
+        }
+    }
+
+    @Test
+    void failedOpenFreesTheSlot() throws SQLException {
+        pool = new PooledDataSource("test", URL, "user", "password", config(0, 1, 200));
+        driver.failNext = true;
+
+        assertThrows(SQLException.class, pool::getConnection);
+        assertEquals(0, pool.getTotalConnections());
+
+        try (Connection connection = pool.getConnection()) {
+            assertEquals(1, pool.getTotalConnections());
+        }
+    }
+
+    private static ConnectionPoolConfig config(int minIdle, int maxSize, long acquireTimeoutMillis) {
+        return new ConnectionPoolConfig(minIdle, maxSize, 60 * 1000L, 60 * 60 * 1000L, acquireTimeoutMillis, 1);
+    }
+
+    /**
+     * Opens connections that accept the calls the pool makes, and can hold
+     * the housekeeper while it opens a connection.
+     */
+    private static final class FakeDriver implements Driver {
+        private final AtomicInteger opened = new AtomicInteger();
+        private final CountDownLatch housekeeperConnecting = new CountDownLatch(1);
+        private final CountDownLatch housekeeperMayConnect = new CountDownLatch(1);
+        private volatile boolean blockHousekeeper;
+        private volatile boolean failNext;
+
+        @Override
+        public Connection connect(String url, Properties info) throws SQLException {
+            if (!acceptsURL(url)) {
+                return null;
+            }
+            if (failNext) {
+                failNext = false;
+                throw new SQLException("Connection refused", "08001");
+            }
+            if (blockHousekeeper && Thread.currentThread().getName().startsWith("leanx-db-pool-")) {
+                housekeeperConnecting.countDown();
+                try {
+                    housekeeperMayConnect.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new SQLException("Interrupted", "08001", e);
+                }
+            }
+            opened.incrementAndGet();
+            return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[] {Connection.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "getAutoCommit", "isValid" -> true;
+                    case "isReadOnly", "isClosed" -> false;
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "equals" -> proxy == args[0];
+                    default -> null;
+                });
+        }
+
+        @Override
+        public boolean acceptsURL(String url) {
+            return url.startsWith(URL);
+        }
+
+        @Override
+        public DriverPropertyInfo[] getPropertyInfo(String url, Properties info) {
+            return new DriverPropertyInfo[0];
+        }
+
+        @Override
+        public int getMajorVersion() { return 1; }
+
+        @Override
+        public int getMinorVersion() { return 0; }
+
+        @Override
+        public boolean jdbcCompliant() { return false; }
+
+        @Override
+        public Logger getParentLogger() throws SQLFeatureNotSupportedException {
+            throw new SQLFeatureNotSupportedException();
+        }
+    }
+}
@@ -0,0 +1,40 @@
+/* ******************************************************************************************
+ * File: 001_employee_hierarchy.sql                                                         *
+ * Version: 1.0                                                                             *
+ * Description: Adds the employee_hierarchy closure table to databases that were created    *
+ *              from an older schema.sql and fills it from employees.manager_id             *
+ *                                                                                          *
+ * change history:                                                                          *
+ * 17.10.2026 - create and fill the reporting hierarchy closure table                       *
+ * **************************************************************************************** */
+
+-- The script can be run more than once: the table is only created if it is missing and its
+-- content is replaced by the hierarchy derived from employees.manager_id in one transaction.
+-- Until the table has been filled, the backend answers team checks from employees.manager_id.
+
+-- closure table of the reporting hierarchy (one row per employee and each direct or indirect manager, incl. the employee itself at depth 0)
+CREATE TABLE IF NOT EXISTS employee_hierarchy (
+    ancestor_id INT NOT NULL,
+    descendant_id INT NOT NULL,
+    depth INT NOT NULL,
+    PRIMARY KEY (ancestor_id, descendant_id),
+    FOREIGN KEY (ancestor_id) REFERENCES employees(id) ON DELETE CASCADE,
+    FOREIGN KEY (descendant_id) REFERENCES employees(id) ON DELETE CASCADE,
+    INDEX idx_employee_hierarchy_descendant (descendant_id, depth) -- ancestors of an employee
+);
+
+-- initial fill, identical to the nightly rebuild of the HierarchyRebuildJob
+START TRANSACTION;
+
+DELETE FROM employee_hierarchy;
+
+INSERT INTO employee_hierarchy (ancestor_id, descendant_id, depth)
+WITH RECURSIVE closure (ancestor_id, descendant_id, depth) AS (
+    SELECT id, id, 0 FROM employees
+    UNION ALL
+    SELECT c.ancestor_id, e.id, c.depth + 1 FROM closure c
+    INNER JOIN employees e ON e.manager_id = c.descendant_id AND e.id <> e.manager_id
+)
+SELECT ancestor_id, descendant_id, depth FROM closure;
+
+COMMIT;
@@ -15,7 +15,8 @@ CREATE TABLE roles (
     name VARCHAR(255) UNIQUE NOT NULL,
     description TEXT,
     created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
-    last_updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP
+    last_updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+    INDEX idx_roles_last_updated_at (last_updated_at) -- change polling of the global search index
 );
 
 CREATE TABLE permissions (
@@ -49,7 +50,9 @@ CREATE TABLE users (
     last_updated_by INT DEFAULT NULL,
     last_updated_at TIMESTAMP DEFAULT NULL ON UPDATE CURRENT_TIMESTAMP,
     FOREIGN KEY (created_by) REFERENCES users(id) ON DELETE RESTRICT,
-    FOREIGN KEY (last_updated_by) REFERENCES users(id)
+    FOREIGN KEY (last_updated_by) REFERENCES users(id),
+    INDEX idx_users_created_at (created_at), -- change polling of the global search index
+    INDEX idx_users_last_updated_at (last_updated_at) -- change polling of the global search index
 );
 
 -- table for managing permissions per role
@@ -163,7 +166,21 @@ CREATE TABLE employees (
     last_updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
     FOREIGN KEY (manager_id) REFERENCES employees(id),
     FOREIGN KEY (created_by) REFERENCES users(id),
-    FOREIGN KEY (last_updated_by) REFERENCES users(id)
+    FOREIGN KEY (last_updated_by) REFERENCES users(id),
+    INDEX idx_employees_last_name (last_name), -- keyset pagination sorted by last name
+    INDEX idx_employees_department (department), -- keyset pagination sorted by department
+    INDEX idx_employees_last_updated_at (last_updated_at) -- change polling of the global search index and the analytics column store
+);
+
+-- closure table of the reporting hierarchy (one row per employee and each direct or indirect manager, incl. the employee itself at depth 0)
+CREATE TABLE employee_hierarchy (
+    ancestor_id INT NOT NULL,
+    descendant_id INT NOT NULL,
+    depth INT NOT NULL,
+    PRIMARY KEY (ancestor_id, descendant_id),
+    FOREIGN KEY (ancestor_id) REFERENCES employees(id) ON DELETE CASCADE,
+    FOREIGN KEY (descendant_id) REFERENCES employees(id) ON DELETE CASCADE,
+    INDEX idx_employee_hierarchy_descendant (descendant_id, depth) -- ancestors of an employee
 );
 
 -- table to store historical payroll data